@@ -1,6 +1,7 @@
 package com.minibuskingbig.auth.security;
 
 import com.minibuskingbig.auth.service.CustomOAuth2UserService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,6 +43,8 @@ public class SecurityConfig {
                 .successHandler(oAuth2SuccessHandler)
             )
             .authorizeHttpRequests(auth -> auth
+                // 스트리밍 응답(채팅 기록 내보내기)의 비동기 디스패치는 처음 요청에서 이미 인가됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints
                 .requestMatchers(
                     "/api/v1/auth/**",
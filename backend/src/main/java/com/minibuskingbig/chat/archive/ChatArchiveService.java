@@ -0,0 +1,232 @@
+package com.minibuskingbig.chat.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.dto.ChatHistoryCursor;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.ChatArchiveSegment;
+import com.minibuskingbig.chat.entity.ChatRoomStatus;
+import com.minibuskingbig.chat.repository.ChatArchiveSegmentRepository;
+import com.minibuskingbig.chat.repository.ChatMessageArchiveRepository;
+import com.minibuskingbig.chat.repository.ChatMessageArchiveRepository.ArchiveRow;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 종료된 채팅방 메시지 보관 서비스
+ *
+ * 종료(CLOSED) 후 일정 시간이 지난 채팅방의 메시지를 created_at 순으로 나눠 읽어 압축 세그먼트로 이어 쓰고,
+ * 세그먼트 목록을 저장한 뒤 보관한 메시지를 테이블에서 나눠 삭제한다.
+ * 중간에 실패해도 마지막 세그먼트 이후부터 다시 보관하므로 메시지가 빠지거나 중복되지 않는다.
+ * 보관된 메시지는 히스토리 API에서 세그먼트를 스트림으로 읽어 응답한다.
+ */
+@Slf4j
+@Service
+public class ChatArchiveService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatArchiveSegmentRepository chatArchiveSegmentRepository;
+    private final ChatMessageArchiveRepository chatMessageArchiveRepository;
+    private final ChatArchiveStorage chatArchiveStorage;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long minAgeHours;
+    private final int chunkSize;
+    private final int segmentMaxMessages;
+
+    public ChatArchiveService(
+            ChatRoomRepository chatRoomRepository,
+            ChatArchiveSegmentRepository chatArchiveSegmentRepository,
+            ChatMessageArchiveRepository chatMessageArchiveRepository,
+            ChatArchiveStorage chatArchiveStorage,
+            ObjectMapper objectMapper,
+            @Value("${chat.archive.enabled:false}") boolean enabled,
+            @Value("${chat.archive.min-age-hours:24}") long minAgeHours,
+            @Value("${chat.archive.chunk-size:1000}") int chunkSize,
+            @Value("${chat.archive.segment-max-messages:10000}") int segmentMaxMessages) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatArchiveSegmentRepository = chatArchiveSegmentRepository;
+        this.chatMessageArchiveRepository = chatMessageArchiveRepository;
+        this.chatArchiveStorage = chatArchiveStorage;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.minAgeHours = minAgeHours;
+        this.chunkSize = chunkSize;
+        this.segmentMaxMessages = segmentMaxMessages;
+    }
+
+    /**
+     * 보관 대상 채팅방 전체 보관 (채팅방 하나가 실패해도 나머지는 계속 진행)
+     */
+    @Scheduled(fixedDelayString = "${chat.archive.interval-ms:3600000}", initialDelayString = "${chat.archive.interval-ms:3600000}")
+    public void archiveClosedRooms() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime endedBefore = LocalDateTime.now().minusHours(minAgeHours);
+        for (Long roomId : chatRoomRepository.findArchivableRoomIds(ChatRoomStatus.CLOSED, endedBefore)) {
+            try {
+                int archived = archiveRoom(roomId);
+                log.info("Chat room archived: {} - {} messages", roomId, archived);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to archive chat room: {}", roomId, e);
+            }
+        }
+    }
+
+    /**
+     * 채팅방 메시지를 세그먼트로 보관하고 테이블에서 삭제
+     *
+     * @return 세그먼트에 쓴 메시지 수 (삭제된 메시지는 쓰지 않고 테이블에서만 지운다)
+     */
+    public int archiveRoom(long roomId) throws IOException {
+        Optional<ChatArchiveSegment> last = chatArchiveSegmentRepository.findTopByRoomIdOrderBySegmentNoDesc(roomId);
+        ChatHistoryCursor archivedUpTo = last.map(ChatArchiveService::lastCursor).orElse(null);
+        int segmentNo = last.map(segment -> segment.getSegmentNo() + 1).orElse(1);
+
+        // 이전 실행에서 세그먼트는 저장했지만 테이블에서 지우지 못한 메시지 정리
+        if (archivedUpTo != null) {
+            deleteUpTo(roomId, archivedUpTo);
+        }
+
+        int archived = 0;
+        List<ArchiveRow> chunk = chatMessageArchiveRepository.findAfter(roomId, archivedUpTo, chunkSize);
+        while (!chunk.isEmpty()) {
+            String key = segmentKey(roomId, segmentNo);
+            ChatHistoryCursor scannedUpTo = archivedUpTo;
+            ChatSegmentWriter writer = new ChatSegmentWriter(chatArchiveStorage, key, objectMapper);
+            try (writer) {
+                while (!chunk.isEmpty() && writer.getMessageCount() < segmentMaxMessages) {
+                    for (ArchiveRow row : chunk) {
+                        if (!row.deleted()) {
+                            writer.write(row.message());
+                        }
+                    }
+                    scannedUpTo = chunk.get(chunk.size() - 1).cursor();
+                    chunk = chatMessageArchiveRepository.findAfter(roomId, scannedUpTo, chunkSize);
+                }
+            }
+
+            // 세그먼트 목록에 기록된 뒤에만 테이블에서 삭제
+            if (writer.getMessageCount() > 0) {
+                chatArchiveSegmentRepository.save(ChatArchiveSegment.builder()
+                    .roomId(roomId)
+                    .segmentNo(segmentNo)
+                    .storageKey(key)
+                    .messageCount(writer.getMessageCount())
+                    .sizeBytes(writer.getSizeBytes())
+                    .firstCreatedAt(writer.getFirst().getCreatedAt())
+                    .firstMessageId(writer.getFirst().getMessageId())
+                    .lastCreatedAt(scannedUpTo.createdAt())
+                    .lastMessageId(scannedUpTo.messageId())
+                    .build());
+                segmentNo++;
+                archived += writer.getMessageCount();
+            }
+            deleteUpTo(roomId, scannedUpTo);
+            archivedUpTo = scannedUpTo;
+        }
+        return archived;
+    }
+
+    /**
+     * 보관된 메시지 중 커서 이전 메시지를 최신순으로 조회
+     *
+     * @param before 이 메시지보다 앞선 메시지만 조회 (null이면 가장 최근 보관 메시지부터)
+     */
+    public List<ChatMessageDto> findBefore(long roomId, ChatHistoryCursor before, int limit) {
+        List<ChatMessageDto> messages = new ArrayList<>();
+        for (ChatArchiveSegment segment : chatArchiveSegmentRepository.findByRoomIdOrderBySegmentNoDesc(roomId)) {
+            if (messages.size() >= limit) {
+                break;
+            }
+            // 세그먼트의 첫 메시지가 커서 이후면 세그먼트 전체가 커서 이후
+            if (before != null && !firstCursor(segment).isBefore(before)) {
+                continue;
+            }
+            messages.addAll(readBefore(segment, before, limit - messages.size()));
+        }
+        return messages;
+    }
+
+    /**
+     * 보관된 메시지를 오래된 순으로 한 건씩 전달 (세그먼트를 하나씩 스트림으로 읽으므로 메모리에 모으지 않는다)
+     *
+     * @return 마지막 세그먼트의 마지막 메시지 커서 (보관된 메시지가 없으면 null, 테이블은 이 커서 이후부터 읽는다)
+     */
+    public ChatHistoryCursor readArchived(long roomId, Consumer<ChatMessageDto> consumer) {
+        ChatHistoryCursor archivedUpTo = null;
+        for (ChatArchiveSegment segment : chatArchiveSegmentRepository.findByRoomIdOrderBySegmentNoAsc(roomId)) {
+            try (ChatSegmentReader reader = new ChatSegmentReader(chatArchiveStorage.open(segment.getStorageKey()), objectMapper)) {
+                ChatMessageDto message;
+                while ((message = reader.next()) != null) {
+                    consumer.accept(message);
+                }
+            } catch (IOException e) {
+                // consumer 예외(응답 쓰기 실패 등)는 그대로 전달
+                log.error("Failed to read chat archive segment: {}", segment.getStorageKey(), e);
+                throw new BusinessException(ErrorCode.CHAT_ARCHIVE_UNAVAILABLE);
+            }
+            archivedUpTo = lastCursor(segment);
+        }
+        return archivedUpTo;
+    }
+
+    /**
+     * 세그먼트를 앞에서부터 읽으며 커서 이전 메시지 중 마지막 limit개를 최신순으로 반환
+     */
+    private List<ChatMessageDto> readBefore(ChatArchiveSegment segment, ChatHistoryCursor before, int limit) {
+        ArrayDeque<ChatMessageDto> latest = new ArrayDeque<>(limit + 1);
+        try (ChatSegmentReader reader = new ChatSegmentReader(chatArchiveStorage.open(segment.getStorageKey()), objectMapper)) {
+            ChatMessageDto message;
+            while ((message = reader.next()) != null) {
+                if (before != null && !ChatHistoryCursor.from(message).isBefore(before)) {
+                    break;
+                }
+                latest.addLast(message);
+                if (latest.size() > limit) {
+                    latest.pollFirst();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read chat archive segment: {}", segment.getStorageKey(), e);
+            throw new BusinessException(ErrorCode.CHAT_ARCHIVE_UNAVAILABLE);
+        }
+
+        List<ChatMessageDto> newestFirst = new ArrayList<>(latest.size());
+        latest.descendingIterator().forEachRemaining(newestFirst::add);
+        return newestFirst;
+    }
+
+    private void deleteUpTo(long roomId, ChatHistoryCursor upTo) {
+        int deleted;
+        do {
+            deleted = chatMessageArchiveRepository.deleteUpTo(roomId, upTo, chunkSize);
+        } while (deleted >= chunkSize);
+    }
+
+    private static String segmentKey(long roomId, int segmentNo) {
+        return String.format("rooms/%d/segment-%06d.ndjson.gz", roomId, segmentNo);
+    }
+
+    private static ChatHistoryCursor firstCursor(ChatArchiveSegment segment) {
+        return new ChatHistoryCursor(segment.getFirstCreatedAt(), segment.getFirstMessageId());
+    }
+
+    private static ChatHistoryCursor lastCursor(ChatArchiveSegment segment) {
+        return new ChatHistoryCursor(segment.getLastCreatedAt(), segment.getLastMessageId());
+    }
+}
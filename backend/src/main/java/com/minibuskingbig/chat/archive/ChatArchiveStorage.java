@@ -0,0 +1,22 @@
+package com.minibuskingbig.chat.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 채팅 보관 세그먼트 저장소
+ * 로컬 디스크(chat.archive.storage=local) 또는 S3(chat.archive.storage=s3)에 세그먼트 파일을 저장한다.
+ */
+public interface ChatArchiveStorage {
+
+    /**
+     * 세그먼트 쓰기 스트림 (close해야 저장이 끝나며, 같은 key가 있으면 덮어쓴다)
+     */
+    OutputStream create(String key) throws IOException;
+
+    /**
+     * 세그먼트 읽기 스트림
+     */
+    InputStream open(String key) throws IOException;
+}
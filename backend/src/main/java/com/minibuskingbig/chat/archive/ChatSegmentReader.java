@@ -0,0 +1,52 @@
+package com.minibuskingbig.chat.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 세그먼트 읽기 (압축을 풀면서 한 줄씩 읽으므로 세그먼트 전체를 메모리에 올리지 않는다)
+ */
+class ChatSegmentReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    ChatSegmentReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        try {
+            this.reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(in, BUFFER_SIZE), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 다음 메시지 (created_at 순, 끝이면 null)
+     */
+    ChatMessageDto next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isEmpty());
+        return objectMapper.readValue(line, ChatMessageDto.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.minibuskingbig.chat.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 세그먼트 쓰기 (메시지 한 줄에 JSON 하나, gzip 압축)
+ * 처음 메시지를 쓸 때 저장소 스트림을 열어 빈 세그먼트는 만들지 않는다.
+ */
+class ChatSegmentWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte NEW_LINE = '\n';
+
+    private final ChatArchiveStorage storage;
+    private final String key;
+    private final ObjectMapper objectMapper;
+
+    private GZIPOutputStream out;
+    private long sizeBytes;
+    private int messageCount;
+    private ChatMessageDto first;
+
+    ChatSegmentWriter(ChatArchiveStorage storage, String key, ObjectMapper objectMapper) {
+        this.storage = storage;
+        this.key = key;
+        this.objectMapper = objectMapper;
+    }
+
+    void write(ChatMessageDto message) throws IOException {
+        if (out == null) {
+            out = new GZIPOutputStream(new CountingOutputStream(storage.create(key)), BUFFER_SIZE);
+            first = message;
+        }
+        out.write(objectMapper.writeValueAsBytes(message));
+        out.write(NEW_LINE);
+        messageCount++;
+    }
+
+    int getMessageCount() {
+        return messageCount;
+    }
+
+    ChatMessageDto getFirst() {
+        return first;
+    }
+
+    /**
+     * 압축된 크기 (close 이후에 정확함)
+     */
+    long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private class CountingOutputStream extends FilterOutputStream {
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            sizeBytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            sizeBytes += len;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.minibuskingbig.chat.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 로컬 디스크 세그먼트 저장소
+ */
+@Component
+@ConditionalOnProperty(name = "chat.archive.storage", havingValue = "local", matchIfMissing = true)
+public class LocalChatArchiveStorage implements ChatArchiveStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path baseDirectory;
+
+    public LocalChatArchiveStorage(@Value("${chat.archive.local-directory:./data/chat-archive}") String baseDirectory) {
+        this.baseDirectory = Paths.get(baseDirectory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public OutputStream create(String key) throws IOException {
+        Path path = resolve(key);
+        Files.createDirectories(path.getParent());
+        return new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path path = baseDirectory.resolve(key).normalize();
+        if (!path.startsWith(baseDirectory)) {
+            throw new IllegalArgumentException("Invalid archive key: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,75 @@
+package com.minibuskingbig.chat.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * S3 세그먼트 저장소
+ * 쓰는 동안에는 임시 파일에 모았다가 close할 때 한 번에 업로드하고, 읽을 때는 객체를 스트림으로 받는다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.archive.storage", havingValue = "s3")
+public class S3ChatArchiveStorage implements ChatArchiveStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String prefix;
+
+    public S3ChatArchiveStorage(
+            S3Client s3Client,
+            @Value("${aws.s3.bucket}") String bucket,
+            @Value("${chat.archive.s3-prefix:chat-archive/}") String prefix) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public OutputStream create(String key) throws IOException {
+        Path tempFile = Files.createTempFile("chat-archive-", ".segment");
+        return new FilterOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE)) {
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    super.close();
+                    s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(prefix + key).build(),
+                        RequestBody.fromFile(tempFile));
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+            }
+        };
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(prefix + key).build());
+    }
+}
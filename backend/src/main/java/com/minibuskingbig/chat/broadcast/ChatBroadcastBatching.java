@@ -0,0 +1,43 @@
+package com.minibuskingbig.chat.broadcast;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대형 채팅방 묶음 전송(micro-batching) 설정
+ *
+ * 채팅방의 초당 메시지 수가 enter-rate 이상이 되면 window-ms마다 모인 메시지를 JSON 배열 프레임 하나로 보내고,
+ * exit-rate 아래로 내려가면 다시 메시지마다 프레임을 보낸다.
+ */
+@Getter
+@Component
+public class ChatBroadcastBatching {
+
+    private final boolean enabled;
+    private final int enterRate;
+    private final int exitRate;
+    private final long windowMillis;
+    private final int maxMessages;
+
+    public ChatBroadcastBatching(
+        @Value("${chat.broadcast.batch.enabled:true}") boolean enabled,
+        @Value("${chat.broadcast.batch.enter-rate:50}") int enterRate,
+        @Value("${chat.broadcast.batch.exit-rate:20}") int exitRate,
+        @Value("${chat.broadcast.batch.window-ms:100}") long windowMillis,
+        @Value("${chat.broadcast.batch.max-messages:100}") int maxMessages
+    ) {
+        if (exitRate > enterRate) {
+            throw new IllegalArgumentException("chat.broadcast.batch.exit-rate must not exceed enter-rate");
+        }
+        this.enabled = enabled;
+        this.enterRate = enterRate;
+        this.exitRate = exitRate;
+        this.windowMillis = windowMillis;
+        this.maxMessages = maxMessages;
+    }
+
+    public static ChatBroadcastBatching disabled() {
+        return new ChatBroadcastBatching(false, 50, 20, 100, 100);
+    }
+}
@@ -0,0 +1,538 @@
+package com.minibuskingbig.chat.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 브로드캐스트 엔진
+ *
+ * /topic/chat/{roomId} 구독을 심플 브로커 대신 직접 관리한다.
+ * 채팅방은 roomId 기준으로 고정된 shard 워커에 배정되어 채팅방 안의 순서가 유지되고,
+ * 각 세션은 제한된 크기의 전송 큐(ChatSessionOutbound)를 가지므로 느린 클라이언트가 다른 세션을 막지 않는다.
+ * 메시지가 몰리는 채팅방은 ChatRoomBatcher가 일정 간격으로 묶어 세션마다 배열 프레임 하나로 보낸다.
+ * compact 형식으로 구독한 세션에는 ChatCompactEncoder가 채팅방 프로필 사전을 써서 인코딩한 바이너리 프레임을 보낸다.
+ */
+@Slf4j
+@Component
+public class ChatBroadcastEngine {
+
+    public static final String ROOM_DESTINATION_PREFIX = "/topic/chat/";
+
+    private final ObjectMapper objectMapper;
+    private final ChatBroadcastMetrics metrics;
+    private final int sessionQueueCapacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final ThreadPoolExecutor[] shards;
+    // shard별 묶음 전송 상태 (같은 인덱스의 shard 스레드에서만 사용, 묶음 전송을 끄면 null)
+    private final ChatRoomBatcher[] batchers;
+    // shard별 compact 인코더 (같은 인덱스의 shard 스레드에서만 사용)
+    private final ChatCompactEncoder[] compactEncoders;
+    private final ScheduledExecutorService batchScheduler;
+    private final ThreadPoolExecutor writerExecutor;
+    private final AtomicLong frameSequence = new AtomicLong();
+
+    // sessionId -> 세션 전송 큐
+    private final Map<String, ChatSessionOutbound> sessions = new ConcurrentHashMap<>();
+    // roomId -> (sessionId:subscriptionId -> 구독)
+    private final Map<Long, Map<String, RoomSubscription>> rooms = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+    private final List<BroadcastListener> broadcastListeners = new CopyOnWriteArrayList<>();
+
+    public ChatBroadcastEngine(
+        ObjectMapper objectMapper,
+        ChatBroadcastMetrics metrics,
+        ChatBroadcastBatching batching,
+        MeterRegistry meterRegistry,
+        @Value("${chat.broadcast.shards:4}") int shardCount,
+        @Value("${chat.broadcast.shard-queue-capacity:10000}") int shardQueueCapacity,
+        @Value("${chat.broadcast.writer-threads:8}") int writerThreads,
+        @Value("${chat.broadcast.session-queue-capacity:256}") int sessionQueueCapacity,
+        @Value("${chat.broadcast.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+        @Value("${chat.broadcast.compact.dictionary-size:1024}") int compactDictionarySize
+    ) {
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.sessionQueueCapacity = sessionQueueCapacity;
+        this.overflowPolicy = overflowPolicy;
+
+        this.shards = new ThreadPoolExecutor[shardCount];
+        this.compactEncoders = new ChatCompactEncoder[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            compactEncoders[i] = new ChatCompactEncoder(objectMapper, compactDictionarySize);
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(shardQueueCapacity),
+                new CustomizableThreadFactory("chat-broadcast-shard-" + i + "-"));
+            Gauge.builder("chat.broadcast.shard.queue.depth", shards[i], executor -> executor.getQueue().size())
+                .tag("shard", String.valueOf(i))
+                .register(meterRegistry);
+        }
+
+        if (batching.isEnabled()) {
+            this.batchers = new ChatRoomBatcher[shardCount];
+            for (int i = 0; i < shardCount; i++) {
+                batchers[i] = new ChatRoomBatcher(batching, this::sendBatch);
+            }
+            this.batchScheduler = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("chat-broadcast-batch-"));
+            batchScheduler.scheduleAtFixedRate(this::flushBatches,
+                batching.getWindowMillis(), batching.getWindowMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.batchers = null;
+            this.batchScheduler = null;
+        }
+
+        this.writerExecutor = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new CustomizableThreadFactory("chat-session-writer-"));
+
+        meterRegistry.gauge("chat.broadcast.sessions", sessions, Map::size);
+        meterRegistry.gauge("chat.broadcast.session.queue.depth", sessions, map -> map.values().stream()
+            .mapToInt(ChatSessionOutbound::getQueueDepth)
+            .sum());
+    }
+
+    /**
+     * 세션 연결 시 전송 큐로 감싸서 등록
+     */
+    public ChatSessionOutbound register(WebSocketSession session) {
+        ChatSessionOutbound outbound = new ChatSessionOutbound(
+            session, sessionQueueCapacity, overflowPolicy, writerExecutor, metrics);
+        sessions.put(session.getId(), outbound);
+        return outbound;
+    }
+
+    public ChatSessionOutbound getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * 세션 종료 시 모든 구독과 함께 제거
+     */
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.forEach((subscriptionId, roomId) -> removeRoomSubscription(roomId, sessionId, subscriptionId));
+        }
+    }
+
+    public void subscribe(String sessionId, String subscriptionId, long roomId) {
+        subscribe(sessionId, subscriptionId, roomId, ChatWireFormat.JSON);
+    }
+
+    /**
+     * 전송 형식을 지정한 구독 등록 (바이너리 프레임을 못 보내는 SockJS 세션은 JSON으로 대체)
+     */
+    public void subscribe(String sessionId, String subscriptionId, long roomId, ChatWireFormat format) {
+        addSubscription(sessionId, subscriptionId, roomId, false, format);
+    }
+
+    /**
+     * 재연결 구독 등록 (resume 전까지 실시간 프레임은 보내지 않고 모아 둔다)
+     *
+     * 등록 후에 놓친 메시지를 조회해야 등록 전후로 전송된 메시지가 빠지지 않는다.
+     */
+    public boolean subscribeForResume(String sessionId, String subscriptionId, long roomId) {
+        return subscribeForResume(sessionId, subscriptionId, roomId, ChatWireFormat.JSON);
+    }
+
+    public boolean subscribeForResume(String sessionId, String subscriptionId, long roomId, ChatWireFormat format) {
+        return addSubscription(sessionId, subscriptionId, roomId, true, format);
+    }
+
+    /**
+     * 놓친 메시지를 순번 순서로 보낸 뒤, 모아 둔 실시간 프레임 중 재전송하지 않은 것만 이어서 보낸다
+     */
+    public void resume(String sessionId, String subscriptionId, long roomId, List<ChatMessageDto> missedMessages) {
+        List<ChatBroadcastFrame> replay = new ArrayList<>(missedMessages.size());
+        for (ChatMessageDto message : missedMessages) {
+            replay.add(encodeFrame(roomId, message.getSequence(), serialize(message), message));
+        }
+
+        String key = subscriptionKey(sessionId, subscriptionId);
+        try {
+            // 같은 채팅방의 fan-out과 같은 shard 스레드에서 실행하여 순서를 보장
+            shardFor(roomId).execute(() -> completeResume(roomId, key, replay));
+        } catch (RejectedExecutionException e) {
+            metrics.broadcastRejected();
+            log.warn("Chat resume rejected for room: {} - closing session: {}", roomId, sessionId);
+            closeSession(sessionId);
+        }
+    }
+
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Long> subscriptions = sessionSubscriptions.get(sessionId);
+        Long roomId = subscriptions == null ? null : subscriptions.remove(subscriptionId);
+        if (roomId != null) {
+            removeRoomSubscription(roomId, sessionId, subscriptionId);
+        }
+    }
+
+    /**
+     * 채팅방 구독자 전체에게 전송
+     *
+     * JSON 직렬화와 STOMP 프레임 인코딩은 구독자 수와 관계없이 메시지당 한 번만 수행한다.
+     */
+    public void broadcast(long roomId, long sequence, Object payload) {
+        byte[] body = serialize(payload);
+
+        broadcastFrame(roomId, encodeFrame(roomId, sequence, body, payload));
+        for (BroadcastListener listener : broadcastListeners) {
+            listener.onBroadcast(roomId, sequence, body);
+        }
+    }
+
+    /**
+     * 이 노드의 구독자에게만 전송 (다른 노드에는 별도 이벤트로 전달하는 알림)
+     */
+    public void broadcastLocal(long roomId, long sequence, Object payload) {
+        broadcastFrame(roomId, encodeFrame(roomId, sequence, serialize(payload), payload));
+    }
+
+    /**
+     * 이미 직렬화된 JSON 본문을 이 노드의 구독자에게만 전송 (다른 노드에서 릴레이된 메시지)
+     */
+    public void broadcastEncoded(long roomId, long sequence, byte[] body) {
+        broadcastFrame(roomId, encodeFrame(roomId, sequence, body, null));
+    }
+
+    /**
+     * 채팅방을 구독 중인 세션 하나에만 전송 (보낸 사람에게만 보내는 전송 확인 등, 순번 0)
+     */
+    public void sendToSession(String sessionId, long roomId, Object payload) {
+        ChatBroadcastFrame frame = encodeFrame(roomId, 0L, serialize(payload), payload);
+        try {
+            // 같은 채팅방의 fan-out과 같은 shard 스레드에서 실행하여 순서를 보장
+            shardFor(roomId).execute(() -> deliverToSession(roomId, sessionId, frame));
+        } catch (RejectedExecutionException e) {
+            metrics.broadcastRejected();
+            log.warn("Chat session send rejected for room: {} - shard queue full", roomId);
+        }
+    }
+
+    /**
+     * 이 노드에서 직접 보낸 브로드캐스트를 받을 리스너 등록 (노드 간 릴레이 등)
+     */
+    public void addBroadcastListener(BroadcastListener listener) {
+        broadcastListeners.add(listener);
+    }
+
+    /**
+     * 이 노드에 구독자가 있는 채팅방 목록
+     */
+    public Set<Long> getSubscribedRoomIds() {
+        return Set.copyOf(rooms.keySet());
+    }
+
+    public int getSubscriberCount(long roomId) {
+        Map<String, RoomSubscription> subscriptions = rooms.get(roomId);
+        return subscriptions == null ? 0 : subscriptions.size();
+    }
+
+    public static Long parseRoomId(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(ROOM_DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batchScheduler != null) {
+            batchScheduler.shutdownNow();
+        }
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+        writerExecutor.shutdown();
+    }
+
+    private boolean addSubscription(String sessionId, String subscriptionId, long roomId, boolean resuming,
+                                    ChatWireFormat format) {
+        ChatSessionOutbound outbound = sessions.get(sessionId);
+        if (outbound == null) {
+            log.warn("Subscribe from unknown chat session: {}", sessionId);
+            return false;
+        }
+
+        boolean compact = format == ChatWireFormat.COMPACT && outbound.supportsBinary();
+        RoomSubscription subscription = new RoomSubscription(subscriptionId, outbound, resuming, compact);
+        sessionSubscriptions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, roomId);
+        rooms.compute(roomId, (id, subscriptions) -> {
+            Map<String, RoomSubscription> target = subscriptions != null ? subscriptions : new ConcurrentHashMap<>();
+            target.put(subscriptionKey(sessionId, subscriptionId), subscription);
+            return target;
+        });
+        return true;
+    }
+
+    private void broadcastFrame(long roomId, ChatBroadcastFrame frame) {
+        try {
+            shardFor(roomId).execute(() -> fanOut(roomId, frame));
+            metrics.broadcast();
+        } catch (RejectedExecutionException e) {
+            metrics.broadcastRejected();
+            log.warn("Chat broadcast rejected for room: {} - shard queue full", roomId);
+        }
+    }
+
+    private void fanOut(long roomId, ChatBroadcastFrame frame) {
+        Map<String, RoomSubscription> subscriptions = rooms.get(roomId);
+        if (subscriptions == null || subscriptions.isEmpty()) {
+            return;
+        }
+        if (batchers != null && batchers[shardIndex(roomId)].offer(roomId, frame, System.nanoTime())) {
+            return;
+        }
+        deliver(roomId, subscriptions, List.of(frame), frame);
+    }
+
+    /**
+     * 묶음 전송 (하나뿐이면 일반 프레임으로 보낸다)
+     */
+    private void sendBatch(long roomId, List<ChatBroadcastFrame> frames) {
+        Map<String, RoomSubscription> subscriptions = rooms.get(roomId);
+        if (subscriptions == null || subscriptions.isEmpty()) {
+            return;
+        }
+
+        ChatBroadcastFrame frame = frames.size() == 1
+            ? frames.get(0)
+            : ChatBroadcastFrame.encodeBatch(
+                ROOM_DESTINATION_PREFIX + roomId, String.valueOf(frameSequence.incrementAndGet()), frames);
+        metrics.batchSent(frames.size());
+        deliver(roomId, subscriptions, frames, frame);
+    }
+
+    private void flushBatches() {
+        for (int i = 0; i < shards.length; i++) {
+            ChatRoomBatcher batcher = batchers[i];
+            try {
+                shards[i].execute(() -> batcher.flush(System.nanoTime()));
+            } catch (RejectedExecutionException e) {
+                // shard 큐가 가득 찼으면 다음 주기에 보낸다
+                log.debug("Chat batch flush skipped for shard: {}", i);
+            }
+        }
+    }
+
+    /**
+     * 구독자 전체에게 전송 (compact 구독자가 있으면 compact 프레임을 한 번만 인코딩)
+     *
+     * @param entries 프레임에 담긴 메시지별 프레임 (묶음이 아니면 frame 하나)
+     */
+    private void deliver(long roomId, Map<String, RoomSubscription> subscriptions,
+                         List<ChatBroadcastFrame> entries, ChatBroadcastFrame frame) {
+        ChatBroadcastFrame compactFrame = null;
+        for (RoomSubscription subscription : subscriptions.values()) {
+            if (subscription.compact && compactFrame == null) {
+                compactFrame = encodeCompactFrame(roomId, entries, frame.getSequence(), true);
+            }
+            ChatBroadcastFrame target = subscription.compact ? compactFrame : frame;
+            if (subscription.pending != null) {
+                subscription.pending.add(target);
+            } else {
+                send(roomId, subscription, target);
+            }
+        }
+    }
+
+    private void deliverToSession(long roomId, String sessionId, ChatBroadcastFrame frame) {
+        Map<String, RoomSubscription> subscriptions = rooms.get(roomId);
+        Map<String, Long> sessionRooms = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null || sessionRooms == null) {
+            return;
+        }
+        sessionRooms.forEach((subscriptionId, subscribedRoomId) -> {
+            RoomSubscription subscription = subscribedRoomId == roomId
+                ? subscriptions.get(subscriptionKey(sessionId, subscriptionId))
+                : null;
+            if (subscription == null) {
+                return;
+            }
+            // 이 구독만 받으므로 채팅방 프로필 사전을 바꾸지 않고 인코딩
+            ChatBroadcastFrame target = subscription.compact
+                ? encodeCompactFrame(roomId, List.of(frame), 0L, false)
+                : frame;
+            if (subscription.pending != null) {
+                subscription.pending.add(target);
+            } else {
+                send(roomId, subscription, target);
+            }
+        });
+    }
+
+    private void completeResume(long roomId, String key, List<ChatBroadcastFrame> replay) {
+        Map<String, RoomSubscription> subscriptions = rooms.get(roomId);
+        RoomSubscription subscription = subscriptions == null ? null : subscriptions.get(key);
+        if (subscription == null || subscription.pending == null) {
+            return;
+        }
+
+        Set<Long> replayed = new HashSet<>(replay.size() * 2);
+        for (ChatBroadcastFrame frame : replay) {
+            // 재전송은 이 구독만 받으므로 채팅방 프로필 사전을 바꾸지 않고 인코딩
+            send(roomId, subscription, subscription.compact
+                ? encodeCompactFrame(roomId, List.of(frame), frame.getSequence(), false)
+                : frame);
+            replayed.add(frame.getSequence());
+        }
+        // 재전송과 겹치는 실시간 프레임은 건너뜀 (순번 발급 후 늦게 전송된 메시지는 순번이 앞서도 보낸다)
+        for (ChatBroadcastFrame frame : subscription.pending) {
+            if (frame.getSequence() <= 0 || !replayed.contains(frame.getSequence())) {
+                send(roomId, subscription, frame);
+            }
+        }
+        subscription.pending = null;
+    }
+
+    /**
+     * 구독 하나에 전송
+     * compact 구독은 처음 보낼 때와 세션 큐에서 프레임이 버려진 뒤에 프로필 사전 전체를 먼저 보낸다.
+     */
+    private void send(long roomId, RoomSubscription subscription, ChatBroadcastFrame frame) {
+        if (!subscription.compact) {
+            subscription.outbound.enqueue(frame.forSubscription(subscription.subscriptionId));
+            return;
+        }
+
+        // 버려진 프레임에 있던 프로필 정의를 다시 받도록 사전을 다시 보낸다
+        if (subscription.droppedFrames != subscription.outbound.getDroppedFrames()) {
+            subscription.dictionarySent = false;
+        }
+        if (!subscription.dictionarySent) {
+            ChatBroadcastFrame snapshot = ChatBroadcastFrame.encodeCompact(ROOM_DESTINATION_PREFIX + roomId,
+                String.valueOf(frameSequence.incrementAndGet()), 0L, 0, compactEncoders[shardIndex(roomId)].snapshot(roomId));
+            subscription.outbound.enqueue(snapshot.forBinarySubscription(subscription.subscriptionId));
+            subscription.dictionarySent = true;
+        }
+        subscription.outbound.enqueue(frame.forBinarySubscription(subscription.subscriptionId));
+        subscription.droppedFrames = subscription.outbound.getDroppedFrames();
+    }
+
+    private ChatBroadcastFrame encodeCompactFrame(long roomId, List<ChatBroadcastFrame> entries, long sequence, boolean shared) {
+        ChatCompactEncoder encoder = compactEncoders[shardIndex(roomId)];
+        byte[] body = shared ? encoder.encode(roomId, entries) : encoder.encodePrivate(roomId, entries);
+        return ChatBroadcastFrame.encodeCompact(ROOM_DESTINATION_PREFIX + roomId,
+            String.valueOf(frameSequence.incrementAndGet()), sequence, entries.size(), body);
+    }
+
+    private ChatBroadcastFrame encodeFrame(long roomId, long sequence, byte[] body, Object payload) {
+        return ChatBroadcastFrame.encode(
+            ROOM_DESTINATION_PREFIX + roomId, String.valueOf(frameSequence.incrementAndGet()), sequence, body, payload);
+    }
+
+    private byte[] serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize chat payload", e);
+        }
+    }
+
+    private void closeSession(String sessionId) {
+        ChatSessionOutbound outbound = sessions.get(sessionId);
+        if (outbound == null) {
+            return;
+        }
+        try {
+            outbound.close(CloseStatus.SERVICE_OVERLOAD);
+        } catch (IOException e) {
+            log.debug("Failed to close chat session: {}", sessionId, e);
+        }
+    }
+
+    private void removeRoomSubscription(long roomId, String sessionId, String subscriptionId) {
+        Map<String, RoomSubscription> remaining = rooms.computeIfPresent(roomId, (id, subscriptions) -> {
+            subscriptions.remove(subscriptionKey(sessionId, subscriptionId));
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        if (remaining == null) {
+            discardCompactDictionary(roomId);
+        }
+    }
+
+    /**
+     * 구독자가 모두 나간 채팅방의 프로필 사전 제거 (shard 스레드에서 다시 확인 후 제거)
+     */
+    private void discardCompactDictionary(long roomId) {
+        int index = shardIndex(roomId);
+        try {
+            shards[index].execute(() -> {
+                if (!rooms.containsKey(roomId)) {
+                    compactEncoders[index].discard(roomId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Compact dictionary discard skipped for room: {}", roomId);
+        }
+    }
+
+    private ThreadPoolExecutor shardFor(long roomId) {
+        return shards[shardIndex(roomId)];
+    }
+
+    private int shardIndex(long roomId) {
+        return (int) Math.floorMod(roomId, (long) shards.length);
+    }
+
+    private static String subscriptionKey(String sessionId, String subscriptionId) {
+        return sessionId + ":" + subscriptionId;
+    }
+
+    private static final class RoomSubscription {
+
+        private final String subscriptionId;
+        private final ChatSessionOutbound outbound;
+        private final boolean compact;
+        // resume 중에 모아 둔 실시간 프레임 (shard 스레드에서만 변경, resume이 끝나면 null)
+        private List<ChatBroadcastFrame> pending;
+        // compact 구독의 프로필 사전 전송 상태 (shard 스레드에서만 변경)
+        private boolean dictionarySent;
+        private long droppedFrames;
+
+        RoomSubscription(String subscriptionId, ChatSessionOutbound outbound, boolean resuming, boolean compact) {
+            this.subscriptionId = subscriptionId;
+            this.outbound = outbound;
+            this.compact = compact;
+            this.pending = resuming ? new ArrayList<>() : null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface BroadcastListener {
+
+        void onBroadcast(long roomId, long sequence, byte[] body);
+    }
+}
@@ -0,0 +1,210 @@
+package com.minibuskingbig.chat.broadcast;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 번만 인코딩한 STOMP MESSAGE 프레임
+ *
+ * JSON 본문과 subscription을 제외한 헤더를 미리 바이트로 만들어 두고, 구독별로는 subscription 헤더만 끼워 넣는다.
+ * 대부분의 클라이언트는 같은 subscription id(sub-0 등)를 쓰므로 같은 id에는 이미 만든 TextMessage를 그대로 재사용한다.
+ * fan-out은 채팅방의 shard 스레드 하나에서만 실행되므로 프레임 캐시는 동기화하지 않는다.
+ * compact 형식(MessagePack) 프레임은 본문이 바이너리이므로 BinaryMessage로 보낸다.
+ */
+public final class ChatBroadcastFrame {
+
+    private static final byte[] SUBSCRIPTION_HEADER = "subscription:".getBytes(StandardCharsets.UTF_8);
+    private static final byte LF = '\n';
+    private static final byte NULL = 0;
+
+    public static final String SEQUENCE_HEADER = "sequence";
+    public static final String BATCH_SIZE_HEADER = "batch-size";
+    public static final String COMPACT_CONTENT_TYPE = "application/msgpack";
+
+    // "MESSAGE\n" + 공통 헤더 (subscription 제외)
+    private final byte[] headerPrefix;
+    private final byte[] body;
+    private final long sequence;
+    // compact 형식으로 다시 인코딩할 때 쓰는 원본 객체 (다른 노드에서 릴레이된 프레임은 null)
+    private final Object payload;
+    private final boolean binary;
+    private final Map<String, TextMessage> frames = new HashMap<>(4);
+    private final Map<String, byte[]> binaryFrames = new HashMap<>(4);
+
+    private ChatBroadcastFrame(byte[] headerPrefix, byte[] body, long sequence, Object payload, boolean binary) {
+        this.headerPrefix = headerPrefix;
+        this.body = body;
+        this.sequence = sequence;
+        this.payload = payload;
+        this.binary = binary;
+    }
+
+    /**
+     * 공통 헤더와 JSON 본문으로 프레임 템플릿 생성
+     *
+     * @param sequence 채팅방 메시지 순번 (0 이하이면 순번 없는 프레임)
+     */
+    public static ChatBroadcastFrame encode(String destination, String messageId, long sequence, byte[] body) {
+        return encode(destination, messageId, sequence, body, null);
+    }
+
+    /**
+     * 공통 헤더와 JSON 본문으로 프레임 템플릿 생성 (compact 구독자를 위해 원본 객체를 함께 보관)
+     */
+    public static ChatBroadcastFrame encode(String destination, String messageId, long sequence, byte[] body, Object payload) {
+        StringBuilder headers = new StringBuilder(160)
+            .append("MESSAGE\n")
+            .append("destination:").append(escape(destination)).append('\n')
+            .append("content-type:application/json\n")
+            .append("message-id:").append(escape(messageId)).append('\n');
+        if (sequence > 0) {
+            headers.append(SEQUENCE_HEADER).append(':').append(sequence).append('\n');
+        }
+        headers.append("content-length:").append(body.length).append('\n');
+        return new ChatBroadcastFrame(headers.toString().getBytes(StandardCharsets.UTF_8), body, sequence, payload, false);
+    }
+
+    /**
+     * compact 형식(MessagePack) 본문으로 프레임 템플릿 생성
+     *
+     * @param batchSize 본문에 담긴 메시지 수 (2 이상이면 batch-size 헤더 포함)
+     */
+    public static ChatBroadcastFrame encodeCompact(String destination, String messageId, long sequence, int batchSize, byte[] body) {
+        StringBuilder headers = new StringBuilder(160)
+            .append("MESSAGE\n")
+            .append("destination:").append(escape(destination)).append('\n')
+            .append("content-type:").append(COMPACT_CONTENT_TYPE).append('\n')
+            .append("message-id:").append(escape(messageId)).append('\n');
+        if (sequence > 0) {
+            headers.append(SEQUENCE_HEADER).append(':').append(sequence).append('\n');
+        }
+        if (batchSize > 1) {
+            headers.append(BATCH_SIZE_HEADER).append(':').append(batchSize).append('\n');
+        }
+        headers.append("content-length:").append(body.length).append('\n');
+        return new ChatBroadcastFrame(headers.toString().getBytes(StandardCharsets.UTF_8), body, sequence, null, true);
+    }
+
+    /**
+     * 여러 프레임의 본문을 JSON 배열 하나로 묶은 프레임 생성 (batch-size 헤더 포함, 순번 헤더 없음)
+     */
+    public static ChatBroadcastFrame encodeBatch(String destination, String messageId, List<ChatBroadcastFrame> frames) {
+        int length = 2 + Math.max(0, frames.size() - 1);
+        for (ChatBroadcastFrame frame : frames) {
+            length += frame.body.length;
+        }
+
+        byte[] body = new byte[length];
+        int position = 0;
+        body[position++] = '[';
+        for (int i = 0; i < frames.size(); i++) {
+            if (i > 0) {
+                body[position++] = ',';
+            }
+            byte[] element = frames.get(i).body;
+            System.arraycopy(element, 0, body, position, element.length);
+            position += element.length;
+        }
+        body[position] = ']';
+
+        String headers = "MESSAGE\n"
+            + "destination:" + escape(destination) + "\n"
+            + "content-type:application/json\n"
+            + "message-id:" + escape(messageId) + "\n"
+            + BATCH_SIZE_HEADER + ":" + frames.size() + "\n"
+            + "content-length:" + body.length + "\n";
+        return new ChatBroadcastFrame(headers.getBytes(StandardCharsets.UTF_8), body, 0L, null, false);
+    }
+
+    /**
+     * 구독별 프레임 (같은 subscription id는 같은 인스턴스를 반환)
+     */
+    public TextMessage forSubscription(String subscriptionId) {
+        if (binary) {
+            throw new IllegalStateException("Compact frame must be sent as a binary message");
+        }
+        TextMessage frame = frames.get(subscriptionId);
+        if (frame == null) {
+            frame = new TextMessage(assemble(subscriptionId));
+            frames.put(subscriptionId, frame);
+        }
+        return frame;
+    }
+
+    /**
+     * 구독별 compact 프레임
+     * BinaryMessage는 전송 시 버퍼 위치가 바뀌므로 인코딩한 바이트만 재사용하고 메시지는 매번 만든다.
+     */
+    public BinaryMessage forBinarySubscription(String subscriptionId) {
+        if (!binary) {
+            throw new IllegalStateException("JSON frame must be sent as a text message");
+        }
+        return new BinaryMessage(binaryFrames.computeIfAbsent(subscriptionId, this::assemble));
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public int getBodyLength() {
+        return body.length;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    Object getPayload() {
+        return payload;
+    }
+
+    private byte[] assemble(String subscriptionId) {
+        byte[] subscription = escape(subscriptionId).getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[headerPrefix.length + SUBSCRIPTION_HEADER.length + subscription.length + 2 + body.length + 1];
+
+        int position = 0;
+        System.arraycopy(headerPrefix, 0, frame, position, headerPrefix.length);
+        position += headerPrefix.length;
+        System.arraycopy(SUBSCRIPTION_HEADER, 0, frame, position, SUBSCRIPTION_HEADER.length);
+        position += SUBSCRIPTION_HEADER.length;
+        System.arraycopy(subscription, 0, frame, position, subscription.length);
+        position += subscription.length;
+        frame[position++] = LF;
+        frame[position++] = LF;
+        System.arraycopy(body, 0, frame, position, body.length);
+        position += body.length;
+        frame[position] = NULL;
+        return frame;
+    }
+
+    /**
+     * STOMP 1.2 헤더 값 escape
+     */
+    private static String escape(String value) {
+        if (value.indexOf('\\') < 0 && value.indexOf(':') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ':' -> escaped.append("\\c");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
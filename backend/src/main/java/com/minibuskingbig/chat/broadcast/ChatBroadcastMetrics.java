@@ -0,0 +1,53 @@
+package com.minibuskingbig.chat.broadcast;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 브로드캐스트 메트릭
+ */
+@Component
+public class ChatBroadcastMetrics {
+
+    private final Counter broadcasts;
+    private final Counter framesSent;
+    private final Counter framesDropped;
+    private final Counter slowConsumersDisconnected;
+    private final Counter broadcastsRejected;
+    private final DistributionSummary batchSize;
+
+    public ChatBroadcastMetrics(MeterRegistry meterRegistry) {
+        this.broadcasts = meterRegistry.counter("chat.broadcast.messages");
+        this.framesSent = meterRegistry.counter("chat.broadcast.frames.sent");
+        this.framesDropped = meterRegistry.counter("chat.broadcast.frames.dropped");
+        this.slowConsumersDisconnected = meterRegistry.counter("chat.broadcast.sessions.disconnected");
+        this.broadcastsRejected = meterRegistry.counter("chat.broadcast.messages.rejected");
+        this.batchSize = meterRegistry.summary("chat.broadcast.batch.size");
+    }
+
+    public void broadcast() {
+        broadcasts.increment();
+    }
+
+    public void frameSent() {
+        framesSent.increment();
+    }
+
+    public void frameDropped() {
+        framesDropped.increment();
+    }
+
+    public void slowConsumerDisconnected() {
+        slowConsumersDisconnected.increment();
+    }
+
+    public void broadcastRejected() {
+        broadcastsRejected.increment();
+    }
+
+    public void batchSent(int messages) {
+        batchSize.record(messages);
+    }
+}
@@ -0,0 +1,241 @@
+package com.minibuskingbig.chat.broadcast;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.dto.ChatTombstoneDto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * compact 전송 형식(MessagePack) 인코더
+ *
+ * 본문은 항목 배열이고, 각 항목은 종류 코드로 시작하는 배열이다.
+ * <pre>
+ *   MESSAGE   [0, sequence, messageId, ref, messageType, content, createdAt(, clientMessageId)]
+ *   PROFILE   [1, ref, userId, userDisplayId, userNickname, userProfileImageUrl]
+ *   TOMBSTONE [2, [messageId, ...]]
+ *   JSON      [3, json]
+ * </pre>
+ * messageType은 MessageType 선언 순서(CHAT 0, JOIN 1, LEAVE 2, SYSTEM 3), createdAt은 JSON과 같은 벽시계 시각을
+ * 1970-01-01T00:00 기준 밀리초로 쓴다 (시간대 변환 없음).
+ * messageId는 JSON과 같이 문자열로 쓴다 (53비트를 넘어 JavaScript number로 읽으면 반올림된다). clientMessageId는 보낸 클라이언트가 전송 확인에 쓰는 값으로
+ * 있을 때만 붙는다. JSON 항목은 알 수 없는 본문을 그대로 담는다.
+ *
+ * 채팅방마다 보낸 사람 프로필 사전을 두고, 처음 보는 사용자나 프로필이 바뀐 사용자만 메시지 앞에 PROFILE 항목을 넣는다.
+ * 클라이언트는 PROFILE 항목으로 ref -> 프로필 표를 갱신하고 MESSAGE의 ref로 보낸 사람을 찾는다.
+ * 사전이 가득 차면 사전에 없는 사용자는 임시 ref 0에 프로필을 매번 다시 정의한다.
+ * shard별로 하나씩 두고 shard 스레드에서만 사용하므로 동기화하지 않는다.
+ */
+final class ChatCompactEncoder {
+
+    static final int ENTRY_MESSAGE = 0;
+    static final int ENTRY_PROFILE = 1;
+    static final int ENTRY_TOMBSTONE = 2;
+    static final int ENTRY_JSON = 3;
+    static final int TEMPORARY_REF = 0;
+
+    private static final int MESSAGE_ENTRY_SIZE = 7;
+    private static final int PROFILE_ENTRY_SIZE = 6;
+
+    private final ObjectMapper objectMapper;
+    private final int dictionarySize;
+    private final Map<Long, RoomDictionary> rooms = new HashMap<>();
+
+    ChatCompactEncoder(ObjectMapper objectMapper, int dictionarySize) {
+        this.objectMapper = objectMapper;
+        this.dictionarySize = dictionarySize;
+    }
+
+    /**
+     * 채팅방 구독자 전체에게 보낼 본문 (처음 보는 사용자를 사전에 추가)
+     */
+    byte[] encode(long roomId, List<ChatBroadcastFrame> frames) {
+        return encode(roomId, frames, true);
+    }
+
+    /**
+     * 구독 하나에만 보낼 본문 (재전송 등, 다른 구독자가 받지 않으므로 사전을 바꾸지 않는다)
+     */
+    byte[] encodePrivate(long roomId, List<ChatBroadcastFrame> frames) {
+        return encode(roomId, frames, false);
+    }
+
+    /**
+     * 사전 전체를 PROFILE 항목으로 담은 본문 (새 구독자에게 첫 프레임 전에 보낸다)
+     */
+    byte[] snapshot(long roomId) {
+        RoomDictionary dictionary = rooms.get(roomId);
+        List<Profile> profiles = dictionary == null ? List.of() : dictionary.profiles;
+
+        MessagePackWriter writer = new MessagePackWriter(64 + profiles.size() * 48);
+        writer.writeArrayHeader(profiles.size());
+        for (int i = 0; i < profiles.size(); i++) {
+            writeProfile(writer, i + 1, profiles.get(i));
+        }
+        return writer.toByteArray();
+    }
+
+    void discard(long roomId) {
+        rooms.remove(roomId);
+    }
+
+    int getDictionarySize(long roomId) {
+        RoomDictionary dictionary = rooms.get(roomId);
+        return dictionary == null ? 0 : dictionary.profiles.size();
+    }
+
+    private byte[] encode(long roomId, List<ChatBroadcastFrame> frames, boolean define) {
+        MessagePackWriter entries = new MessagePackWriter(frames.size() * 64);
+        int count = 0;
+        for (ChatBroadcastFrame frame : frames) {
+            count += writeEntries(entries, roomId, payloadOf(frame), define);
+        }
+
+        MessagePackWriter writer = new MessagePackWriter(entries.size() + 5);
+        writer.writeArrayHeader(count).writeRaw(entries);
+        return writer.toByteArray();
+    }
+
+    private int writeEntries(MessagePackWriter writer, long roomId, Object payload, boolean define) {
+        if (payload instanceof ChatMessageDto message) {
+            int entries = 1;
+            Profile profile = Profile.of(message);
+            RoomDictionary dictionary = define
+                ? rooms.computeIfAbsent(roomId, id -> new RoomDictionary())
+                : rooms.getOrDefault(roomId, RoomDictionary.EMPTY);
+            int ref = dictionary.refOf(profile);
+            if (ref == TEMPORARY_REF && define && dictionary.profiles.size() < dictionarySize) {
+                ref = dictionary.define(profile);
+                writeProfile(writer, ref, profile);
+                entries++;
+            } else if (ref == TEMPORARY_REF) {
+                writeProfile(writer, TEMPORARY_REF, profile);
+                entries++;
+            } else if (!dictionary.profiles.get(ref - 1).equals(profile)) {
+                // 닉네임 등이 바뀐 사용자는 같은 ref를 다시 정의 (구독자 전체에게 보낼 때만 사전에 반영)
+                if (define) {
+                    dictionary.profiles.set(ref - 1, profile);
+                    writeProfile(writer, ref, profile);
+                } else {
+                    ref = TEMPORARY_REF;
+                    writeProfile(writer, TEMPORARY_REF, profile);
+                }
+                entries++;
+            }
+            writeMessage(writer, ref, message);
+            return entries;
+        }
+
+        if (payload instanceof ChatTombstoneDto tombstone) {
+            writer.writeArrayHeader(2).writeLong(ENTRY_TOMBSTONE).writeArrayHeader(tombstone.getMessageIds().size());
+            for (Long messageId : tombstone.getMessageIds()) {
+                writer.writeString(String.valueOf(messageId));
+            }
+            return 1;
+        }
+
+        writer.writeArrayHeader(2).writeLong(ENTRY_JSON).writeString((String) payload);
+        return 1;
+    }
+
+    /**
+     * 프레임의 원본 객체 (다른 노드에서 릴레이된 프레임은 JSON 본문을 다시 읽는다)
+     */
+    private Object payloadOf(ChatBroadcastFrame frame) {
+        Object payload = frame.getPayload();
+        if (payload instanceof ChatMessageDto || payload instanceof ChatTombstoneDto) {
+            return payload;
+        }
+
+        byte[] body = frame.getBody();
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            String type = node.path("type").asText(null);
+            if (ChatTombstoneDto.TYPE.equals(type)) {
+                return objectMapper.treeToValue(node, ChatTombstoneDto.class);
+            }
+            // type이 있는 다른 알림(전송 확인 등)은 messageId가 있어도 채팅 메시지가 아니다
+            if (type == null && node.hasNonNull("messageId")) {
+                return objectMapper.treeToValue(node, ChatMessageDto.class);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 알 수 없는 본문은 JSON 항목으로 그대로 보낸다
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static void writeMessage(MessagePackWriter writer, int ref, ChatMessageDto message) {
+        boolean acknowledged = message.getClientMessageId() != null;
+        writer.writeArrayHeader(acknowledged ? MESSAGE_ENTRY_SIZE + 1 : MESSAGE_ENTRY_SIZE)
+            .writeLong(ENTRY_MESSAGE)
+            .writeLong(message.getSequence())
+            .writeString(String.valueOf(message.getMessageId()))
+            .writeLong(ref);
+        if (message.getMessageType() == null) {
+            writer.writeNil();
+        } else {
+            writer.writeLong(message.getMessageType().ordinal());
+        }
+        writer.writeString(message.getContent());
+        writer.writeLong(toEpochMillis(message.getCreatedAt()));
+        if (acknowledged) {
+            writer.writeString(message.getClientMessageId());
+        }
+    }
+
+    private static void writeProfile(MessagePackWriter writer, int ref, Profile profile) {
+        writer.writeArrayHeader(PROFILE_ENTRY_SIZE)
+            .writeLong(ENTRY_PROFILE)
+            .writeLong(ref)
+            .writeLong(profile.userId())
+            .writeString(profile.displayId())
+            .writeString(profile.nickname())
+            .writeString(profile.profileImageUrl());
+    }
+
+    private static Long toEpochMillis(LocalDateTime createdAt) {
+        return createdAt == null ? null : createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private record Profile(Long userId, String displayId, String nickname, String profileImageUrl) {
+
+        static Profile of(ChatMessageDto message) {
+            return new Profile(message.getUserId(), message.getUserDisplayId(),
+                message.getUserNickname(), message.getUserProfileImageUrl());
+        }
+    }
+
+    /**
+     * 채팅방 프로필 사전 (ref는 1부터, 정의 순서대로 발급)
+     */
+    private static final class RoomDictionary {
+
+        private static final RoomDictionary EMPTY = new RoomDictionary();
+
+        private final Map<Long, Integer> refs = new HashMap<>();
+        private final List<Profile> profiles = new ArrayList<>();
+
+        int refOf(Profile profile) {
+            return profile.userId() == null ? TEMPORARY_REF : Objects.requireNonNullElse(refs.get(profile.userId()), TEMPORARY_REF);
+        }
+
+        int define(Profile profile) {
+            if (profile.userId() == null) {
+                return TEMPORARY_REF;
+            }
+            profiles.add(profile);
+            int ref = profiles.size();
+            refs.put(profile.userId(), ref);
+            return ref;
+        }
+    }
+}
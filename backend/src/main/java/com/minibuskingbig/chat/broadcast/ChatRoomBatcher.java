@@ -0,0 +1,129 @@
+package com.minibuskingbig.chat.broadcast;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * shard별 채팅방 전송률 측정과 메시지 묶음
+ *
+ * 1초 단위 창으로 채팅방의 메시지 수를 세어 enter-rate에 닿으면 묶음 모드로 바꾸고,
+ * 묶음 모드에서는 프레임을 모아 두었다가 flush 때(또는 max-messages가 찼을 때) 한 번에 넘긴다.
+ * 묶음 모드 해제는 모아 둔 프레임을 모두 보낸 뒤 flush에서만 하므로 메시지 순서가 바뀌지 않는다.
+ * shard 스레드 하나에서만 사용하므로 동기화하지 않는다.
+ */
+final class ChatRoomBatcher {
+
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // 묶음 모드가 아닌 채팅방은 이 시간 동안 메시지가 없으면 측정 상태를 지운다
+    private static final long IDLE_NANOS = RATE_WINDOW_NANOS * 2;
+
+    @FunctionalInterface
+    interface BatchSender {
+
+        void send(long roomId, List<ChatBroadcastFrame> frames);
+    }
+
+    private final ChatBroadcastBatching batching;
+    private final BatchSender sender;
+    private final Map<Long, RoomTraffic> rooms = new HashMap<>();
+
+    ChatRoomBatcher(ChatBroadcastBatching batching, BatchSender sender) {
+        this.batching = batching;
+        this.sender = sender;
+    }
+
+    /**
+     * 프레임을 묶음에 추가
+     *
+     * @return 묶음 모드라서 나중에 보낼 예정이면 true (false면 호출한 쪽이 바로 보낸다)
+     */
+    boolean offer(long roomId, ChatBroadcastFrame frame, long now) {
+        RoomTraffic traffic = rooms.get(roomId);
+        if (traffic == null) {
+            traffic = new RoomTraffic(now);
+            rooms.put(roomId, traffic);
+        }
+
+        traffic.roll(now);
+        traffic.windowCount++;
+        traffic.lastOfferNanos = now;
+        if (!traffic.batching && traffic.windowCount >= batching.getEnterRate()) {
+            traffic.batching = true;
+            // 현재 창이 끝나기 전에 해제되지 않도록 진입 시점의 전송률로 시작
+            traffic.lastRate = traffic.windowCount;
+        }
+        if (!traffic.batching) {
+            return false;
+        }
+
+        traffic.pending.add(frame);
+        if (traffic.pending.size() >= batching.getMaxMessages()) {
+            drain(roomId, traffic);
+        }
+        return true;
+    }
+
+    /**
+     * 모아 둔 프레임을 보내고, 전송률이 exit-rate 아래로 내려간 채팅방은 묶음 모드를 해제
+     */
+    void flush(long now) {
+        Iterator<Map.Entry<Long, RoomTraffic>> iterator = rooms.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, RoomTraffic> entry = iterator.next();
+            RoomTraffic traffic = entry.getValue();
+            drain(entry.getKey(), traffic);
+
+            traffic.roll(now);
+            if (traffic.batching && traffic.lastRate < batching.getExitRate()) {
+                traffic.batching = false;
+            }
+            if (!traffic.batching && now - traffic.lastOfferNanos >= IDLE_NANOS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    boolean isBatching(long roomId) {
+        RoomTraffic traffic = rooms.get(roomId);
+        return traffic != null && traffic.batching;
+    }
+
+    private void drain(long roomId, RoomTraffic traffic) {
+        if (traffic.pending.isEmpty()) {
+            return;
+        }
+        List<ChatBroadcastFrame> frames = traffic.pending;
+        traffic.pending = new ArrayList<>(frames.size());
+        sender.send(roomId, frames);
+    }
+
+    private static final class RoomTraffic {
+
+        private long windowStartNanos;
+        private int windowCount;
+        // 직전 창의 초당 메시지 수
+        private double lastRate;
+        private long lastOfferNanos;
+        private boolean batching;
+        private List<ChatBroadcastFrame> pending = new ArrayList<>();
+
+        RoomTraffic(long now) {
+            this.windowStartNanos = now;
+            this.lastOfferNanos = now;
+        }
+
+        void roll(long now) {
+            long elapsed = now - windowStartNanos;
+            if (elapsed < RATE_WINDOW_NANOS) {
+                return;
+            }
+            lastRate = windowCount * (double) RATE_WINDOW_NANOS / elapsed;
+            windowStartNanos = now;
+            windowCount = 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.minibuskingbig.chat.broadcast;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+/**
+ * 웹소켓 세션을 ChatSessionOutbound로 감싸 브로드캐스트 엔진에 등록하는 핸들러 데코레이터
+ */
+public class ChatSessionHandlerDecorator extends WebSocketHandlerDecorator {
+
+    private final ChatBroadcastEngine chatBroadcastEngine;
+
+    public ChatSessionHandlerDecorator(WebSocketHandler delegate, ChatBroadcastEngine chatBroadcastEngine) {
+        super(delegate);
+        this.chatBroadcastEngine = chatBroadcastEngine;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        super.afterConnectionEstablished(chatBroadcastEngine.register(session));
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+        super.handleMessage(outboundOf(session), message);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        try {
+            super.afterConnectionClosed(outboundOf(session), closeStatus);
+        } finally {
+            chatBroadcastEngine.unregister(session.getId());
+        }
+    }
+
+    private WebSocketSession outboundOf(WebSocketSession session) {
+        ChatSessionOutbound outbound = chatBroadcastEngine.getSession(session.getId());
+        return outbound != null ? outbound : session;
+    }
+}
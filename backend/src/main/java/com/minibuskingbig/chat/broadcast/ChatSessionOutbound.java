@@ -0,0 +1,147 @@
+package com.minibuskingbig.chat.broadcast;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 채팅 전송 큐
+ *
+ * 브로드캐스트 프레임은 제한된 크기의 큐에 넣고 writer 스레드가 순서대로 전송한다.
+ * 느린 클라이언트는 자기 큐만 채우므로 같은 채팅방의 다른 세션 전송을 막지 않는다.
+ * 스프링이 직접 보내는 프레임(CONNECTED, RECEIPT 등)도 같은 락을 거쳐 동시 전송을 막는다.
+ */
+@Slf4j
+public class ChatSessionOutbound extends WebSocketSessionDecorator {
+
+    private final BlockingQueue<WebSocketMessage<?>> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor writerExecutor;
+    private final ChatBroadcastMetrics metrics;
+
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean closing = new AtomicBoolean();
+    private final AtomicLong droppedFrames = new AtomicLong();
+
+    public ChatSessionOutbound(
+        WebSocketSession delegate,
+        int queueCapacity,
+        OverflowPolicy overflowPolicy,
+        Executor writerExecutor,
+        ChatBroadcastMetrics metrics
+    ) {
+        super(delegate);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.writerExecutor = writerExecutor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 브로드캐스트 프레임 추가 (큐가 가득 차면 overflow 정책 적용)
+     */
+    public void enqueue(WebSocketMessage<?> frame) {
+        if (closing.get()) {
+            return;
+        }
+
+        while (!queue.offer(frame)) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                disconnectSlowConsumer();
+                return;
+            }
+            if (queue.poll() != null) {
+                droppedFrames.incrementAndGet();
+                metrics.frameDropped();
+            }
+        }
+        scheduleDrain();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * 바이너리 프레임 전송 가능 여부 (SockJS는 텍스트 프레임만 지원)
+     */
+    public boolean supportsBinary() {
+        return !(WebSocketSessionDecorator.unwrap(getDelegate()) instanceof SockJsSession);
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        sendLock.lock();
+        try {
+            getDelegate().sendMessage(message);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            writerExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            sendLock.lock();
+            try {
+                WebSocketMessage<?> frame;
+                while (!closing.get() && (frame = queue.poll()) != null) {
+                    getDelegate().sendMessage(frame);
+                    metrics.frameSent();
+                }
+            } finally {
+                sendLock.unlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to send chat frame to session: {}", getId(), e);
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            drainScheduled.set(false);
+            // 드레인 종료 직후 들어온 프레임 처리
+            if (!queue.isEmpty() && !closing.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void disconnectSlowConsumer() {
+        if (closing.compareAndSet(false, true)) {
+            metrics.slowConsumerDisconnected();
+            log.info("Disconnecting slow chat consumer: {} ({} frames queued)", getId(), queue.size());
+            queue.clear();
+            // close 프레임 전송이 느릴 수 있으므로 fan-out 스레드가 아닌 writer 스레드에서 종료
+            writerExecutor.execute(() -> closeQuietly(CloseStatus.SESSION_NOT_RELIABLE));
+        }
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        closing.set(true);
+        queue.clear();
+        try {
+            getDelegate().close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close chat session: {}", getId(), e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.minibuskingbig.chat.broadcast;
+
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.service.ChatMessageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /topic/chat/{roomId} 구독/구독 해제를 브로드캐스트 엔진에 등록하는 인터셉터
+ *
+ * 재연결한 클라이언트가 SUBSCRIBE 프레임에 resume-from 헤더로 마지막으로 받은 순번을 보내면,
+ * 그 이후 메시지를 먼저 보낸 뒤 실시간 메시지를 이어서 보낸다.
+ * chat-format: compact 헤더로 구독하면 MessagePack 바이너리 프레임을 받는다 ({@link ChatWireFormat}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSubscriptionInterceptor implements ChannelInterceptor {
+
+    public static final String RESUME_FROM_HEADER = "resume-from";
+
+    private final ChatBroadcastEngine chatBroadcastEngine;
+    private final ChatMessageService chatMessageService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            Long roomId = ChatBroadcastEngine.parseRoomId(accessor.getDestination());
+            if (roomId != null) {
+                subscribe(accessor, roomId);
+            }
+        } else if (StompCommand.UNSUBSCRIBE.equals(accessor.getCommand())) {
+            chatBroadcastEngine.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+
+        return message;
+    }
+
+    private void subscribe(StompHeaderAccessor accessor, long roomId) {
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        ChatWireFormat format = ChatWireFormat.fromHeader(accessor.getFirstNativeHeader(ChatWireFormat.HEADER));
+        Long resumeFrom = parseSequence(accessor.getFirstNativeHeader(RESUME_FROM_HEADER));
+        if (resumeFrom == null) {
+            chatBroadcastEngine.subscribe(sessionId, subscriptionId, roomId, format);
+            return;
+        }
+
+        // 먼저 구독을 등록해야 조회와 등록 사이에 전송된 메시지도 받는다
+        if (!chatBroadcastEngine.subscribeForResume(sessionId, subscriptionId, roomId, format)) {
+            return;
+        }
+
+        List<ChatMessageDto> missed = List.of();
+        try {
+            missed = chatMessageService.getMessagesAfter(roomId, resumeFrom);
+        } catch (RuntimeException e) {
+            // 조회에 실패해도 실시간 메시지는 받도록 구독은 유지
+            log.warn("Failed to load missed chat messages for room: {} after sequence: {}", roomId, resumeFrom, e);
+        }
+        chatBroadcastEngine.resume(sessionId, subscriptionId, roomId, missed);
+    }
+
+    private static Long parseSequence(String value) {
+        if (value == null || value.isBlank() || !value.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
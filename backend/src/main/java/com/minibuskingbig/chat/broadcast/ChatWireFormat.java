@@ -0,0 +1,18 @@
+package com.minibuskingbig.chat.broadcast;
+
+/**
+ * 채팅 프레임 전송 형식 (SUBSCRIBE 프레임의 chat-format 헤더로 선택)
+ */
+public enum ChatWireFormat {
+
+    // application/json 텍스트 프레임 (기본값)
+    JSON,
+    // application/msgpack 바이너리 프레임, 보낸 사람 프로필은 채팅방 사전의 ref로 참조 (SockJS가 아닌 /ws/native에서만 사용)
+    COMPACT;
+
+    public static final String HEADER = "chat-format";
+
+    public static ChatWireFormat fromHeader(String value) {
+        return value != null && value.equalsIgnoreCase("compact") ? COMPACT : JSON;
+    }
+}
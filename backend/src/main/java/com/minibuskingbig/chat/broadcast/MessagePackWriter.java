@@ -0,0 +1,158 @@
+package com.minibuskingbig.chat.broadcast;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 최소한의 MessagePack 인코더 (compact 전송 형식에 필요한 nil, 정수, 문자열, 배열만 지원)
+ *
+ * 정수와 길이는 값에 맞는 가장 짧은 형식으로 쓴다. 한 스레드에서만 사용한다.
+ */
+final class MessagePackWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    MessagePackWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    MessagePackWriter writeNil() {
+        ensure(1);
+        buffer[position++] = (byte) 0xc0;
+        return this;
+    }
+
+    MessagePackWriter writeArrayHeader(int size) {
+        if (size < 16) {
+            ensure(1);
+            buffer[position++] = (byte) (0x90 | size);
+        } else if (size < 0x10000) {
+            ensure(3);
+            buffer[position++] = (byte) 0xdc;
+            putShort(size);
+        } else {
+            ensure(5);
+            buffer[position++] = (byte) 0xdd;
+            putInt(size);
+        }
+        return this;
+    }
+
+    MessagePackWriter writeLong(long value) {
+        if (value >= 0) {
+            if (value < 0x80) {
+                ensure(1);
+                buffer[position++] = (byte) value;
+            } else if (value < 0x100) {
+                ensure(2);
+                buffer[position++] = (byte) 0xcc;
+                buffer[position++] = (byte) value;
+            } else if (value < 0x10000) {
+                ensure(3);
+                buffer[position++] = (byte) 0xcd;
+                putShort((int) value);
+            } else if (value < 0x100000000L) {
+                ensure(5);
+                buffer[position++] = (byte) 0xce;
+                putInt((int) value);
+            } else {
+                ensure(9);
+                buffer[position++] = (byte) 0xcf;
+                putLong(value);
+            }
+        } else if (value >= -32) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        } else if (value >= Byte.MIN_VALUE) {
+            ensure(2);
+            buffer[position++] = (byte) 0xd0;
+            buffer[position++] = (byte) value;
+        } else if (value >= Short.MIN_VALUE) {
+            ensure(3);
+            buffer[position++] = (byte) 0xd1;
+            putShort((int) value);
+        } else if (value >= Integer.MIN_VALUE) {
+            ensure(5);
+            buffer[position++] = (byte) 0xd2;
+            putInt((int) value);
+        } else {
+            ensure(9);
+            buffer[position++] = (byte) 0xd3;
+            putLong(value);
+        }
+        return this;
+    }
+
+    MessagePackWriter writeLong(Long value) {
+        return value == null ? writeNil() : writeLong(value.longValue());
+    }
+
+    MessagePackWriter writeString(String value) {
+        if (value == null) {
+            return writeNil();
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        if (length < 32) {
+            ensure(1 + length);
+            buffer[position++] = (byte) (0xa0 | length);
+        } else if (length < 0x100) {
+            ensure(2 + length);
+            buffer[position++] = (byte) 0xd9;
+            buffer[position++] = (byte) length;
+        } else if (length < 0x10000) {
+            ensure(3 + length);
+            buffer[position++] = (byte) 0xda;
+            putShort(length);
+        } else {
+            ensure(5 + length);
+            buffer[position++] = (byte) 0xdb;
+            putInt(length);
+        }
+        System.arraycopy(bytes, 0, buffer, position, length);
+        position += length;
+        return this;
+    }
+
+    /**
+     * 다른 writer가 쓴 값을 그대로 이어 붙이기
+     */
+    MessagePackWriter writeRaw(MessagePackWriter other) {
+        ensure(other.position);
+        System.arraycopy(other.buffer, 0, buffer, position, other.position);
+        position += other.position;
+        return this;
+    }
+
+    int size() {
+        return position;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void putShort(int value) {
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void putInt(int value) {
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.minibuskingbig.chat.broadcast;
+
+public enum OverflowPolicy {
+    DROP_OLDEST,    // 가장 오래된 프레임을 버리고 새 프레임 추가
+    DISCONNECT      // 느린 클라이언트 연결 종료
+}
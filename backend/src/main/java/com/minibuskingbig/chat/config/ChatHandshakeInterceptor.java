@@ -0,0 +1,33 @@
+package com.minibuskingbig.chat.config;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * WebSocket 핸드셰이크 인터셉터
+ * JWT 필터로 인증된 사용자 ID를 세션 속성에 저장해 STOMP 메시지 처리에서 사용한다.
+ */
+public class ChatHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USER_ID_ATTRIBUTE = "userId";
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (request.getPrincipal() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof Long userId) {
+            attributes.put(USER_ID_ATTRIBUTE, userId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -1,17 +1,25 @@
 package com.minibuskingbig.chat.config;
 
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.broadcast.ChatSessionHandlerDecorator;
+import com.minibuskingbig.chat.broadcast.ChatSubscriptionInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ChatBroadcastEngine chatBroadcastEngine;
+    private final ChatSubscriptionInterceptor chatSubscriptionInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 클라이언트로 메시지를 보낼 때 사용하는 prefix
@@ -26,6 +34,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // WebSocket 연결 엔드포인트
         registry.addEndpoint("/ws")
             .setAllowedOriginPatterns("*")
+            .addInterceptors(new ChatHandshakeInterceptor())
             .withSockJS();
+
+        // SockJS 없이 연결하는 네이티브 WebSocket 엔드포인트 (바이너리 프레임이 필요한 compact 형식용)
+        registry.addEndpoint("/ws/native")
+            .setAllowedOriginPatterns("*")
+            .addInterceptors(new ChatHandshakeInterceptor());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 전송 큐로 감싸서 /topic/chat/{roomId} 브로드캐스트를 직접 전송
+        registration.addDecoratorFactory(handler -> new ChatSessionHandlerDecorator(handler, chatBroadcastEngine));
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 채팅방 구독/구독 해제를 브로드캐스트 엔진에 등록
+        registration.interceptors(chatSubscriptionInterceptor);
     }
 }
@@ -0,0 +1,347 @@
+package com.minibuskingbig.chat.container;
+
+import com.minibuskingbig.event.entity.EventStatus;
+import com.minibuskingbig.event.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.ecs.model.Task;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 미리 실행해 둔 채팅 컨테이너 풀
+ *
+ * 채팅방 배정 전의 Task를 목표 개수만큼 띄워 두고, 채팅방이 활성화되면 바로 하나를 내준다.
+ * 내준 만큼은 전용 스레드에서 비동기로 다시 채우므로 활성화 요청은 Fargate 시작(수십 초)을 기다리지 않는다.
+ * 목표 개수는 lookahead 안에 시작하는 채팅 공연 수로 정한다 (min-idle + 공연 수 x containers-per-event, 최대 max-idle).
+ *
+ * 실행 요청한 Task는 RUNNING이 될 때까지 warming 상태로 두고 check-interval마다 상태를 확인한다.
+ * 대기 Task가 없으면 warming Task를 내주고, 둘 다 없으면 호출한 쪽이 직접 실행한다.
+ */
+@Slf4j
+@Component
+public class ChatContainerPool {
+
+    static final String STARTED_BY = "minibusking-chat-pool";
+    private static final String RUNNING = "RUNNING";
+    private static final String STOPPED = "STOPPED";
+
+    private final EcsTaskLauncher ecsTaskLauncher;
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final int minIdle;
+    private final int maxIdle;
+    private final int containersPerEvent;
+    private final long lookaheadMinutes;
+    private final long checkIntervalMillis;
+
+    // RUNNING 상태의 대기 Task (실행 순)
+    private final Deque<PooledChatContainer> idle = new ArrayDeque<>();
+    // 실행 요청 후 RUNNING을 기다리는 Task (실행 순)
+    private final Map<String, PooledChatContainer> warming = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // 유지 작업(상태 확인, 채우기, 줄이기)은 한 번에 하나만 실행
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private final AtomicBoolean maintenanceScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService maintainer;
+    private volatile int targetSize;
+
+    public ChatContainerPool(
+        EcsTaskLauncher ecsTaskLauncher,
+        EventRepository eventRepository,
+        MeterRegistry meterRegistry,
+        @Value("${chat.container.pool.enabled:false}") boolean enabled,
+        @Value("${chat.container.pool.min-idle:1}") int minIdle,
+        @Value("${chat.container.pool.max-idle:20}") int maxIdle,
+        @Value("${chat.container.pool.containers-per-event:1}") int containersPerEvent,
+        @Value("${chat.container.pool.lookahead-minutes:60}") long lookaheadMinutes,
+        @Value("${chat.container.pool.check-interval-ms:5000}") long checkIntervalMillis
+    ) {
+        if (minIdle < 0 || maxIdle < minIdle) {
+            throw new IllegalArgumentException("Invalid chat container pool size: min-idle=" + minIdle + ", max-idle=" + maxIdle);
+        }
+        this.ecsTaskLauncher = ecsTaskLauncher;
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        this.containersPerEvent = containersPerEvent;
+        this.lookaheadMinutes = lookaheadMinutes;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.targetSize = enabled ? minIdle : 0;
+        this.maintainer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("chat-container-pool-"));
+
+        Gauge.builder("chat.container.pool.idle", this, ChatContainerPool::getIdleCount).register(meterRegistry);
+        Gauge.builder("chat.container.pool.warming", this, ChatContainerPool::getWarmingCount).register(meterRegistry);
+        Gauge.builder("chat.container.pool.target", this, ChatContainerPool::getTargetSize).register(meterRegistry);
+    }
+
+    /**
+     * 대기 Task 하나를 꺼내 채팅방에 배정할 수 있도록 반환 (꺼낸 만큼 비동기로 다시 채운다)
+     *
+     * @return 풀을 끄거나 대기 Task가 없으면 empty
+     */
+    public Optional<PooledChatContainer> acquire() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        PooledChatContainer container;
+        lock.lock();
+        try {
+            container = idle.pollFirst();
+            if (container == null && !warming.isEmpty()) {
+                // RUNNING 전이라도 새로 실행하는 것보다 먼저 준비된다
+                Iterator<PooledChatContainer> oldest = warming.values().iterator();
+                container = oldest.next();
+                oldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        requestMaintenance(0);
+        return Optional.ofNullable(container);
+    }
+
+    /**
+     * 다가오는 공연 일정으로 목표 개수를 다시 정하고 풀 채우기
+     */
+    @Scheduled(fixedDelayString = "${chat.container.pool.rebalance-interval-ms:60000}")
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refreshTarget(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to load upcoming events for chat container pool - keeping target {}", targetSize, e);
+        }
+        requestMaintenance(0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintainer.shutdownNow();
+
+        List<PooledChatContainer> unassigned = new ArrayList<>();
+        lock.lock();
+        try {
+            unassigned.addAll(idle);
+            unassigned.addAll(warming.values());
+            idle.clear();
+            warming.clear();
+        } finally {
+            lock.unlock();
+        }
+        // 배정되지 않은 Task는 다른 노드가 모르므로 종료 시 정리
+        for (PooledChatContainer container : unassigned) {
+            stopQuietly(container, "Chat container pool shut down");
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWarmingCount() {
+        lock.lock();
+        try {
+            return warming.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getTargetSize() {
+        return targetSize;
+    }
+
+    /**
+     * lookahead 안에 시작하는 채팅 공연 수로 목표 개수 계산
+     */
+    int refreshTarget(LocalDateTime now) {
+        long upcoming = eventRepository.findUpcomingEvents(EventStatus.SCHEDULED, now, now.plusMinutes(lookaheadMinutes))
+            .stream()
+            .filter(event -> Boolean.TRUE.equals(event.getChatEnabled()))
+            .count();
+        int target = (int) Math.min(maxIdle, minIdle + upcoming * containersPerEvent);
+        if (target != targetSize) {
+            log.info("Chat container pool target changed: {} -> {} ({} upcoming chat events)", targetSize, target, upcoming);
+        }
+        targetSize = target;
+        return target;
+    }
+
+    /**
+     * warming Task 상태를 확인하고 목표 개수에 맞춰 실행하거나 중지
+     * 아직 RUNNING이 아닌 Task가 있거나 실행에 실패하면 check-interval 뒤에 다시 실행한다.
+     */
+    void maintain() {
+        maintenanceLock.lock();
+        try {
+            promoteWarming();
+            if (resize()) {
+                requestMaintenance(checkIntervalMillis);
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void requestMaintenance(long delayMillis) {
+        if (!maintenanceScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            maintainer.schedule(() -> {
+                maintenanceScheduled.set(false);
+                try {
+                    maintain();
+                } catch (RuntimeException e) {
+                    log.warn("Chat container pool maintenance failed", e);
+                    requestMaintenance(checkIntervalMillis);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            maintenanceScheduled.set(false);
+        }
+    }
+
+    private void promoteWarming() {
+        List<String> taskArns;
+        lock.lock();
+        try {
+            taskArns = warming.keySet().stream().limit(EcsTaskLauncher.MAX_DESCRIBE_TASK_COUNT).toList();
+        } finally {
+            lock.unlock();
+        }
+        if (taskArns.isEmpty()) {
+            return;
+        }
+
+        Map<String, Task> tasks = ecsTaskLauncher.describeTasks(taskArns).stream()
+            .collect(Collectors.toMap(Task::taskArn, Function.identity(), (first, second) -> first));
+        lock.lock();
+        try {
+            for (String taskArn : taskArns) {
+                Task task = tasks.get(taskArn);
+                if (!warming.containsKey(taskArn)) {
+                    continue;
+                }
+                if (task == null || STOPPED.equals(task.lastStatus())) {
+                    warming.remove(taskArn);
+                    log.warn("Pooled chat container stopped before becoming ready: {} - {}",
+                        taskArn, task == null ? "MISSING" : task.stoppedReason());
+                } else if (RUNNING.equals(task.lastStatus())) {
+                    idle.addLast(warming.remove(taskArn));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 다시 확인이 필요하면 true (warming Task가 남았거나 실행에 실패)
+     */
+    private boolean resize() {
+        List<PooledChatContainer> excess = new ArrayList<>();
+        int missing;
+        lock.lock();
+        try {
+            int target = targetSize;
+            // 줄일 때는 가장 최근에 실행한 Task부터 (오래된 Task는 곧 배정된다)
+            while (idle.size() > target) {
+                excess.add(idle.pollLast());
+            }
+            missing = target - idle.size() - warming.size();
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledChatContainer container : excess) {
+            stopQuietly(container, "Chat container pool shrunk");
+        }
+
+        boolean failed = false;
+        int launchedCount = 0;
+        while (missing > 0) {
+            int count = Math.min(missing, EcsTaskLauncher.MAX_RUN_TASK_COUNT);
+            List<Task> launched;
+            try {
+                launched = ecsTaskLauncher.runTasks(count, STARTED_BY, null);
+            } catch (RuntimeException e) {
+                log.warn("Failed to launch {} pooled chat containers", count, e);
+                failed = true;
+                break;
+            }
+
+            Instant now = Instant.now();
+            lock.lock();
+            try {
+                for (Task task : launched) {
+                    warming.put(task.taskArn(),
+                        new PooledChatContainer(task.taskArn(), EcsTaskLauncher.containerId(task.taskArn()), now));
+                }
+            } finally {
+                lock.unlock();
+            }
+            launchedCount += launched.size();
+            if (launched.size() < count) {
+                // 용량 부족 등으로 일부만 실행됨
+                log.warn("Launched only {} of {} pooled chat containers", launched.size(), count);
+                failed = true;
+                break;
+            }
+            missing -= count;
+        }
+        if (!excess.isEmpty() || launchedCount > 0) {
+            log.info("Chat container pool resized - stopped: {}, launched: {}", excess.size(), launchedCount);
+        }
+
+        lock.lock();
+        try {
+            return failed || !warming.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void stopQuietly(PooledChatContainer container, String reason) {
+        try {
+            ecsTaskLauncher.stopTask(container.taskArn(), reason);
+        } catch (RuntimeException e) {
+            log.warn("Failed to stop pooled chat container: {}", container.taskArn(), e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.minibuskingbig.chat.container;
+
+import com.minibuskingbig.chat.entity.ChatRoomStatus;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import com.minibuskingbig.chat.repository.ChatRoomRepository.ContainerView;
+import com.minibuskingbig.chat.service.ChatRoomService;
+import com.minibuskingbig.chat.service.EcsContainerService;
+import com.minibuskingbig.event.entity.EventStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.ecs.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 활성 채팅방 컨테이너 상태 점검
+ *
+ * ACTIVE 채팅방의 Task ARN을 모아 DescribeTasks 한 번에 100개씩 조회하고, Task가 죽은 채팅방을 처리한다.
+ * 공연이 아직 진행 중이면 컨테이너를 다시 시작하고 (채팅방별 최대 max-restarts번), 공연이 끝났거나 재시작 횟수를 넘으면 채팅방을 닫는다.
+ * 중지된 지 오래되어 ECS가 모른다고 응답한 Task(MISSING)도 죽은 것으로 본다. 조회에 실패한 Task는 다음 점검으로 넘긴다.
+ *
+ * 여러 노드가 같은 주기로 ECS를 호출하지 않도록 점검 간격에 jitter를 더하고,
+ * 같은 채팅방을 두 노드가 함께 처리하지 않도록 채팅방 상태를 조건부 UPDATE로 먼저 바꾼 노드만 조치한다.
+ */
+@Slf4j
+@Component
+public class ChatContainerReconciler implements SmartLifecycle {
+
+    private static final String RUNNING = "RUNNING";
+    private static final String STOPPED = "STOPPED";
+    private static final String MISSING = "MISSING";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomService chatRoomService;
+    private final EcsContainerService ecsContainerService;
+    private final EcsTaskLauncher ecsTaskLauncher;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final long jitterMillis;
+    private final int maxRestarts;
+
+    // 채팅방별 연속 재시작 횟수 (Task가 RUNNING으로 확인되면 초기화)
+    private final Map<Long, Integer> restarts = new ConcurrentHashMap<>();
+    private final Counter restartedCounter;
+    private final Counter closedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public ChatContainerReconciler(
+        ChatRoomRepository chatRoomRepository,
+        ChatRoomService chatRoomService,
+        EcsContainerService ecsContainerService,
+        EcsTaskLauncher ecsTaskLauncher,
+        MeterRegistry meterRegistry,
+        @Value("${chat.container.reconcile.enabled:false}") boolean enabled,
+        @Value("${chat.container.reconcile.interval-ms:30000}") long intervalMillis,
+        @Value("${chat.container.reconcile.jitter-ms:5000}") long jitterMillis,
+        @Value("${chat.container.reconcile.max-restarts:3}") int maxRestarts
+    ) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatRoomService = chatRoomService;
+        this.ecsContainerService = ecsContainerService;
+        this.ecsTaskLauncher = ecsTaskLauncher;
+        this.enabled = enabled;
+        this.intervalMillis = intervalMillis;
+        this.jitterMillis = jitterMillis;
+        this.maxRestarts = maxRestarts;
+
+        this.restartedCounter = meterRegistry.counter("chat.container.reconcile.restarted");
+        this.closedCounter = meterRegistry.counter("chat.container.reconcile.closed");
+        this.failedCounter = meterRegistry.counter("chat.container.reconcile.failed");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("chat-container-reconciler-"));
+            scheduleNext();
+            log.info("Chat container reconciler started - interval: {}ms, jitter: {}ms", intervalMillis, jitterMillis);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 활성 채팅방 컨테이너를 한 번 점검
+     *
+     * @return 재시작하거나 닫은 채팅방 수
+     */
+    public int reconcile() {
+        List<ContainerView> rooms = chatRoomRepository.findContainersByStatus(ChatRoomStatus.ACTIVE);
+        Map<String, ContainerView> byTaskArn = new LinkedHashMap<>(rooms.size() * 2);
+        for (ContainerView room : rooms) {
+            byTaskArn.putIfAbsent(room.getContainerArn(), room);
+        }
+        restarts.keySet().retainAll(rooms.stream().map(ContainerView::getRoomId).toList());
+        if (byTaskArn.isEmpty()) {
+            return 0;
+        }
+
+        EcsTaskStatuses statuses = ecsTaskLauncher.describeTasksInBatches(byTaskArn.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        int handled = 0;
+        for (ContainerView room : byTaskArn.values()) {
+            Task task = statuses.tasks().get(room.getContainerArn());
+            String stoppedReason;
+            if (task != null) {
+                if (!STOPPED.equals(task.lastStatus()) && !STOPPED.equals(task.desiredStatus())) {
+                    if (RUNNING.equals(task.lastStatus())) {
+                        restarts.remove(room.getRoomId());
+                    }
+                    continue;
+                }
+                stoppedReason = task.stoppedReason();
+            } else if (statuses.missing().contains(room.getContainerArn())) {
+                stoppedReason = MISSING;
+            } else {
+                // 조회 실패 (다음 점검에서 다시 확인)
+                continue;
+            }
+
+            try {
+                if (handleStoppedContainer(room, stoppedReason, now)) {
+                    handled++;
+                }
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.error("Failed to reconcile chat container for room: {}", room.getRoomId(), e);
+            }
+        }
+
+        if (handled > 0 || statuses.failedBatches() > 0) {
+            log.info("Chat container reconcile - rooms: {}, handled: {}, failed batches: {}",
+                byTaskArn.size(), handled, statuses.failedBatches());
+        }
+        return handled;
+    }
+
+    /**
+     * Task가 죽은 채팅방 처리 (공연 중이면 재시작, 아니면 닫기)
+     *
+     * @return 이 노드가 처리했으면 true (다른 노드가 먼저 처리했으면 false)
+     */
+    private boolean handleStoppedContainer(ContainerView room, String stoppedReason, LocalDateTime now) {
+        Long roomId = room.getRoomId();
+        String taskArn = room.getContainerArn();
+        int attempts = restarts.getOrDefault(roomId, 0);
+
+        if (isEventOngoing(room, now) && attempts < maxRestarts) {
+            // CREATING(컨테이너 시작 중)으로 먼저 바꾼 노드만 재시작
+            if (!chatRoomService.compareAndSetStatus(roomId, taskArn, ChatRoomStatus.ACTIVE, ChatRoomStatus.CREATING)) {
+                return false;
+            }
+            restarts.put(roomId, attempts + 1);
+            log.warn("Chat container stopped for room: {} - {} ({}) - restarting {}/{}",
+                roomId, taskArn, stoppedReason, attempts + 1, maxRestarts);
+            try {
+                ecsContainerService.startChatContainer(roomId);
+                restartedCounter.increment();
+            } catch (RuntimeException e) {
+                // 다음 점검에서 다시 시도하도록 ACTIVE로 되돌림
+                chatRoomService.compareAndSetStatus(roomId, taskArn, ChatRoomStatus.CREATING, ChatRoomStatus.ACTIVE);
+                throw e;
+            }
+            return true;
+        }
+
+        if (!chatRoomService.compareAndSetStatus(roomId, taskArn, ChatRoomStatus.ACTIVE, ChatRoomStatus.CLOSING)) {
+            return false;
+        }
+        log.warn("Chat container stopped for room: {} - {} ({}) - closing room after {} restarts",
+            roomId, taskArn, stoppedReason, attempts);
+        chatRoomService.closeChatRoom(roomId);
+        restarts.remove(roomId);
+        closedCounter.increment();
+        return true;
+    }
+
+    private static boolean isEventOngoing(ContainerView room, LocalDateTime now) {
+        EventStatus status = room.getEventStatus();
+        if (status == EventStatus.ENDED || status == EventStatus.CANCELLED) {
+            return false;
+        }
+        return room.getEventEndTime() == null || room.getEventEndTime().isAfter(now);
+    }
+
+    private void scheduleNext() {
+        long delay = intervalMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        try {
+            scheduler.schedule(this::runScheduled, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    private void runScheduled() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Chat container reconcile failed", e);
+        } finally {
+            if (running) {
+                scheduleNext();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.minibuskingbig.chat.container;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.ecs.EcsClient;
+import software.amazon.awssdk.services.ecs.model.AssignPublicIp;
+import software.amazon.awssdk.services.ecs.model.AwsVpcConfiguration;
+import software.amazon.awssdk.services.ecs.model.DescribeTasksRequest;
+import software.amazon.awssdk.services.ecs.model.DescribeTasksResponse;
+import software.amazon.awssdk.services.ecs.model.Failure;
+import software.amazon.awssdk.services.ecs.model.LaunchType;
+import software.amazon.awssdk.services.ecs.model.NetworkConfiguration;
+import software.amazon.awssdk.services.ecs.model.RunTaskRequest;
+import software.amazon.awssdk.services.ecs.model.RunTaskResponse;
+import software.amazon.awssdk.services.ecs.model.StopTaskRequest;
+import software.amazon.awssdk.services.ecs.model.Tag;
+import software.amazon.awssdk.services.ecs.model.TagResourceRequest;
+import software.amazon.awssdk.services.ecs.model.Task;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 채팅 컨테이너 ECS Task 실행 도우미
+ *
+ * 모든 Task는 같은 Task 정의와 네트워크 설정으로 실행한다.
+ * 담당 채팅방은 ROOM_ID 태그로 알려주므로, 미리 띄워 둔 Task도 나중에 태그만 붙여 채팅방에 배정할 수 있다.
+ */
+@Slf4j
+@Component
+public class EcsTaskLauncher {
+
+    public static final String ROOM_ID_TAG = "ROOM_ID";
+    // RunTask 한 번에 실행할 수 있는 최대 Task 수
+    public static final int MAX_RUN_TASK_COUNT = 10;
+    // DescribeTasks 한 번에 조회할 수 있는 최대 Task 수
+    public static final int MAX_DESCRIBE_TASK_COUNT = 100;
+    // DescribeTasks가 찾지 못한 Task의 실패 사유
+    private static final String MISSING = "MISSING";
+
+    private final EcsClient ecsClient;
+    private final String clusterName;
+    private final String taskDefinition;
+    private final String subnetId;
+    private final String securityGroupId;
+
+    public EcsTaskLauncher(
+        EcsClient ecsClient,
+        @Value("${aws.ecs.cluster-name:minibusking-chat-cluster}") String clusterName,
+        @Value("${aws.ecs.task-definition:minibusking-chat-task}") String taskDefinition,
+        @Value("${aws.ecs.subnet-id}") String subnetId,
+        @Value("${aws.ecs.security-group-id}") String securityGroupId
+    ) {
+        this.ecsClient = ecsClient;
+        this.clusterName = clusterName;
+        this.taskDefinition = taskDefinition;
+        this.subnetId = subnetId;
+        this.securityGroupId = securityGroupId;
+    }
+
+    /**
+     * Task 실행 (count는 최대 10개)
+     *
+     * @param startedBy Task를 실행한 주체 (ECS 콘솔과 ListTasks에서 구분하는 값)
+     * @param roomId 담당 채팅방 (null이면 배정 전 대기 Task)
+     * @return 실행 요청이 받아들여진 Task (용량 부족 등으로 count보다 적을 수 있다)
+     */
+    public List<Task> runTasks(int count, String startedBy, Long roomId) {
+        if (count <= 0 || count > MAX_RUN_TASK_COUNT) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_RUN_TASK_COUNT);
+        }
+
+        RunTaskRequest.Builder request = RunTaskRequest.builder()
+            .cluster(clusterName)
+            .taskDefinition(taskDefinition)
+            .launchType(LaunchType.FARGATE)
+            .networkConfiguration(NetworkConfiguration.builder()
+                .awsvpcConfiguration(AwsVpcConfiguration.builder()
+                    .subnets(subnetId)
+                    .securityGroups(securityGroupId)
+                    .assignPublicIp(AssignPublicIp.ENABLED)
+                    .build())
+                .build())
+            .startedBy(startedBy)
+            .count(count);
+        if (roomId != null) {
+            request.tags(roomTag(roomId));
+        }
+
+        RunTaskResponse response = ecsClient.runTask(request.build());
+        return response.hasTasks() ? response.tasks() : List.of();
+    }
+
+    /**
+     * 실행 중인 Task를 채팅방에 배정 (컨테이너는 ROOM_ID 태그를 읽어 채팅방을 연다)
+     */
+    public void assignRoom(String taskArn, long roomId) {
+        ecsClient.tagResource(TagResourceRequest.builder()
+            .resourceArn(taskArn)
+            .tags(roomTag(roomId))
+            .build());
+    }
+
+    public void stopTask(String taskArn, String reason) {
+        ecsClient.stopTask(StopTaskRequest.builder()
+            .cluster(clusterName)
+            .task(taskArn)
+            .reason(reason)
+            .build());
+    }
+
+    /**
+     * Task 상태 조회 (한 번에 최대 100개, 찾지 못한 Task는 결과에서 빠진다)
+     */
+    public List<Task> describeTasks(Collection<String> taskArns) {
+        if (taskArns.isEmpty()) {
+            return List.of();
+        }
+        if (taskArns.size() > MAX_DESCRIBE_TASK_COUNT) {
+            throw new IllegalArgumentException("Cannot describe more than " + MAX_DESCRIBE_TASK_COUNT + " tasks at once");
+        }
+
+        DescribeTasksResponse response = ecsClient.describeTasks(DescribeTasksRequest.builder()
+            .cluster(clusterName)
+            .tasks(taskArns)
+            .build());
+        return response.hasTasks() ? response.tasks() : List.of();
+    }
+
+    /**
+     * 여러 Task 상태를 최대 100개씩 나눠 조회 (한 묶음이 실패해도 나머지 묶음은 계속 조회)
+     */
+    public EcsTaskStatuses describeTasksInBatches(Collection<String> taskArns) {
+        Map<String, Task> tasks = new HashMap<>(taskArns.size() * 2);
+        Set<String> missing = new HashSet<>();
+        int failedBatches = 0;
+
+        List<String> arns = List.copyOf(taskArns);
+        for (int from = 0; from < arns.size(); from += MAX_DESCRIBE_TASK_COUNT) {
+            List<String> batch = arns.subList(from, Math.min(from + MAX_DESCRIBE_TASK_COUNT, arns.size()));
+            DescribeTasksResponse response;
+            try {
+                response = ecsClient.describeTasks(DescribeTasksRequest.builder()
+                    .cluster(clusterName)
+                    .tasks(batch)
+                    .build());
+            } catch (RuntimeException e) {
+                log.warn("Failed to describe {} ECS tasks", batch.size(), e);
+                failedBatches++;
+                continue;
+            }
+
+            if (response.hasTasks()) {
+                for (Task task : response.tasks()) {
+                    tasks.put(task.taskArn(), task);
+                }
+            }
+            if (response.hasFailures()) {
+                for (Failure failure : response.failures()) {
+                    if (MISSING.equals(failure.reason()) && failure.arn() != null) {
+                        missing.add(failure.arn());
+                    }
+                }
+            }
+        }
+        return new EcsTaskStatuses(tasks, missing, failedBatches);
+    }
+
+    /**
+     * Task ARN에서 Container ID 추출
+     */
+    public static String containerId(String taskArn) {
+        // arn:aws:ecs:region:account-id:task/cluster-name/task-id
+        String[] parts = taskArn.split("/");
+        return parts[parts.length - 1];
+    }
+
+    /**
+     * 컨테이너 WebSocket URL (실제로는 로드 밸런서 또는 공개 IP 사용)
+     */
+    public static String websocketUrl(String containerId) {
+        return String.format("ws://container-%s.minibusking.com/ws", containerId);
+    }
+
+    private static Tag roomTag(long roomId) {
+        return Tag.builder().key(ROOM_ID_TAG).value(String.valueOf(roomId)).build();
+    }
+}
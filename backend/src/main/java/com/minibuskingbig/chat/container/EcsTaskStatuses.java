@@ -0,0 +1,16 @@
+package com.minibuskingbig.chat.container;
+
+import software.amazon.awssdk.services.ecs.model.Task;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 여러 Task를 나눠 조회한 결과
+ *
+ * @param tasks ARN별 Task
+ * @param missing ECS가 모른다고 응답한 Task (중지 후 시간이 지나 기록이 사라진 Task 포함)
+ * @param failedBatches 조회에 실패한 묶음 수 (이 묶음의 Task는 tasks와 missing 어디에도 없다)
+ */
+public record EcsTaskStatuses(Map<String, Task> tasks, Set<String> missing, int failedBatches) {
+}
@@ -0,0 +1,11 @@
+package com.minibuskingbig.chat.container;
+
+import java.time.Instant;
+
+/**
+ * 채팅방 배정 전에 미리 실행해 둔 채팅 컨테이너
+ *
+ * @param launchedAt 실행 요청 시각 (오래된 Task부터 배정하고, 줄일 때는 최근 Task부터 중지)
+ */
+public record PooledChatContainer(String taskArn, String containerId, Instant launchedAt) {
+}
@@ -1,22 +1,42 @@
 package com.minibuskingbig.chat.controller;
 
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.config.ChatHandshakeInterceptor;
+import com.minibuskingbig.chat.dto.ChatHeartbeatRequest;
+import com.minibuskingbig.chat.dto.ChatHistoryResponse;
 import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.dto.ChatMessageNackDto;
 import com.minibuskingbig.chat.dto.ChatMessageRequest;
+import com.minibuskingbig.chat.dto.ChatPurgeRequest;
+import com.minibuskingbig.chat.dto.ChatRateLimitSettings;
+import com.minibuskingbig.chat.dto.ChatReactionRequest;
 import com.minibuskingbig.chat.dto.ChatRoomResponse;
-import com.minibuskingbig.chat.entity.ChatMessage;
+import com.minibuskingbig.chat.dto.ChatSendResult;
+import com.minibuskingbig.chat.dto.ChatTombstoneDto;
 import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.export.ChatTranscriptExportService;
+import com.minibuskingbig.chat.export.ChatTranscriptFormat;
+import com.minibuskingbig.chat.hosting.ChatRoomActorSystem;
+import com.minibuskingbig.chat.reaction.ReactionType;
 import com.minibuskingbig.chat.service.ChatMessageService;
 import com.minibuskingbig.chat.service.ChatRoomService;
 import com.minibuskingbig.common.dto.ApiResponse;
+import com.minibuskingbig.common.exception.BusinessException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/chat")
@@ -25,7 +45,9 @@ public class ChatController {
 
     private final ChatRoomService chatRoomService;
     private final ChatMessageService chatMessageService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatBroadcastEngine chatBroadcastEngine;
+    private final ChatRoomActorSystem chatRoomActorSystem;
+    private final ChatTranscriptExportService chatTranscriptExportService;
 
     @PostMapping("/rooms")
     public ApiResponse<ChatRoomResponse> createChatRoom(
@@ -66,14 +88,62 @@ public class ChatController {
         return ApiResponse.success(null, "채팅방을 나갔습니다.");
     }
 
+    @PutMapping("/rooms/{roomId}/rate-limit")
+    public ApiResponse<ChatRateLimitSettings> updateRateLimit(
+        @AuthenticationPrincipal Long userId,
+        @PathVariable Long roomId,
+        @RequestBody ChatRateLimitSettings request
+    ) {
+        ChatRateLimitSettings settings = chatRoomService.updateRateLimit(userId, roomId, request);
+        return ApiResponse.success(settings, "채팅 전송률이 변경되었습니다.");
+    }
+
     @GetMapping("/rooms/{roomId}/messages")
     public ApiResponse<Page<ChatMessageDto>> getMessages(
         @PathVariable Long roomId,
         Pageable pageable
     ) {
-        Page<ChatMessage> messages = chatMessageService.getMessages(roomId, pageable);
-        Page<ChatMessageDto> messageDtos = messages.map(ChatMessageDto::from);
-        return ApiResponse.success(messageDtos);
+        return ApiResponse.success(chatMessageService.getMessages(roomId, pageable));
+    }
+
+    @GetMapping("/rooms/{roomId}/messages/history")
+    public ApiResponse<ChatHistoryResponse> getMessageHistory(
+        @PathVariable Long roomId,
+        @RequestParam(required = false) String before,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ApiResponse.success(chatMessageService.getMessageHistory(roomId, before, limit));
+    }
+
+    /**
+     * 채팅방 전체 기록 내려받기 (공연 주최자만 가능, NDJSON 또는 CSV로 스트리밍)
+     */
+    @GetMapping("/rooms/{roomId}/messages/export")
+    public WebAsyncTask<Void> exportMessages(
+        @AuthenticationPrincipal Long userId,
+        @PathVariable Long roomId,
+        @RequestParam(defaultValue = "ndjson") String format,
+        HttpServletResponse response
+    ) {
+        chatRoomService.getOrganizedChatRoom(userId, roomId, "공연 주최자만 내려받을 수 있습니다.");
+        ChatTranscriptFormat transcriptFormat = ChatTranscriptFormat.from(format);
+
+        StreamingResponseBody body = chatTranscriptExportService.export(roomId, transcriptFormat);
+        response.setContentType(transcriptFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(transcriptFormat.fileName(roomId)).build().toString());
+
+        // 이 요청만 기본 비동기 타임아웃 대신 내보내기 타임아웃 적용 (StreamingResponseBody로 반환하면 기본값을 쓴다)
+        return new WebAsyncTask<>(chatTranscriptExportService.getTimeoutMillis(), () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    @GetMapping("/rooms/{roomId}/reactions")
+    public ApiResponse<Map<ReactionType, Long>> getReactionTotals(@PathVariable Long roomId) {
+        return ApiResponse.success(chatMessageService.getReactionTotals(roomId));
     }
 
     @DeleteMapping("/messages/{messageId}")
@@ -81,31 +151,111 @@ public class ChatController {
         @AuthenticationPrincipal Long userId,
         @PathVariable Long messageId
     ) {
-        chatMessageService.deleteMessage(userId, messageId);
+        ChatTombstoneDto tombstone = chatMessageService.deleteMessage(userId, messageId);
+
+        // 이 노드의 구독자에게 삭제 알림 전송 (다른 노드는 릴레이가 전달)
+        chatBroadcastEngine.broadcastLocal(tombstone.getRoomId(), 0L, tombstone);
         return ApiResponse.success(null, "메시지가 삭제되었습니다.");
     }
 
+    @PostMapping("/rooms/{roomId}/messages/purge")
+    public ApiResponse<ChatTombstoneDto> purgeMessages(
+        @AuthenticationPrincipal Long userId,
+        @PathVariable Long roomId,
+        @RequestBody ChatPurgeRequest request
+    ) {
+        ChatTombstoneDto tombstone = chatMessageService.purgeUserMessages(
+            userId, roomId, request.getUserId(), request.getFrom(), request.getTo());
+
+        // 이 노드의 구독자에게 삭제 알림 전송 (다른 노드는 릴레이가 전달), 순번이 없는 알림은 0
+        if (!tombstone.getMessageIds().isEmpty()) {
+            chatBroadcastEngine.broadcastLocal(roomId, 0L, tombstone);
+        }
+        return ApiResponse.success(tombstone, "메시지가 삭제되었습니다.");
+    }
+
     // WebSocket message handling
     @MessageMapping("/chat.send")
     public void sendMessage(
         @Payload ChatMessageRequest request,
         SimpMessageHeaderAccessor headerAccessor
     ) {
-        Long userId = (Long) headerAccessor.getSessionAttributes().get("userId");
+        Long userId = (Long) headerAccessor.getSessionAttributes().get(ChatHandshakeInterceptor.USER_ID_ATTRIBUTE);
+        String sessionId = headerAccessor.getSessionId();
 
-        ChatMessage message = chatMessageService.sendMessage(
-            userId,
-            request.getRoomId(),
-            request.getMessageType(),
-            request.getContent()
-        );
+        // 애플리케이션 안에서 호스팅하는 채팅방은 채팅방 액터가 받은 순서대로 처리 (순번 발급과 브로드캐스트 순서 유지)
+        Long roomId = request.getRoomId();
+        boolean told;
+        try {
+            told = roomId != null && chatRoomActorSystem.tell(roomId, () -> send(userId, sessionId, request));
+        } catch (BusinessException e) {
+            // 메일박스가 가득 찬 경우
+            reject(sessionId, request, e);
+            return;
+        }
+        if (!told) {
+            send(userId, sessionId, request);
+        }
+    }
 
-        ChatMessageDto messageDto = ChatMessageDto.from(message);
+    private void send(Long userId, String sessionId, ChatMessageRequest request) {
+        ChatSendResult result;
+        try {
+            result = chatMessageService.sendMessage(
+                userId,
+                request.getRoomId(),
+                request.getMessageType(),
+                request.getContent(),
+                request.getClientMessageId()
+            );
+        } catch (BusinessException e) {
+            reject(sessionId, request, e);
+            return;
+        }
+
+        // 다시 보낸 메시지는 브로드캐스트하지 않고 보낸 세션에만 처음 발급한 ID로 확인 응답
+        if (result.isDuplicate()) {
+            if (result.ack() != null) {
+                chatBroadcastEngine.sendToSession(sessionId, request.getRoomId(), result.ack());
+            }
+            return;
+        }
 
         // 해당 채팅방의 모든 참가자에게 메시지 브로드캐스트
-        messagingTemplate.convertAndSend(
-            "/topic/chat/" + request.getRoomId(),
-            messageDto
-        );
+        ChatMessageDto messageDto = result.message();
+        chatBroadcastEngine.broadcast(request.getRoomId(), messageDto.getSequence(), messageDto);
+    }
+
+    /**
+     * 받지 못한 메시지를 보낸 세션에 거부 알림으로 전송
+     * 채팅방 액터 스레드에서 처리하면 예외가 보낸 세션에 전달되지 않으므로 어느 스레드에서 처리하든 같은 알림을 보낸다.
+     */
+    private void reject(String sessionId, ChatMessageRequest request, BusinessException e) {
+        if (request.getRoomId() == null) {
+            throw e;
+        }
+        chatBroadcastEngine.sendToSession(sessionId, request.getRoomId(), ChatMessageNackDto.of(
+            request.getRoomId(), request.getClientMessageId(), e.getErrorCode().getCode(), e.getMessage()));
+    }
+
+    /**
+     * 리액션 전송 (구독자에게는 리액션 집계가 tick마다 모아서 전송)
+     */
+    @MessageMapping("/chat.react")
+    public void sendReaction(
+        @Payload ChatReactionRequest request,
+        SimpMessageHeaderAccessor headerAccessor
+    ) {
+        Long userId = (Long) headerAccessor.getSessionAttributes().get(ChatHandshakeInterceptor.USER_ID_ATTRIBUTE);
+        chatMessageService.sendReaction(userId, request.getRoomId(), request.getReactionType(), request.getCount());
+    }
+
+    @MessageMapping("/chat.heartbeat")
+    public void heartbeat(
+        @Payload ChatHeartbeatRequest request,
+        SimpMessageHeaderAccessor headerAccessor
+    ) {
+        Long userId = (Long) headerAccessor.getSessionAttributes().get(ChatHandshakeInterceptor.USER_ID_ATTRIBUTE);
+        chatMessageService.heartbeat(userId, request.getRoomId());
     }
 }
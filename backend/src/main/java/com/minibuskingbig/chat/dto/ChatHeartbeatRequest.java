@@ -0,0 +1,13 @@
+package com.minibuskingbig.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatHeartbeatRequest {
+
+    private Long roomId;
+}
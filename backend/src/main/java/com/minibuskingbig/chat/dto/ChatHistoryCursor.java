@@ -0,0 +1,52 @@
+package com.minibuskingbig.chat.dto;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 채팅 히스토리 커서 (마지막으로 받은 메시지의 created_at, message_id)
+ *
+ * 클라이언트에는 내용을 알 수 없는 base64url 문자열로만 전달한다.
+ */
+public record ChatHistoryCursor(LocalDateTime createdAt, long messageId) {
+
+    private static final char SEPARATOR = '|';
+
+    public static ChatHistoryCursor from(ChatMessageDto message) {
+        return new ChatHistoryCursor(message.getCreatedAt(), message.getMessageId());
+    }
+
+    /**
+     * 히스토리 순서(created_at, message_id)에서 other보다 앞선 메시지인지 여부
+     */
+    public boolean isBefore(ChatHistoryCursor other) {
+        int compared = createdAt.compareTo(other.createdAt);
+        return compared < 0 || (compared == 0 && messageId < other.messageId);
+    }
+
+    public String encode() {
+        String raw = messageId + String.valueOf(SEPARATOR) + createdAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChatHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new ChatHistoryCursor(
+                LocalDateTime.parse(raw.substring(separator + 1)),
+                Long.parseLong(raw.substring(0, separator))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+        }
+    }
+}
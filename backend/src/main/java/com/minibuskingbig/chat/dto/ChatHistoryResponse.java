@@ -0,0 +1,29 @@
+package com.minibuskingbig.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatHistoryResponse {
+
+    private List<ChatMessageDto> messages;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public static ChatHistoryResponse of(List<ChatMessageDto> messages, int limit) {
+        boolean hasMore = messages.size() > limit;
+        List<ChatMessageDto> page = hasMore ? messages.subList(0, limit) : messages;
+        return ChatHistoryResponse.builder()
+            .messages(page)
+            .nextCursor(hasMore ? ChatHistoryCursor.from(page.get(page.size() - 1)).encode() : null)
+            .hasMore(hasMore)
+            .build();
+    }
+}
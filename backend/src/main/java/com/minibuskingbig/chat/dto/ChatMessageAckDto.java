@@ -0,0 +1,31 @@
+package com.minibuskingbig.chat.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 다시 보낸 메시지의 전송 확인 (/topic/chat/{roomId} 구독 중인 보낸 세션에만 전송)
+ * 처음 받았을 때 발급한 messageId와 순번을 돌려주며, 클라이언트는 clientMessageId로 보낸 메시지를 찾는다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageAckDto {
+
+    public static final String TYPE = "ACK";
+
+    // 채팅 메시지와 구분하기 위한 값 (항상 ACK)
+    private String type;
+    private Long roomId;
+    private String clientMessageId;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long messageId;
+    private Long sequence;
+
+    public static ChatMessageAckDto of(long roomId, String clientMessageId, long messageId, long sequence) {
+        return new ChatMessageAckDto(TYPE, roomId, clientMessageId, messageId, sequence);
+    }
+}
@@ -1,7 +1,10 @@
 package com.minibuskingbig.chat.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.minibuskingbig.chat.entity.ChatMessage;
 import com.minibuskingbig.chat.entity.MessageType;
+import com.minibuskingbig.chat.profile.SenderProfile;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,8 +18,11 @@ import java.time.LocalDateTime;
 @Builder
 public class ChatMessageDto {
 
+    // 53비트를 넘는 ID라 JavaScript number로 받으면 반올림되므로 문자열로 보낸다
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long messageId;
     private Long roomId;
+    private Long sequence;
     private Long userId;
     private String userDisplayId;
     private String userNickname;
@@ -24,18 +30,44 @@ public class ChatMessageDto {
     private MessageType messageType;
     private String content;
     private LocalDateTime createdAt;
+    // 보낸 클라이언트가 전송 확인에 쓰는 ID (전송 직후 브로드캐스트에만 있고 저장하지 않는다)
+    private String clientMessageId;
 
-    public static ChatMessageDto from(ChatMessage message) {
+    /**
+     * 저장된 메시지 변환 (보낸 사람은 프로필 캐시 등에서 받은 스냅샷으로 채워 User 프록시를 초기화하지 않는다)
+     */
+    public static ChatMessageDto from(ChatMessage message, SenderProfile sender) {
         return ChatMessageDto.builder()
             .messageId(message.getMessageId())
             .roomId(message.getChatRoom().getRoomId())
-            .userId(message.getUser().getUserId())
-            .userDisplayId(message.getUser().getDisplayId())
-            .userNickname(message.getUser().getNickname())
-            .userProfileImageUrl(message.getUser().getProfileImageUrl())
+            .sequence(message.getSequence())
+            .userId(sender.userId())
+            .userDisplayId(sender.displayId())
+            .userNickname(sender.nickname())
+            .userProfileImageUrl(sender.profileImageUrl())
             .messageType(message.getMessageType())
             .content(message.getContent())
             .createdAt(message.getCreatedAt())
             .build();
     }
+
+    public static ChatMessageDto of(PendingChatMessage message, SenderProfile sender) {
+        return of(message, sender, null);
+    }
+
+    public static ChatMessageDto of(PendingChatMessage message, SenderProfile sender, String clientMessageId) {
+        return ChatMessageDto.builder()
+            .messageId(message.messageId())
+            .roomId(message.roomId())
+            .sequence(message.sequence())
+            .userId(message.userId())
+            .userDisplayId(sender.displayId())
+            .userNickname(sender.nickname())
+            .userProfileImageUrl(sender.profileImageUrl())
+            .messageType(message.messageType())
+            .content(message.content())
+            .createdAt(message.createdAt())
+            .clientMessageId(clientMessageId)
+            .build();
+    }
 }
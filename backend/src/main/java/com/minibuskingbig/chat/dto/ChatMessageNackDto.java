@@ -0,0 +1,29 @@
+package com.minibuskingbig.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 받지 못한 메시지의 거부 알림 (/topic/chat/{roomId} 구독 중인 보낸 세션에만 전송)
+ * 클라이언트는 clientMessageId로 보낸 메시지를 찾아 재전송 대기에서 빼고 code와 message로 사용자에게 알린다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageNackDto {
+
+    public static final String TYPE = "NACK";
+
+    // 채팅 메시지와 구분하기 위한 값 (항상 NACK)
+    private String type;
+    private Long roomId;
+    private String clientMessageId;
+    // ErrorCode.code (CH004 등)
+    private String code;
+    private String message;
+
+    public static ChatMessageNackDto of(long roomId, String clientMessageId, String code, String message) {
+        return new ChatMessageNackDto(TYPE, roomId, clientMessageId, code, message);
+    }
+}
@@ -13,4 +13,6 @@ public class ChatMessageRequest {
     private Long roomId;
     private MessageType messageType;
     private String content;
+    // 클라이언트가 만든 메시지 ID (재연결 후 다시 보낸 메시지를 서버가 한 번만 받도록, 없으면 중복 확인 안 함)
+    private String clientMessageId;
 }
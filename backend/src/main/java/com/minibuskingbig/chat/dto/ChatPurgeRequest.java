@@ -0,0 +1,20 @@
+package com.minibuskingbig.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 메시지 일괄 삭제 요청 (from, to가 없으면 채팅방 전체 기간)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatPurgeRequest {
+
+    private Long userId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
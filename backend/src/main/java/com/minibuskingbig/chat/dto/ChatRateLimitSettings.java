@@ -0,0 +1,18 @@
+package com.minibuskingbig.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채팅방 전송률 설정 (null인 항목은 기본값, slowModeSeconds가 0이면 슬로우 모드 끔)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRateLimitSettings {
+
+    private Integer burst;
+    private Integer sustainedPerMinute;
+    private Integer slowModeSeconds;
+}
@@ -0,0 +1,17 @@
+package com.minibuskingbig.chat.dto;
+
+import com.minibuskingbig.chat.reaction.ReactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReactionRequest {
+
+    private Long roomId;
+    private ReactionType reactionType;
+    // 클라이언트가 짧은 시간 동안 모아 보낸 리액션 수 (없으면 1, 최대값은 chat.reaction.max-per-request)
+    private Integer count;
+}
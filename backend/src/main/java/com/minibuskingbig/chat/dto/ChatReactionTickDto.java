@@ -0,0 +1,40 @@
+package com.minibuskingbig.chat.dto;
+
+import com.minibuskingbig.chat.reaction.ReactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 리액션 집계 알림 (/topic/chat/{roomId}로 전송, 클라이언트는 counts만큼 리액션 애니메이션을 재생한다)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReactionTickDto {
+
+    public static final String TYPE = "REACTION_TICK";
+
+    // 채팅 메시지와 구분하기 위한 값 (항상 REACTION_TICK)
+    private String type;
+    private Long roomId;
+    // 지난 tick 이후 들어온 리액션 종류별 수 (0인 종류는 생략)
+    private Map<ReactionType, Long> counts;
+
+    /**
+     * @param counts ReactionType 순서의 종류별 수
+     */
+    public static ChatReactionTickDto of(long roomId, long[] counts) {
+        Map<ReactionType, Long> nonZero = new EnumMap<>(ReactionType.class);
+        ReactionType[] types = ReactionType.values();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                nonZero.put(types[i], counts[i]);
+            }
+        }
+        return new ChatReactionTickDto(TYPE, roomId, nonZero);
+    }
+}
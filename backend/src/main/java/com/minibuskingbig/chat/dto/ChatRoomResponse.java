@@ -1,6 +1,7 @@
 package com.minibuskingbig.chat.dto;
 
 import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.entity.ChatRoomHostingMode;
 import com.minibuskingbig.chat.entity.ChatRoomStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,6 +21,7 @@ public class ChatRoomResponse {
     private String eventTitle;
     private String websocketUrl;
     private ChatRoomStatus status;
+    private ChatRoomHostingMode hostingMode;
     private Integer currentParticipants;
     private Integer maxParticipants;
     private Integer totalMessages;
@@ -34,6 +36,7 @@ public class ChatRoomResponse {
             .eventTitle(chatRoom.getEvent().getTitle())
             .websocketUrl(chatRoom.getWebsocketUrl())
             .status(chatRoom.getStatus())
+            .hostingMode(chatRoom.getHostingMode())
             .currentParticipants(chatRoom.getCurrentParticipants())
             .maxParticipants(chatRoom.getMaxParticipants())
             .totalMessages(chatRoom.getTotalMessages())
@@ -0,0 +1,22 @@
+package com.minibuskingbig.chat.dto;
+
+/**
+ * 메시지 전송 결과
+ *
+ * @param message 새로 받은 메시지 (채팅방에 브로드캐스트, 다시 보낸 메시지면 null)
+ * @param ack 이미 받은 메시지의 전송 확인 (보낸 세션에만 전송, 같은 메시지를 아직 처리 중이면 null)
+ */
+public record ChatSendResult(ChatMessageDto message, ChatMessageAckDto ack) {
+
+    public static ChatSendResult accepted(ChatMessageDto message) {
+        return new ChatSendResult(message, null);
+    }
+
+    public static ChatSendResult duplicate(ChatMessageAckDto ack) {
+        return new ChatSendResult(null, ack);
+    }
+
+    public boolean isDuplicate() {
+        return message == null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.minibuskingbig.chat.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 메시지 삭제 알림 (/topic/chat/{roomId}로 전송, 클라이언트는 messageIds의 메시지를 숨긴다)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatTombstoneDto {
+
+    public static final String TYPE = "TOMBSTONE";
+
+    // 채팅 메시지와 구분하기 위한 값 (항상 TOMBSTONE)
+    private String type;
+    private Long roomId;
+    // ChatMessageDto.messageId와 같이 문자열로 보낸다
+    @JsonSerialize(contentUsing = ToStringSerializer.class)
+    private List<Long> messageIds;
+
+    public static ChatTombstoneDto of(long roomId, List<Long> messageIds) {
+        return new ChatTombstoneDto(TYPE, roomId, List.copyOf(messageIds));
+    }
+}
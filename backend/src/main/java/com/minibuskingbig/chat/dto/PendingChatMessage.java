@@ -0,0 +1,30 @@
+package com.minibuskingbig.chat.dto;
+
+import com.minibuskingbig.chat.entity.MessageType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장 대기 중인 채팅 메시지 (write-behind 큐 항목)
+ */
+public record PendingChatMessage(
+    long messageId,
+    long roomId,
+    long sequence,
+    long userId,
+    MessageType messageType,
+    String content,
+    LocalDateTime createdAt
+) {
+
+    public static PendingChatMessage of(
+        long messageId,
+        long roomId,
+        long sequence,
+        long userId,
+        MessageType messageType,
+        String content
+    ) {
+        return new PendingChatMessage(messageId, roomId, sequence, userId, messageType, content, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,58 @@
+package com.minibuskingbig.chat.entity;
+
+import com.minibuskingbig.common.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 종료된 채팅방 메시지 보관 세그먼트
+ *
+ * 세그먼트 하나는 created_at 순으로 이어진 메시지를 gzip 압축한 NDJSON 파일이다.
+ * 채팅방마다 segment_no 순으로 이어 붙이기만 하고, 저장한 세그먼트는 수정하지 않는다.
+ */
+@Entity
+@Table(name = "chat_archive_segments", indexes = {
+    @Index(name = "uk_room_segment", columnList = "room_id,segment_no", unique = true)
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ChatArchiveSegment extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "segment_id")
+    private Long segmentId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "segment_no", nullable = false)
+    private Integer segmentNo;
+
+    @Column(name = "storage_key", nullable = false)
+    private String storageKey;
+
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    // 세그먼트의 첫 메시지 (조회 시 커서 이전 세그먼트만 읽기 위해 사용)
+    @Column(name = "first_created_at", nullable = false)
+    private LocalDateTime firstCreatedAt;
+
+    @Column(name = "first_message_id", nullable = false)
+    private Long firstMessageId;
+
+    // 세그먼트까지 보관한 마지막 메시지 (다음 보관과 테이블 삭제의 기준)
+    @Column(name = "last_created_at", nullable = false)
+    private LocalDateTime lastCreatedAt;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+}
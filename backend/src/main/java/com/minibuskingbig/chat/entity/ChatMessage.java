@@ -7,8 +7,9 @@ import lombok.*;
 
 @Entity
 @Table(name = "chat_messages", indexes = {
-    @Index(name = "idx_room", columnList = "room_id,created_at"),
-    @Index(name = "idx_user", columnList = "user_id")
+    @Index(name = "idx_room_history", columnList = "room_id,created_at,is_deleted"),
+    @Index(name = "idx_room_seq", columnList = "room_id,room_seq"),
+    @Index(name = "idx_user_room", columnList = "user_id,room_id,created_at")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -29,6 +30,10 @@ public class ChatMessage extends BaseTimeEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // 채팅방 안에서의 순번 (재연결 시 놓친 메시지 조회용)
+    @Column(name = "room_seq")
+    private Long sequence;
+
     @Column(name = "message_type", length = 20)
     @Enumerated(EnumType.STRING)
     private MessageType messageType;
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "chat_rooms", indexes = {
     @Index(name = "idx_event", columnList = "event_id"),
-    @Index(name = "idx_status", columnList = "status")
+    @Index(name = "idx_status", columnList = "status"),
+    @Index(name = "idx_status_hosting_mode", columnList = "status, hosting_mode")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -41,8 +42,14 @@ public class ChatRoom extends BaseTimeEntity {
     @Builder.Default
     private ChatRoomStatus status = ChatRoomStatus.CREATING;
 
+    @Column(name = "hosting_mode", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private ChatRoomHostingMode hostingMode = ChatRoomHostingMode.CONTAINER;
+
+    // 참가자 수/메시지 수는 ChatRoomCounterService가 배치 UPDATE로만 반영 (엔티티 dirty checking 제외)
     @Builder.Default
-    @Column(name = "current_participants")
+    @Column(name = "current_participants", updatable = false)
     private Integer currentParticipants = 0;
 
     @Column(name = "max_participants")
@@ -55,7 +62,7 @@ public class ChatRoom extends BaseTimeEntity {
     private LocalDateTime endedAt;
 
     @Builder.Default
-    @Column(name = "total_messages")
+    @Column(name = "total_messages", updatable = false)
     private Integer totalMessages = 0;
 
     // 비즈니스 로직
@@ -63,33 +70,30 @@ public class ChatRoom extends BaseTimeEntity {
         this.containerId = containerId;
         this.containerArn = containerArn;
         this.websocketUrl = websocketUrl;
+        this.hostingMode = ChatRoomHostingMode.CONTAINER;
         this.status = ChatRoomStatus.ACTIVE;
         this.startedAt = LocalDateTime.now();
     }
 
-    public void close() {
-        this.status = ChatRoomStatus.CLOSED;
-        this.endedAt = LocalDateTime.now();
-    }
-
-    public void incrementParticipants() {
-        if (this.currentParticipants < this.maxParticipants) {
-            this.currentParticipants++;
-        }
-    }
-
-    public void decrementParticipants() {
-        if (this.currentParticipants > 0) {
-            this.currentParticipants--;
-        }
+    /**
+     * 컨테이너 없이 애플리케이션 안에서 호스팅
+     */
+    public void hostInProcess(String websocketUrl) {
+        this.containerId = null;
+        this.containerArn = null;
+        this.websocketUrl = websocketUrl;
+        this.hostingMode = ChatRoomHostingMode.IN_PROCESS;
+        this.status = ChatRoomStatus.ACTIVE;
+        this.startedAt = LocalDateTime.now();
     }
 
-    public void incrementMessageCount() {
-        this.totalMessages++;
+    public boolean isHostedInProcess() {
+        return this.hostingMode == ChatRoomHostingMode.IN_PROCESS;
     }
 
-    public boolean isFull() {
-        return this.currentParticipants >= this.maxParticipants;
+    public void close() {
+        this.status = ChatRoomStatus.CLOSED;
+        this.endedAt = LocalDateTime.now();
     }
 
     public boolean isActive() {
@@ -0,0 +1,6 @@
+package com.minibuskingbig.chat.entity;
+
+public enum ChatRoomHostingMode {
+    CONTAINER,  // 공연별 ECS 컨테이너
+    IN_PROCESS  // 애플리케이션 안의 채팅방 액터 (소규모 채팅방)
+}
@@ -0,0 +1,117 @@
+package com.minibuskingbig.chat.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.archive.ChatArchiveService;
+import com.minibuskingbig.chat.dto.ChatHistoryCursor;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.repository.ChatMessageExportRepository;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 기록 내보내기 서비스
+ *
+ * 보관 세그먼트의 메시지를 먼저 쓰고, 이어서 chat_messages를 JDBC 커서로 읽으며 응답으로 바로 흘려보낸다.
+ * 메시지를 모으지 않으므로 채팅방 메시지 수와 관계없이 메모리 사용량이 일정하다.
+ * 내보내는 동안 DB 연결 하나를 계속 쓰므로 동시에 내보내는 수를 max-concurrent로 제한한다.
+ * 큰 채팅방은 기본 비동기 요청 타임아웃(30초)보다 오래 걸리므로 내보내기 요청만 timeout-ms를 쓴다.
+ */
+@Slf4j
+@Service
+public class ChatTranscriptExportService {
+
+    private final ChatArchiveService chatArchiveService;
+    private final ChatMessageExportRepository chatMessageExportRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    @Getter
+    private final long timeoutMillis;
+
+    private final Counter exportedMessagesCounter;
+    private final Counter rejectedCounter;
+
+    public ChatTranscriptExportService(
+        ChatArchiveService chatArchiveService,
+        ChatMessageExportRepository chatMessageExportRepository,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${chat.export.max-concurrent:2}") int maxConcurrent,
+        @Value("${chat.export.timeout-ms:1800000}") long timeoutMillis
+    ) {
+        this.chatArchiveService = chatArchiveService;
+        this.chatMessageExportRepository = chatMessageExportRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeoutMillis = timeoutMillis;
+
+        this.exportedMessagesCounter = meterRegistry.counter("chat.export.messages");
+        this.rejectedCounter = meterRegistry.counter("chat.export.rejected");
+    }
+
+    /**
+     * 채팅방 기록을 응답으로 흘려보내는 본문 생성 (동시 내보내기 수를 넘으면 CHAT_BUSY)
+     */
+    public StreamingResponseBody export(long roomId, ChatTranscriptFormat format) {
+        if (!permits.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.CHAT_BUSY, "다른 채팅 기록을 내보내는 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        meterRegistry.counter("chat.export.requests", "format", format.getExtension()).increment();
+        return out -> {
+            try {
+                write(roomId, format, out);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * 보관된 메시지와 테이블 메시지를 오래된 순으로 이어서 쓴다
+     *
+     * @return 쓴 메시지 수
+     */
+    long write(long roomId, ChatTranscriptFormat format, OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        ChatTranscriptWriter writer = ChatTranscriptWriter.open(format, out, objectMapper);
+        Consumer<ChatMessageDto> consumer = message -> {
+            try {
+                writer.write(message);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            ChatHistoryCursor archivedUpTo = chatArchiveService.readArchived(roomId, consumer);
+            chatMessageExportRepository.streamAfter(roomId, archivedUpTo, consumer);
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 내려받는 중에 연결을 끊은 경우 등 (JDBC 커서는 JdbcTemplate이 닫는다)
+            log.info("Chat transcript export aborted - room: {}, after {} messages", roomId, writer.getMessageCount());
+            throw e.getCause();
+        } finally {
+            exportedMessagesCounter.increment(writer.getMessageCount());
+        }
+
+        log.info("Chat transcript exported - room: {}, format: {}, messages: {}, {}ms", roomId, format,
+            writer.getMessageCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return writer.getMessageCount();
+    }
+}
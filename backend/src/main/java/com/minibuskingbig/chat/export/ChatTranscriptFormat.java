@@ -0,0 +1,29 @@
+package com.minibuskingbig.chat.export;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ChatTranscriptFormat {
+    NDJSON("application/x-ndjson", "ndjson"),   // 한 줄에 메시지 JSON 하나
+    CSV("text/csv;charset=UTF-8", "csv");        // 스프레드시트용 (UTF-8 BOM 포함)
+
+    private final String contentType;
+    private final String extension;
+
+    public static ChatTranscriptFormat from(String value) {
+        for (ChatTranscriptFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "지원하지 않는 내보내기 형식입니다: " + value);
+    }
+
+    public String fileName(long roomId) {
+        return "chat-room-" + roomId + "." + extension;
+    }
+}
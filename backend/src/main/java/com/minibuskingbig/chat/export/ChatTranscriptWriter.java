@@ -0,0 +1,154 @@
+package com.minibuskingbig.chat.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 채팅 기록 쓰기 (메시지를 한 건씩 버퍼에 쓰고 버퍼가 차면 응답으로 내보낸다)
+ */
+abstract class ChatTranscriptWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private long messageCount;
+
+    static ChatTranscriptWriter open(ChatTranscriptFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(new BufferedOutputStream(out, BUFFER_SIZE), objectMapper);
+            case CSV -> new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        };
+    }
+
+    final void write(ChatMessageDto message) throws IOException {
+        writeMessage(message);
+        messageCount++;
+    }
+
+    long getMessageCount() {
+        return messageCount;
+    }
+
+    abstract void writeMessage(ChatMessageDto message) throws IOException;
+
+    /**
+     * 버퍼에 남은 내용을 응답으로 내보냄 (응답 스트림은 서블릿 컨테이너가 닫는다)
+     */
+    abstract void flush() throws IOException;
+
+    private static final class NdjsonWriter extends ChatTranscriptWriter {
+
+        private static final byte NEW_LINE = '\n';
+
+        private final OutputStream out;
+        private final ObjectMapper objectMapper;
+
+        NdjsonWriter(OutputStream out, ObjectMapper objectMapper) {
+            this.out = out;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        void writeMessage(ChatMessageDto message) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(message));
+            out.write(NEW_LINE);
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV (쉼표/따옴표/줄바꿈이 있는 값은 따옴표로 감싼다)
+     * 스프레드시트에서 열 때 수식으로 실행되지 않도록 =, +, -, @ 등으로 시작하는 값 앞에 '를 붙인다.
+     */
+    private static final class CsvWriter extends ChatTranscriptWriter {
+
+        private static final char BOM = '\uFEFF';
+        private static final String HEADER =
+            "message_id,sequence,created_at,user_id,user_display_id,user_nickname,message_type,content\r\n";
+
+        private final Writer out;
+
+        CsvWriter(Writer out) throws IOException {
+            this.out = out;
+            // 엑셀에서 한글이 깨지지 않도록 BOM을 먼저 쓴다
+            out.write(BOM);
+            out.write(HEADER);
+        }
+
+        @Override
+        void writeMessage(ChatMessageDto message) throws IOException {
+            out.write(String.valueOf(message.getMessageId()));
+            out.write(',');
+            if (message.getSequence() != null) {
+                out.write(String.valueOf(message.getSequence()));
+            }
+            out.write(',');
+            out.write(message.getCreatedAt().toString());
+            out.write(',');
+            out.write(String.valueOf(message.getUserId()));
+            out.write(',');
+            writeText(message.getUserDisplayId());
+            out.write(',');
+            writeText(message.getUserNickname());
+            out.write(',');
+            out.write(message.getMessageType().name());
+            out.write(',');
+            writeText(message.getContent());
+            out.write("\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            boolean formula = startsFormula(value.charAt(0));
+            boolean quoted = formula || needsQuotes(value);
+            if (quoted) {
+                out.write('"');
+            }
+            if (formula) {
+                out.write('\'');
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            if (quoted) {
+                out.write('"');
+            }
+        }
+
+        private static boolean startsFormula(char first) {
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        }
+
+        private static boolean needsQuotes(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
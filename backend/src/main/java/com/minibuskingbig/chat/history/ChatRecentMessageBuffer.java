@@ -0,0 +1,324 @@
+package com.minibuskingbig.chat.history;
+
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼
+ *
+ * 활성 채팅방마다 최근 N개의 메시지를 고정 크기 링 버퍼에 보관하여, 입장 직후의 첫 히스토리 페이지를 DB 조회 없이 응답한다.
+ * 버퍼는 처음 조회될 때 DB의 최신 메시지로 채우고(seed), 이후 전송되는 메시지는 전송 경로에서 추가한다.
+ * 쓰기는 순번 증가 후 슬롯 교체만 하므로 락이 없고, 삭제된 메시지는 슬롯을 tombstone으로 교체한다.
+ * 버퍼만으로 요청한 개수를 채울 수 없으면 empty를 반환하여 DB 조회로 넘긴다.
+ */
+@Slf4j
+@Component
+public class ChatRecentMessageBuffer {
+
+    private static final Comparator<ChatMessageDto> NEWEST_FIRST = Comparator
+        .comparing(ChatMessageDto::getCreatedAt)
+        .thenComparing(ChatMessageDto::getMessageId)
+        .reversed();
+
+    private static final Comparator<ChatMessageDto> OLDEST_SEQUENCE_FIRST =
+        Comparator.comparing(ChatMessageDto::getSequence);
+
+    private final Map<Long, RoomBuffer> rooms = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public ChatRecentMessageBuffer(
+        MeterRegistry meterRegistry,
+        @Value("${chat.history.recent-buffer-size:200}") int capacity
+    ) {
+        this.capacity = capacity;
+        meterRegistry.gauge("chat.history.buffer.rooms", rooms, Map::size);
+    }
+
+    /**
+     * 채팅방 버퍼 생성 (이미 있으면 그대로 사용)
+     *
+     * 버퍼를 먼저 등록한 뒤 seed를 읽으므로, 로드 중 전송된 메시지도 버퍼에 남는다.
+     *
+     * @param latestLoader 최신 메시지를 최신순으로 최대 n개 조회
+     */
+    public void load(long roomId, IntFunction<List<ChatMessageDto>> latestLoader) {
+        if (rooms.containsKey(roomId)) {
+            return;
+        }
+
+        RoomBuffer created = new RoomBuffer(capacity);
+        if (rooms.putIfAbsent(roomId, created) != null) {
+            return;
+        }
+
+        try {
+            List<ChatMessageDto> latest = latestLoader.apply(capacity);
+            created.seed(latest, latest.size() < capacity);
+        } catch (RuntimeException e) {
+            rooms.remove(roomId, created);
+            throw e;
+        }
+        log.debug("Recent message buffer loaded for room: {}", roomId);
+    }
+
+    public boolean isTracked(long roomId) {
+        return rooms.containsKey(roomId);
+    }
+
+    /**
+     * 전송된 메시지 추가 (버퍼가 없는 채팅방은 무시)
+     */
+    public void append(ChatMessageDto message) {
+        RoomBuffer room = rooms.get(message.getRoomId());
+        if (room != null) {
+            room.append(message);
+        }
+    }
+
+    /**
+     * 삭제된 메시지를 tombstone으로 표시 (삭제는 드물므로 모든 채팅방 버퍼를 확인)
+     */
+    public void markDeleted(long messageId) {
+        for (RoomBuffer room : rooms.values()) {
+            if (room.markDeleted(messageId)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 채팅방의 여러 메시지를 한 번에 tombstone으로 표시 (일괄 삭제 시)
+     */
+    public void markDeleted(long roomId, Collection<Long> messageIds) {
+        RoomBuffer room = rooms.get(roomId);
+        if (room != null && !messageIds.isEmpty()) {
+            room.markDeleted(Set.copyOf(messageIds));
+        }
+    }
+
+    /**
+     * 채팅방 버퍼 제거 (채팅방 종료 시)
+     */
+    public void discard(long roomId) {
+        rooms.remove(roomId);
+    }
+
+    /**
+     * 최신 메시지를 최신순으로 최대 limit개 조회
+     *
+     * @return 버퍼만으로 정확한 결과를 만들 수 없으면 empty
+     */
+    public Optional<List<ChatMessageDto>> latest(long roomId, int limit) {
+        RoomBuffer room = rooms.get(roomId);
+        return room == null || limit > capacity ? Optional.empty() : room.latest(limit);
+    }
+
+    /**
+     * 채팅방 순번이 sequence보다 큰 메시지를 오래된 순으로 최대 limit개 조회 (재연결 시 놓친 메시지)
+     *
+     * @return 버퍼에 sequence 다음 메시지부터 빠짐없이 남아 있지 않으면 empty
+     */
+    public Optional<List<ChatMessageDto>> after(long roomId, long sequence, int limit) {
+        RoomBuffer room = rooms.get(roomId);
+        return room == null ? Optional.empty() : room.after(sequence, limit);
+    }
+
+    private record Entry(long sequence, ChatMessageDto message, boolean deleted) {
+
+        Entry tombstone() {
+            return new Entry(sequence, message, true);
+        }
+    }
+
+    /**
+     * DB에서 읽은 초기 메시지 (최신순)
+     *
+     * @param complete 채팅방의 전체 메시지가 모두 포함되었는지 여부
+     */
+    private record Seed(List<ChatMessageDto> messages, boolean complete) {
+    }
+
+    private static final class RoomBuffer {
+
+        private final int capacity;
+        private final AtomicReferenceArray<Entry> slots;
+        // 다음에 쓸 순번
+        private final AtomicLong head = new AtomicLong();
+        private final Set<Long> seedTombstones = ConcurrentHashMap.newKeySet();
+        private volatile Seed seed;
+
+        RoomBuffer(int capacity) {
+            this.capacity = capacity;
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        void seed(List<ChatMessageDto> messages, boolean complete) {
+            this.seed = new Seed(List.copyOf(messages), complete);
+        }
+
+        void append(ChatMessageDto message) {
+            long sequence = head.getAndIncrement();
+            slots.set(index(sequence), new Entry(sequence, message, false));
+        }
+
+        boolean markDeleted(long messageId) {
+            for (int i = 0; i < capacity; i++) {
+                Entry entry = slots.get(i);
+                if (entry != null && entry.message().getMessageId() == messageId) {
+                    // 그 사이 슬롯이 새 메시지로 바뀌었으면 이미 버퍼에서 밀려난 메시지
+                    slots.compareAndSet(i, entry, entry.tombstone());
+                    return true;
+                }
+            }
+
+            Seed current = seed;
+            if (current != null && current.messages().stream().anyMatch(m -> m.getMessageId() == messageId)) {
+                seedTombstones.add(messageId);
+                return true;
+            }
+            return false;
+        }
+
+        void markDeleted(Set<Long> messageIds) {
+            for (int i = 0; i < capacity; i++) {
+                Entry entry = slots.get(i);
+                if (entry != null && !entry.deleted() && messageIds.contains(entry.message().getMessageId())) {
+                    slots.compareAndSet(i, entry, entry.tombstone());
+                }
+            }
+
+            Seed current = seed;
+            if (current != null) {
+                for (ChatMessageDto message : current.messages()) {
+                    if (messageIds.contains(message.getMessageId())) {
+                        seedTombstones.add(message.getMessageId());
+                    }
+                }
+            }
+        }
+
+        Optional<List<ChatMessageDto>> latest(int limit) {
+            Seed current = seed;
+            if (current == null) {
+                // 아직 seed 로드 중
+                return Optional.empty();
+            }
+
+            long end = head.get();
+            long start = Math.max(0L, end - capacity);
+            List<ChatMessageDto> result = new ArrayList<>(limit);
+            Set<Long> seen = new HashSet<>();
+
+            for (long sequence = end - 1; sequence >= start; sequence--) {
+                Entry entry = slots.get(index(sequence));
+                // 아직 쓰는 중이거나 이미 덮어쓴 슬롯은 건너뜀
+                if (entry == null || entry.sequence() != sequence) {
+                    continue;
+                }
+                seen.add(entry.message().getMessageId());
+                if (!entry.deleted()) {
+                    result.add(entry.message());
+                }
+            }
+
+            // 버퍼가 한 바퀴 돌았으면 seed와 버퍼 사이에 빠진 메시지가 있을 수 있다
+            boolean wrapped = end > capacity;
+            if (!wrapped) {
+                for (ChatMessageDto message : current.messages()) {
+                    if (!seen.contains(message.getMessageId()) && !seedTombstones.contains(message.getMessageId())) {
+                        result.add(message);
+                    }
+                }
+            }
+
+            if (result.size() < limit && (wrapped || !current.complete())) {
+                return Optional.empty();
+            }
+
+            result.sort(NEWEST_FIRST);
+            return Optional.of(result.size() > limit ? List.copyOf(result.subList(0, limit)) : result);
+        }
+
+        Optional<List<ChatMessageDto>> after(long sequence, int limit) {
+            Seed current = seed;
+            if (current == null) {
+                return Optional.empty();
+            }
+
+            long end = head.get();
+            long start = Math.max(0L, end - capacity);
+            List<ChatMessageDto> result = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            // 버퍼에 남은 순번 중 sequence 다음으로 가장 작은 순번
+            long firstAfter = Long.MAX_VALUE;
+            boolean anyKnown = false;
+
+            for (long slot = end - 1; slot >= start; slot--) {
+                Entry entry = slots.get(index(slot));
+                if (entry == null || entry.sequence() != slot) {
+                    continue;
+                }
+                seen.add(entry.message().getMessageId());
+                Long messageSequence = entry.message().getSequence();
+                if (messageSequence == null) {
+                    continue;
+                }
+                anyKnown = true;
+                if (messageSequence > sequence) {
+                    firstAfter = Math.min(firstAfter, messageSequence);
+                    if (!entry.deleted()) {
+                        result.add(entry.message());
+                    }
+                }
+            }
+
+            boolean wrapped = end > capacity;
+            if (!wrapped) {
+                for (ChatMessageDto message : current.messages()) {
+                    Long messageSequence = message.getSequence();
+                    if (messageSequence == null || seen.contains(message.getMessageId())) {
+                        continue;
+                    }
+                    anyKnown = true;
+                    if (messageSequence > sequence) {
+                        firstAfter = Math.min(firstAfter, messageSequence);
+                        if (!seedTombstones.contains(message.getMessageId())) {
+                            result.add(message);
+                        }
+                    }
+                }
+            }
+
+            // 채팅방 전체를 갖고 있거나, 바로 다음 순번부터 남아 있거나, 이미 최신 순번까지 받은 경우만 응답
+            boolean covered = (!wrapped && current.complete())
+                || firstAfter == sequence + 1
+                || (anyKnown && firstAfter == Long.MAX_VALUE);
+            if (!covered) {
+                return Optional.empty();
+            }
+
+            result.sort(OLDEST_SEQUENCE_FIRST);
+            return Optional.of(result.size() > limit ? List.copyOf(result.subList(0, limit)) : result);
+        }
+
+        private int index(long sequence) {
+            return (int) (sequence % capacity);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.minibuskingbig.chat.hosting;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅방 하나의 액터 (메일박스에 들어온 작업을 한 번에 한 스레드에서 들어온 순서대로 처리)
+ *
+ * 스레드를 갖지 않고 메일박스가 비어 있지 않을 때만 공용 실행기에 한 번 예약된다.
+ * 한 번 예약될 때 throughput개까지만 처리하고 남은 작업은 다시 예약하여, 메시지가 많은 채팅방이 실행기 스레드를 독차지하지 않는다.
+ */
+@Slf4j
+final class ChatRoomActor {
+
+    private final long roomId;
+    private final Executor executor;
+    private final int capacity;
+    private final int throughput;
+    private final Runnable onStop;
+
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean stopping = new AtomicBoolean();
+
+    // 종료 작업을 처리한 뒤에는 메일박스에 남은 작업을 실행하지 않고 버린다 (액터 스레드에서만 변경)
+    private volatile boolean terminated;
+
+    ChatRoomActor(long roomId, Executor executor, int capacity, int throughput, Runnable onStop) {
+        this.roomId = roomId;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.throughput = throughput;
+        this.onStop = onStop;
+    }
+
+    /**
+     * 작업을 메일박스에 추가
+     *
+     * @return 추가했으면 true, 메일박스가 가득 찼거나 종료 중이면 false
+     */
+    boolean tell(Runnable message) {
+        if (stopping.get()) {
+            return false;
+        }
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            return false;
+        }
+        mailbox.add(message);
+        schedule();
+        return true;
+    }
+
+    /**
+     * 이미 들어온 작업을 모두 처리한 뒤 onStop을 실행하고 종료 (용량과 관계없이 추가)
+     */
+    void stop() {
+        if (!stopping.compareAndSet(false, true)) {
+            return;
+        }
+        queued.incrementAndGet();
+        mailbox.add(() -> {
+            terminated = true;
+            onStop.run();
+        });
+        schedule();
+    }
+
+    boolean isStopping() {
+        return stopping.get();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            scheduled.set(false);
+        }
+    }
+
+    private void run() {
+        try {
+            for (int processed = 0; processed < throughput; processed++) {
+                Runnable message = mailbox.poll();
+                if (message == null) {
+                    break;
+                }
+                queued.decrementAndGet();
+                if (!terminated) {
+                    invoke(message);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // 처리하는 동안 들어온 작업이 있으면 다시 예약 (예약 해제와 추가가 엇갈려도 작업이 남지 않도록 해제 후 확인)
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void invoke(Runnable message) {
+        try {
+            message.run();
+        } catch (RuntimeException e) {
+            // 거부 사유를 보낸 사람에게 알리는 것은 작업 쪽 책임 (여기까지 온 예외는 기록만 한다)
+            log.warn("Chat room actor message failed - room: {}", roomId, e);
+        }
+    }
+}
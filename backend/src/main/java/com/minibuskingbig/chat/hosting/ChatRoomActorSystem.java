@@ -0,0 +1,160 @@
+package com.minibuskingbig.chat.hosting;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션 안에서 호스팅하는 채팅방의 액터 모음
+ *
+ * 채팅방마다 메일박스 하나를 두고 몇 개의 공용 스레드가 돌아가며 처리하므로, 스레드 수와 관계없이 노드 하나가 수천 개의 작은 채팅방을 맡을 수 있다.
+ * 같은 채팅방의 작업(메시지 전송, 종료)은 들어온 순서대로 하나씩 처리되어 순번 발급과 브로드캐스트 순서가 같다.
+ *
+ * 액터 작업은 Redis(순번, 중복 확인)와 DB(참가자 확인)를 호출하며 대기하므로 CPU 코어 수만큼의 스레드로는 대기 중인 채팅방이
+ * 다른 채팅방을 막는다. virtual-threads.enabled=true면 예약될 때마다 가상 스레드에서 처리하고,
+ * 아니면 chat.hosting.actor-threads 크기의 풀을 쓴다 (0이면 CPU 코어 수 × 4).
+ */
+@Slf4j
+@Component
+public class ChatRoomActorSystem {
+
+    // 작업 시간의 대부분을 Redis/DB 응답을 기다리는 데 쓰므로 코어당 여러 스레드를 둔다
+    private static final int DEFAULT_THREADS_PER_CORE = 4;
+
+    private final Executor executor;
+    private final int mailboxCapacity;
+    private final int throughput;
+
+    private final Map<Long, ChatRoomActor> actors = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public ChatRoomActorSystem(
+        MeterRegistry meterRegistry,
+        @Value("${virtual-threads.enabled:false}") boolean virtualThreads,
+        @Value("${chat.hosting.actor-threads:0}") int actorThreads,
+        @Value("${chat.hosting.mailbox-capacity:1000}") int mailboxCapacity,
+        @Value("${chat.hosting.throughput:32}") int throughput
+    ) {
+        this(meterRegistry, newExecutor(virtualThreads, actorThreads), mailboxCapacity, throughput);
+    }
+
+    ChatRoomActorSystem(MeterRegistry meterRegistry, Executor executor, int mailboxCapacity, int throughput) {
+        this.executor = executor;
+        this.mailboxCapacity = mailboxCapacity;
+        this.throughput = Math.max(1, throughput);
+
+        meterRegistry.gauge("chat.hosting.actors", actors, Map::size);
+        this.rejectedCounter = meterRegistry.counter("chat.hosting.mailbox.rejected");
+    }
+
+    /**
+     * 채팅방 액터 생성 (이미 있으면 그대로 둔다)
+     *
+     * @param onStop 액터가 종료될 때 액터 스레드에서 한 번 실행
+     * @return 새로 만들었으면 true
+     */
+    public boolean spawn(long roomId, Runnable onStop) {
+        boolean[] created = new boolean[1];
+        actors.computeIfAbsent(roomId, id -> {
+            created[0] = true;
+            return new ChatRoomActor(id, executor, mailboxCapacity, throughput, onStop);
+        });
+        if (created[0]) {
+            log.info("Chat room actor spawned: {}", roomId);
+        }
+        return created[0];
+    }
+
+    /**
+     * 채팅방 액터에 작업 전달
+     *
+     * @return 이 노드가 호스팅하는 채팅방이면 true (아니면 호출한 스레드에서 직접 처리)
+     * @throws BusinessException 메일박스가 가득 찬 경우 (CHAT_BUSY)
+     */
+    public boolean tell(long roomId, Runnable message) {
+        ChatRoomActor actor = actors.get(roomId);
+        if (actor == null) {
+            return false;
+        }
+        if (actor.tell(message)) {
+            return true;
+        }
+        if (actor.isStopping()) {
+            return false;
+        }
+        rejectedCounter.increment();
+        throw new BusinessException(ErrorCode.CHAT_BUSY);
+    }
+
+    /**
+     * 채팅방 액터 종료 (이미 들어온 작업을 처리한 뒤 onStop 실행)
+     *
+     * @return 액터가 있었으면 true
+     */
+    public boolean stop(long roomId) {
+        ChatRoomActor actor = actors.remove(roomId);
+        if (actor == null) {
+            return false;
+        }
+        actor.stop();
+        log.info("Chat room actor stopped: {}", roomId);
+        return true;
+    }
+
+    public boolean isHosted(long roomId) {
+        return actors.containsKey(roomId);
+    }
+
+    public Set<Long> getRoomIds() {
+        return Set.copyOf(actors.keySet());
+    }
+
+    public int size() {
+        return actors.size();
+    }
+
+    private static ExecutorService newExecutor(boolean virtualThreads, int actorThreads) {
+        if (virtualThreads) {
+            // 액터는 한 번에 한 번만 예약되므로 가상 스레드마다 채팅방 하나를 처리하고 순서도 그대로다
+            log.info("Chat room actors run on virtual threads");
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-room-actor-", 0).factory());
+        }
+        int threads = actorThreads > 0 ? actorThreads : Runtime.getRuntime().availableProcessors() * DEFAULT_THREADS_PER_CORE;
+        log.info("Chat room actor threads: {}", threads);
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("chat-room-actor-"));
+    }
+
+    /**
+     * 실행기 종료 (노드가 내려가는 것이므로 onStop으로 채팅방 상태를 정리하지 않는다)
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+            try {
+                if (!service.awaitTermination(5, TimeUnit.SECONDS)) {
+                    service.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                service.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.minibuskingbig.chat.hosting;
+
+import com.minibuskingbig.chat.entity.ChatRoomHostingMode;
+import com.minibuskingbig.chat.entity.ChatRoomStatus;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import com.minibuskingbig.chat.repository.ChatRoomRepository.HostingView;
+import com.minibuskingbig.chat.service.ChatRoomService;
+import com.minibuskingbig.chat.service.EcsContainerService;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import com.minibuskingbig.event.entity.EventStatus;
+import com.minibuskingbig.event.service.EventStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 채팅방 호스팅 방식 결정 (애플리케이션 안의 채팅방 액터 또는 공연별 ECS 컨테이너)
+ *
+ * 공연이 시작되면 채팅 정원(Event.chatMaxParticipants)이 in-process-max-participants 이하인 채팅방은 이 노드들이 직접 호스팅하고,
+ * 큰 채팅방만 컨테이너를 시작한다. 컨테이너를 쓰지 않는 환경(chat.container.enabled=false)에서는 모든 채팅방을 직접 호스팅한다.
+ *
+ * 애플리케이션 안에서 호스팅하는 채팅방은 노드마다 채팅방 액터를 두고, 주기적으로 활성 채팅방 목록과 맞춘다.
+ * 공연이 끝난 채팅방은 조건부 UPDATE로 CLOSING으로 먼저 바꾼 노드만 액터 메일박스를 통해 (이미 받은 메시지를 처리한 뒤) 닫는다.
+ */
+@Slf4j
+@Component
+public class ChatRoomHostingService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomService chatRoomService;
+    private final EcsContainerService ecsContainerService;
+    private final ChatRoomActorSystem chatRoomActorSystem;
+    private final boolean containerEnabled;
+    private final int inProcessMaxParticipants;
+    private final int maxInProcessRooms;
+    private final String inProcessWebsocketUrl;
+
+    private final Counter inProcessCounter;
+    private final Counter containerCounter;
+    private final Counter closedCounter;
+    private final Counter failedCounter;
+
+    public ChatRoomHostingService(
+        ChatRoomRepository chatRoomRepository,
+        ChatRoomService chatRoomService,
+        EcsContainerService ecsContainerService,
+        ChatRoomActorSystem chatRoomActorSystem,
+        MeterRegistry meterRegistry,
+        @Value("${chat.container.enabled:false}") boolean containerEnabled,
+        @Value("${chat.hosting.in-process-max-participants:100}") int inProcessMaxParticipants,
+        @Value("${chat.hosting.max-in-process-rooms:5000}") int maxInProcessRooms,
+        @Value("${chat.hosting.in-process-websocket-url:/ws}") String inProcessWebsocketUrl
+    ) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatRoomService = chatRoomService;
+        this.ecsContainerService = ecsContainerService;
+        this.chatRoomActorSystem = chatRoomActorSystem;
+        this.containerEnabled = containerEnabled;
+        this.inProcessMaxParticipants = inProcessMaxParticipants;
+        this.maxInProcessRooms = maxInProcessRooms;
+        this.inProcessWebsocketUrl = inProcessWebsocketUrl;
+
+        this.inProcessCounter = meterRegistry.counter("chat.hosting.hosted", "mode", "in_process");
+        this.containerCounter = meterRegistry.counter("chat.hosting.hosted", "mode", "container");
+        this.closedCounter = meterRegistry.counter("chat.hosting.closed");
+        this.failedCounter = meterRegistry.counter("chat.hosting.failed");
+    }
+
+    /**
+     * 공연 시작 시 채팅방 호스팅, 종료/취소 시 해제
+     */
+    @EventListener
+    public void onEventStatusChanged(EventStatusChangedEvent event) {
+        Optional<Long> roomId = chatRoomRepository.findRoomIdByEventId(event.eventId());
+        if (roomId.isEmpty()) {
+            return;
+        }
+        try {
+            switch (event.status()) {
+                case LIVE -> host(roomId.get());
+                case ENDED, CANCELLED -> release(roomId.get());
+                default -> {
+                }
+            }
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("Failed to update chat room hosting for event: {} ({})", event.eventId(), event.status(), e);
+        }
+    }
+
+    /**
+     * 채팅방 호스팅 시작 (이미 활성 채팅방이면 이 노드의 액터만 확인)
+     *
+     * @return 채팅방 호스팅 방식
+     */
+    public ChatRoomHostingMode host(long roomId) {
+        HostingView room = chatRoomRepository.findHostingView(roomId)
+            .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "채팅방을 찾을 수 없습니다."));
+
+        if (room.getStatus() == ChatRoomStatus.ACTIVE) {
+            if (room.getHostingMode() == ChatRoomHostingMode.IN_PROCESS) {
+                spawn(roomId);
+            }
+            return room.getHostingMode();
+        }
+        if (room.getStatus() != ChatRoomStatus.CREATING) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "종료된 채팅방입니다.");
+        }
+
+        if (shouldHostInProcess(room.getChatMaxParticipants())) {
+            chatRoomService.activateInProcess(roomId, inProcessWebsocketUrl);
+            spawn(roomId);
+            inProcessCounter.increment();
+            return ChatRoomHostingMode.IN_PROCESS;
+        }
+
+        ecsContainerService.startChatContainer(roomId);
+        containerCounter.increment();
+        return ChatRoomHostingMode.CONTAINER;
+    }
+
+    /**
+     * 채팅방 호스팅 해제 (컨테이너는 중지, 애플리케이션 안의 채팅방은 액터 메일박스를 비운 뒤 닫기)
+     */
+    public void release(long roomId) {
+        Optional<HostingView> found = chatRoomRepository.findHostingView(roomId);
+        if (found.isEmpty() || found.get().getStatus() != ChatRoomStatus.ACTIVE) {
+            chatRoomActorSystem.stop(roomId);
+            return;
+        }
+        if (found.get().getHostingMode() == ChatRoomHostingMode.CONTAINER) {
+            ecsContainerService.stopChatContainer(roomId);
+            return;
+        }
+        closeInProcess(roomId);
+    }
+
+    /**
+     * 애플리케이션 안에서 호스팅하는 활성 채팅방과 이 노드의 액터를 맞춤
+     * 다른 노드에서 시작한 채팅방은 액터를 만들고, 닫힌 채팅방은 액터를 종료하며, 공연이 끝난 채팅방은 닫는다.
+     */
+    @Scheduled(fixedDelayString = "${chat.hosting.sweep-interval-ms:30000}")
+    public void sweep() {
+        List<HostingView> rooms = chatRoomRepository.findHostingViews(ChatRoomStatus.ACTIVE, ChatRoomHostingMode.IN_PROCESS);
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> active = new HashSet<>(rooms.size() * 2);
+        for (HostingView room : rooms) {
+            Long roomId = room.getRoomId();
+            if (isEventOngoing(room, now)) {
+                active.add(roomId);
+                spawn(roomId);
+                continue;
+            }
+            try {
+                closeInProcess(roomId);
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.error("Failed to close in-process chat room: {}", roomId, e);
+            }
+        }
+
+        for (Long roomId : chatRoomActorSystem.getRoomIds()) {
+            if (!active.contains(roomId)) {
+                chatRoomActorSystem.stop(roomId);
+            }
+        }
+    }
+
+    /**
+     * 정원이 작은 채팅방이고 이 노드의 채팅방 수에 여유가 있으면 애플리케이션 안에서 호스팅 (컨테이너를 쓰지 않으면 항상)
+     */
+    boolean shouldHostInProcess(Integer chatMaxParticipants) {
+        if (!containerEnabled) {
+            return true;
+        }
+        return chatMaxParticipants != null
+            && chatMaxParticipants <= inProcessMaxParticipants
+            && chatRoomActorSystem.size() < maxInProcessRooms;
+    }
+
+    private void spawn(long roomId) {
+        // 채팅방이 닫혀 액터가 종료되면 이 노드 메모리의 채팅방 상태를 정리
+        chatRoomActorSystem.spawn(roomId, () -> chatRoomService.discardLocalState(roomId));
+    }
+
+    /**
+     * CLOSING으로 먼저 바꾼 노드만 닫는다 (이미 메일박스에 들어온 메시지를 처리한 뒤 닫도록 액터에 전달)
+     */
+    private void closeInProcess(long roomId) {
+        if (!chatRoomService.compareAndSetStatus(roomId, ChatRoomHostingMode.IN_PROCESS, ChatRoomStatus.ACTIVE, ChatRoomStatus.CLOSING)) {
+            return;
+        }
+        Runnable close = () -> {
+            chatRoomService.closeChatRoom(roomId);
+            closedCounter.increment();
+        };
+        boolean queued;
+        try {
+            queued = chatRoomActorSystem.tell(roomId, close);
+        } catch (BusinessException e) {
+            // 메일박스가 가득 차면 바로 닫는다
+            queued = false;
+        }
+        if (!queued) {
+            close.run();
+        }
+        chatRoomActorSystem.stop(roomId);
+        log.info("In-process chat room closing: {}", roomId);
+    }
+
+    private static boolean isEventOngoing(HostingView room, LocalDateTime now) {
+        EventStatus status = room.getEventStatus();
+        if (status == EventStatus.ENDED || status == EventStatus.CANCELLED) {
+            return false;
+        }
+        return room.getEventEndTime() == null || room.getEventEndTime().isAfter(now);
+    }
+}
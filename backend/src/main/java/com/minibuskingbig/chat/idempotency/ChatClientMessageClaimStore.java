@@ -0,0 +1,35 @@
+package com.minibuskingbig.chat.idempotency;
+
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.Claim;
+
+/**
+ * 여러 노드가 공유하는 클라이언트 메시지 ID 예약
+ *
+ * 노드 메모리의 링 버퍼만 보면 다른 노드로 재연결해 다시 보낸 메시지를 릴레이가 기록하기 전에 또 받을 수 있으므로,
+ * 여러 노드가 함께 동작할 때는 모든 노드가 보는 저장소에 (채팅방, 사용자, 클라이언트 메시지 ID)를 먼저 예약한다.
+ */
+public interface ChatClientMessageClaimStore {
+
+    /**
+     * 모든 노드가 공유하는 저장소로 확인하는지 여부 (false면 노드 메모리에서만 확인)
+     */
+    boolean isShared();
+
+    /**
+     * 기록이 없으면 처리 중으로 예약
+     *
+     * @param claim 이 노드에서 예약한 NEW 항목
+     * @return 예약했으면 claim 그대로, 이미 있으면 DUPLICATE 또는 IN_FLIGHT
+     */
+    Claim claim(Claim claim);
+
+    /**
+     * 예약한 항목에 발급한 messageId와 순번을 기록하고 windowMillis 동안 보관
+     */
+    void accept(Claim claim, long messageId, long sequence, long windowMillis);
+
+    /**
+     * 처리 중인 예약 취소 (이미 기록한 항목은 지우지 않는다)
+     */
+    void release(Claim claim);
+}
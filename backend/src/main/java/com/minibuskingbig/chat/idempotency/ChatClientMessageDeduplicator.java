@@ -0,0 +1,486 @@
+package com.minibuskingbig.chat.idempotency;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 클라이언트 메시지 ID 중복 확인 (재연결한 클라이언트가 확인 응답을 못 받은 메시지를 다시 보낸 경우)
+ *
+ * 채팅방마다 최근 capacity개, window-ms 이내에 받은 (사용자, 클라이언트 메시지 ID) 지문을 받은 순서대로 링 버퍼에 두고
+ * 처음 발급한 messageId와 순번을 함께 보관한다. 가득 차거나 window-ms가 지난 지문은 오래된 것부터 밀려난다.
+ * 링 버퍼에는 인덱스가 없고, 앞에 둔 Bloom filter가 "없음"이라고 답하면 버퍼를 보지 않는다.
+ * 새 메시지는 대부분 Bloom filter에서 끝나고, 버퍼는 실제 재전송과 false positive일 때만 최신 항목부터 훑는다.
+ *
+ * Bloom filter는 capacity개씩 채우는 두 세대로 나눠 가장 오래된 세대를 통째로 비운다.
+ * 링 버퍼에 남은 지문은 항상 두 세대 중 하나에 있으므로 false negative는 없다.
+ * DB에는 클라이언트 메시지 ID를 저장하거나 조회하지 않으므로 window를 벗어난 재전송은 새 메시지로 받는다.
+ *
+ * 릴레이를 켜면(chat.relay.enabled) 메모리에 없는 ID를 모든 노드가 공유하는 ChatClientMessageClaimStore에 한 번 더 예약해
+ * 다른 노드로 재연결해 다시 보낸 메시지도 한 번만 받는다. 공유 저장소에 접근하지 못하면 이 노드의 기록만으로 확인한다.
+ * 릴레이를 끄면 노드 메모리에서만 확인하므로 한 노드로만 운영해야 한다
+ * (여러 노드를 띄우면 다른 노드로 다시 보낸 메시지는 새 메시지로 받는다).
+ */
+@Slf4j
+@Component
+public class ChatClientMessageDeduplicator {
+
+    public static final int MAX_CLIENT_MESSAGE_ID_LENGTH = 64;
+
+    // 순번을 받기 전에 예약한 항목 (발급되는 messageId는 0이 아니다)
+    private static final long IN_FLIGHT = 0L;
+    // 예약을 취소한 항목 (지문은 0이 되지 않게 만든다)
+    private static final long RELEASED = 0L;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_BLOOM_HASHES = 16;
+
+    private final Map<Long, RoomWindow> rooms = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int capacity;
+    private final int bloomBits;
+    private final int bloomHashes;
+    private final LongSupplier clock;
+    private final ChatClientMessageClaimStore claimStore;
+
+    private final Counter duplicateCounter;
+    private final Counter inFlightCounter;
+    private final Counter falsePositiveCounter;
+
+    @Autowired
+    public ChatClientMessageDeduplicator(
+        MeterRegistry meterRegistry,
+        ChatClientMessageClaimStore claimStore,
+        @Value("${chat.idempotency.enabled:true}") boolean enabled,
+        @Value("${chat.idempotency.window-ms:300000}") long windowMillis,
+        @Value("${chat.idempotency.capacity-per-room:1024}") int capacity,
+        @Value("${chat.idempotency.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this(meterRegistry, claimStore, enabled, windowMillis, capacity, falsePositiveRate, monotonicMillis());
+    }
+
+    ChatClientMessageDeduplicator(MeterRegistry meterRegistry, ChatClientMessageClaimStore claimStore, boolean enabled,
+                                  long windowMillis, int capacity, double falsePositiveRate, LongSupplier clock) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid chat idempotency settings");
+        }
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.capacity = tableSizeFor(capacity);
+        // 세대마다 capacity개를 넣었을 때 false-positive-rate가 되는 크기 (2의 거듭제곱으로 올림)
+        long optimalBits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bloomBits = tableSizeFor((int) Math.max(Long.SIZE, Math.min(optimalBits, 1 << 30)));
+        this.bloomHashes = (int) Math.max(1, Math.min(MAX_BLOOM_HASHES,
+            Math.round((double) bloomBits / this.capacity * Math.log(2))));
+        this.clock = clock;
+        this.claimStore = claimStore;
+
+        meterRegistry.gauge("chat.idempotency.rooms", rooms, Map::size);
+        this.duplicateCounter = meterRegistry.counter("chat.idempotency.duplicates", "state", "accepted");
+        this.inFlightCounter = meterRegistry.counter("chat.idempotency.duplicates", "state", "in_flight");
+        this.falsePositiveCounter = meterRegistry.counter("chat.idempotency.bloom_false_positives");
+    }
+
+    /**
+     * 이미 받은 메시지인지 확인 (예약하지 않으며, 확인할 채팅방이 없으면 만들지 않는다)
+     * 메시지마다 Redis를 한 번 더 거치지 않도록 이 노드의 기록만 보고, 다른 노드에서 받은 메시지는 claim에서 확인한다.
+     *
+     * @return 이미 받았으면 DUPLICATE 또는 IN_FLIGHT, 아니면 NONE
+     */
+    public Claim lookup(long roomId, long userId, String clientMessageId) {
+        if (!isTracked(clientMessageId)) {
+            return Claim.NONE;
+        }
+        RoomWindow window = rooms.get(roomId);
+        if (window == null) {
+            return Claim.NONE;
+        }
+        Claim claim = window.lookup(roomId, fingerprint(userId, clientMessageId), clock.getAsLong());
+        return claim == null ? Claim.NONE : count(claim);
+    }
+
+    /**
+     * 순번을 받기 전에 클라이언트 메시지 ID 예약
+     * NEW를 받으면 메시지를 받은 뒤 accept, 받지 못하면 release를 호출해야 한다.
+     *
+     * @return 처음이면 NEW, 이미 받았거나 같은 메시지를 처리 중이면 DUPLICATE 또는 IN_FLIGHT
+     */
+    public Claim claim(long roomId, long userId, String clientMessageId) {
+        if (!isTracked(clientMessageId)) {
+            return Claim.NONE;
+        }
+        long fingerprint = fingerprint(userId, clientMessageId);
+        RoomWindow window = rooms.computeIfAbsent(roomId, id -> new RoomWindow());
+        Claim claim = window.claim(roomId, fingerprint, clock.getAsLong());
+        if (claim.isDuplicate()) {
+            return count(claim);
+        }
+        if (!claimStore.isShared()) {
+            return claim;
+        }
+
+        Claim shared = claimShared(claim);
+        if (shared.isDuplicate()) {
+            // 다른 노드가 먼저 받은 메시지 (받은 기록은 이 노드에도 남기고, 처리 중이면 예약만 취소)
+            if (shared.state() == State.DUPLICATE) {
+                window.complete(fingerprint, shared.messageId(), shared.sequence());
+            } else {
+                window.complete(fingerprint, RELEASED, 0L);
+            }
+            return count(shared);
+        }
+        return claim;
+    }
+
+    /**
+     * 예약한 클라이언트 메시지 ID에 발급한 messageId와 순번 기록
+     */
+    public void accept(Claim claim, long messageId, long sequence) {
+        RoomWindow window = claim.fingerprint() == 0 ? null : rooms.get(claim.roomId());
+        if (window != null) {
+            window.complete(claim.fingerprint(), messageId, sequence);
+        }
+        if (claim.fingerprint() != 0 && claimStore.isShared()) {
+            try {
+                claimStore.accept(claim, messageId, sequence, windowMillis);
+            } catch (RuntimeException e) {
+                log.warn("Failed to record client message id in shared store - room: {}", claim.roomId(), e);
+            }
+        }
+    }
+
+    /**
+     * 메시지를 받지 못했을 때 예약 취소 (같은 ID로 다시 보내면 새 메시지로 받는다)
+     */
+    public void release(Claim claim) {
+        RoomWindow window = claim.fingerprint() == 0 ? null : rooms.get(claim.roomId());
+        if (window != null) {
+            window.complete(claim.fingerprint(), RELEASED, 0L);
+        }
+        if (claim.fingerprint() != 0 && claimStore.isShared()) {
+            try {
+                claimStore.release(claim);
+            } catch (RuntimeException e) {
+                // 처리 중인 예약은 짧게 보관되므로 곧 만료된다
+                log.warn("Failed to release client message id in shared store - room: {}", claim.roomId(), e);
+            }
+        }
+    }
+
+    /**
+     * 다른 노드에서 받은 메시지 기록 (재연결한 클라이언트가 이 노드로 다시 보낸 경우)
+     */
+    public void record(long roomId, long userId, String clientMessageId, long messageId, long sequence) {
+        if (!isTracked(clientMessageId)) {
+            return;
+        }
+        long fingerprint = fingerprint(userId, clientMessageId);
+        rooms.computeIfAbsent(roomId, id -> new RoomWindow()).record(fingerprint, messageId, sequence, clock.getAsLong());
+    }
+
+    /**
+     * 채팅방 기록 제거 (채팅방 종료 시)
+     */
+    public void discard(long roomId) {
+        rooms.remove(roomId);
+    }
+
+    /**
+     * window-ms 동안 메시지를 받지 않은 채팅방 기록 제거
+     * 확인과 제거 사이에 들어온 메시지는 제거된 기록에 남아 재전송을 한 번 놓칠 수 있다.
+     */
+    @Scheduled(fixedDelayString = "${chat.idempotency.window-ms:300000}")
+    public void evictIdleRooms() {
+        long now = clock.getAsLong();
+        int before = rooms.size();
+        rooms.values().removeIf(window -> window.isIdle(now));
+        int evicted = before - rooms.size();
+        if (evicted > 0) {
+            log.debug("Evicted idle chat idempotency windows: {}", evicted);
+        }
+    }
+
+    int size() {
+        return rooms.size();
+    }
+
+    private Claim claimShared(Claim claim) {
+        try {
+            return claimStore.claim(claim);
+        } catch (RuntimeException e) {
+            log.warn("Failed to claim client message id in shared store - room: {}", claim.roomId(), e);
+            return claim;
+        }
+    }
+
+    private boolean isTracked(String clientMessageId) {
+        if (!enabled || clientMessageId == null || clientMessageId.isEmpty()) {
+            return false;
+        }
+        if (clientMessageId.length() > MAX_CLIENT_MESSAGE_ID_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 클라이언트 메시지 ID입니다.");
+        }
+        return true;
+    }
+
+    private Claim count(Claim claim) {
+        if (claim.state() == State.IN_FLIGHT) {
+            inFlightCounter.increment();
+        } else {
+            duplicateCounter.increment();
+        }
+        return claim;
+    }
+
+    /**
+     * (사용자, 클라이언트 메시지 ID) 64비트 지문 (다른 사용자가 같은 ID를 보내도 겹치지 않는다)
+     */
+    static long fingerprint(long userId, String clientMessageId) {
+        long hash = 0xcbf29ce484222325L ^ (userId * 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < clientMessageId.length(); i++) {
+            hash ^= clientMessageId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // FNV-1a의 상위 비트를 고르게 섞는다 (Bloom filter가 상위/하위 32비트를 따로 쓴다)
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == RELEASED ? 1L : hash;
+    }
+
+    private static int tableSizeFor(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static LongSupplier monotonicMillis() {
+        long base = System.nanoTime();
+        return () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - base);
+    }
+
+    public enum State {
+        NEW, DUPLICATE, IN_FLIGHT
+    }
+
+    /**
+     * 중복 확인 결과
+     *
+     * @param messageId DUPLICATE이면 처음 받았을 때 발급한 messageId
+     * @param sequence DUPLICATE이면 처음 받았을 때 발급한 채팅방 순번
+     */
+    public record Claim(long roomId, long fingerprint, State state, long messageId, long sequence) {
+
+        // 클라이언트 메시지 ID가 없거나 기록이 없는 경우 (accept/release는 아무것도 하지 않는다)
+        public static final Claim NONE = new Claim(0L, 0L, State.NEW, 0L, 0L);
+
+        public boolean isDuplicate() {
+            return state != State.NEW;
+        }
+    }
+
+    /**
+     * 채팅방별 지문 링 버퍼와 Bloom filter (lock 안에서만 변경)
+     */
+    private final class RoomWindow {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[][] generations = {new long[bloomBits >>> 6], new long[bloomBits >>> 6]};
+        private int currentGeneration;
+        private int generationInserts;
+
+        private long[] fingerprints = new long[Math.min(INITIAL_CAPACITY, capacity)];
+        private long[] messageIds = new long[fingerprints.length];
+        private long[] sequences = new long[fingerprints.length];
+        private long[] acceptedAt = new long[fingerprints.length];
+        private int head;
+        private int size;
+
+        Claim lookup(long roomId, long fingerprint, long now) {
+            lock.lock();
+            try {
+                expire(now);
+                int slot = find(fingerprint);
+                return slot < 0 ? null : duplicateOf(roomId, fingerprint, slot);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Claim claim(long roomId, long fingerprint, long now) {
+            lock.lock();
+            try {
+                expire(now);
+                int slot = find(fingerprint);
+                if (slot >= 0) {
+                    return duplicateOf(roomId, fingerprint, slot);
+                }
+                append(fingerprint, IN_FLIGHT, 0L, now);
+                return new Claim(roomId, fingerprint, State.NEW, 0L, 0L);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void complete(long fingerprint, long messageId, long sequence) {
+            lock.lock();
+            try {
+                int slot = find(fingerprint);
+                if (slot < 0 || messageIds[slot] != IN_FLIGHT) {
+                    return;
+                }
+                if (messageId == RELEASED) {
+                    fingerprints[slot] = RELEASED;
+                    return;
+                }
+                messageIds[slot] = messageId;
+                sequences[slot] = sequence;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void record(long fingerprint, long messageId, long sequence, long now) {
+            lock.lock();
+            try {
+                expire(now);
+                if (find(fingerprint) < 0) {
+                    append(fingerprint, messageId, sequence, now);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isIdle(long now) {
+            lock.lock();
+            try {
+                expire(now);
+                return size == 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Claim duplicateOf(long roomId, long fingerprint, int slot) {
+            return messageIds[slot] == IN_FLIGHT
+                ? new Claim(roomId, fingerprint, State.IN_FLIGHT, 0L, 0L)
+                : new Claim(roomId, fingerprint, State.DUPLICATE, messageIds[slot], sequences[slot]);
+        }
+
+        /**
+         * Bloom filter에 없으면 바로 -1, 있으면 최신 항목부터 훑는다 (재전송은 대부분 최근 메시지)
+         */
+        private int find(long fingerprint) {
+            if (!mightContain(fingerprint)) {
+                return -1;
+            }
+            int mask = fingerprints.length - 1;
+            for (int i = size - 1; i >= 0; i--) {
+                int slot = (head + i) & mask;
+                if (fingerprints[slot] == fingerprint) {
+                    return slot;
+                }
+            }
+            falsePositiveCounter.increment();
+            return -1;
+        }
+
+        private void append(long fingerprint, long messageId, long sequence, long now) {
+            if (size == fingerprints.length) {
+                if (size < capacity) {
+                    grow();
+                } else {
+                    // 가장 오래된 항목을 밀어낸다
+                    head = (head + 1) & (fingerprints.length - 1);
+                    size--;
+                }
+            }
+            int slot = (head + size) & (fingerprints.length - 1);
+            fingerprints[slot] = fingerprint;
+            messageIds[slot] = messageId;
+            sequences[slot] = sequence;
+            acceptedAt[slot] = now;
+            size++;
+            addToBloom(fingerprint);
+        }
+
+        private void expire(long now) {
+            long cutoff = now - windowMillis;
+            int mask = fingerprints.length - 1;
+            while (size > 0 && acceptedAt[head] <= cutoff) {
+                head = (head + 1) & mask;
+                size--;
+            }
+        }
+
+        private void grow() {
+            int length = fingerprints.length;
+            long[] newFingerprints = new long[length << 1];
+            long[] newMessageIds = new long[length << 1];
+            long[] newSequences = new long[length << 1];
+            long[] newAcceptedAt = new long[length << 1];
+            for (int i = 0; i < size; i++) {
+                int slot = (head + i) & (length - 1);
+                newFingerprints[i] = fingerprints[slot];
+                newMessageIds[i] = messageIds[slot];
+                newSequences[i] = sequences[slot];
+                newAcceptedAt[i] = acceptedAt[slot];
+            }
+            fingerprints = newFingerprints;
+            messageIds = newMessageIds;
+            sequences = newSequences;
+            acceptedAt = newAcceptedAt;
+            head = 0;
+        }
+
+        private boolean mightContain(long fingerprint) {
+            return contains(generations[0], fingerprint) || contains(generations[1], fingerprint);
+        }
+
+        /**
+         * 현재 세대가 capacity개로 차면 이전 세대를 비우고 새 세대로 쓴다
+         * (링 버퍼의 항목은 최근 capacity개 이내이므로 현재 또는 이전 세대에 있다)
+         */
+        private void addToBloom(long fingerprint) {
+            if (generationInserts == capacity) {
+                currentGeneration ^= 1;
+                Arrays.fill(generations[currentGeneration], 0L);
+                generationInserts = 0;
+            }
+            long[] bits = generations[currentGeneration];
+            int h1 = (int) fingerprint;
+            int h2 = (int) (fingerprint >>> 32) | 1;
+            for (int i = 0; i < bloomHashes; i++) {
+                int bit = (h1 + i * h2) & (bloomBits - 1);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+            generationInserts++;
+        }
+
+        private boolean contains(long[] bits, long fingerprint) {
+            int h1 = (int) fingerprint;
+            int h2 = (int) (fingerprint >>> 32) | 1;
+            for (int i = 0; i < bloomHashes; i++) {
+                int bit = (h1 + i * h2) & (bloomBits - 1);
+                if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.minibuskingbig.chat.idempotency;
+
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.Claim;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 예약 (ChatClientMessageDeduplicator의 메모리 링 버퍼만으로 확인하므로 따로 예약하지 않음)
+ */
+@Component
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalChatClientMessageClaimStore implements ChatClientMessageClaimStore {
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public Claim claim(Claim claim) {
+        return claim;
+    }
+
+    @Override
+    public void accept(Claim claim, long messageId, long sequence, long windowMillis) {
+    }
+
+    @Override
+    public void release(Claim claim) {
+    }
+}
@@ -0,0 +1,370 @@
+package com.minibuskingbig.chat.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 금칙어 Aho-Corasick 오토마톤 (불변, 여러 스레드가 동시에 검사해도 안전)
+ *
+ * 금칙어 수와 관계없이 메시지 길이에 비례하는 시간에 검사한다.
+ * 문자는 정규화한 뒤 오토마톤에 넣어 흔한 변형도 잡는다:
+ * 대소문자와 전각 문자 통일, 공백/문장 부호/zero-width 문자 무시, 같은 문자 반복은 한 번으로 처리,
+ * 영문 사이의 leet 문자(0→o, 1→i, 3→e, 4→a, 5→s, 7→t, @→a, $→s, !→i) 치환, 한글 음절 사이에 끼운 숫자 무시.
+ * 영문으로만 된 금칙어는 단어 경계에서만 일치로 본다 (class 안의 ass 등 오탐 방지).
+ *
+ * 전이는 (상태, 문자)를 키로 하는 open addressing 테이블 하나에 보관하여 한글처럼 문자 종류가 많아도 메모리가 간선 수에 비례한다.
+ */
+public final class ChatBannedWordAutomaton {
+
+    public static final ChatBannedWordAutomaton EMPTY = compile(List.of());
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final long EMPTY_KEY = -1L;
+    private static final char SKIP = '\uFFFF';
+    private static final char MASK = '*';
+
+    private static final byte BLOCK = 1;
+    private static final byte WORD_BOUNDARY = 2;
+
+    private final long[] transitionKeys;
+    private final int[] transitionTargets;
+    private final int transitionMask;
+    private final int[] failure;
+    // failure 체인에서 가장 가까운 금칙어 끝 상태 (없으면 NONE)
+    private final int[] outputLink;
+    // 금칙어 끝 상태의 정규화된 길이 (끝 상태가 아니면 0)
+    private final int[] termLength;
+    private final byte[] termFlags;
+    private final int maxTermLength;
+    private final int termCount;
+
+    private ChatBannedWordAutomaton(long[] transitionKeys, int[] transitionTargets, int[] failure, int[] outputLink,
+                                    int[] termLength, byte[] termFlags, int maxTermLength, int termCount) {
+        this.transitionKeys = transitionKeys;
+        this.transitionTargets = transitionTargets;
+        this.transitionMask = transitionKeys.length - 1;
+        this.failure = failure;
+        this.outputLink = outputLink;
+        this.termLength = termLength;
+        this.termFlags = termFlags;
+        this.maxTermLength = maxTermLength;
+        this.termCount = termCount;
+    }
+
+    /**
+     * 금칙어 목록으로 오토마톤 생성 (정규화 후 같은 금칙어는 하나로 합치고, 하나라도 차단이면 차단)
+     */
+    public static ChatBannedWordAutomaton compile(Collection<BannedWord> words) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Byte> flags = new ArrayList<>();
+        children.add(new HashMap<>());
+        lengths.add(0);
+        flags.add((byte) 0);
+
+        int maxLength = 1;
+        int termCount = 0;
+        int edgeCount = 0;
+        for (BannedWord word : words) {
+            String term = normalizeTerm(word.term());
+            if (term.isEmpty()) {
+                continue;
+            }
+
+            int state = ROOT;
+            for (int i = 0; i < term.length(); i++) {
+                Integer next = children.get(state).get(term.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(term.charAt(i), next);
+                    children.add(new HashMap<>());
+                    lengths.add(0);
+                    flags.add((byte) 0);
+                    edgeCount++;
+                }
+                state = next;
+            }
+
+            if (lengths.get(state) == 0) {
+                termCount++;
+            }
+            lengths.set(state, term.length());
+            byte flag = (byte) (flags.get(state) | (word.block() ? BLOCK : 0) | (isLatinWord(term) ? WORD_BOUNDARY : 0));
+            flags.set(state, flag);
+            maxLength = Math.max(maxLength, term.length());
+        }
+
+        int stateCount = children.size();
+        int tableSize = Integer.highestOneBit(Math.max(2, edgeCount * 2) - 1) << 1;
+        long[] keys = new long[tableSize];
+        int[] targets = new int[tableSize];
+        Arrays.fill(keys, EMPTY_KEY);
+        for (int state = 0; state < stateCount; state++) {
+            for (Map.Entry<Character, Integer> edge : children.get(state).entrySet()) {
+                long key = key(state, edge.getKey());
+                int index = slot(key, tableSize - 1);
+                while (keys[index] != EMPTY_KEY) {
+                    index = (index + 1) & (tableSize - 1);
+                }
+                keys[index] = key;
+                targets[index] = edge.getValue();
+            }
+        }
+
+        int[] termLength = new int[stateCount];
+        byte[] termFlags = new byte[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            termLength[state] = lengths.get(state);
+            termFlags[state] = flags.get(state);
+        }
+
+        // 너비 우선으로 failure와 출력 링크 계산
+        int[] failure = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        outputLink[ROOT] = NONE;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : children.get(ROOT).values()) {
+            failure[child] = ROOT;
+            outputLink[child] = NONE;
+            queue.add(child);
+        }
+        ChatBannedWordAutomaton partial = new ChatBannedWordAutomaton(
+            keys, targets, failure, outputLink, termLength, termFlags, maxLength, termCount);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : children.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = partial.next(failure[state], edge.getKey());
+                failure[child] = fallback;
+                outputLink[child] = termLength[fallback] > 0 ? fallback : outputLink[fallback];
+                queue.add(child);
+            }
+        }
+        return partial;
+    }
+
+    public int getTermCount() {
+        return termCount;
+    }
+
+    /**
+     * 메시지 검사 (차단 금칙어가 있으면 BLOCKED, 가림 금칙어는 원문 범위를 *로 바꾼 내용 반환)
+     */
+    public ScanResult scan(String text) {
+        if (termCount == 0 || text == null || text.isEmpty()) {
+            return new ScanResult(Verdict.CLEAN, text);
+        }
+
+        // 최근 maxTermLength개 정규화 문자의 원문 위치 (일치한 금칙어의 시작 위치 계산용)
+        int[] starts = new int[maxTermLength];
+        int fed = 0;
+        int state = ROOT;
+        char previous = 0;
+        boolean lastMasked = false;
+        char[] masked = null;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalize(text, i, previous);
+            if (c == SKIP) {
+                continue;
+            }
+            if (c == previous) {
+                // 반복 문자는 한 번만 넣고, 가린 금칙어 끝에 이어지면 함께 가린다
+                if (lastMasked) {
+                    masked[i] = MASK;
+                }
+                continue;
+            }
+            previous = c;
+            starts[fed % maxTermLength] = i;
+            fed++;
+            state = next(state, c);
+            lastMasked = false;
+
+            for (int match = termLength[state] > 0 ? state : outputLink[state]; match > ROOT; match = outputLink[match]) {
+                int start = starts[(fed - termLength[match]) % maxTermLength];
+                if ((termFlags[match] & WORD_BOUNDARY) != 0 && !isWordBoundary(text, start, i)) {
+                    continue;
+                }
+                if ((termFlags[match] & BLOCK) != 0) {
+                    return new ScanResult(Verdict.BLOCKED, text);
+                }
+                if (masked == null) {
+                    masked = text.toCharArray();
+                }
+                Arrays.fill(masked, start, i + 1, MASK);
+                lastMasked = true;
+            }
+        }
+        return masked == null ? new ScanResult(Verdict.CLEAN, text) : new ScanResult(Verdict.MASKED, new String(masked));
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int target = transition(state, c);
+            if (target != NONE) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+    }
+
+    private int transition(int state, char c) {
+        long key = key(state, c);
+        for (int index = slot(key, transitionMask); ; index = (index + 1) & transitionMask) {
+            long slot = transitionKeys[index];
+            if (slot == key) {
+                return transitionTargets[index];
+            }
+            if (slot == EMPTY_KEY) {
+                return NONE;
+            }
+        }
+    }
+
+    private static long key(int state, char c) {
+        return ((long) state << 16) | c;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * 금칙어 정규화 (메시지와 같은 규칙)
+     */
+    static String normalizeTerm(String term) {
+        StringBuilder normalized = new StringBuilder(term.length());
+        char previous = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char c = normalize(term, i, previous);
+            if (c != SKIP && c != previous) {
+                normalized.append(c);
+                previous = c;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * 문자 하나 정규화
+     *
+     * @param previous 직전에 넣은 정규화 문자
+     * @return 정규화된 문자 (무시할 문자면 SKIP)
+     */
+    private static char normalize(String text, int index, char previous) {
+        char c = toHalfWidth(text.charAt(index));
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        if ((c >= 'a' && c <= 'z') || isHangul(c)) {
+            return c;
+        }
+
+        char leet = leet(c);
+        boolean digit = c >= '0' && c <= '9';
+        if (leet != 0 || digit) {
+            char following = nextLetterOrDigit(text, index + 1);
+            if (isLatinLetter(previous) || isLatinLetter(following)) {
+                return leet != 0 ? leet : c;
+            }
+            if (isHangul(previous) && isHangul(following)) {
+                return SKIP;
+            }
+            return digit ? c : SKIP;
+        }
+        if (Character.isLetter(c)) {
+            return Character.toLowerCase(c);
+        }
+        // 공백, 문장 부호, 이모지(surrogate), zero-width 문자 등
+        return SKIP;
+    }
+
+    /**
+     * index부터 처음 나오는 문자, 숫자 또는 leet 문자
+     * 공백과 문장 부호만 건너뛰고 다음 숫자/leet 문자에서 멈추므로 건너뛰는 구간이 겹치지 않아 전체 검사는 선형 시간이다.
+     */
+    private static char nextLetterOrDigit(String text, int index) {
+        for (int i = index; i < text.length(); i++) {
+            char c = toHalfWidth(text.charAt(i));
+            if (Character.isLetterOrDigit(c) || leet(c) != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    private static char leet(char c) {
+        return switch (c) {
+            case '0' -> 'o';
+            case '1', '!' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7' -> 't';
+            default -> 0;
+        };
+    }
+
+    private static char toHalfWidth(char c) {
+        return c >= '！' && c <= '～' ? (char) (c - 0xFEE0) : c;
+    }
+
+    private static boolean isHangul(char c) {
+        // 완성형 음절과 호환 자모 (ㅅㅂ 같은 초성 표기)
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㆎ');
+    }
+
+    private static boolean isLatinLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLatinWord(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (!isLatinLetter(term.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 일치한 원문 범위 앞뒤가 영문자가 아닌지 확인 (끝 문자를 반복한 부분은 금칙어에 포함)
+     */
+    private static boolean isWordBoundary(String text, int start, int end) {
+        if (start > 0 && isLatinLetter(toHalfWidth(text.charAt(start - 1)))) {
+            return false;
+        }
+        char last = Character.toLowerCase(toHalfWidth(text.charAt(end)));
+        int after = end + 1;
+        while (after < text.length() && Character.toLowerCase(toHalfWidth(text.charAt(after))) == last) {
+            after++;
+        }
+        return after >= text.length() || !isLatinLetter(toHalfWidth(text.charAt(after)));
+    }
+
+    /**
+     * @param block true면 메시지 전체를 거부 (광고/스팸), false면 해당 부분만 가림
+     */
+    public record BannedWord(String term, boolean block) {
+    }
+
+    public enum Verdict {
+        CLEAN,
+        MASKED,
+        BLOCKED
+    }
+
+    public record ScanResult(Verdict verdict, String content) {
+    }
+}
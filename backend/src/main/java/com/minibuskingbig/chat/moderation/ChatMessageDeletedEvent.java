@@ -0,0 +1,7 @@
+package com.minibuskingbig.chat.moderation;
+
+/**
+ * 채팅 메시지 한 건 삭제 이벤트 (다른 노드의 최근 메시지 버퍼와 구독자에게 전달)
+ */
+public record ChatMessageDeletedEvent(long roomId, long messageId) {
+}
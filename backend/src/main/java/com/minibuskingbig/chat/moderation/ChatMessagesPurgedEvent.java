@@ -0,0 +1,18 @@
+package com.minibuskingbig.chat.moderation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 채팅방 메시지 일괄 삭제 이벤트 (다른 노드의 최근 메시지 버퍼와 구독자에게 전달)
+ *
+ * 다른 노드에서 받아 아직 저장되지 않은 메시지도 지울 수 있도록 삭제 대상 사용자와 기간을 함께 전달한다.
+ */
+public record ChatMessagesPurgedEvent(
+    long roomId,
+    long userId,
+    LocalDateTime from,
+    LocalDateTime to,
+    List<Long> messageIds
+) {
+}
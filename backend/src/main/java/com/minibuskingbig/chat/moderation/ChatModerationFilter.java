@@ -0,0 +1,157 @@
+package com.minibuskingbig.chat.moderation;
+
+import com.minibuskingbig.chat.moderation.ChatBannedWordAutomaton.BannedWord;
+import com.minibuskingbig.chat.moderation.ChatBannedWordAutomaton.ScanResult;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅 메시지 금칙어 필터 (메시지 전송 경로의 검열 단계)
+ *
+ * 금칙어 파일을 미리 Aho-Corasick 오토마톤으로 만들어 두고 메시지마다 한 번 훑는다.
+ * 파일은 한 줄에 금칙어 하나이며, '!'로 시작하는 금칙어(광고/스팸)가 있으면 메시지를 거부하고
+ * 나머지 금칙어는 해당 부분만 *로 가린다. '#'으로 시작하는 줄은 주석이다.
+ *
+ * 파일이 바뀌면 reload-interval-ms마다 확인해 새 오토마톤을 만든 뒤 참조만 바꾼다.
+ * 오토마톤은 불변이므로 메시지를 검사하는 스레드는 교체 중에도 멈추지 않고 이전 또는 새 오토마톤 중 하나를 끝까지 사용한다.
+ */
+@Slf4j
+@Component
+public class ChatModerationFilter {
+
+    private static final char BLOCK_PREFIX = '!';
+    private static final char COMMENT_PREFIX = '#';
+
+    private final ResourceLoader resourceLoader;
+    private final boolean enabled;
+    private final String termsLocation;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final Counter maskedCounter;
+    private final Counter blockedCounter;
+
+    private volatile ChatBannedWordAutomaton automaton = ChatBannedWordAutomaton.EMPTY;
+    private volatile long loadedModified = -1L;
+
+    public ChatModerationFilter(
+        ResourceLoader resourceLoader,
+        MeterRegistry meterRegistry,
+        @Value("${chat.moderation.enabled:true}") boolean enabled,
+        @Value("${chat.moderation.terms-location:classpath:chat/banned-words.txt}") String termsLocation
+    ) {
+        this.resourceLoader = resourceLoader;
+        this.enabled = enabled;
+        this.termsLocation = termsLocation;
+
+        meterRegistry.gauge("chat.moderation.terms", this, filter -> filter.automaton.getTermCount());
+        this.maskedCounter = meterRegistry.counter("chat.moderation.filtered", "result", "masked");
+        this.blockedCounter = meterRegistry.counter("chat.moderation.filtered", "result", "blocked");
+
+        if (enabled) {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                // 금칙어 파일 문제로 채팅이 멈추지 않도록 빈 목록으로 시작하고 다음 확인 주기에 다시 읽는다
+                log.error("Failed to load chat banned words from {}", termsLocation, e);
+            }
+        }
+    }
+
+    /**
+     * 메시지 검사 (차단 금칙어가 있으면 CHAT_MESSAGE_BLOCKED)
+     *
+     * @return 가림 금칙어를 *로 바꾼 내용 (없으면 원문 그대로)
+     */
+    public String filter(String content) {
+        if (!enabled) {
+            return content;
+        }
+
+        ScanResult result = automaton.scan(content);
+        switch (result.verdict()) {
+            case BLOCKED -> {
+                blockedCounter.increment();
+                throw new BusinessException(ErrorCode.CHAT_MESSAGE_BLOCKED);
+            }
+            case MASKED -> maskedCounter.increment();
+            default -> {
+            }
+        }
+        return result.content();
+    }
+
+    /**
+     * 금칙어 파일이 바뀌었으면 다시 읽기
+     */
+    @Scheduled(fixedDelayString = "${chat.moderation.reload-interval-ms:60000}")
+    public void reloadIfModified() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            long modified = resourceLoader.getResource(termsLocation).lastModified();
+            if (modified != loadedModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to reload chat banned words from {}", termsLocation, e);
+        }
+    }
+
+    /**
+     * 금칙어 파일을 읽어 새 오토마톤으로 교체
+     *
+     * @return 불러온 금칙어 수
+     */
+    public int reload() {
+        reloadLock.lock();
+        try {
+            Resource resource = resourceLoader.getResource(termsLocation);
+            long modified = resource.lastModified();
+            ChatBannedWordAutomaton compiled = ChatBannedWordAutomaton.compile(readTerms(resource));
+            automaton = compiled;
+            loadedModified = modified;
+            log.info("Chat banned words loaded - terms: {}, location: {}", compiled.getTermCount(), termsLocation);
+            return compiled.getTermCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static List<BannedWord> readTerms(Resource resource) throws IOException {
+        List<BannedWord> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String term = line.strip();
+                if (term.isEmpty() || term.charAt(0) == COMMENT_PREFIX) {
+                    continue;
+                }
+                boolean block = term.charAt(0) == BLOCK_PREFIX;
+                words.add(new BannedWord(block ? term.substring(1).strip() : term, block));
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,380 @@
+package com.minibuskingbig.chat.presence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 채팅방 참가자 heartbeat 추적과 유휴 참가자 퇴장 (hashed timing wheel)
+ *
+ * 참가자(채팅방 + 사용자)마다 마지막 heartbeat tick만 기록하고, tick 스레드가 wheel의 현재 칸에 있는 항목만 확인한다.
+ * heartbeat는 CAS 한 번으로 끝나며 wheel을 건드리지 않는다. 칸에서 꺼낸 항목이 그 사이 heartbeat를 받았으면
+ * 새 만료 tick의 칸으로 옮기고, 받지 않았으면 만료한다. 항목은 idle-timeout마다 한 번만 옮겨지므로
+ * 참가자가 수만 명이어도 tick당 비용은 그 tick에 만료 시각이 된 항목 수에만 비례한다.
+ *
+ * 만료된 참가자는 채팅방별로 batch-size씩 묶어 {@link ChatParticipantsIdleEvent}로 발행하고,
+ * 처리(한 번의 UPDATE로 퇴장, 정원 반환)에 실패하면 idle-timeout의 절반 뒤에 다시 만료시킨다.
+ *
+ * heartbeat는 참가자의 WebSocket이 연결된 노드에만 들어오므로, 이 노드에서 받은 heartbeat를 idle-timeout의 1/3마다
+ * 리스너(노드 간 릴레이)로 넘기고 다른 노드에서 받은 heartbeat는 이미 추적 중인 항목의 시각만 갱신한다.
+ */
+@Slf4j
+@Component
+public class ChatHeartbeatTracker implements SmartLifecycle {
+
+    // 퇴장했거나 만료된 항목
+    private static final long EXPIRED = Long.MIN_VALUE;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long tickMillis;
+    private final long timeoutTicks;
+    private final long relayIntervalTicks;
+    private final int batchSize;
+    private final LongSupplier clock;
+    private final long startMillis;
+
+    private final Map<Member, Heartbeat> heartbeats = new ConcurrentHashMap<>();
+    // 채팅방별 추적 중인 참가자 수 (릴레이가 이 채팅방들의 스트림도 읽어 다른 노드의 heartbeat를 받는다)
+    private final Map<Long, Integer> roomCounts = new ConcurrentHashMap<>();
+    // 새로 추적하는 항목 (tick 스레드가 wheel에 넣는다)
+    private final ConcurrentLinkedQueue<Heartbeat> added = new ConcurrentLinkedQueue<>();
+    private final List<HeartbeatListener> heartbeatListeners = new CopyOnWriteArrayList<>();
+
+    // tick 스레드만 사용
+    private final ArrayDeque<Heartbeat>[] wheel;
+    private final int wheelMask;
+    private long processedTick;
+    private long relayedTick = -1L;
+
+    private volatile long currentTick;
+    private volatile boolean running;
+    private ScheduledExecutorService ticker;
+
+    private final Counter evictedCounter;
+
+    @Autowired
+    public ChatHeartbeatTracker(
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry,
+        @Value("${chat.presence.idle-timeout-ms:90000}") long idleTimeoutMillis,
+        @Value("${chat.presence.tick-ms:1000}") long tickMillis,
+        @Value("${chat.presence.eviction-batch-size:500}") int batchSize
+    ) {
+        this(eventPublisher, meterRegistry, idleTimeoutMillis, tickMillis, batchSize, monotonicMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    ChatHeartbeatTracker(ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                         long idleTimeoutMillis, long tickMillis, int batchSize, LongSupplier clock) {
+        this.eventPublisher = eventPublisher;
+        this.tickMillis = tickMillis;
+        this.timeoutTicks = Math.max(1, idleTimeoutMillis / tickMillis);
+        this.relayIntervalTicks = Math.max(1, timeoutTicks / 3);
+        this.batchSize = batchSize;
+        this.clock = clock;
+        this.startMillis = clock.getAsLong();
+
+        // 한 바퀴가 idle-timeout보다 길면 만료 tick까지 몇 바퀴 남았는지 셀 필요가 없다
+        int wheelSize = Integer.highestOneBit((int) Math.min(timeoutTicks, 1 << 29)) << 1;
+        this.wheel = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.wheelMask = wheelSize - 1;
+
+        meterRegistry.gauge("chat.presence.heartbeats", heartbeats, Map::size);
+        this.evictedCounter = meterRegistry.counter("chat.presence.idle.evicted");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("chat-heartbeat-ticker-"));
+        ticker.scheduleAtFixedRate(this::runTick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Chat heartbeat tracker started - idle timeout: {}ms, wheel: {} slots",
+            timeoutTicks * tickMillis, wheel.length);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 이 노드에서 받은 heartbeat 기록 (참가 여부는 호출하는 쪽에서 확인)
+     */
+    public void touch(long roomId, long userId) {
+        Member member = new Member(roomId, userId);
+        long tick = currentTick;
+        while (true) {
+            Heartbeat heartbeat = heartbeats.computeIfAbsent(member, this::track);
+            if (heartbeat.touch(tick)) {
+                heartbeat.localTick = tick;
+                return;
+            }
+            // 방금 만료된 항목이면 새로 추적
+            if (heartbeats.remove(member, heartbeat)) {
+                untrack(member);
+            }
+        }
+    }
+
+    /**
+     * 다른 노드에서 받은 heartbeat 반영 (이 노드가 추적 중인 참가자만 갱신)
+     */
+    public void touchRemote(long roomId, List<Long> userIds) {
+        long tick = currentTick;
+        for (Long userId : userIds) {
+            Heartbeat heartbeat = heartbeats.get(new Member(roomId, userId));
+            if (heartbeat != null) {
+                heartbeat.touch(tick);
+            }
+        }
+    }
+
+    /**
+     * 추적 중단 (직접 퇴장 시)
+     */
+    public void remove(long roomId, long userId) {
+        Member member = new Member(roomId, userId);
+        Heartbeat heartbeat = heartbeats.remove(member);
+        if (heartbeat != null) {
+            heartbeat.lastSeen.set(EXPIRED);
+            untrack(member);
+        }
+    }
+
+    /**
+     * 채팅방 참가자 추적 중단 (채팅방 종료 시)
+     */
+    public void discard(long roomId) {
+        heartbeats.values().removeIf(heartbeat -> {
+            if (heartbeat.member.roomId() != roomId) {
+                return false;
+            }
+            heartbeat.lastSeen.set(EXPIRED);
+            return true;
+        });
+        roomCounts.remove(roomId);
+    }
+
+    /**
+     * heartbeat 리스너 등록 (노드 간 릴레이 등, 이 노드에서 받은 heartbeat만 채팅방별로 전달)
+     */
+    public void addHeartbeatListener(HeartbeatListener listener) {
+        heartbeatListeners.add(listener);
+    }
+
+    public int size() {
+        return heartbeats.size();
+    }
+
+    /**
+     * 참가자를 추적 중인 채팅방 ID
+     */
+    public Set<Long> getTrackedRoomIds() {
+        return Collections.unmodifiableSet(roomCounts.keySet());
+    }
+
+    /**
+     * 현재 시각까지 밀린 tick 처리 (tick 스레드에서만 호출)
+     */
+    void advance() {
+        long target = (clock.getAsLong() - startMillis) / tickMillis;
+        Map<Long, List<Long>> expired = new HashMap<>();
+        while (processedTick < target) {
+            processedTick++;
+            currentTick = processedTick;
+            scheduleAdded();
+            expireSlot(processedTick, expired);
+        }
+
+        if (processedTick - relayedTick >= relayIntervalTicks) {
+            relayHeartbeats(relayedTick);
+            relayedTick = processedTick;
+        }
+        expired.forEach(this::evict);
+    }
+
+    private Heartbeat track(Member member) {
+        return track(member, currentTick);
+    }
+
+    private Heartbeat track(Member member, long tick) {
+        Heartbeat heartbeat = new Heartbeat(member, tick);
+        added.add(heartbeat);
+        roomCounts.merge(member.roomId(), 1, Integer::sum);
+        return heartbeat;
+    }
+
+    private void untrack(Member member) {
+        roomCounts.computeIfPresent(member.roomId(), (roomId, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void scheduleAdded() {
+        Heartbeat heartbeat;
+        while ((heartbeat = added.poll()) != null) {
+            long seen = heartbeat.lastSeen.get();
+            if (seen != EXPIRED) {
+                schedule(heartbeat, seen + timeoutTicks);
+            }
+        }
+    }
+
+    private void expireSlot(long tick, Map<Long, List<Long>> expired) {
+        ArrayDeque<Heartbeat> slot = wheel[(int) (tick & wheelMask)];
+        for (int remaining = slot.size(); remaining > 0; remaining--) {
+            Heartbeat heartbeat = slot.poll();
+            while (true) {
+                long seen = heartbeat.lastSeen.get();
+                if (seen == EXPIRED) {
+                    break;
+                }
+                if (seen + timeoutTicks > tick) {
+                    // 그 사이 heartbeat를 받았으면 새 만료 tick의 칸으로 이동
+                    schedule(heartbeat, seen + timeoutTicks);
+                    break;
+                }
+                if (heartbeat.lastSeen.compareAndSet(seen, EXPIRED)) {
+                    if (heartbeats.remove(heartbeat.member, heartbeat)) {
+                        untrack(heartbeat.member);
+                    }
+                    expired.computeIfAbsent(heartbeat.member.roomId(), roomId -> new ArrayList<>())
+                        .add(heartbeat.member.userId());
+                    break;
+                }
+            }
+        }
+    }
+
+    private void schedule(Heartbeat heartbeat, long deadline) {
+        // 이미 지난 만료 tick은 다음 tick에 확인
+        wheel[(int) (Math.max(deadline, processedTick + 1) & wheelMask)].add(heartbeat);
+    }
+
+    /**
+     * 채팅방별로 batch-size씩 나눠 퇴장 이벤트 발행 (처리에 실패하면 나중에 다시 만료)
+     */
+    private void evict(long roomId, List<Long> userIds) {
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            List<Long> batch = userIds.subList(from, Math.min(from + batchSize, userIds.size()));
+            try {
+                eventPublisher.publishEvent(new ChatParticipantsIdleEvent(roomId, List.copyOf(batch)));
+                evictedCounter.increment(batch.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to evict {} idle participants from room: {}", batch.size(), roomId, e);
+                retryLater(roomId, batch);
+            }
+        }
+    }
+
+    private void retryLater(long roomId, List<Long> userIds) {
+        long seen = processedTick - timeoutTicks + Math.max(1, timeoutTicks / 2);
+        for (Long userId : userIds) {
+            Member member = new Member(roomId, userId);
+            // 그 사이 다시 heartbeat를 보낸 참가자는 새 항목이 있으므로 건너뜀
+            heartbeats.computeIfAbsent(member, key -> track(key, seen));
+        }
+    }
+
+    /**
+     * 지난 릴레이 이후 이 노드에서 heartbeat를 받은 참가자를 채팅방별로 전달
+     */
+    private void relayHeartbeats(long sinceTick) {
+        if (heartbeatListeners.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> touched = new HashMap<>();
+        heartbeats.forEach((member, heartbeat) -> {
+            if (heartbeat.localTick > sinceTick) {
+                touched.computeIfAbsent(member.roomId(), roomId -> new ArrayList<>()).add(member.userId());
+            }
+        });
+        touched.forEach((roomId, userIds) -> {
+            for (HeartbeatListener listener : heartbeatListeners) {
+                listener.onHeartbeats(roomId, userIds);
+            }
+        });
+    }
+
+    private void runTick() {
+        try {
+            advance();
+        } catch (RuntimeException e) {
+            log.warn("Chat heartbeat tick failed", e);
+        }
+    }
+
+    private static LongSupplier monotonicMillis() {
+        return () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private record Member(long roomId, long userId) {
+    }
+
+    private static final class Heartbeat {
+
+        private final Member member;
+        // 마지막 heartbeat tick (다른 노드에서 받은 것 포함, 만료되면 EXPIRED)
+        private final AtomicLong lastSeen;
+        // 이 노드에서 마지막으로 받은 heartbeat tick (릴레이 대상 판단용)
+        private volatile long localTick = -1L;
+
+        Heartbeat(Member member, long tick) {
+            this.member = member;
+            this.lastSeen = new AtomicLong(tick);
+        }
+
+        /**
+         * @return 만료된 항목이면 false
+         */
+        boolean touch(long tick) {
+            while (true) {
+                long seen = lastSeen.get();
+                if (seen == EXPIRED) {
+                    return false;
+                }
+                if (seen >= tick || lastSeen.compareAndSet(seen, tick)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface HeartbeatListener {
+
+        void onHeartbeats(long roomId, List<Long> userIds);
+    }
+}
@@ -0,0 +1,9 @@
+package com.minibuskingbig.chat.presence;
+
+import java.util.List;
+
+/**
+ * heartbeat가 idle-timeout 동안 없었던 참가자 이벤트 (채팅방별 batch-size 단위, tick 스레드에서 발행)
+ */
+public record ChatParticipantsIdleEvent(long roomId, List<Long> userIds) {
+}
@@ -0,0 +1,7 @@
+package com.minibuskingbig.chat.presence;
+
+/**
+ * 채팅방 입장/퇴장 이벤트 (커밋 후 발행)
+ */
+public record ChatPresenceChangedEvent(long roomId, long userId, boolean joined) {
+}
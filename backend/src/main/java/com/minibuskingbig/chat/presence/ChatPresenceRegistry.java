@@ -0,0 +1,186 @@
+package com.minibuskingbig.chat.presence;
+
+import com.minibuskingbig.common.util.LongHashSet;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방 접속자 레지스트리
+ *
+ * 활성 채팅방별로 참가 중인 userId를 메모리에 유지하여
+ * 메시지 전송 시 참가 여부를 DB 조회 없이 O(1)로 확인한다.
+ * 채팅방이 활성화될 때 chat_participants에서 다시 만들고, 입장/퇴장 시 갱신한다.
+ */
+@Slf4j
+@Component
+public class ChatPresenceRegistry {
+
+    private final Map<Long, RoomPresence> rooms = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ChatPresenceRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("chat.presence.rooms", rooms, Map::size);
+    }
+
+    /**
+     * 채팅방 접속자 목록 로드 (이미 로드되어 있으면 그대로 사용)
+     *
+     * 로더 실행 전에 항목을 먼저 등록하므로, 로드 중 커밋된 입장/퇴장은 로드가 끝난 뒤 반영된다.
+     */
+    public void load(long roomId, Supplier<long[]> activeUserIdsLoader) {
+        if (rooms.containsKey(roomId)) {
+            return;
+        }
+
+        RoomPresence created = new RoomPresence();
+        long stamp = created.lock.writeLock();
+        try {
+            if (rooms.putIfAbsent(roomId, created) != null) {
+                return;
+            }
+            try {
+                for (long userId : activeUserIdsLoader.get()) {
+                    created.userIds.add(userId);
+                }
+            } catch (RuntimeException e) {
+                rooms.remove(roomId, created);
+                throw e;
+            }
+        } finally {
+            created.lock.unlockWrite(stamp);
+        }
+
+        created.gauge = Gauge.builder("chat.presence.room.size", created, RoomPresence::size)
+            .tag("roomId", String.valueOf(roomId))
+            .register(meterRegistry);
+        log.info("Chat presence loaded for room: {} - {} participants", roomId, created.size());
+    }
+
+    /**
+     * 채팅방 접속자 목록 다시 로드 (채팅방 활성화 시)
+     */
+    public void reload(long roomId, Supplier<long[]> activeUserIdsLoader) {
+        remove(roomId);
+        load(roomId, activeUserIdsLoader);
+    }
+
+    /**
+     * 채팅방 접속자 목록 제거 (채팅방 종료 시)
+     */
+    public void remove(long roomId) {
+        RoomPresence removed = rooms.remove(roomId);
+        if (removed != null && removed.gauge != null) {
+            meterRegistry.remove(removed.gauge);
+        }
+    }
+
+    public boolean isTracked(long roomId) {
+        return rooms.containsKey(roomId);
+    }
+
+    /**
+     * 참가 여부 확인 (로드되지 않은 채팅방이면 false)
+     */
+    public boolean isParticipant(long roomId, long userId) {
+        RoomPresence presence = rooms.get(roomId);
+        return presence != null && presence.contains(userId);
+    }
+
+    /**
+     * 입장 반영 (로드되지 않은 채팅방은 다음 로드 때 DB에서 읽으므로 무시)
+     */
+    public void join(long roomId, long userId) {
+        RoomPresence presence = rooms.get(roomId);
+        if (presence != null) {
+            presence.add(userId);
+        }
+    }
+
+    /**
+     * 퇴장 반영
+     */
+    public void leave(long roomId, long userId) {
+        RoomPresence presence = rooms.get(roomId);
+        if (presence != null) {
+            presence.remove(userId);
+        }
+    }
+
+    public int size(long roomId) {
+        RoomPresence presence = rooms.get(roomId);
+        return presence == null ? 0 : presence.size();
+    }
+
+    public long[] getParticipants(long roomId) {
+        RoomPresence presence = rooms.get(roomId);
+        return presence == null ? new long[0] : presence.toArray();
+    }
+
+    private static final class RoomPresence {
+
+        private final StampedLock lock = new StampedLock();
+        private final LongHashSet userIds = new LongHashSet();
+        private Gauge gauge;
+
+        boolean contains(long userId) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                boolean result = userIds.contains(userId);
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            }
+
+            stamp = lock.readLock();
+            try {
+                return userIds.contains(userId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void add(long userId) {
+            long stamp = lock.writeLock();
+            try {
+                userIds.add(userId);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void remove(long userId) {
+            long stamp = lock.writeLock();
+            try {
+                userIds.remove(userId);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return userIds.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        long[] toArray() {
+            long stamp = lock.readLock();
+            try {
+                return userIds.toArray();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
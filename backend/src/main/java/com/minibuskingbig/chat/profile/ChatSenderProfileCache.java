@@ -0,0 +1,133 @@
+package com.minibuskingbig.chat.profile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 보낸 사람 프로필 캐시
+ *
+ * 활성 채팅방 참가자의 프로필 스냅샷을 userId로 보관하여, 메시지 전송과 히스토리 DTO 변환 시
+ * users 테이블이나 지연 로딩 프록시를 읽지 않는다.
+ * 채팅방 접속자 로드와 입장 시 채우고, 항목마다 참가 중인 채팅방을 기록하여 마지막 채팅방에서 퇴장하거나 채팅방이 닫히면 제거한다.
+ * 프로필이 바뀌면 항목을 지우고 다음 조회 때 DB에서 다시 읽는다.
+ */
+@Slf4j
+@Component
+public class ChatSenderProfileCache {
+
+    private final Map<Long, CachedProfile> profiles = new ConcurrentHashMap<>();
+    // 무효화할 때마다 증가 (DB에서 읽는 사이 무효화된 오래된 스냅샷을 저장하지 않기 위해 사용)
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ChatSenderProfileCache(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("chat.profile.cache.size", profiles, Map::size);
+        this.hitCounter = meterRegistry.counter("chat.profile.cache.hit");
+        this.missCounter = meterRegistry.counter("chat.profile.cache.miss");
+    }
+
+    public Optional<SenderProfile> get(long userId) {
+        CachedProfile cached = profiles.get(userId);
+        if (cached == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(cached.profile());
+    }
+
+    /**
+     * 현재 세대 번호 (DB에서 프로필을 읽기 전에 받아 put에 전달)
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 채팅방 참가자 프로필 저장
+     *
+     * @param loadedGeneration 프로필을 읽기 전에 받은 generation() (그 사이 무효화가 있었으면 저장하지 않는다)
+     */
+    public void put(long roomId, SenderProfile profile, long loadedGeneration) {
+        profiles.compute(profile.userId(), (userId, cached) -> {
+            if (generation.get() != loadedGeneration) {
+                return cached == null ? null : cached.withRoom(roomId);
+            }
+            long[] roomIds = cached == null ? new long[]{roomId} : cached.withRoom(roomId).roomIds();
+            return new CachedProfile(profile, roomIds);
+        });
+    }
+
+    public void putAll(long roomId, Collection<SenderProfile> senders, long loadedGeneration) {
+        for (SenderProfile profile : senders) {
+            put(roomId, profile, loadedGeneration);
+        }
+    }
+
+    /**
+     * 퇴장 반영 (다른 채팅방에도 참가 중이 아니면 제거)
+     */
+    public void leave(long roomId, long userId) {
+        profiles.computeIfPresent(userId, (id, cached) -> cached.withoutRoom(roomId));
+    }
+
+    /**
+     * 채팅방 항목 제거 (채팅방 종료 시, 채팅방 수가 적으므로 전체 항목을 순회한다)
+     */
+    public void discard(long roomId) {
+        for (Long userId : profiles.keySet()) {
+            profiles.computeIfPresent(userId, (id, cached) -> cached.withoutRoom(roomId));
+        }
+        log.debug("Sender profiles discarded for room: {}", roomId);
+    }
+
+    /**
+     * 프로필 변경 반영 (다음 조회 때 DB에서 다시 읽는다)
+     */
+    public void invalidate(long userId) {
+        generation.incrementAndGet();
+        profiles.remove(userId);
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    /**
+     * 프로필과 참가 중인 채팅방 (변경 시 새 인스턴스로 교체, 사용자당 채팅방이 몇 개뿐이므로 배열 복사)
+     */
+    private record CachedProfile(SenderProfile profile, long[] roomIds) {
+
+        CachedProfile withRoom(long roomId) {
+            for (long id : roomIds) {
+                if (id == roomId) {
+                    return this;
+                }
+            }
+            long[] added = Arrays.copyOf(roomIds, roomIds.length + 1);
+            added[roomIds.length] = roomId;
+            return new CachedProfile(profile, added);
+        }
+
+        /**
+         * @return 남은 채팅방이 없으면 null (항목 제거)
+         */
+        CachedProfile withoutRoom(long roomId) {
+            long[] remaining = Arrays.stream(roomIds).filter(id -> id != roomId).toArray();
+            if (remaining.length == roomIds.length) {
+                return this;
+            }
+            return remaining.length == 0 ? null : new CachedProfile(profile, remaining);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.minibuskingbig.chat.profile;
+
+import java.util.List;
+
+/**
+ * 보낸 사람 프로필 변경 이벤트 (사용자가 참가 중인 활성 채팅방을 통해 다른 노드의 프로필 캐시에 전달)
+ */
+public record ChatSenderProfileChangedEvent(long userId, List<Long> roomIds) {
+}
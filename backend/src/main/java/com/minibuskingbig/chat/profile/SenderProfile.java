@@ -0,0 +1,13 @@
+package com.minibuskingbig.chat.profile;
+
+import com.minibuskingbig.user.entity.User;
+
+/**
+ * 메시지 표시에 필요한 보낸 사람 프로필 (User 엔티티 대신 캐시에 보관하는 불변 스냅샷)
+ */
+public record SenderProfile(long userId, String displayId, String nickname, String profileImageUrl) {
+
+    public static SenderProfile of(User user) {
+        return new SenderProfile(user.getUserId(), user.getDisplayId(), user.getNickname(), user.getProfileImageUrl());
+    }
+}
@@ -0,0 +1,9 @@
+package com.minibuskingbig.chat.ratelimit;
+
+import com.minibuskingbig.chat.dto.ChatRateLimitSettings;
+
+/**
+ * 채팅방 전송률 변경 이벤트 (다른 노드에 전달)
+ */
+public record ChatRateLimitChangedEvent(long roomId, ChatRateLimitSettings settings) {
+}
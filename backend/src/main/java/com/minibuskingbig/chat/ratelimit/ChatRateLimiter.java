@@ -0,0 +1,324 @@
+package com.minibuskingbig.chat.ratelimit;
+
+import com.minibuskingbig.chat.dto.ChatRateLimitSettings;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 채팅 메시지 전송 속도 제한 (채팅방 + 사용자별 토큰 버킷)
+ *
+ * 사용자별 버킷은 마지막 충전 시각과 남은 토큰을 long 하나에 담아 채팅방별 open addressing 테이블에 두고,
+ * CAS 한 번으로 충전과 차감을 함께 처리한다. 메시지 전송 경로에서 락이나 객체 할당이 없다.
+ * 채팅방마다 burst와 지속 전송률을 바꿀 수 있고, 슬로우 모드를 켜면 사용자당 N초에 한 번만 보낼 수 있다.
+ * 설정은 메모리에만 유지되며 채팅방이 종료되면 제거된다.
+ */
+@Slf4j
+@Component
+public class ChatRateLimiter {
+
+    // 토큰 1개 = 1000 milli-token (1ms 단위 충전에서 소수점 손실을 줄이기 위함)
+    private static final long TOKEN = 1000L;
+    // 상태 = (마지막 충전 시각 ms << 24) | 남은 milli-token
+    private static final int TIME_SHIFT = 24;
+    private static final long TOKEN_MASK = (1L << TIME_SHIFT) - 1;
+    public static final int MAX_BURST = (int) (TOKEN_MASK / TOKEN);
+    public static final int MAX_SLOW_MODE_SECONDS = 3600;
+
+    // 아직 사용하지 않은 버킷 (가득 찬 상태로 간주)
+    private static final long UNUSED = 0L;
+    // 테이블 확장 중 새 테이블로 옮겨진 슬롯
+    private static final long MOVED = Long.MIN_VALUE;
+    // userId는 1부터 시작하므로 0을 빈 슬롯으로 사용
+    private static final long EMPTY_KEY = 0L;
+
+    private final Map<Long, RoomBuckets> rooms = new ConcurrentHashMap<>();
+    private final Limit defaultLimit;
+    private final int initialCapacity;
+    private final LongSupplier clock;
+
+    private final Counter rateRejectedCounter;
+    private final Counter slowModeRejectedCounter;
+
+    @Autowired
+    public ChatRateLimiter(
+        MeterRegistry meterRegistry,
+        @Value("${chat.rate-limit.burst:5}") int burst,
+        @Value("${chat.rate-limit.sustained-per-minute:60}") int sustainedPerMinute,
+        @Value("${chat.rate-limit.initial-users-per-room:256}") int initialUsersPerRoom
+    ) {
+        this(meterRegistry, burst, sustainedPerMinute, initialUsersPerRoom, monotonicMillis());
+    }
+
+    ChatRateLimiter(MeterRegistry meterRegistry, int burst, int sustainedPerMinute, int initialUsersPerRoom,
+                    LongSupplier clock) {
+        this.defaultLimit = Limit.of(burst, sustainedPerMinute);
+        this.initialCapacity = tableSizeFor(initialUsersPerRoom);
+        this.clock = clock;
+
+        meterRegistry.gauge("chat.rate_limit.rooms", rooms, Map::size);
+        this.rateRejectedCounter = meterRegistry.counter("chat.rate_limit.rejected", "reason", "rate");
+        this.slowModeRejectedCounter = meterRegistry.counter("chat.rate_limit.rejected", "reason", "slow_mode");
+    }
+
+    /**
+     * 메시지 전송 허용 여부 확인 (초과 시 CHAT_RATE_LIMITED)
+     */
+    public void acquire(long roomId, long userId) {
+        RoomBuckets room = getRoom(roomId);
+        Limit limit = room.effectiveLimit;
+        if (room.tryAcquire(userId, limit, clock.getAsLong())) {
+            return;
+        }
+
+        if (limit.slowMode()) {
+            slowModeRejectedCounter.increment();
+            throw new BusinessException(ErrorCode.CHAT_RATE_LIMITED,
+                "슬로우 모드가 켜져 있습니다. " + TimeUnit.MILLISECONDS.toSeconds(limit.refillIntervalMillis())
+                    + "초에 한 번만 메시지를 보낼 수 있습니다.");
+        }
+        rateRejectedCounter.increment();
+        throw new BusinessException(ErrorCode.CHAT_RATE_LIMITED);
+    }
+
+    /**
+     * 채팅방 전송률 변경
+     *
+     * @param burst 연속으로 보낼 수 있는 최대 메시지 수 (null이면 기본값)
+     * @param sustainedPerMinute 분당 지속 전송 메시지 수 (null이면 기본값)
+     * @param slowModeSeconds 슬로우 모드 간격 (null 또는 0이면 끔)
+     */
+    public void configure(long roomId, Integer burst, Integer sustainedPerMinute, Integer slowModeSeconds) {
+        Limit limit = Limit.of(
+            burst != null ? burst : defaultLimit.burst(),
+            sustainedPerMinute != null ? sustainedPerMinute : defaultLimit.perMinute());
+        if (slowModeSeconds != null && (slowModeSeconds < 0 || slowModeSeconds > MAX_SLOW_MODE_SECONDS)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 슬로우 모드 간격입니다.");
+        }
+        long slowModeMillis = slowModeSeconds == null ? 0L : TimeUnit.SECONDS.toMillis(slowModeSeconds);
+
+        getRoom(roomId).configure(limit, slowModeMillis);
+        log.info("Chat rate limit updated for room: {} - burst: {}, perMinute: {}, slowMode: {}s",
+            roomId, limit.burst(), limit.perMinute(), slowModeSeconds);
+    }
+
+    public ChatRateLimitSettings getSettings(long roomId) {
+        RoomBuckets room = rooms.get(roomId);
+        Limit limit = room == null ? defaultLimit : room.configuredLimit;
+        long slowModeMillis = room == null ? 0L : room.slowModeMillis;
+        return new ChatRateLimitSettings(limit.burst(), limit.perMinute(),
+            (int) TimeUnit.MILLISECONDS.toSeconds(slowModeMillis));
+    }
+
+    /**
+     * 채팅방 버킷 제거 (채팅방 종료 시)
+     */
+    public void discard(long roomId) {
+        rooms.remove(roomId);
+    }
+
+    private RoomBuckets getRoom(long roomId) {
+        RoomBuckets room = rooms.get(roomId);
+        return room != null ? room : rooms.computeIfAbsent(roomId, id -> new RoomBuckets(defaultLimit, initialCapacity));
+    }
+
+    private static LongSupplier monotonicMillis() {
+        // 상태의 시각이 0(UNUSED)이 되지 않도록 1부터 시작
+        long base = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(1);
+        return () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - base);
+    }
+
+    private static int tableSizeFor(int expectedUsers) {
+        int capacity = 16;
+        while (capacity < expectedUsers * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 전송률 (refillIntervalMillis마다 토큰 1개 충전, 최대 burst개)
+     */
+    private record Limit(int burst, long refillIntervalMillis, int perMinute, boolean slowMode) {
+
+        static Limit of(int burst, int perMinute) {
+            if (burst < 1 || burst > MAX_BURST || perMinute < 1) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 전송률 설정입니다.");
+            }
+            return new Limit(burst, Math.max(1L, TimeUnit.MINUTES.toMillis(1) / perMinute), perMinute, false);
+        }
+
+        static Limit slowMode(long intervalMillis) {
+            return new Limit(1, intervalMillis, 0, true);
+        }
+
+        long capacity() {
+            return burst * TOKEN;
+        }
+    }
+
+    private static final class Table {
+
+        private final AtomicLongArray keys;
+        private final AtomicLongArray states;
+        private final int mask;
+        private final int threshold;
+
+        Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.states = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.threshold = capacity / 2;
+        }
+    }
+
+    private static final class RoomBuckets {
+
+        private final AtomicInteger size = new AtomicInteger();
+        private final ReentrantLock resizeLock = new ReentrantLock();
+        private volatile Table table;
+
+        private volatile Limit configuredLimit;
+        private volatile long slowModeMillis;
+        private volatile Limit effectiveLimit;
+
+        RoomBuckets(Limit limit, int capacity) {
+            this.table = new Table(capacity);
+            configure(limit, 0L);
+        }
+
+        void configure(Limit limit, long slowModeMillis) {
+            this.configuredLimit = limit;
+            this.slowModeMillis = slowModeMillis;
+            this.effectiveLimit = slowModeMillis > 0 ? Limit.slowMode(slowModeMillis) : limit;
+        }
+
+        boolean tryAcquire(long userId, Limit limit, long now) {
+            while (true) {
+                Table current = table;
+                int slot = findOrInsert(current, userId);
+                if (slot < 0) {
+                    resize(current);
+                    continue;
+                }
+
+                Boolean acquired = tryConsume(current.states, slot, limit, now);
+                if (acquired != null) {
+                    return acquired;
+                }
+                // 확장 중인 테이블이면 새 테이블이 게시될 때까지 기다린 뒤 다시 시도
+                while (table == current) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        /**
+         * 충전 후 토큰 1개 차감 (거부 시 상태를 바꾸지 않음)
+         *
+         * @return 슬롯이 새 테이블로 옮겨졌으면 null
+         */
+        private static Boolean tryConsume(AtomicLongArray states, int slot, Limit limit, long now) {
+            long capacity = limit.capacity();
+            while (true) {
+                long state = states.get(slot);
+                if (state == MOVED) {
+                    return null;
+                }
+
+                long tokens;
+                if (state == UNUSED) {
+                    tokens = capacity;
+                } else {
+                    long elapsed = Math.max(0L, now - (state >>> TIME_SHIFT));
+                    // 가득 찰 때까지 걸리는 시간 이상 지났으면 곱셈 없이 가득 채움 (오버플로 방지)
+                    tokens = elapsed >= limit.refillIntervalMillis() * limit.burst()
+                        ? capacity
+                        : Math.min(capacity, (state & TOKEN_MASK) + elapsed * TOKEN / limit.refillIntervalMillis());
+                }
+
+                if (tokens < TOKEN) {
+                    return Boolean.FALSE;
+                }
+                if (states.compareAndSet(slot, state, (now << TIME_SHIFT) | (tokens - TOKEN))) {
+                    return Boolean.TRUE;
+                }
+            }
+        }
+
+        private int findOrInsert(Table current, long userId) {
+            int index = indexOf(userId, current.mask);
+            for (int probe = 0; probe <= current.mask; probe++, index = (index + 1) & current.mask) {
+                long key = current.keys.get(index);
+                if (key == userId) {
+                    return index;
+                }
+                if (key != EMPTY_KEY) {
+                    continue;
+                }
+                if (size.get() >= current.threshold) {
+                    return -1;
+                }
+                if (current.keys.compareAndSet(index, EMPTY_KEY, userId)) {
+                    size.incrementAndGet();
+                    return index;
+                }
+                if (current.keys.get(index) == userId) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 두 배 크기의 테이블로 옮긴다 (슬롯마다 MOVED로 바꾼 뒤 복사하므로 옮기는 중의 차감은 새 테이블에서 다시 시도)
+         */
+        private void resize(Table current) {
+            resizeLock.lock();
+            try {
+                if (table != current) {
+                    return;
+                }
+
+                Table resized = new Table((current.mask + 1) << 1);
+                int moved = 0;
+                for (int i = 0; i <= current.mask; i++) {
+                    long state = current.states.getAndSet(i, MOVED);
+                    long key = current.keys.get(i);
+                    if (key == EMPTY_KEY) {
+                        continue;
+                    }
+                    int index = indexOf(key, resized.mask);
+                    while (resized.keys.get(index) != EMPTY_KEY) {
+                        index = (index + 1) & resized.mask;
+                    }
+                    resized.keys.set(index, key);
+                    resized.states.set(index, state);
+                    moved++;
+                }
+                size.set(moved);
+                table = resized;
+            } finally {
+                resizeLock.unlock();
+            }
+        }
+
+        private static int indexOf(long value, int mask) {
+            long hash = value * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
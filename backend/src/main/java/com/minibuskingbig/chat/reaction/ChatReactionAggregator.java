@@ -0,0 +1,291 @@
+package com.minibuskingbig.chat.reaction;
+
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.dto.ChatReactionTickDto;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository.ReactionDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅방 리액션 집계
+ *
+ * 리액션은 메시지처럼 행을 저장하거나 하나씩 브로드캐스트하지 않고, 채팅방별/종류별 LongAdder에 더하기만 한다.
+ * tick 스레드가 tick-ms마다 지난 tick 이후 늘어난 수를 모아 채팅방마다 REACTION_TICK 프레임 하나로 보내고,
+ * 누적 수는 flush-interval-ms마다 chat_reaction_totals에 한 번의 배치 upsert로 더한다.
+ * 카운터는 줄지 않는 누적값이고 tick과 flush가 각자 마지막으로 처리한 값과의 차이만 가져가므로, 동시에 들어온 리액션이 빠지지 않는다.
+ * 채팅방당 메모리는 리액션 종류 수만큼의 카운터로 고정된다.
+ *
+ * 다른 노드에는 tick마다 이 노드의 변화량을 리스너(노드 간 릴레이)로 넘기고,
+ * 다른 노드에서 받은 변화량은 다음 tick 프레임에 더해 보낸다 (저장은 리액션을 받은 노드가 한다).
+ */
+@Slf4j
+@Component
+public class ChatReactionAggregator implements SmartLifecycle {
+
+    private static final ReactionType[] TYPES = ReactionType.values();
+
+    private final ChatBroadcastEngine chatBroadcastEngine;
+    private final ChatReactionTotalRepository chatReactionTotalRepository;
+    private final long tickMillis;
+    private final int maxPerRequest;
+
+    private final Map<Long, RoomReactions> rooms = new ConcurrentHashMap<>();
+    private final List<TickListener> tickListeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter receivedCounter;
+    private final Counter tickCounter;
+
+    private volatile boolean running;
+    private ScheduledExecutorService ticker;
+
+    public ChatReactionAggregator(
+        ChatBroadcastEngine chatBroadcastEngine,
+        ChatReactionTotalRepository chatReactionTotalRepository,
+        MeterRegistry meterRegistry,
+        @Value("${chat.reaction.tick-ms:100}") long tickMillis,
+        @Value("${chat.reaction.max-per-request:20}") int maxPerRequest
+    ) {
+        this.chatBroadcastEngine = chatBroadcastEngine;
+        this.chatReactionTotalRepository = chatReactionTotalRepository;
+        this.tickMillis = tickMillis;
+        this.maxPerRequest = maxPerRequest;
+
+        meterRegistry.gauge("chat.reaction.rooms", rooms, Map::size);
+        this.receivedCounter = meterRegistry.counter("chat.reaction.received");
+        this.tickCounter = meterRegistry.counter("chat.reaction.ticks");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("chat-reaction-ticker-"));
+        ticker.scheduleAtFixedRate(this::runTick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Chat reaction aggregator started - tick: {}ms", tickMillis);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 리액션 추가 (참가 여부는 호출하는 쪽에서 확인)
+     *
+     * @param count 클라이언트가 모아 보낸 수 (1 미만은 1, max-per-request 초과는 max-per-request로 보정)
+     */
+    public void record(long roomId, ReactionType reactionType, int count) {
+        int accepted = Math.max(1, Math.min(count, maxPerRequest));
+        getRoom(roomId).received[reactionType.ordinal()].add(accepted);
+        receivedCounter.increment(accepted);
+    }
+
+    /**
+     * 다른 노드에서 받은 리액션 변화량 반영 (다음 tick 프레임에 더해 보낸다)
+     *
+     * @param counts ReactionType 순서의 종류별 수
+     */
+    public void applyRemote(long roomId, long[] counts) {
+        AtomicLongArray remote = getRoom(roomId).remote;
+        for (int i = 0; i < counts.length && i < TYPES.length; i++) {
+            if (counts[i] != 0) {
+                remote.addAndGet(i, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * tick 리스너 등록 (노드 간 릴레이 등, 이 노드에서 받은 변화량만 전달)
+     */
+    public void addTickListener(TickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    /**
+     * 채팅방마다 지난 tick 이후 늘어난 리액션을 프레임 하나로 전송 (tick 스레드에서만 호출)
+     */
+    void tick() {
+        tickCounter.increment();
+        rooms.forEach((roomId, room) -> {
+            try {
+                tickRoom(roomId, room);
+            } catch (RuntimeException e) {
+                log.warn("Chat reaction tick failed for room: {}", roomId, e);
+            }
+        });
+    }
+
+    /**
+     * 늘어난 누적 수를 chat_reaction_totals에 반영 (실패하면 다음 주기에 다시 시도)
+     */
+    @Scheduled(fixedDelayString = "${chat.reaction.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<ReactionDelta> deltas = new ArrayList<>();
+            List<long[]> flushedTotals = new ArrayList<>();
+            List<RoomReactions> flushedRooms = new ArrayList<>();
+            rooms.forEach((roomId, room) -> {
+                long[] totals = room.totals();
+                boolean changed = false;
+                for (int i = 0; i < TYPES.length; i++) {
+                    long delta = totals[i] - room.persisted[i];
+                    if (delta > 0) {
+                        deltas.add(new ReactionDelta(roomId, TYPES[i], delta));
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    flushedRooms.add(room);
+                    flushedTotals.add(totals);
+                }
+            });
+
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            try {
+                chatReactionTotalRepository.addDeltas(deltas);
+            } catch (RuntimeException e) {
+                // 반영한 누적값을 옮기지 않았으므로 다음 주기에 다시 시도
+                log.error("Failed to flush chat reactions for {} rooms", flushedRooms.size(), e);
+                return;
+            }
+            for (int i = 0; i < flushedRooms.size(); i++) {
+                System.arraycopy(flushedTotals.get(i), 0, flushedRooms.get(i).persisted, 0, TYPES.length);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방 종료 시 누적 수를 반영하고 제거
+     */
+    public void discard(long roomId) {
+        flushLock.lock();
+        try {
+            flush();
+            rooms.remove(roomId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void tickRoom(long roomId, RoomReactions room) {
+        long[] local = null;
+        for (int i = 0; i < TYPES.length; i++) {
+            long total = room.received[i].sum();
+            long delta = total - room.ticked[i];
+            if (delta > 0) {
+                if (local == null) {
+                    local = new long[TYPES.length];
+                }
+                local[i] = delta;
+                room.ticked[i] = total;
+            }
+        }
+
+        long[] frame = local == null ? null : local.clone();
+        for (int i = 0; i < TYPES.length; i++) {
+            if (room.remote.get(i) == 0) {
+                continue;
+            }
+            if (frame == null) {
+                frame = new long[TYPES.length];
+            }
+            frame[i] += room.remote.getAndSet(i, 0);
+        }
+
+        if (local != null) {
+            for (TickListener listener : tickListeners) {
+                listener.onTick(roomId, local);
+            }
+        }
+        if (frame != null && chatBroadcastEngine.getSubscriberCount(roomId) > 0) {
+            // 순번이 없는 알림은 0 (재연결 시 다시 보내지 않는다)
+            chatBroadcastEngine.broadcastLocal(roomId, 0L, ChatReactionTickDto.of(roomId, frame));
+        }
+    }
+
+    private void runTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.warn("Chat reaction tick failed", e);
+        }
+    }
+
+    private RoomReactions getRoom(long roomId) {
+        RoomReactions room = rooms.get(roomId);
+        return room != null ? room : rooms.computeIfAbsent(roomId, id -> new RoomReactions());
+    }
+
+    private static final class RoomReactions {
+
+        // 이 노드에서 받은 종류별 누적 수 (줄지 않는다)
+        private final LongAdder[] received = new LongAdder[TYPES.length];
+        // 다른 노드에서 받아 아직 프레임으로 보내지 않은 수
+        private final AtomicLongArray remote = new AtomicLongArray(TYPES.length);
+        // 마지막 tick까지 보낸 누적 수 (tick 스레드만 사용)
+        private final long[] ticked = new long[TYPES.length];
+        // DB에 반영한 누적 수 (flushLock으로 보호)
+        private final long[] persisted = new long[TYPES.length];
+
+        RoomReactions() {
+            for (int i = 0; i < received.length; i++) {
+                received[i] = new LongAdder();
+            }
+        }
+
+        long[] totals() {
+            long[] totals = new long[received.length];
+            for (int i = 0; i < received.length; i++) {
+                totals[i] = received[i].sum();
+            }
+            return totals;
+        }
+    }
+
+    @FunctionalInterface
+    public interface TickListener {
+
+        /**
+         * @param counts ReactionType 순서의 종류별 수
+         */
+        void onTick(long roomId, long[] counts);
+    }
+}
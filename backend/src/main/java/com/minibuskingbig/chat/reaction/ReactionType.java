@@ -0,0 +1,8 @@
+package com.minibuskingbig.chat.reaction;
+
+public enum ReactionType {
+    HEART,      // 하트
+    CLAP,       // 박수
+    FIRE,       // 불꽃
+    WOW         // 감탄
+}
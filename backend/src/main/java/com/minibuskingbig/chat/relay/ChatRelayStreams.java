@@ -0,0 +1,31 @@
+package com.minibuskingbig.chat.relay;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 노드 간 채팅 릴레이에 사용하는 스트림 저장소 (Redis Streams)
+ */
+public interface ChatRelayStreams {
+
+    /**
+     * 스트림에 항목 추가 (XADD, maxLength 근처로 trim)
+     *
+     * @return 추가된 항목 ID
+     */
+    String append(String streamKey, Map<String, String> fields, long maxLength);
+
+    /**
+     * 스트림의 마지막 항목 ID (비어 있으면 0-0)
+     */
+    String lastId(String streamKey);
+
+    /**
+     * 각 스트림에서 offset 이후의 항목 조회 (XREAD, 항목이 없으면 block 동안 대기)
+     */
+    List<StreamEntry> read(Map<String, String> offsets, int count, Duration block);
+
+    record StreamEntry(String streamKey, String id, Map<String, String> fields) {
+    }
+}
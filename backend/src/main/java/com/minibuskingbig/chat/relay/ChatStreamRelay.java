@@ -0,0 +1,489 @@
+package com.minibuskingbig.chat.relay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.dto.ChatRateLimitSettings;
+import com.minibuskingbig.chat.dto.ChatTombstoneDto;
+import com.minibuskingbig.chat.history.ChatRecentMessageBuffer;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator;
+import com.minibuskingbig.chat.moderation.ChatMessageDeletedEvent;
+import com.minibuskingbig.chat.moderation.ChatMessagesPurgedEvent;
+import com.minibuskingbig.chat.presence.ChatHeartbeatTracker;
+import com.minibuskingbig.chat.presence.ChatPresenceChangedEvent;
+import com.minibuskingbig.chat.presence.ChatPresenceRegistry;
+import com.minibuskingbig.chat.profile.ChatSenderProfileCache;
+import com.minibuskingbig.chat.profile.ChatSenderProfileChangedEvent;
+import com.minibuskingbig.chat.ratelimit.ChatRateLimitChangedEvent;
+import com.minibuskingbig.chat.ratelimit.ChatRateLimiter;
+import com.minibuskingbig.chat.reaction.ChatReactionAggregator;
+import com.minibuskingbig.chat.reaction.ReactionType;
+import com.minibuskingbig.chat.service.ChatMessageWriteBehindService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * 노드 간 채팅 릴레이 (Redis Streams)
+ *
+ * 이 노드에서 수락한 메시지와 입장/퇴장을 채팅방별 스트림(chat:room:{roomId}:stream)에 추가하고,
+ * 이 노드에 구독자가 있는 채팅방의 스트림만 읽어 로컬 구독자에게 전달한다.
+ * 채팅방별 마지막으로 읽은 항목 ID(offset)를 보관하므로 Redis 연결이 잠시 끊겨도 다시 연결되면 이어서 읽는다.
+ * 자기 노드가 추가한 항목은 이미 로컬로 전송했으므로 건너뛴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "true")
+public class ChatStreamRelay implements SmartLifecycle {
+
+    static final String FIELD_ORIGIN = "origin";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_ROOM_ID = "roomId";
+    static final String FIELD_USER_ID = "userId";
+    static final String FIELD_PAYLOAD = "payload";
+    static final String FIELD_SEQUENCE = "sequence";
+    static final String FIELD_BURST = "burst";
+    static final String FIELD_SUSTAINED_PER_MINUTE = "sustainedPerMinute";
+    static final String FIELD_SLOW_MODE_SECONDS = "slowModeSeconds";
+    static final String FIELD_MESSAGE_IDS = "messageIds";
+    static final String FIELD_FROM = "from";
+    static final String FIELD_TO = "to";
+    static final String FIELD_COUNTS = "counts";
+    static final String FIELD_USER_IDS = "userIds";
+
+    private static final String TYPE_MESSAGE = "MESSAGE";
+    private static final String TYPE_JOIN = "JOIN";
+    private static final String TYPE_LEAVE = "LEAVE";
+    private static final String TYPE_RATE_LIMIT = "RATE_LIMIT";
+    private static final String TYPE_PURGE = "PURGE";
+    private static final String TYPE_PROFILE = "PROFILE";
+    private static final String TYPE_REACTION = "REACTION";
+    private static final String TYPE_HEARTBEAT = "HEARTBEAT";
+    private static final ReactionType[] REACTION_TYPES = ReactionType.values();
+    private static final String CLIENT_MESSAGE_ID_FIELD = "\"clientMessageId\"";
+    private static final long RETRY_BACKOFF_MILLIS = 1000L;
+
+    private final ChatRelayStreams streams;
+    private final ChatBroadcastEngine chatBroadcastEngine;
+    private final ChatRecentMessageBuffer chatRecentMessageBuffer;
+    private final ChatPresenceRegistry chatPresenceRegistry;
+    private final ChatHeartbeatTracker chatHeartbeatTracker;
+    private final ChatSenderProfileCache chatSenderProfileCache;
+    private final ChatRateLimiter chatRateLimiter;
+    private final ChatReactionAggregator chatReactionAggregator;
+    private final ChatClientMessageDeduplicator chatClientMessageDeduplicator;
+    private final ChatMessageWriteBehindService chatMessageWriteBehindService;
+    private final ObjectMapper objectMapper;
+
+    private final long streamMaxLength;
+    private final int readCount;
+    private final Duration readBlock;
+    private final ThreadPoolExecutor publisher;
+
+    // 이 프로세스를 구분하는 ID (노드 ID lease가 바뀌어도 자기 메시지를 구분할 수 있도록 별도로 생성)
+    private final String instanceId = UUID.randomUUID().toString();
+    // roomId -> 마지막으로 읽은 항목 ID (reader 스레드만 변경)
+    private final Map<Long, String> offsets = new ConcurrentHashMap<>();
+
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failureCounter;
+
+    private volatile boolean running;
+    private Thread readerThread;
+
+    public ChatStreamRelay(
+        ChatRelayStreams streams,
+        ChatBroadcastEngine chatBroadcastEngine,
+        ChatRecentMessageBuffer chatRecentMessageBuffer,
+        ChatPresenceRegistry chatPresenceRegistry,
+        ChatHeartbeatTracker chatHeartbeatTracker,
+        ChatSenderProfileCache chatSenderProfileCache,
+        ChatRateLimiter chatRateLimiter,
+        ChatReactionAggregator chatReactionAggregator,
+        ChatClientMessageDeduplicator chatClientMessageDeduplicator,
+        ChatMessageWriteBehindService chatMessageWriteBehindService,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${chat.relay.stream-max-length:1000}") long streamMaxLength,
+        @Value("${chat.relay.read-count:500}") int readCount,
+        @Value("${chat.relay.block-ms:500}") long blockMillis,
+        @Value("${chat.relay.publish-queue-capacity:10000}") int publishQueueCapacity
+    ) {
+        this.streams = streams;
+        this.chatBroadcastEngine = chatBroadcastEngine;
+        this.chatRecentMessageBuffer = chatRecentMessageBuffer;
+        this.chatPresenceRegistry = chatPresenceRegistry;
+        this.chatHeartbeatTracker = chatHeartbeatTracker;
+        this.chatSenderProfileCache = chatSenderProfileCache;
+        this.chatRateLimiter = chatRateLimiter;
+        this.chatReactionAggregator = chatReactionAggregator;
+        this.chatClientMessageDeduplicator = chatClientMessageDeduplicator;
+        this.chatMessageWriteBehindService = chatMessageWriteBehindService;
+        this.objectMapper = objectMapper;
+        this.streamMaxLength = streamMaxLength;
+        this.readCount = readCount;
+        this.readBlock = Duration.ofMillis(blockMillis);
+
+        // 단일 스레드로 추가하여 노드 안의 전송 순서를 유지하고, Redis 지연이 전송 스레드를 막지 않게 한다
+        this.publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(publishQueueCapacity), new CustomizableThreadFactory("chat-relay-publisher-"));
+
+        meterRegistry.gauge("chat.relay.rooms", offsets, Map::size);
+        meterRegistry.gauge("chat.relay.publish.queue.size", publisher, executor -> executor.getQueue().size());
+        this.publishedCounter = meterRegistry.counter("chat.relay.published");
+        this.receivedCounter = meterRegistry.counter("chat.relay.received");
+        this.rejectedCounter = meterRegistry.counter("chat.relay.publish.rejected");
+        this.failureCounter = meterRegistry.counter("chat.relay.failures");
+
+        chatBroadcastEngine.addBroadcastListener(this::publishMessage);
+        chatReactionAggregator.addTickListener(this::publishReactions);
+        chatHeartbeatTracker.addHeartbeatListener(this::publishHeartbeats);
+    }
+
+    public static String streamKey(long roomId) {
+        return "chat:room:" + roomId + ":stream";
+    }
+
+    /**
+     * 입장/퇴장을 다른 노드의 접속자 레지스트리에 전달
+     */
+    @EventListener
+    public void onPresenceChanged(ChatPresenceChangedEvent event) {
+        Map<String, String> fields = new HashMap<>(4);
+        fields.put(FIELD_TYPE, event.joined() ? TYPE_JOIN : TYPE_LEAVE);
+        fields.put(FIELD_USER_ID, String.valueOf(event.userId()));
+        publish(event.roomId(), fields);
+    }
+
+    /**
+     * 채팅방 전송률/슬로우 모드 변경을 다른 노드에 전달
+     */
+    @EventListener
+    public void onRateLimitChanged(ChatRateLimitChangedEvent event) {
+        ChatRateLimitSettings settings = event.settings();
+        Map<String, String> fields = new HashMap<>(8);
+        fields.put(FIELD_TYPE, TYPE_RATE_LIMIT);
+        fields.put(FIELD_BURST, String.valueOf(settings.getBurst()));
+        fields.put(FIELD_SUSTAINED_PER_MINUTE, String.valueOf(settings.getSustainedPerMinute()));
+        fields.put(FIELD_SLOW_MODE_SECONDS, String.valueOf(settings.getSlowModeSeconds()));
+        publish(event.roomId(), fields);
+    }
+
+    /**
+     * 메시지 일괄 삭제를 다른 노드의 최근 메시지 버퍼와 구독자에게 전달
+     */
+    @EventListener
+    public void onMessagesPurged(ChatMessagesPurgedEvent event) {
+        Map<String, String> fields = new HashMap<>(8);
+        fields.put(FIELD_TYPE, TYPE_PURGE);
+        fields.put(FIELD_USER_ID, String.valueOf(event.userId()));
+        fields.put(FIELD_FROM, event.from().toString());
+        fields.put(FIELD_TO, event.to().toString());
+        fields.put(FIELD_MESSAGE_IDS, joinIds(event.messageIds()));
+        publish(event.roomId(), fields);
+    }
+
+    /**
+     * 메시지 한 건 삭제를 다른 노드의 최근 메시지 버퍼와 구독자에게 전달 (사용자와 기간 없이 ID만 보내는 PURGE)
+     */
+    @EventListener
+    public void onMessageDeleted(ChatMessageDeletedEvent event) {
+        Map<String, String> fields = new HashMap<>(4);
+        fields.put(FIELD_TYPE, TYPE_PURGE);
+        fields.put(FIELD_MESSAGE_IDS, String.valueOf(event.messageId()));
+        publish(event.roomId(), fields);
+    }
+
+    /**
+     * 보낸 사람 프로필 변경을 사용자가 참가 중인 채팅방의 스트림으로 다른 노드의 프로필 캐시에 전달
+     */
+    @EventListener
+    public void onSenderProfileChanged(ChatSenderProfileChangedEvent event) {
+        for (Long roomId : event.roomIds()) {
+            Map<String, String> fields = new HashMap<>(4);
+            fields.put(FIELD_TYPE, TYPE_PROFILE);
+            fields.put(FIELD_USER_ID, String.valueOf(event.userId()));
+            publish(roomId, fields);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        readerThread = new Thread(this::runReader, "chat-relay-reader");
+        readerThread.start();
+        log.info("Chat relay started (instance: {})", instanceId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        publisher.shutdown();
+        try {
+            publisher.awaitTermination(readBlock.toMillis() * 2, TimeUnit.MILLISECONDS);
+            readerThread.join(readBlock.toMillis() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Chat relay stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publishMessage(long roomId, long sequence, byte[] body) {
+        Map<String, String> fields = new HashMap<>(8);
+        fields.put(FIELD_TYPE, TYPE_MESSAGE);
+        fields.put(FIELD_SEQUENCE, String.valueOf(sequence));
+        fields.put(FIELD_PAYLOAD, new String(body, StandardCharsets.UTF_8));
+        publish(roomId, fields);
+    }
+
+    /**
+     * 이 노드에서 tick 동안 받은 리액션 수 전달 (리액션마다가 아니라 채팅방별 tick마다 한 항목)
+     */
+    private void publishReactions(long roomId, long[] counts) {
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (!encoded.isEmpty()) {
+                encoded.append(',');
+            }
+            encoded.append(REACTION_TYPES[i].name()).append(':').append(counts[i]);
+        }
+
+        Map<String, String> fields = new HashMap<>(4);
+        fields.put(FIELD_TYPE, TYPE_REACTION);
+        fields.put(FIELD_COUNTS, encoded.toString());
+        publish(roomId, fields);
+    }
+
+    /**
+     * 이 노드에서 heartbeat를 받은 참가자 전달 (다른 노드가 같은 참가자를 유휴 상태로 퇴장시키지 않도록)
+     */
+    private void publishHeartbeats(long roomId, List<Long> userIds) {
+        Map<String, String> fields = new HashMap<>(4);
+        fields.put(FIELD_TYPE, TYPE_HEARTBEAT);
+        fields.put(FIELD_USER_IDS, joinIds(userIds));
+        publish(roomId, fields);
+    }
+
+    private void publish(long roomId, Map<String, String> fields) {
+        fields.put(FIELD_ORIGIN, instanceId);
+        fields.put(FIELD_ROOM_ID, String.valueOf(roomId));
+
+        try {
+            publisher.execute(() -> {
+                try {
+                    streams.append(streamKey(roomId), fields, streamMaxLength);
+                    publishedCounter.increment();
+                } catch (RuntimeException e) {
+                    failureCounter.increment();
+                    log.warn("Failed to relay chat event for room: {}", roomId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Chat relay publish rejected for room: {} - queue full", roomId);
+        }
+    }
+
+    private void runReader() {
+        while (running) {
+            try {
+                syncRooms();
+                if (offsets.isEmpty()) {
+                    LockSupport.parkNanos(readBlock.toNanos());
+                    continue;
+                }
+
+                Map<String, String> streamOffsets = new HashMap<>(offsets.size() * 2);
+                offsets.forEach((roomId, offset) -> streamOffsets.put(streamKey(roomId), offset));
+
+                for (ChatRelayStreams.StreamEntry entry : streams.read(streamOffsets, readCount, readBlock)) {
+                    long roomId = Long.parseLong(entry.fields().get(FIELD_ROOM_ID));
+                    // 그 사이 구독자가 모두 나간 채팅방은 offset을 다시 만들지 않는다
+                    offsets.computeIfPresent(roomId, (id, previous) -> entry.id());
+                    handle(roomId, entry.fields());
+                }
+            } catch (RuntimeException e) {
+                // offset은 유지되므로 다시 연결되면 끊긴 지점부터 이어서 읽는다
+                failureCounter.increment();
+                log.warn("Chat relay read failed - retrying in {}ms", RETRY_BACKOFF_MILLIS, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_BACKOFF_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * 로컬 구독자가 생긴 채팅방은 현재 스트림 끝부터 읽기 시작하고, 구독자가 없어진 채팅방은 읽기를 멈춘다
+     */
+    private void syncRooms() {
+        // 구독자가 없어도 참가자를 추적 중인 채팅방은 다른 노드의 heartbeat/퇴장을 받아야 하므로 함께 읽는다
+        Set<Long> relayedRoomIds = new HashSet<>(chatBroadcastEngine.getSubscribedRoomIds());
+        relayedRoomIds.addAll(chatHeartbeatTracker.getTrackedRoomIds());
+        offsets.keySet().retainAll(relayedRoomIds);
+        for (Long roomId : relayedRoomIds) {
+            if (!offsets.containsKey(roomId)) {
+                offsets.put(roomId, streams.lastId(streamKey(roomId)));
+            }
+        }
+    }
+
+    private void handle(long roomId, Map<String, String> fields) {
+        if (instanceId.equals(fields.get(FIELD_ORIGIN))) {
+            return;
+        }
+        receivedCounter.increment();
+
+        switch (fields.getOrDefault(FIELD_TYPE, "")) {
+            case TYPE_MESSAGE -> {
+                String payload = fields.get(FIELD_PAYLOAD);
+                long sequence = Long.parseLong(fields.getOrDefault(FIELD_SEQUENCE, "0"));
+                // 재연결 구독이 버퍼에서 놓친 메시지를 찾을 수 있도록 전송 전에 버퍼에 추가
+                rememberRelayedMessage(roomId, payload);
+                chatBroadcastEngine.broadcastEncoded(roomId, sequence, payload.getBytes(StandardCharsets.UTF_8));
+            }
+            case TYPE_JOIN -> chatPresenceRegistry.join(roomId, Long.parseLong(fields.get(FIELD_USER_ID)));
+            case TYPE_LEAVE -> {
+                long userId = Long.parseLong(fields.get(FIELD_USER_ID));
+                chatPresenceRegistry.leave(roomId, userId);
+                chatSenderProfileCache.leave(roomId, userId);
+                chatHeartbeatTracker.remove(roomId, userId);
+            }
+            case TYPE_RATE_LIMIT -> chatRateLimiter.configure(roomId,
+                Integer.valueOf(fields.get(FIELD_BURST)),
+                Integer.valueOf(fields.get(FIELD_SUSTAINED_PER_MINUTE)),
+                Integer.valueOf(fields.get(FIELD_SLOW_MODE_SECONDS)));
+            case TYPE_PURGE -> applyPurge(roomId, fields);
+            case TYPE_PROFILE -> chatSenderProfileCache.invalidate(Long.parseLong(fields.get(FIELD_USER_ID)));
+            case TYPE_REACTION -> chatReactionAggregator.applyRemote(roomId, parseReactionCounts(fields.get(FIELD_COUNTS)));
+            case TYPE_HEARTBEAT -> chatHeartbeatTracker.touchRemote(roomId, splitIds(fields.get(FIELD_USER_IDS)));
+            default -> log.warn("Unknown chat relay entry type: {}", fields.get(FIELD_TYPE));
+        }
+    }
+
+    /**
+     * 다른 노드의 일괄 삭제 반영
+     * 이 노드에서 받아 아직 저장되지 않은 메시지도 삭제 표시하고, 그런 메시지가 있으면 다른 노드에도 알린다.
+     */
+    private void applyPurge(long roomId, Map<String, String> fields) {
+        List<Long> messageIds = new ArrayList<>(splitIds(fields.get(FIELD_MESSAGE_IDS)));
+        if (fields.containsKey(FIELD_USER_ID)) {
+            List<Long> unflushedIds = chatMessageWriteBehindService.deleteUnflushedByUser(roomId,
+                Long.parseLong(fields.get(FIELD_USER_ID)),
+                LocalDateTime.parse(fields.get(FIELD_FROM)),
+                LocalDateTime.parse(fields.get(FIELD_TO)));
+            if (!unflushedIds.isEmpty()) {
+                // 사용자와 기간 없이 ID만 보내 다시 삭제 표시가 일어나지 않게 한다
+                Map<String, String> relayed = new HashMap<>(4);
+                relayed.put(FIELD_TYPE, TYPE_PURGE);
+                relayed.put(FIELD_MESSAGE_IDS, joinIds(unflushedIds));
+                publish(roomId, relayed);
+                messageIds.addAll(unflushedIds);
+            }
+        }
+        if (messageIds.isEmpty()) {
+            return;
+        }
+
+        chatRecentMessageBuffer.markDeleted(roomId, messageIds);
+        chatBroadcastEngine.broadcastLocal(roomId, 0L, ChatTombstoneDto.of(roomId, messageIds));
+    }
+
+    /**
+     * 종류별 리액션 수 해석 (이 노드가 모르는 종류는 건너뜀)
+     */
+    private static long[] parseReactionCounts(String encoded) {
+        long[] counts = new long[REACTION_TYPES.length];
+        if (encoded == null || encoded.isEmpty()) {
+            return counts;
+        }
+        for (String entry : encoded.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                ReactionType type = ReactionType.valueOf(entry.substring(0, separator));
+                counts[type.ordinal()] += Long.parseLong(entry.substring(separator + 1));
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping unknown relayed reaction: {}", entry);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 다른 노드에서 받은 메시지를 최근 메시지 버퍼와 클라이언트 메시지 ID 기록에 추가
+     * (재연결한 클라이언트가 이 노드로 같은 메시지를 다시 보내도 한 번만 받도록)
+     */
+    private void rememberRelayedMessage(long roomId, String payload) {
+        boolean buffered = chatRecentMessageBuffer.isTracked(roomId);
+        // null 필드는 직렬화하지 않으므로 클라이언트 메시지 ID가 없는 메시지는 읽지 않고 넘어간다
+        if (!buffered && !payload.contains(CLIENT_MESSAGE_ID_FIELD)) {
+            return;
+        }
+        ChatMessageDto message;
+        try {
+            message = objectMapper.readValue(payload, ChatMessageDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to read relayed chat message for room: {}", roomId, e);
+            return;
+        }
+        if (buffered) {
+            chatRecentMessageBuffer.append(message);
+        }
+        if (message.getClientMessageId() != null && message.getUserId() != null) {
+            chatClientMessageDeduplicator.record(roomId, message.getUserId(), message.getClientMessageId(),
+                message.getMessageId(), message.getSequence());
+        }
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Long> splitIds(String ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).toList();
+    }
+
+    List<Long> getRelayedRoomIds() {
+        return List.copyOf(offsets.keySet());
+    }
+}
@@ -0,0 +1,78 @@
+package com.minibuskingbig.chat.relay;
+
+import com.minibuskingbig.chat.idempotency.ChatClientMessageClaimStore;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.Claim;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.State;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 여러 노드가 공유하는 Redis 클라이언트 메시지 ID 예약 (chat:room:{roomId}:client-message:{지문})
+ *
+ * 값은 "messageId:순번"이고 처리 중이면 "0:0"이다. 예약은 SET NX와 같이 없을 때만 쓰고,
+ * 처리 중인 예약은 노드가 죽어도 재전송이 계속 IN_FLIGHT로 남지 않도록 짧게 보관한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "true")
+public class RedisChatClientMessageClaimStore implements ChatClientMessageClaimStore {
+
+    private static final String IN_FLIGHT_VALUE = "0:0";
+    // 순번 발급과 큐 적재는 수 ms 안에 끝나므로 넉넉히 잡아도 짧다
+    private static final long IN_FLIGHT_TTL_MILLIS = 30_000L;
+
+    // 이미 있으면 기존 값, 없으면 예약하고 nil
+    private static final RedisScript<String> CLAIM_SCRIPT = new DefaultRedisScript<>(
+        "local current = redis.call('get', KEYS[1]) "
+            + "if current then return current end "
+            + "redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) return false",
+        String.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public Claim claim(Claim claim) {
+        String current = redisTemplate.execute(CLAIM_SCRIPT, List.of(claimKey(claim.roomId(), claim.fingerprint())),
+            IN_FLIGHT_VALUE, String.valueOf(IN_FLIGHT_TTL_MILLIS));
+        return current == null ? claim : parse(claim.roomId(), claim.fingerprint(), current);
+    }
+
+    @Override
+    public void accept(Claim claim, long messageId, long sequence, long windowMillis) {
+        redisTemplate.opsForValue().set(claimKey(claim.roomId(), claim.fingerprint()),
+            messageId + ":" + sequence, Duration.ofMillis(windowMillis));
+    }
+
+    @Override
+    public void release(Claim claim) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(claimKey(claim.roomId(), claim.fingerprint())), IN_FLIGHT_VALUE);
+    }
+
+    private static Claim parse(long roomId, long fingerprint, String value) {
+        if (IN_FLIGHT_VALUE.equals(value)) {
+            return new Claim(roomId, fingerprint, State.IN_FLIGHT, 0L, 0L);
+        }
+        int separator = value.indexOf(':');
+        return new Claim(roomId, fingerprint, State.DUPLICATE,
+            Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+    }
+
+    private static String claimKey(long roomId, long fingerprint) {
+        return "chat:room:" + roomId + ":client-message:" + Long.toHexString(fingerprint);
+    }
+}
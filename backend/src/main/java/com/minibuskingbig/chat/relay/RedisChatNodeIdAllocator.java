@@ -0,0 +1,142 @@
+package com.minibuskingbig.chat.relay;
+
+import com.minibuskingbig.chat.service.ChatMessageIdGenerator;
+import com.minibuskingbig.chat.service.ChatNodeIdAllocator;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 여러 노드가 함께 동작할 때 노드 ID를 Redis lease로 발급
+ *
+ * INCR chat:node-id:counter로 후보를 고른 뒤 SET chat:node-id:lease:{id} NX PX로 점유하고,
+ * 주기적으로 만료 시간을 연장한다. chat.node-id를 지정하면 그 ID만 점유하며, 다른 노드가 이미 쓰고 있으면 시작에 실패한다.
+ * lease를 잃으면 새 ID를 받고, 연장하지 못한 채 lease 시간이 지나면 ID를 발급하지 않는다 (다른 노드가 같은 ID를 받았을 수 있음).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "true")
+public class RedisChatNodeIdAllocator implements ChatNodeIdAllocator {
+
+    private static final String COUNTER_KEY = "chat:node-id:counter";
+    private static final long NODE_ID_COUNT = ChatMessageIdGenerator.MAX_NODE_ID + 1;
+
+    // 자기 lease일 때만 만료 시간 연장 / 삭제
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+        Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long configuredNodeId;
+    private final Duration leaseDuration;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile long nodeId = -1;
+    // 마지막으로 lease를 점유/연장한 시각 (System.nanoTime)
+    private volatile long leasedAtNanos;
+
+    public RedisChatNodeIdAllocator(
+            StringRedisTemplate redisTemplate,
+            @Value("${chat.node-id:-1}") long configuredNodeId,
+            @Value("${chat.relay.node-lease-ms:30000}") long leaseMs) {
+        if (configuredNodeId > ChatMessageIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException("chat.node-id must be between 0 and " + ChatMessageIdGenerator.MAX_NODE_ID);
+        }
+        this.redisTemplate = redisTemplate;
+        this.configuredNodeId = configuredNodeId;
+        this.leaseDuration = Duration.ofMillis(leaseMs);
+    }
+
+    @PostConstruct
+    void acquire() {
+        long acquiredAt = System.nanoTime();
+        nodeId = configuredNodeId >= 0 ? acquireConfigured() : acquireAny();
+        leasedAtNanos = acquiredAt;
+        log.info("Chat node id leased: nodeId={}, instanceId={}", nodeId, instanceId);
+    }
+
+    @Override
+    public long currentNodeId() {
+        if (System.nanoTime() - leasedAtNanos >= leaseDuration.toNanos()) {
+            throw new BusinessException(ErrorCode.CHAT_BUSY, "Chat node id lease expired");
+        }
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.relay.node-lease-renew-ms:10000}")
+    public void renew() {
+        long renewedAt = System.nanoTime();
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(leaseKey(nodeId)),
+                instanceId, String.valueOf(leaseDuration.toMillis()));
+            if (renewed != null && renewed == 1L) {
+                leasedAtNanos = renewedAt;
+                return;
+            }
+
+            // lease가 만료되어 다른 노드가 가져갔을 수 있으므로 새로 점유
+            log.warn("Chat node id lease lost: nodeId={}", nodeId);
+            acquire();
+        } catch (RuntimeException e) {
+            // 연장에 계속 실패하면 lease 시간이 지난 뒤 currentNodeId가 발급을 거부한다
+            log.warn("Failed to renew chat node id lease: nodeId={}", nodeId, e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (nodeId < 0) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(nodeId)), instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release chat node id lease: nodeId={}", nodeId, e);
+        }
+    }
+
+    private long acquireConfigured() {
+        if (!tryLease(configuredNodeId)) {
+            throw new IllegalStateException("chat.node-id " + configuredNodeId + " is already leased by another node");
+        }
+        return configuredNodeId;
+    }
+
+    private long acquireAny() {
+        for (int attempt = 0; attempt < NODE_ID_COUNT; attempt++) {
+            Long counter = redisTemplate.opsForValue().increment(COUNTER_KEY);
+            if (counter == null) {
+                throw new IllegalStateException("Redis INCR returned no value for " + COUNTER_KEY);
+            }
+            long candidate = Math.floorMod(counter, NODE_ID_COUNT);
+            if (tryLease(candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No free chat node id (all " + NODE_ID_COUNT + " are leased)");
+    }
+
+    private boolean tryLease(long candidate) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(candidate), instanceId, leaseDuration));
+    }
+
+    private static String leaseKey(long nodeId) {
+        return "chat:node-id:lease:" + nodeId;
+    }
+}
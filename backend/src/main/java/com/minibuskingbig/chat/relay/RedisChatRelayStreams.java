@@ -0,0 +1,72 @@
+package com.minibuskingbig.chat.relay;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis Streams 기반 릴레이 스트림 저장소
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "true")
+public class RedisChatRelayStreams implements ChatRelayStreams {
+
+    private static final String EMPTY_STREAM_ID = "0-0";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public String append(String streamKey, Map<String, String> fields, long maxLength) {
+        MapRecord<String, String, String> record = StreamRecords.string(fields).withStreamKey(streamKey);
+        return redisTemplate.opsForStream()
+            .add(record, XAddOptions.maxlen(maxLength).approximateTrimming(true))
+            .getValue();
+    }
+
+    @Override
+    public String lastId(String streamKey) {
+        List<MapRecord<String, Object, Object>> last = redisTemplate.opsForStream()
+            .reverseRange(streamKey, Range.unbounded(), Limit.limit().count(1));
+        return last == null || last.isEmpty() ? EMPTY_STREAM_ID : last.get(0).getId().getValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<StreamEntry> read(Map<String, String> offsets, int count, Duration block) {
+        StreamOffset<String>[] streamOffsets = offsets.entrySet().stream()
+            .map(offset -> StreamOffset.create(offset.getKey(), ReadOffset.from(offset.getValue())))
+            .toArray(StreamOffset[]::new);
+
+        // 블로킹 XREAD는 공유 커넥션이 아닌 전용 커넥션에서 실행된다
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+            .read(StreamReadOptions.empty().count(count).block(block), streamOffsets);
+        if (records == null) {
+            return List.of();
+        }
+
+        return records.stream()
+            .map(record -> new StreamEntry(record.getStream(), record.getId().getValue(), toStringMap(record.getValue())))
+            .toList();
+    }
+
+    private static Map<String, String> toStringMap(Map<Object, Object> value) {
+        Map<String, String> fields = new HashMap<>(value.size());
+        value.forEach((field, fieldValue) -> fields.put(String.valueOf(field), String.valueOf(fieldValue)));
+        return fields;
+    }
+}
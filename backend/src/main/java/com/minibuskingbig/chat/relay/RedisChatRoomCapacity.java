@@ -0,0 +1,65 @@
+package com.minibuskingbig.chat.relay;
+
+import com.minibuskingbig.chat.service.ChatRoomCapacity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 여러 노드가 공유하는 Redis 정원 카운터 (chat:room:{roomId}:participants)
+ *
+ * 확인과 증가를 한 스크립트에서 처리하므로 여러 노드에 동시에 입장이 몰려도 정원을 넘지 않는다.
+ * 키가 없으면(처음 사용하는 채팅방) DB의 참가자 수에서 시작한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "true")
+public class RedisChatRoomCapacity implements ChatRoomCapacity {
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+        "local current = redis.call('get', KEYS[1]) "
+            + "if not current then current = ARGV[1] redis.call('set', KEYS[1], current) end "
+            + "if tonumber(current) >= tonumber(ARGV[2]) then return 0 end "
+            + "redis.call('incr', KEYS[1]) return 1",
+        Long.class);
+    // 0 미만으로 내려가지 않음 (키가 없으면 다음 입장 때 DB에서 다시 시작)
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+        "local current = redis.call('get', KEYS[1]) "
+            + "if not current then return 0 end "
+            + "local remaining = math.max(tonumber(current) - tonumber(ARGV[1]), 0) "
+            + "redis.call('set', KEYS[1], remaining) return remaining",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public boolean tryAcquire(long roomId, int loadedParticipants, int maxParticipants) {
+        Long acquired = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(participantsKey(roomId)),
+            String.valueOf(loadedParticipants), String.valueOf(maxParticipants));
+        return acquired != null && acquired == 1L;
+    }
+
+    @Override
+    public void release(long roomId, int count) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(participantsKey(roomId)), String.valueOf(count));
+    }
+
+    @Override
+    public void remove(long roomId) {
+        redisTemplate.delete(participantsKey(roomId));
+    }
+
+    private static String participantsKey(long roomId) {
+        return "chat:room:" + roomId + ":participants";
+    }
+}
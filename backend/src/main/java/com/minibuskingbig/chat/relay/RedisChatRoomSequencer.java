@@ -0,0 +1,45 @@
+package com.minibuskingbig.chat.relay;
+
+import com.minibuskingbig.chat.repository.ChatMessageRepository;
+import com.minibuskingbig.chat.service.ChatRoomSequencer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 여러 노드가 공유하는 Redis 순번 발급기 (INCR chat:room:{roomId}:seq)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "true")
+public class RedisChatRoomSequencer implements ChatRoomSequencer {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+
+    private final Set<Long> initializedRoomIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public long next(long roomId) {
+        String key = sequenceKey(roomId);
+        if (!initializedRoomIds.contains(roomId)) {
+            // 키가 없으면(처음 사용하는 채팅방) DB의 마지막 순번에서 시작
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(chatMessageRepository.findMaxSequenceByRoomId(roomId)));
+            initializedRoomIds.add(roomId);
+        }
+
+        Long next = redisTemplate.opsForValue().increment(key);
+        if (next == null) {
+            throw new IllegalStateException("Redis INCR returned no value for " + key);
+        }
+        return next;
+    }
+
+    private static String sequenceKey(long roomId) {
+        return "chat:room:" + roomId + ":seq";
+    }
+}
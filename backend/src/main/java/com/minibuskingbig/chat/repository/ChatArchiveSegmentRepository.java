@@ -0,0 +1,18 @@
+package com.minibuskingbig.chat.repository;
+
+import com.minibuskingbig.chat.entity.ChatArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChatArchiveSegmentRepository extends JpaRepository<ChatArchiveSegment, Long> {
+
+    Optional<ChatArchiveSegment> findTopByRoomIdOrderBySegmentNoDesc(Long roomId);
+
+    List<ChatArchiveSegment> findByRoomIdOrderBySegmentNoDesc(Long roomId);
+
+    List<ChatArchiveSegment> findByRoomIdOrderBySegmentNoAsc(Long roomId);
+}
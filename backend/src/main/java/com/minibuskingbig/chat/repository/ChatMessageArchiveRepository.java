@@ -0,0 +1,88 @@
+package com.minibuskingbig.chat.repository;
+
+import com.minibuskingbig.chat.dto.ChatHistoryCursor;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 채팅 메시지 보관용 JDBC 저장소
+ * 종료된 채팅방의 메시지를 created_at 순으로 나눠 읽고, 보관이 끝난 메시지를 나눠 삭제한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatMessageArchiveRepository {
+
+    private static final String SELECT_COLUMNS =
+        "SELECT m.message_id, m.room_id, m.room_seq, m.user_id, m.message_type, m.content, m.is_deleted, m.created_at, "
+            + "u.display_id, u.nickname, u.profile_image_url "
+            + "FROM chat_messages m JOIN users u ON u.user_id = m.user_id ";
+
+    private static final String FIND_FIRST_SQL = SELECT_COLUMNS
+        + "WHERE m.room_id = ? "
+        + "ORDER BY m.created_at, m.message_id LIMIT ?";
+
+    private static final String FIND_AFTER_SQL = SELECT_COLUMNS
+        + "WHERE m.room_id = ? AND (m.created_at > ? OR (m.created_at = ? AND m.message_id > ?)) "
+        + "ORDER BY m.created_at, m.message_id LIMIT ?";
+
+    private static final String DELETE_UP_TO_SQL =
+        "DELETE FROM chat_messages "
+            + "WHERE room_id = ? AND (created_at < ? OR (created_at = ? AND message_id <= ?)) LIMIT ?";
+
+    private static final RowMapper<ArchiveRow> ROW_MAPPER = (rs, rowNum) -> {
+        long sequence = rs.getLong("room_seq");
+        ChatMessageDto message = ChatMessageDto.builder()
+            .messageId(rs.getLong("message_id"))
+            .roomId(rs.getLong("room_id"))
+            .sequence(rs.wasNull() ? null : sequence)
+            .userId(rs.getLong("user_id"))
+            .userDisplayId(rs.getString("display_id"))
+            .userNickname(rs.getString("nickname"))
+            .userProfileImageUrl(rs.getString("profile_image_url"))
+            .messageType(MessageType.valueOf(rs.getString("message_type")))
+            .content(rs.getString("content"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+        return new ArchiveRow(message, rs.getBoolean("is_deleted"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 커서 이후 메시지를 오래된 순으로 조회 (삭제된 메시지 포함, 커서가 없으면 처음부터)
+     */
+    public List<ArchiveRow> findAfter(long roomId, ChatHistoryCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(FIND_FIRST_SQL, ROW_MAPPER, roomId, limit);
+        }
+        Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+        return jdbcTemplate.query(FIND_AFTER_SQL, ROW_MAPPER, roomId, createdAt, createdAt, after.messageId(), limit);
+    }
+
+    /**
+     * 커서까지의 메시지를 최대 limit개 삭제 (한 번에 잠그는 행 수를 제한)
+     *
+     * @return 삭제한 행 수
+     */
+    public int deleteUpTo(long roomId, ChatHistoryCursor upTo, int limit) {
+        Timestamp createdAt = Timestamp.valueOf(upTo.createdAt());
+        return jdbcTemplate.update(DELETE_UP_TO_SQL, roomId, createdAt, createdAt, upTo.messageId(), limit);
+    }
+
+    /**
+     * 보관 대상 메시지 한 건 (삭제된 메시지는 세그먼트에 쓰지 않고 테이블에서만 지운다)
+     */
+    public record ArchiveRow(ChatMessageDto message, boolean deleted) {
+
+        public ChatHistoryCursor cursor() {
+            return ChatHistoryCursor.from(message);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.minibuskingbig.chat.repository;
+
+import com.minibuskingbig.chat.dto.PendingChatMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 채팅 메시지 JDBC 배치 저장소
+ * 엔티티를 거치지 않고 여러 메시지를 한 번의 배치로 저장한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatMessageBatchRepository {
+
+    private static final String INSERT_MESSAGE_SQL =
+        "INSERT INTO chat_messages (message_id, room_id, room_seq, user_id, message_type, content, is_deleted, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DEAD_LETTER_SQL =
+        "INSERT INTO chat_message_dead_letters (message_id, room_id, room_seq, user_id, message_type, content, is_deleted, created_at, error_message, failed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<PendingChatMessage> messages, Set<Long> deletedMessageIds) {
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE_SQL, messages, messages.size(), (ps, message) -> {
+            Timestamp createdAt = Timestamp.valueOf(message.createdAt());
+            ps.setLong(1, message.messageId());
+            ps.setLong(2, message.roomId());
+            ps.setLong(3, message.sequence());
+            ps.setLong(4, message.userId());
+            ps.setString(5, message.messageType().name());
+            ps.setString(6, message.content());
+            ps.setBoolean(7, deletedMessageIds.contains(message.messageId()));
+            ps.setTimestamp(8, createdAt);
+            ps.setTimestamp(9, createdAt);
+        });
+    }
+
+    /**
+     * 저장하지 못한 메시지를 dead-letter 테이블에 기록
+     */
+    public void insertDeadLetter(PendingChatMessage message, boolean deleted, String errorMessage) {
+        String error = errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+            ? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH)
+            : errorMessage;
+        jdbcTemplate.update(INSERT_DEAD_LETTER_SQL,
+            message.messageId(),
+            message.roomId(),
+            message.sequence(),
+            message.userId(),
+            message.messageType().name(),
+            message.content(),
+            deleted,
+            Timestamp.valueOf(message.createdAt()),
+            error,
+            Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
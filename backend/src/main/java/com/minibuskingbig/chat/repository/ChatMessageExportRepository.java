@@ -0,0 +1,103 @@
+package com.minibuskingbig.chat.repository;
+
+import com.minibuskingbig.chat.dto.ChatHistoryCursor;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 기록 내보내기용 JDBC 저장소
+ *
+ * 채팅방 메시지를 created_at 순으로 forward-only 커서 하나로 읽어 한 건씩 전달한다.
+ * 엔티티를 만들지 않고 영속성 컨텍스트를 거치지 않으며, 드라이버는 fetch-size만큼만 가져오므로 메시지 수와 관계없이 메모리 사용량이 일정하다.
+ * MySQL은 이 조회에만 fetch size를 Integer.MIN_VALUE로 주어 행 단위로 스트리밍한다
+ * (연결 전체에 useCursorFetch를 켜면 fetch size를 지정한 다른 조회도 서버 커서를 쓰게 되므로 쓰지 않는다).
+ * 스트리밍 중에는 드라이버가 net_write_timeout을 netTimeoutForStreamingResults(기본 600초)로 늘린다.
+ */
+@Repository
+public class ChatMessageExportRepository {
+
+    // MySQL Connector/J가 결과를 모두 받지 않고 한 행씩 읽는 fetch size
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String SELECT_COLUMNS =
+        "SELECT m.message_id, m.room_seq, m.user_id, m.message_type, m.content, m.created_at, "
+            + "u.display_id, u.nickname, u.profile_image_url "
+            + "FROM chat_messages m JOIN users u ON u.user_id = m.user_id "
+            + "WHERE m.room_id = ? AND m.is_deleted = FALSE ";
+
+    private static final String FIND_ALL_SQL = SELECT_COLUMNS
+        + "ORDER BY m.created_at, m.message_id";
+
+    private static final String FIND_AFTER_SQL = SELECT_COLUMNS
+        + "AND (m.created_at > ? OR (m.created_at = ? AND m.message_id > ?)) "
+        + "ORDER BY m.created_at, m.message_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public ChatMessageExportRepository(
+        JdbcTemplate jdbcTemplate,
+        @Value("${chat.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 커서 이후의 삭제되지 않은 메시지를 오래된 순으로 한 건씩 전달 (커서가 없으면 처음부터)
+     *
+     * @return 전달한 메시지 수
+     */
+    public long streamAfter(long roomId, ChatHistoryCursor after, Consumer<ChatMessageDto> consumer) {
+        long[] count = new long[1];
+        RowCallbackHandler handler = rs -> {
+            consumer.accept(toMessage(rs, roomId));
+            count[0]++;
+        };
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(after == null ? FIND_ALL_SQL : FIND_AFTER_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(isMySql(connection) ? MYSQL_STREAMING_FETCH_SIZE : fetchSize);
+            ps.setLong(1, roomId);
+            if (after != null) {
+                Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+                ps.setTimestamp(2, createdAt);
+                ps.setTimestamp(3, createdAt);
+                ps.setLong(4, after.messageId());
+            }
+            return ps;
+        }, handler);
+        return count[0];
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private static ChatMessageDto toMessage(ResultSet rs, long roomId) throws SQLException {
+        long sequence = rs.getLong("room_seq");
+        return ChatMessageDto.builder()
+            .messageId(rs.getLong("message_id"))
+            .roomId(roomId)
+            .sequence(rs.wasNull() ? null : sequence)
+            .userId(rs.getLong("user_id"))
+            .userDisplayId(rs.getString("display_id"))
+            .userNickname(rs.getString("nickname"))
+            .userProfileImageUrl(rs.getString("profile_image_url"))
+            .messageType(MessageType.valueOf(rs.getString("message_type")))
+            .content(rs.getString("content"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+    }
+}
@@ -2,13 +2,19 @@ package com.minibuskingbig.chat.repository;
 
 import com.minibuskingbig.chat.entity.ChatMessage;
 import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.profile.SenderProfile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
@@ -21,4 +27,79 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     );
 
     long countByChatRoomAndIsDeletedFalse(ChatRoom chatRoom);
+
+    /**
+     * 최신 메시지부터 조회 (count 쿼리 없음, idx_room_history 사용)
+     * 보낸 사람은 프로필 캐시에서 채우므로 users를 조인하지 않는다 (m.user는 ID만 가진 프록시).
+     */
+    @Query("SELECT m FROM ChatMessage m "
+        + "WHERE m.chatRoom.roomId = :roomId AND m.isDeleted = false "
+        + "ORDER BY m.createdAt DESC, m.messageId DESC")
+    List<ChatMessage> findLatestByRoomId(@Param("roomId") Long roomId, Pageable pageable);
+
+    /**
+     * 커서 이전 메시지 조회 (keyset 페이지네이션)
+     */
+    @Query("SELECT m FROM ChatMessage m "
+        + "WHERE m.chatRoom.roomId = :roomId AND m.isDeleted = false "
+        + "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.messageId < :messageId)) "
+        + "ORDER BY m.createdAt DESC, m.messageId DESC")
+    List<ChatMessage> findByRoomIdBefore(
+        @Param("roomId") Long roomId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("messageId") Long messageId,
+        Pageable pageable
+    );
+
+    /**
+     * 순번 이후 메시지 조회 (재연결 시 놓친 메시지)
+     */
+    @Query("SELECT m FROM ChatMessage m "
+        + "WHERE m.chatRoom.roomId = :roomId AND m.sequence > :sequence AND m.isDeleted = false "
+        + "ORDER BY m.sequence ASC")
+    List<ChatMessage> findByRoomIdAfterSequence(
+        @Param("roomId") Long roomId,
+        @Param("sequence") Long sequence,
+        Pageable pageable
+    );
+
+    /**
+     * 보낸 사람 프로필 일괄 조회 (프로필 캐시에 없는 사용자만)
+     */
+    @Query("SELECT new com.minibuskingbig.chat.profile.SenderProfile(u.userId, u.displayId, u.nickname, u.profileImageUrl) "
+        + "FROM User u WHERE u.userId IN :userIds")
+    List<SenderProfile> findSenderProfiles(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT COALESCE(MAX(m.sequence), 0) FROM ChatMessage m WHERE m.chatRoom.roomId = :roomId")
+    long findMaxSequenceByRoomId(@Param("roomId") Long roomId);
+
+    @Query("SELECT m.createdAt FROM ChatMessage m WHERE m.messageId = :messageId AND m.chatRoom.roomId = :roomId")
+    Optional<LocalDateTime> findCreatedAtByIdAndRoomId(@Param("messageId") Long messageId, @Param("roomId") Long roomId);
+
+    /**
+     * 채팅방에서 사용자가 기간 안에 보낸 삭제되지 않은 메시지 ID 중 afterMessageId 다음부터 한 묶음 (idx_user_room 사용)
+     * messageId 순으로 이어서 읽으므로 일괄 삭제를 정해진 크기로 나눠 처리할 수 있다.
+     */
+    @Query("SELECT m.messageId FROM ChatMessage m "
+        + "WHERE m.user.userId = :userId AND m.chatRoom.roomId = :roomId "
+        + "AND m.createdAt >= :from AND m.createdAt < :to AND m.isDeleted = false "
+        + "AND m.messageId > :afterMessageId "
+        + "ORDER BY m.messageId ASC")
+    List<Long> findUndeletedIdsByUser(
+        @Param("roomId") Long roomId,
+        @Param("userId") Long userId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("afterMessageId") long afterMessageId,
+        Pageable pageable
+    );
+
+    /**
+     * 메시지를 한 번의 UPDATE로 삭제 처리 (IN 목록이 커지지 않도록 호출하는 쪽에서 나눠서 넘긴다)
+     *
+     * @return 삭제 처리한 행 수
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatMessage m SET m.isDeleted = true WHERE m.messageId IN :messageIds AND m.isDeleted = false")
+    int softDeleteAllByIds(@Param("messageIds") List<Long> messageIds);
 }
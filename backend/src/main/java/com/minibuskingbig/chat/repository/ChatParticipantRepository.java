@@ -2,10 +2,16 @@ package com.minibuskingbig.chat.repository;
 
 import com.minibuskingbig.chat.entity.ChatParticipant;
 import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.entity.ChatRoomStatus;
+import com.minibuskingbig.chat.profile.SenderProfile;
 import com.minibuskingbig.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +25,37 @@ public interface ChatParticipantRepository extends JpaRepository<ChatParticipant
     boolean existsByChatRoomAndUserAndIsActiveTrue(ChatRoom chatRoom, User user);
 
     long countByChatRoomAndIsActiveTrue(ChatRoom chatRoom);
+
+    /**
+     * 채팅방 활성 참가자 프로필 (접속자 레지스트리와 프로필 캐시를 한 번에 채울 때 사용)
+     */
+    @Query("SELECT new com.minibuskingbig.chat.profile.SenderProfile(u.userId, u.displayId, u.nickname, u.profileImageUrl) "
+        + "FROM ChatParticipant p JOIN p.user u WHERE p.chatRoom.roomId = :roomId AND p.isActive = true")
+    List<SenderProfile> findActiveSenderProfilesByRoomId(@Param("roomId") Long roomId);
+
+    /**
+     * 사용자가 참가 중인 채팅방 중 상태가 status인 채팅방 ID
+     */
+    @Query("SELECT p.chatRoom.roomId FROM ChatParticipant p "
+        + "WHERE p.user.userId = :userId AND p.isActive = true AND p.chatRoom.status = :status")
+    List<Long> findJoinedRoomIdsByUserId(@Param("userId") Long userId, @Param("status") ChatRoomStatus status);
+
+    @Query("SELECT COUNT(p) > 0 FROM ChatParticipant p "
+        + "WHERE p.chatRoom.roomId = :roomId AND p.user.userId = :userId AND p.isActive = true")
+    boolean existsActiveByRoomIdAndUserId(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(p) > 0 FROM ChatParticipant p "
+        + "WHERE p.chatRoom.roomId = :roomId AND p.user.userId = :userId")
+    boolean existsByRoomIdAndUserId(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    /**
+     * 채팅방 참가자 일괄 퇴장 (이미 퇴장한 참가자는 제외)
+     *
+     * @return 퇴장 처리된 참가자 수
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatParticipant p SET p.isActive = false, p.leftAt = :leftAt "
+        + "WHERE p.chatRoom.roomId = :roomId AND p.user.userId IN :userIds AND p.isActive = true")
+    int deactivateAll(@Param("roomId") Long roomId, @Param("userIds") List<Long> userIds,
+                      @Param("leftAt") LocalDateTime leftAt);
 }
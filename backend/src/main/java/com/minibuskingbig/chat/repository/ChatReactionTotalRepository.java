@@ -0,0 +1,51 @@
+package com.minibuskingbig.chat.repository;
+
+import com.minibuskingbig.chat.reaction.ReactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방 리액션 누적 수 JDBC 저장소
+ * 메모리에서 집계한 변화량을 한 번의 배치 upsert로 더한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatReactionTotalRepository {
+
+    private static final String ADD_DELTA_SQL =
+        "INSERT INTO chat_reaction_totals (room_id, reaction_type, total, updated_at) VALUES (?, ?, ?, NOW(6)) "
+            + "ON DUPLICATE KEY UPDATE total = total + VALUES(total), updated_at = VALUES(updated_at)";
+
+    private static final String FIND_TOTALS_SQL =
+        "SELECT reaction_type, total FROM chat_reaction_totals WHERE room_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 커밋 후 콜백(채팅방 종료)에서도 호출되므로 항상 새 트랜잭션으로 실행
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void addDeltas(List<ReactionDelta> deltas) {
+        jdbcTemplate.batchUpdate(ADD_DELTA_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.roomId());
+            ps.setString(2, delta.reactionType().name());
+            ps.setLong(3, delta.delta());
+        });
+    }
+
+    public Map<ReactionType, Long> findTotals(long roomId) {
+        Map<ReactionType, Long> totals = new EnumMap<>(ReactionType.class);
+        jdbcTemplate.query(FIND_TOTALS_SQL, rs -> {
+            totals.put(ReactionType.valueOf(rs.getString("reaction_type")), rs.getLong("total"));
+        }, roomId);
+        return totals;
+    }
+
+    public record ReactionDelta(long roomId, ReactionType reactionType, long delta) {
+    }
+}
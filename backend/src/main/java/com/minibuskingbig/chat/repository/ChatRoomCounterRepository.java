@@ -0,0 +1,37 @@
+package com.minibuskingbig.chat.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 채팅방 카운터 JDBC 저장소
+ * 메모리에서 집계한 변화량을 한 번의 배치 UPDATE로 반영한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChatRoomCounterRepository {
+
+    private static final String APPLY_DELTA_SQL =
+        "UPDATE chat_rooms SET current_participants = GREATEST(current_participants + ?, 0), "
+            + "total_messages = total_messages + ? WHERE room_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 커밋 후 콜백(채팅방 종료)에서도 호출되므로 항상 새 트랜잭션으로 실행
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyDeltas(List<CounterDelta> deltas) {
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setInt(1, delta.participantDelta());
+            ps.setLong(2, delta.messageDelta());
+            ps.setLong(3, delta.roomId());
+        });
+    }
+
+    public record CounterDelta(Long roomId, int participantDelta, long messageDelta) {
+    }
+}
@@ -1,11 +1,17 @@
 package com.minibuskingbig.chat.repository;
 
 import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.entity.ChatRoomHostingMode;
 import com.minibuskingbig.chat.entity.ChatRoomStatus;
 import com.minibuskingbig.event.entity.Event;
+import com.minibuskingbig.event.entity.EventStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +25,87 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     List<ChatRoom> findByStatus(ChatRoomStatus status);
 
     boolean existsByEvent(Event event);
+
+    /**
+     * 종료 후 일정 시간이 지났고 테이블에 메시지가 남아 있는 채팅방 (메시지 보관 대상)
+     */
+    @Query("SELECT r.roomId FROM ChatRoom r WHERE r.status = :status AND r.endedAt < :endedBefore "
+        + "AND EXISTS (SELECT m.messageId FROM ChatMessage m WHERE m.chatRoom = r)")
+    List<Long> findArchivableRoomIds(@Param("status") ChatRoomStatus status, @Param("endedBefore") LocalDateTime endedBefore);
+
+    /**
+     * 컨테이너 Task가 배정된 채팅방과 공연 상태 (컨테이너 상태 점검용)
+     */
+    @Query("SELECT r.roomId AS roomId, r.containerArn AS containerArn, e.status AS eventStatus, e.endTime AS eventEndTime "
+        + "FROM ChatRoom r JOIN r.event e WHERE r.status = :status AND r.containerArn IS NOT NULL")
+    List<ContainerView> findContainersByStatus(@Param("status") ChatRoomStatus status);
+
+    /**
+     * 채팅방 상태와 Task가 예상한 값일 때만 상태 변경 (여러 노드가 같은 채팅방을 동시에 처리하지 않도록)
+     *
+     * @return 변경된 행 수 (0이면 다른 곳에서 먼저 변경)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatRoom r SET r.status = :next "
+        + "WHERE r.roomId = :roomId AND r.status = :expected AND r.containerArn = :containerArn")
+    int compareAndSetStatus(@Param("roomId") Long roomId,
+                            @Param("containerArn") String containerArn,
+                            @Param("expected") ChatRoomStatus expected,
+                            @Param("next") ChatRoomStatus next);
+
+    /**
+     * 채팅방 호스팅 정보와 공연 정원/상태 (호스팅 방식 결정과 애플리케이션 안에서 호스팅하는 채팅방 점검용)
+     */
+    @Query("SELECT r.roomId AS roomId, r.status AS status, r.hostingMode AS hostingMode, "
+        + "e.chatMaxParticipants AS chatMaxParticipants, e.status AS eventStatus, e.endTime AS eventEndTime "
+        + "FROM ChatRoom r JOIN r.event e WHERE r.roomId = :roomId")
+    Optional<HostingView> findHostingView(@Param("roomId") Long roomId);
+
+    @Query("SELECT r.roomId AS roomId, r.status AS status, r.hostingMode AS hostingMode, "
+        + "e.chatMaxParticipants AS chatMaxParticipants, e.status AS eventStatus, e.endTime AS eventEndTime "
+        + "FROM ChatRoom r JOIN r.event e WHERE r.status = :status AND r.hostingMode = :hostingMode")
+    List<HostingView> findHostingViews(@Param("status") ChatRoomStatus status,
+                                       @Param("hostingMode") ChatRoomHostingMode hostingMode);
+
+    @Query("SELECT r.roomId FROM ChatRoom r WHERE r.event.eventId = :eventId")
+    Optional<Long> findRoomIdByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * 호스팅 방식과 채팅방 상태가 예상한 값일 때만 상태 변경 (컨테이너 Task가 없는 채팅방용)
+     *
+     * @return 변경된 행 수 (0이면 다른 곳에서 먼저 변경)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ChatRoom r SET r.status = :next "
+        + "WHERE r.roomId = :roomId AND r.status = :expected AND r.hostingMode = :hostingMode")
+    int compareAndSetHostedStatus(@Param("roomId") Long roomId,
+                                  @Param("hostingMode") ChatRoomHostingMode hostingMode,
+                                  @Param("expected") ChatRoomStatus expected,
+                                  @Param("next") ChatRoomStatus next);
+
+    interface ContainerView {
+
+        Long getRoomId();
+
+        String getContainerArn();
+
+        EventStatus getEventStatus();
+
+        LocalDateTime getEventEndTime();
+    }
+
+    interface HostingView {
+
+        Long getRoomId();
+
+        ChatRoomStatus getStatus();
+
+        ChatRoomHostingMode getHostingMode();
+
+        Integer getChatMaxParticipants();
+
+        EventStatus getEventStatus();
+
+        LocalDateTime getEventEndTime();
+    }
 }
@@ -0,0 +1,49 @@
+package com.minibuskingbig.chat.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 ID 생성기
+ *
+ * 메시지를 DB 저장 전에 브로드캐스트하기 위해 애플리케이션에서 ID를 발급한다.
+ * 구성: 41비트 타임스탬프(ms) | 10비트 노드 ID | 12비트 시퀀스
+ * 같은 노드에서 발급된 ID는 항상 증가하므로 created_at 순서와 대체로 일치한다.
+ * 노드 ID는 ChatNodeIdAllocator가 발급한다 (여러 노드가 함께 동작하면 Redis lease로 노드마다 다른 ID).
+ */
+@Component
+public class ChatMessageIdGenerator {
+
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final ChatNodeIdAllocator chatNodeIdAllocator;
+
+    // (타임스탬프 << SEQUENCE_BITS) | 시퀀스
+    private final AtomicLong lastState = new AtomicLong();
+
+    public ChatMessageIdGenerator(ChatNodeIdAllocator chatNodeIdAllocator) {
+        this.chatNodeIdAllocator = chatNodeIdAllocator;
+    }
+
+    public long nextId() {
+        while (true) {
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long nodeId = chatNodeIdAllocator.currentNodeId();
+            long previous = lastState.get();
+            // 같은 밀리초 안에서 시퀀스가 넘치면 다음 밀리초를 미리 사용한다
+            long next = (previous >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : previous + 1;
+
+            if (lastState.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                    | (nodeId << SEQUENCE_BITS)
+                    | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
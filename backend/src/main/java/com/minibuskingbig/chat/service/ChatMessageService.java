@@ -1,23 +1,62 @@
 package com.minibuskingbig.chat.service;
 
+import com.minibuskingbig.chat.archive.ChatArchiveService;
+import com.minibuskingbig.chat.dto.ChatHistoryCursor;
+import com.minibuskingbig.chat.dto.ChatHistoryResponse;
+import com.minibuskingbig.chat.dto.ChatMessageAckDto;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.dto.ChatSendResult;
+import com.minibuskingbig.chat.dto.ChatTombstoneDto;
+import com.minibuskingbig.chat.dto.PendingChatMessage;
 import com.minibuskingbig.chat.entity.ChatMessage;
 import com.minibuskingbig.chat.entity.ChatParticipant;
 import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.entity.ChatRoomStatus;
 import com.minibuskingbig.chat.entity.MessageType;
+import com.minibuskingbig.chat.history.ChatRecentMessageBuffer;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.Claim;
+import com.minibuskingbig.chat.moderation.ChatMessageDeletedEvent;
+import com.minibuskingbig.chat.moderation.ChatMessagesPurgedEvent;
+import com.minibuskingbig.chat.moderation.ChatModerationFilter;
+import com.minibuskingbig.chat.presence.ChatHeartbeatTracker;
+import com.minibuskingbig.chat.presence.ChatParticipantsIdleEvent;
+import com.minibuskingbig.chat.presence.ChatPresenceChangedEvent;
+import com.minibuskingbig.chat.presence.ChatPresenceRegistry;
+import com.minibuskingbig.chat.profile.ChatSenderProfileCache;
+import com.minibuskingbig.chat.profile.ChatSenderProfileChangedEvent;
+import com.minibuskingbig.chat.profile.SenderProfile;
+import com.minibuskingbig.chat.ratelimit.ChatRateLimiter;
+import com.minibuskingbig.chat.reaction.ChatReactionAggregator;
+import com.minibuskingbig.chat.reaction.ReactionType;
 import com.minibuskingbig.chat.repository.ChatMessageRepository;
 import com.minibuskingbig.chat.repository.ChatParticipantRepository;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository;
 import com.minibuskingbig.common.exception.BusinessException;
 import com.minibuskingbig.common.exception.ErrorCode;
+import com.minibuskingbig.common.util.TransactionUtils;
 import com.minibuskingbig.user.entity.User;
+import com.minibuskingbig.user.service.UserProfileChangedEvent;
 import com.minibuskingbig.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 @Slf4j
 @Service
@@ -25,51 +64,313 @@ import java.time.LocalDateTime;
 @Transactional(readOnly = true)
 public class ChatMessageService {
 
+    private static final int MAX_HISTORY_LIMIT = 100;
+    // 재연결 시 한 번에 재전송하는 최대 메시지 수 (더 놓쳤으면 클라이언트가 히스토리 API로 조회)
+    private static final int MAX_RESUME_MESSAGES = 500;
+    // 일괄 삭제 시 한 번에 조회하고 UPDATE하는 메시지 수 (IN 목록 크기 제한)
+    static final int PURGE_CHUNK_SIZE = 1000;
+
     private final ChatMessageRepository chatMessageRepository;
     private final ChatParticipantRepository chatParticipantRepository;
     private final ChatRoomService chatRoomService;
     private final UserService userService;
+    private final ChatMessageIdGenerator chatMessageIdGenerator;
+    private final ChatRoomSequencer chatRoomSequencer;
+    private final ChatMessageWriteBehindService chatMessageWriteBehindService;
+    private final ChatPresenceRegistry chatPresenceRegistry;
+    private final ChatHeartbeatTracker chatHeartbeatTracker;
+    private final ChatSenderProfileCache chatSenderProfileCache;
+    private final ChatRecentMessageBuffer chatRecentMessageBuffer;
+    private final ChatArchiveService chatArchiveService;
+    private final ChatRateLimiter chatRateLimiter;
+    private final ChatModerationFilter chatModerationFilter;
+    private final ChatClientMessageDeduplicator chatClientMessageDeduplicator;
+    private final ChatReactionAggregator chatReactionAggregator;
+    private final ChatReactionTotalRepository chatReactionTotalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
-    public ChatMessage sendMessage(Long userId, Long roomId, MessageType messageType, String content) {
-        User user = userService.getUserById(userId);
-        ChatRoom chatRoom = chatRoomService.getChatRoomById(roomId);
+    /**
+     * 메시지 전송 (저장은 write-behind 큐에서 배치로 처리)
+     * 메시지마다 읽기 전용 트랜잭션과 커넥션을 잡지 않도록 트랜잭션을 열지 않는다.
+     *
+     * @param clientMessageId 클라이언트가 만든 메시지 ID (이미 받은 ID면 새 메시지를 만들지 않고 처음 발급한 ID로 확인 응답)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ChatSendResult sendMessage(Long userId, Long roomId, MessageType messageType, String content,
+                                      String clientMessageId) {
+        // 확인 응답을 못 받아 다시 보낸 메시지는 전송률에 세지 않는다 (DB 조회 없이 메모리에서 확인)
+        Claim previous = chatClientMessageDeduplicator.lookup(roomId, userId, clientMessageId);
+        if (previous.isDuplicate()) {
+            return duplicateOf(roomId, clientMessageId, previous);
+        }
+
+        // 전송률 초과는 DB 조회 전에 거부
+        chatRateLimiter.acquire(roomId, userId);
 
-        // 채팅방이 활성 상태인지 확인
-        if (!chatRoom.isActive()) {
-            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "채팅방이 활성 상태가 아닙니다.");
+        checkParticipant(roomId, userId);
+        chatHeartbeatTracker.touch(roomId, userId);
+
+        // 금칙어는 순번을 받기 전에 거부하거나 가린다 (메시지 종류는 클라이언트가 정하므로 종류와 관계없이 검사)
+        String filteredContent = chatModerationFilter.filter(content);
+
+        // 확인 사이에 같은 메시지가 다시 들어왔을 수 있으므로 순번을 받기 전에 예약
+        Claim claim = chatClientMessageDeduplicator.claim(roomId, userId, clientMessageId);
+        if (claim.isDuplicate()) {
+            return duplicateOf(roomId, clientMessageId, claim);
         }
 
-        // 참가자인지 확인
-        if (!chatParticipantRepository.existsByChatRoomAndUserAndIsActiveTrue(chatRoom, user)) {
-            throw new BusinessException(ErrorCode.FORBIDDEN, "채팅방 참가자가 아닙니다.");
+        PendingChatMessage message;
+        SenderProfile sender;
+        try {
+            // 참가 중인 사용자는 대부분 프로필 캐시에 있으므로 users 테이블을 읽지 않는다
+            sender = chatSenderProfileCache.get(userId).orElseGet(() -> loadSenderProfile(roomId, userId));
+
+            message = PendingChatMessage.of(
+                chatMessageIdGenerator.nextId(),
+                roomId,
+                chatRoomSequencer.next(roomId),
+                userId,
+                messageType,
+                filteredContent
+            );
+
+            // 메시지 저장과 메시지 카운트 증가는 writer가 배치로 처리
+            chatMessageWriteBehindService.enqueue(message);
+        } catch (RuntimeException e) {
+            chatClientMessageDeduplicator.release(claim);
+            throw e;
         }
+        chatClientMessageDeduplicator.accept(claim, message.messageId(), message.sequence());
 
-        ChatMessage message = ChatMessage.builder()
-            .chatRoom(chatRoom)
-            .user(user)
-            .messageType(messageType)
-            .content(content)
-            .build();
+        ChatMessageDto messageDto = ChatMessageDto.of(message, sender, clientMessageId);
+        chatRecentMessageBuffer.append(messageDto);
+
+        log.debug("Message accepted: {} in room: {} by user: {}", message.messageId(), roomId, userId);
+        return ChatSendResult.accepted(messageDto);
+    }
+
+    /**
+     * 다시 보낸 메시지의 결과 (같은 메시지를 아직 처리 중이면 처리가 끝나고 브로드캐스트되는 메시지로 확인하므로 응답 없음)
+     */
+    private ChatSendResult duplicateOf(Long roomId, String clientMessageId, Claim claim) {
+        log.debug("Duplicate message ignored in room: {} - clientMessageId: {}", roomId, clientMessageId);
+        if (claim.state() == ChatClientMessageDeduplicator.State.IN_FLIGHT) {
+            return ChatSendResult.duplicate(null);
+        }
+        return ChatSendResult.duplicate(ChatMessageAckDto.of(roomId, clientMessageId, claim.messageId(), claim.sequence()));
+    }
+
+    /**
+     * 리액션 전송 (메시지로 저장하지 않고 리액션 집계에 더한다)
+     * 초당 수만 건이 들어올 수 있으므로 트랜잭션을 열지 않는다 (참가 여부는 대부분 메모리에서 확인).
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void sendReaction(Long userId, Long roomId, ReactionType reactionType, Integer count) {
+        if (reactionType == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "리액션 종류를 지정해야 합니다.");
+        }
+        checkParticipant(roomId, userId);
+        chatHeartbeatTracker.touch(roomId, userId);
+        chatReactionAggregator.record(roomId, reactionType, count == null ? 1 : count);
+    }
+
+    /**
+     * 참가자 heartbeat (참가자가 아니면 FORBIDDEN이므로, 유휴 상태로 퇴장된 클라이언트는 다시 입장해야 한다)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void heartbeat(Long userId, Long roomId) {
+        checkParticipant(roomId, userId);
+        chatHeartbeatTracker.touch(roomId, userId);
+    }
 
-        ChatMessage savedMessage = chatMessageRepository.save(message);
+    /**
+     * 채팅방 리액션 종류별 누적 수 (저장 주기만큼 늦게 반영된다)
+     */
+    public Map<ReactionType, Long> getReactionTotals(Long roomId) {
+        chatRoomService.getChatRoomById(roomId);
+        return chatReactionTotalRepository.findTotals(roomId);
+    }
 
-        // 메시지 카운트 증가
-        chatRoomService.incrementMessageCount(roomId);
+    /**
+     * 활성 채팅방 참가자인지 확인 (접속자 레지스트리 조회, 로드되지 않은 채팅방과 다른 노드의 입장만 DB 확인)
+     */
+    private void checkParticipant(Long roomId, Long userId) {
+        // 접속자 레지스트리에 없는 채팅방만 DB에서 활성 상태 확인 후 로드
+        if (!chatPresenceRegistry.isTracked(roomId)) {
+            ChatRoom chatRoom = chatRoomService.getChatRoomById(roomId);
+            if (!chatRoom.isActive()) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "채팅방이 활성 상태가 아닙니다.");
+            }
+            chatRoomService.loadPresence(roomId);
+        }
 
-        log.info("Message sent: {} in room: {} by user: {}", savedMessage.getMessageId(), roomId, userId);
-        return savedMessage;
+        // 참가자인지 확인 (메모리 조회, 없으면 다른 노드에서 입장했을 수 있으므로 DB 확인)
+        if (!chatPresenceRegistry.isParticipant(roomId, userId)) {
+            if (!chatParticipantRepository.existsActiveByRoomIdAndUserId(roomId, userId)) {
+                throw new BusinessException(ErrorCode.FORBIDDEN, "채팅방 참가자가 아닙니다.");
+            }
+            chatPresenceRegistry.join(roomId, userId);
+        }
     }
 
-    public Page<ChatMessage> getMessages(Long roomId, Pageable pageable) {
+    public Page<ChatMessageDto> getMessages(Long roomId, Pageable pageable) {
         ChatRoom chatRoom = chatRoomService.getChatRoomById(roomId);
-        return chatMessageRepository.findByChatRoomAndIsDeletedFalseOrderByCreatedAtDesc(chatRoom, pageable);
+        Page<ChatMessage> messages = chatMessageRepository.findByChatRoomAndIsDeletedFalseOrderByCreatedAtDesc(chatRoom, pageable);
+        return new PageImpl<>(toDtos(messages.getContent()), pageable, messages.getTotalElements());
+    }
+
+    /**
+     * 커서 기반 히스토리 조회
+     *
+     * @param before 이전 응답의 nextCursor 또는 기준 messageId (없으면 최신 메시지부터)
+     */
+    public ChatHistoryResponse getMessageHistory(Long roomId, String before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        // 다음 페이지 여부 확인을 위해 하나 더 조회
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        ChatHistoryCursor cursor = null;
+        List<ChatMessage> messages;
+        if (before == null || before.isBlank()) {
+            // 첫 페이지는 최근 메시지 버퍼에서 응답 (입장 시 DB 조회 없음)
+            Optional<List<ChatMessageDto>> recent = findRecentMessages(roomId, pageSize + 1);
+            if (recent.isPresent()) {
+                return ChatHistoryResponse.of(recent.get(), pageSize);
+            }
+            messages = chatMessageRepository.findLatestByRoomId(roomId, page);
+        } else {
+            cursor = resolveCursor(roomId, before);
+            messages = chatMessageRepository.findByRoomIdBefore(roomId, cursor.createdAt(), cursor.messageId(), page);
+        }
+
+        List<ChatMessageDto> history = toDtos(messages);
+        // 테이블에 남은 메시지가 모자라면 보관 세그먼트에서 이어서 조회
+        if (history.size() <= pageSize) {
+            ChatHistoryCursor archiveBefore = history.isEmpty() ? cursor : ChatHistoryCursor.from(history.get(history.size() - 1));
+            history.addAll(chatArchiveService.findBefore(roomId, archiveBefore, pageSize + 1 - history.size()));
+        }
+        return ChatHistoryResponse.of(history, pageSize);
+    }
+
+    /**
+     * 재연결 시 놓친 메시지 조회
+     *
+     * @param sequence 클라이언트가 마지막으로 받은 채팅방 순번
+     * @return sequence 이후 메시지를 순번 순으로 최대 MAX_RESUME_MESSAGES개
+     */
+    public List<ChatMessageDto> getMessagesAfter(Long roomId, long sequence) {
+        // 최근 메시지 버퍼에 빠짐없이 남아 있으면 DB 조회 없이 응답
+        Optional<List<ChatMessageDto>> buffered = chatRecentMessageBuffer.after(roomId, sequence, MAX_RESUME_MESSAGES);
+        if (buffered.isPresent()) {
+            return buffered.get();
+        }
+
+        List<ChatMessageDto> messages = toDtos(chatMessageRepository
+            .findByRoomIdAfterSequence(roomId, sequence, PageRequest.of(0, MAX_RESUME_MESSAGES)));
+        if (messages.size() >= MAX_RESUME_MESSAGES) {
+            return messages;
+        }
+
+        // 아직 저장되지 않은 메시지는 버퍼에서 보충
+        long lastPersisted = messages.isEmpty() ? sequence : messages.get(messages.size() - 1).getSequence();
+        chatRecentMessageBuffer.after(roomId, lastPersisted, MAX_RESUME_MESSAGES - messages.size())
+            .ifPresent(messages::addAll);
+        return messages;
+    }
+
+    private Optional<List<ChatMessageDto>> findRecentMessages(Long roomId, int limit) {
+        // 활성 채팅방(접속자 레지스트리에 로드된 채팅방)만 버퍼 사용
+        if (!chatPresenceRegistry.isTracked(roomId)) {
+            return Optional.empty();
+        }
+
+        chatRecentMessageBuffer.load(roomId, size -> toDtos(chatMessageRepository
+            .findLatestByRoomId(roomId, PageRequest.of(0, size))));
+
+        // 로드하는 사이 채팅방이 종료되었으면 버퍼 제거
+        if (!chatPresenceRegistry.isTracked(roomId)) {
+            chatRecentMessageBuffer.discard(roomId);
+            return Optional.empty();
+        }
+        return chatRecentMessageBuffer.latest(roomId, limit);
     }
 
+    /**
+     * 저장된 메시지를 DTO로 변환 (보낸 사람은 프로필 캐시에서 채우고, 캐시에 없는 사용자만 한 번에 조회)
+     *
+     * @return 변경 가능한 목록
+     */
+    private List<ChatMessageDto> toDtos(List<ChatMessage> messages) {
+        Map<Long, SenderProfile> senders = new HashMap<>();
+        List<Long> unknownUserIds = new ArrayList<>();
+        for (ChatMessage message : messages) {
+            // 지연 로딩 프록시의 ID는 초기화 없이 읽을 수 있다
+            Long userId = message.getUser().getUserId();
+            if (senders.containsKey(userId) || unknownUserIds.contains(userId)) {
+                continue;
+            }
+            chatSenderProfileCache.get(userId).ifPresentOrElse(
+                profile -> senders.put(userId, profile),
+                () -> unknownUserIds.add(userId));
+        }
+        if (!unknownUserIds.isEmpty()) {
+            for (SenderProfile profile : chatMessageRepository.findSenderProfiles(unknownUserIds)) {
+                senders.put(profile.userId(), profile);
+            }
+        }
+
+        List<ChatMessageDto> dtos = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            dtos.add(ChatMessageDto.from(message, senders.get(message.getUser().getUserId())));
+        }
+        return dtos;
+    }
+
+    /**
+     * 프로필 캐시에 없는 보낸 사람 조회 (참가 중인 채팅방 기준으로 캐시에 추가)
+     */
+    private SenderProfile loadSenderProfile(Long roomId, Long userId) {
+        long generation = chatSenderProfileCache.generation();
+        SenderProfile profile = SenderProfile.of(userService.getUserById(userId));
+        chatSenderProfileCache.put(roomId, profile, generation);
+        return profile;
+    }
+
+    private ChatHistoryCursor resolveCursor(Long roomId, String before) {
+        if (!before.chars().allMatch(Character::isDigit)) {
+            return ChatHistoryCursor.decode(before);
+        }
+
+        // messageId로 요청한 경우 해당 메시지의 created_at을 기준으로 사용
+        long messageId = Long.parseLong(before);
+        LocalDateTime createdAt = chatMessageRepository.findCreatedAtByIdAndRoomId(messageId, roomId)
+            .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다."));
+        return new ChatHistoryCursor(createdAt, messageId);
+    }
+
+    /**
+     * 메시지 삭제 (커밋 후 다른 노드의 최근 메시지 버퍼와 구독자에게도 전달)
+     *
+     * @return 이 노드의 구독자에게 보낼 삭제 알림
+     */
     @Transactional
-    public void deleteMessage(Long userId, Long messageId) {
-        ChatMessage message = chatMessageRepository.findById(messageId)
-            .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "메시지를 찾을 수 없습니다."));
+    public ChatTombstoneDto deleteMessage(Long userId, Long messageId) {
+        ChatMessage message = chatMessageRepository.findById(messageId).orElse(null);
+
+        // 아직 저장되지 않은 메시지는 저장 시 삭제 상태로 기록
+        if (message == null) {
+            OptionalLong unflushedRoomId = chatMessageWriteBehindService.deleteUnflushed(messageId, userId);
+            if (unflushedRoomId.isPresent()) {
+                log.info("Unflushed message deleted: {} by user: {}", messageId, userId);
+                return publishDeleted(unflushedRoomId.getAsLong(), messageId);
+            }
+        }
+
+        // 확인하는 사이 저장이 끝났을 수 있으므로 한 번 더 조회
+        if (message == null) {
+            message = chatMessageRepository.findById(messageId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "메시지를 찾을 수 없습니다."));
+        }
 
         // 본인의 메시지인지 확인
         if (!message.getUser().getUserId().equals(userId)) {
@@ -78,11 +379,80 @@ public class ChatMessageService {
 
         message.delete();
         log.info("Message deleted: {} by user: {}", messageId, userId);
+        return publishDeleted(message.getChatRoom().getRoomId(), messageId);
+    }
+
+    private ChatTombstoneDto publishDeleted(long roomId, long messageId) {
+        // 다른 노드는 릴레이가 최근 메시지 버퍼와 구독자에게 전달
+        TransactionUtils.afterCommit(() -> {
+            chatRecentMessageBuffer.markDeleted(roomId, List.of(messageId));
+            eventPublisher.publishEvent(new ChatMessageDeletedEvent(roomId, messageId));
+        });
+        return ChatTombstoneDto.of(roomId, List.of(messageId));
+    }
+
+    /**
+     * 채팅방에서 사용자가 보낸 메시지 일괄 삭제 (공연 주최자만 가능)
+     *
+     * 저장 대기 중인 메시지는 저장 시 삭제 상태로 기록하고, 저장된 메시지는 한 번의 UPDATE로 삭제 처리한다.
+     * 커밋 후 최근 메시지 버퍼에 반영하고 다른 노드에 알린다.
+     *
+     * @param from 이 시각 이후 메시지만 삭제 (없으면 채팅방 생성 시각부터)
+     * @param to 이 시각 이전 메시지만 삭제 (없거나 현재 이후면 현재 시각까지)
+     * @return 구독자에게 보낼 삭제 알림
+     */
+    @Transactional
+    public ChatTombstoneDto purgeUserMessages(Long moderatorId, Long roomId, Long targetUserId,
+                                              LocalDateTime from, LocalDateTime to) {
+        if (targetUserId == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "삭제할 사용자를 지정해야 합니다.");
+        }
+        ChatRoom chatRoom = chatRoomService.getOrganizedChatRoom(moderatorId, roomId, "공연 주최자만 메시지를 일괄 삭제할 수 있습니다.");
+
+        // 요청 이후에 보낸 메시지는 삭제하지 않는다
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from != null ? from : chatRoom.getCreatedAt();
+        LocalDateTime end = to != null && to.isBefore(now) ? to : now;
+        if (!start.isBefore(end)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "삭제 기간이 올바르지 않습니다.");
+        }
+
+        // 저장 대기 중인 메시지를 먼저 표시해야 조회와 UPDATE 사이에 저장되는 메시지가 빠지지 않는다
+        List<Long> unflushedIds = chatMessageWriteBehindService.deleteUnflushedByUser(roomId, targetUserId, start, end);
+        TransactionUtils.afterRollback(() -> chatMessageWriteBehindService.restoreUnflushed(unflushedIds));
+
+        // 삭제 알림에 ID가 필요하므로 정해진 크기로 나눠 조회하고 UPDATE한다
+        List<Long> purgedIds = new ArrayList<>(unflushedIds);
+        PageRequest chunk = PageRequest.of(0, PURGE_CHUNK_SIZE);
+        long afterMessageId = 0L;
+        while (true) {
+            List<Long> persistedIds = chatMessageRepository.findUndeletedIdsByUser(
+                roomId, targetUserId, start, end, afterMessageId, chunk);
+            if (persistedIds.isEmpty()) {
+                break;
+            }
+            chatMessageRepository.softDeleteAllByIds(persistedIds);
+            purgedIds.addAll(persistedIds);
+            if (persistedIds.size() < PURGE_CHUNK_SIZE) {
+                break;
+            }
+            afterMessageId = persistedIds.get(persistedIds.size() - 1);
+        }
+
+        // 다른 노드에서 받은 메시지는 이벤트를 받은 노드가 지운다
+        TransactionUtils.afterCommit(() -> {
+            chatRecentMessageBuffer.markDeleted(roomId, purgedIds);
+            eventPublisher.publishEvent(new ChatMessagesPurgedEvent(roomId, targetUserId, start, end, purgedIds));
+        });
+        log.info("Messages purged in room: {} - user: {}, count: {}, by: {}", roomId, targetUserId, purgedIds.size(), moderatorId);
+        return ChatTombstoneDto.of(roomId, purgedIds);
     }
 
     @Transactional
     public ChatParticipant joinChatRoom(Long userId, Long roomId) {
+        long profileGeneration = chatSenderProfileCache.generation();
         User user = userService.getUserById(userId);
+        SenderProfile sender = SenderProfile.of(user);
         ChatRoom chatRoom = chatRoomService.getChatRoomById(roomId);
 
         // 이미 참가 중인지 확인
@@ -98,6 +468,7 @@ public class ChatMessageService {
         if (existingParticipant != null) {
             existingParticipant.rejoin();
             chatRoomService.incrementParticipants(roomId);
+            notifyJoined(roomId, sender, profileGeneration);
             log.info("User rejoined chat room: {} - user: {}", roomId, userId);
             return existingParticipant;
         }
@@ -112,22 +483,85 @@ public class ChatMessageService {
             .build();
 
         ChatParticipant savedParticipant = chatParticipantRepository.save(participant);
+        notifyJoined(roomId, sender, profileGeneration);
         log.info("User joined chat room: {} - user: {}", roomId, userId);
 
         return savedParticipant;
     }
 
+    /**
+     * 채팅방 퇴장 (참가 중인 경우에만 퇴장 처리하고 정원 반환)
+     *
+     * heartbeat가 끊겨 먼저 퇴장 처리되었거나 퇴장 요청이 겹치면 정원을 두 번 반환하지 않도록
+     * is_active = true 조건의 UPDATE가 실제로 바꾼 경우에만 참가자 수를 줄인다.
+     */
     @Transactional
     public void leaveChatRoom(Long userId, Long roomId) {
-        User user = userService.getUserById(userId);
-        ChatRoom chatRoom = chatRoomService.getChatRoomById(roomId);
-
-        ChatParticipant participant = chatParticipantRepository.findByChatRoomAndUser(chatRoom, user)
-            .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "참가 정보를 찾을 수 없습니다."));
+        int left = chatParticipantRepository.deactivateAll(roomId, List.of(userId), LocalDateTime.now());
+        if (left == 0) {
+            if (!chatParticipantRepository.existsByRoomIdAndUserId(roomId, userId)) {
+                throw new BusinessException(ErrorCode.NOT_FOUND, "참가 정보를 찾을 수 없습니다.");
+            }
+            log.debug("User already left chat room: {} - user: {}", roomId, userId);
+            return;
+        }
 
-        participant.leave();
         chatRoomService.decrementParticipants(roomId);
+        notifyPresenceChanged(roomId, userId, false);
 
         log.info("User left chat room: {} - user: {}", roomId, userId);
     }
+
+    /**
+     * heartbeat가 끊긴 참가자 일괄 퇴장 (채팅방별 UPDATE 한 번, 실제로 퇴장 처리된 수만큼 정원 반환)
+     */
+    @Transactional
+    @EventListener
+    public void onParticipantsIdle(ChatParticipantsIdleEvent event) {
+        int left = chatParticipantRepository.deactivateAll(event.roomId(), event.userIds(), LocalDateTime.now());
+        if (left > 0) {
+            chatRoomService.releaseParticipants(event.roomId(), left);
+        }
+        for (Long userId : event.userIds()) {
+            notifyPresenceChanged(event.roomId(), userId, false);
+        }
+        log.info("Idle participants left chat room: {} - {} of {}", event.roomId(), left, event.userIds().size());
+    }
+
+    /**
+     * 프로필 변경을 이 노드의 프로필 캐시에 반영하고, 사용자가 참가 중인 활성 채팅방을 통해 다른 노드에도 알린다
+     */
+    @EventListener
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        chatSenderProfileCache.invalidate(event.userId());
+        List<Long> roomIds = chatParticipantRepository.findJoinedRoomIdsByUserId(event.userId(), ChatRoomStatus.ACTIVE);
+        if (!roomIds.isEmpty()) {
+            eventPublisher.publishEvent(new ChatSenderProfileChangedEvent(event.userId(), roomIds));
+        }
+    }
+
+    /**
+     * 입장 커밋 후 프로필 캐시에 보낸 사람 프로필 추가
+     */
+    private void notifyJoined(Long roomId, SenderProfile sender, long profileGeneration) {
+        TransactionUtils.afterCommit(() -> chatSenderProfileCache.put(roomId, sender, profileGeneration));
+        notifyPresenceChanged(roomId, sender.userId(), true);
+    }
+
+    /**
+     * 커밋 후 접속자 레지스트리에 반영하고 다른 노드에도 알리도록 이벤트 발행
+     */
+    private void notifyPresenceChanged(Long roomId, Long userId, boolean joined) {
+        TransactionUtils.afterCommit(() -> {
+            if (joined) {
+                chatPresenceRegistry.join(roomId, userId);
+                chatHeartbeatTracker.touch(roomId, userId);
+            } else {
+                chatPresenceRegistry.leave(roomId, userId);
+                chatSenderProfileCache.leave(roomId, userId);
+                chatHeartbeatTracker.remove(roomId, userId);
+            }
+            eventPublisher.publishEvent(new ChatPresenceChangedEvent(roomId, userId, joined));
+        });
+    }
 }
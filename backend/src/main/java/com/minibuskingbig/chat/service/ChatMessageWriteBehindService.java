@@ -0,0 +1,370 @@
+package com.minibuskingbig.chat.service;
+
+import com.minibuskingbig.chat.dto.PendingChatMessage;
+import com.minibuskingbig.chat.repository.ChatMessageBatchRepository;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅 메시지 쓰기 지연(write-behind) 저장 서비스
+ *
+ * 전송된 메시지는 제한된 크기의 메모리 큐에 들어간 뒤 바로 브로드캐스트되고,
+ * 전용 writer 스레드가 flush-size 또는 flush-interval 단위로 모아 JDBC 배치로 저장한다.
+ * 큐가 가득 차면 offer-timeout 동안 대기한 뒤 거부하며, 정상 종료 시 큐를 모두 비운 후 멈춘다.
+ * 배치 저장이 재시도 후에도 실패하면 한 건씩 다시 저장하고, 그래도 실패한 메시지는
+ * chat_message_dead_letters 테이블(그마저 실패하면 에러 로그)에 남긴다.
+ */
+@Slf4j
+@Service
+public class ChatMessageWriteBehindService implements SmartLifecycle {
+
+    // 웹소켓 브로커(Integer.MAX_VALUE)가 먼저 멈춘 뒤 남은 메시지를 저장하고 종료
+    private static final int WRITER_PHASE = Integer.MAX_VALUE - 1000;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 200L;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000L;
+
+    private final ChatMessageBatchRepository chatMessageBatchRepository;
+    private final ChatRoomCounterService chatRoomCounterService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingChatMessage> queue;
+    private final int flushSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+
+    // 큐에 들어갔지만 아직 커밋되지 않은 메시지 (flushLock으로 보호)
+    private final Map<Long, PendingChatMessage> unflushed = new ConcurrentHashMap<>();
+    private final Set<Long> deletedBeforeFlush = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter flushedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ChatMessageWriteBehindService(
+        ChatMessageBatchRepository chatMessageBatchRepository,
+        ChatRoomCounterService chatRoomCounterService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${chat.message.write-behind.queue-capacity:10000}") int queueCapacity,
+        @Value("${chat.message.write-behind.flush-size:200}") int flushSize,
+        @Value("${chat.message.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+        @Value("${chat.message.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+        @Value("${chat.message.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis
+    ) {
+        this.chatMessageBatchRepository = chatMessageBatchRepository;
+        this.chatRoomCounterService = chatRoomCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        meterRegistry.gauge("chat.write_behind.queue.size", queue, BlockingQueue::size);
+        this.flushedCounter = meterRegistry.counter("chat.write_behind.flushed");
+        this.rejectedCounter = meterRegistry.counter("chat.write_behind.rejected");
+        this.failedCounter = meterRegistry.counter("chat.write_behind.failed");
+        this.deadLetteredCounter = meterRegistry.counter("chat.write_behind.dead_lettered");
+    }
+
+    /**
+     * 메시지 저장 요청 (큐가 가득 차면 잠시 대기 후 거부)
+     */
+    public void enqueue(PendingChatMessage message) {
+        if (!running) {
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.CHAT_BUSY, "채팅 서버가 종료 중입니다.");
+        }
+
+        unflushed.put(message.messageId(), message);
+        boolean accepted;
+        try {
+            accepted = queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (!accepted) {
+            unflushed.remove(message.messageId());
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.CHAT_BUSY);
+        }
+    }
+
+    /**
+     * 아직 저장되지 않은 메시지 삭제 (저장 시 is_deleted = true로 기록)
+     *
+     * @return 대기 중인 메시지를 찾아 삭제 표시했으면 그 메시지의 채팅방 ID
+     */
+    public OptionalLong deleteUnflushed(long messageId, long userId) {
+        flushLock.lock();
+        try {
+            PendingChatMessage message = unflushed.get(messageId);
+            if (message == null) {
+                return OptionalLong.empty();
+            }
+            if (message.userId() != userId) {
+                throw new BusinessException(ErrorCode.FORBIDDEN, "본인의 메시지만 삭제할 수 있습니다.");
+            }
+            deletedBeforeFlush.add(messageId);
+            return OptionalLong.of(message.roomId());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방에서 사용자가 기간 안에 보낸 아직 저장되지 않은 메시지를 모두 삭제 표시
+     *
+     * @return 삭제 표시한 메시지 ID
+     */
+    public List<Long> deleteUnflushedByUser(long roomId, long userId, LocalDateTime from, LocalDateTime to) {
+        flushLock.lock();
+        try {
+            List<Long> deleted = new ArrayList<>();
+            for (PendingChatMessage message : unflushed.values()) {
+                if (message.roomId() == roomId && message.userId() == userId
+                    && !message.createdAt().isBefore(from) && message.createdAt().isBefore(to)
+                    && deletedBeforeFlush.add(message.messageId())) {
+                    deleted.add(message.messageId());
+                }
+            }
+            return deleted;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 삭제 표시 취소 (일괄 삭제 트랜잭션이 롤백된 경우)
+     */
+    public void restoreUnflushed(List<Long> messageIds) {
+        flushLock.lock();
+        try {
+            messageIds.forEach(deletedBeforeFlush::remove);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "chat-message-writer");
+        writerThread.start();
+        log.info("Chat message writer started (flushSize: {}, flushInterval: {}ms)", flushSize, flushIntervalMillis);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writerThread.isAlive()) {
+            log.error("Chat message writer did not finish in {}ms - {} messages left", shutdownTimeoutMillis, queue.size());
+        } else {
+            log.info("Chat message writer stopped - queue drained");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WRITER_PHASE;
+    }
+
+    private void runWriter() {
+        List<PendingChatMessage> batch = new ArrayList<>(flushSize);
+
+        // 종료 요청 후에도 큐가 빌 때까지 계속 저장
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingChatMessage first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // 종료는 running 플래그로만 제어하므로 모은 메시지를 저장하고 계속 비운다
+                log.warn("Chat message writer interrupted - continuing until queue is drained");
+            }
+
+            try {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (Exception e) {
+                log.error("Unexpected error in chat message writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * flush-size가 찰 때까지, 또는 첫 메시지로부터 flush-interval이 지날 때까지 모은다 (group commit)
+     */
+    private void collectBatch(List<PendingChatMessage> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                return;
+            }
+
+            PendingChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * 배치 저장 (재시도 대기 중에는 flushLock을 놓아 삭제 요청이 막히지 않게 한다)
+     *
+     * DB에 연결할 수 없어 트랜잭션을 시작하지 못하면(TransactionException) 실행 중에는 배치를 버리지 않고 계속 재시도한다.
+     * 그동안 큐가 차면 enqueue가 CHAT_BUSY로 거부한다.
+     */
+    private void flush(List<PendingChatMessage> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writeBatch(batch);
+                onPersisted(batch);
+                log.debug("Flushed {} chat messages", batch.size());
+                return;
+            } catch (RuntimeException e) {
+                boolean unavailable = e instanceof TransactionException;
+                if (attempt >= MAX_WRITE_ATTEMPTS && !(unavailable && running)) {
+                    log.error("Failed to persist {} chat messages after {} attempts - retrying one by one", batch.size(), attempt, e);
+                    writeOneByOne(batch);
+                    return;
+                }
+                log.warn("Failed to persist chat messages (attempt {}) - retrying", attempt, e);
+                long backoffMillis = Math.min(RETRY_BACKOFF_MILLIS * attempt, MAX_RETRY_BACKOFF_MILLIS);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+            }
+        }
+    }
+
+    /**
+     * 저장과 대기 목록 정리를 한 번에 처리 (사이에 들어온 삭제 요청이 빠지지 않도록)
+     */
+    private void writeBatch(List<PendingChatMessage> batch) {
+        flushLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                chatMessageBatchRepository.insertAll(batch, deletedBeforeFlush));
+            batch.forEach(this::forget);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 배치 중 문제가 되는 행만 골라내기 위해 한 건씩 별도 트랜잭션으로 저장
+     * 저장하지 못한 메시지는 dead-letter로 옮기며, 어느 쪽이든 끝나면 대기 목록에서 제거한다.
+     */
+    private void writeOneByOne(List<PendingChatMessage> batch) {
+        List<PendingChatMessage> persisted = new ArrayList<>(batch.size());
+        for (PendingChatMessage message : batch) {
+            flushLock.lock();
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    chatMessageBatchRepository.insertAll(List.of(message), deletedBeforeFlush));
+                persisted.add(message);
+            } catch (RuntimeException e) {
+                deadLetter(message, e);
+            } finally {
+                forget(message);
+                flushLock.unlock();
+            }
+        }
+        onPersisted(persisted);
+        log.info("Persisted {}/{} chat messages one by one", persisted.size(), batch.size());
+    }
+
+    private void forget(PendingChatMessage message) {
+        unflushed.remove(message.messageId());
+        deletedBeforeFlush.remove(message.messageId());
+    }
+
+    private void deadLetter(PendingChatMessage message, RuntimeException cause) {
+        failedCounter.increment();
+        boolean deleted = deletedBeforeFlush.contains(message.messageId());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                chatMessageBatchRepository.insertDeadLetter(message, deleted, errorMessageOf(cause)));
+            deadLetteredCounter.increment();
+            log.warn("Chat message moved to dead letters: messageId={}", message.messageId(), cause);
+        } catch (RuntimeException e) {
+            // 마지막 수단: 수동 복구할 수 있도록 메시지 전체를 로그로 남긴다
+            log.error("Chat message lost - failed to write dead letter: {}, deleted={}", message, deleted, e);
+        }
+    }
+
+    private static String errorMessageOf(RuntimeException cause) {
+        Throwable root = cause instanceof NestedRuntimeException nested ? nested.getMostSpecificCause() : cause;
+        return root.getMessage();
+    }
+
+    private void onPersisted(List<PendingChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> countsByRoom = new HashMap<>();
+        for (PendingChatMessage message : messages) {
+            countsByRoom.merge(message.roomId(), 1, Integer::sum);
+        }
+        flushedCounter.increment(messages.size());
+        // total_messages는 카운터 서비스가 주기적으로 반영
+        countsByRoom.forEach(chatRoomCounterService::addMessages);
+    }
+}
@@ -0,0 +1,15 @@
+package com.minibuskingbig.chat.service;
+
+/**
+ * 메시지 ID에 넣는 노드 ID 발급
+ *
+ * 같은 시각에 두 노드가 같은 노드 ID를 쓰면 메시지 ID(기본 키)가 겹치므로, 여러 노드가 함께 동작할 때는
+ * 노드마다 서로 다른 ID를 받아야 한다.
+ */
+public interface ChatNodeIdAllocator {
+
+    /**
+     * 지금 이 노드가 쓸 수 있는 노드 ID (0 ~ ChatMessageIdGenerator.MAX_NODE_ID)
+     */
+    long currentNodeId();
+}
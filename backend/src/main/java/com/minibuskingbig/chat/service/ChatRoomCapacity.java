@@ -0,0 +1,29 @@
+package com.minibuskingbig.chat.service;
+
+/**
+ * 여러 노드에 걸친 채팅방 정원 예약
+ *
+ * 노드마다 메모리 카운터로만 정원을 확인하면 노드 수만큼 정원을 넘겨 입장시킬 수 있으므로,
+ * 여러 노드가 함께 동작할 때는 모든 노드가 공유하는 카운터에서 자리를 예약한다.
+ */
+public interface ChatRoomCapacity {
+
+    /**
+     * 모든 노드가 공유하는 카운터로 정원을 확인하는지 여부 (false면 노드의 메모리 카운터로 확인)
+     */
+    boolean isShared();
+
+    /**
+     * 정원 안이면 한 자리 예약
+     *
+     * @param loadedParticipants 공유 카운터가 없을 때 시작할 참가자 수 (DB의 current_participants)
+     */
+    boolean tryAcquire(long roomId, int loadedParticipants, int maxParticipants);
+
+    void release(long roomId, int count);
+
+    /**
+     * 채팅방 종료 시 카운터 제거
+     */
+    void remove(long roomId);
+}
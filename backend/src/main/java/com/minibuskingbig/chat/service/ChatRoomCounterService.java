@@ -0,0 +1,211 @@
+package com.minibuskingbig.chat.service;
+
+import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.repository.ChatRoomCounterRepository;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅방 참가자 수/메시지 수 카운터
+ *
+ * 엔티티를 읽고 고쳐 쓰는 대신 메모리 카운터로 집계하고, 주기적으로 한 번의 배치 UPDATE로 반영한다.
+ * 참가자 수는 CAS로 증가시켜 동시 입장이 몰려도 maxParticipants를 넘지 않는다.
+ * 여러 노드가 함께 동작하면 노드별 카운터로는 정원을 지킬 수 없으므로 ChatRoomCapacity(Redis)에서 자리를 예약하고,
+ * 메모리 카운터는 DB에 반영할 변화량만 센다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomCounterService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomCounterRepository chatRoomCounterRepository;
+    private final ChatRoomCapacity chatRoomCapacity;
+
+    private final Map<Long, RoomCounters> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 입장 가능 여부 확인 후 참가자 수 증가 (정원 초과 시 false)
+     */
+    public boolean tryAdmit(Long roomId) {
+        RoomCounters room = getCounters(roomId);
+        AtomicInteger participants = room.participants;
+
+        if (chatRoomCapacity.isShared()) {
+            if (!chatRoomCapacity.tryAcquire(roomId, room.loadedParticipants, room.maxParticipants)) {
+                return false;
+            }
+            participants.incrementAndGet();
+            return true;
+        }
+
+        while (true) {
+            int current = participants.get();
+            if (current >= room.maxParticipants) {
+                return false;
+            }
+            if (participants.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 참가자 수 감소 (0 미만으로 내려가지 않음)
+     */
+    public void release(Long roomId) {
+        release(roomId, 1);
+    }
+
+    /**
+     * 참가자 수를 count만큼 감소 (0 미만으로 내려가지 않음)
+     */
+    public void release(Long roomId, int count) {
+        AtomicInteger participants = getCounters(roomId).participants;
+
+        if (chatRoomCapacity.isShared()) {
+            chatRoomCapacity.release(roomId, count);
+            // 다른 노드에서 입장한 참가자도 퇴장할 수 있으므로 변화량만 센다 (DB 반영 시 0 미만은 0으로)
+            participants.addAndGet(-count);
+            return;
+        }
+
+        while (true) {
+            int current = participants.get();
+            if (current <= 0 || participants.compareAndSet(current, Math.max(0, current - count))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 저장된 메시지 수 반영
+     */
+    public void addMessages(Long roomId, int count) {
+        getCounters(roomId).pendingMessages.add(count);
+    }
+
+    public int getCurrentParticipants(Long roomId) {
+        RoomCounters room = counters.get(roomId);
+        return room == null ? 0 : room.participants.get();
+    }
+
+    /**
+     * 변경된 카운터를 chat_rooms에 반영
+     */
+    @Scheduled(fixedDelayString = "${chat.counter.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<ChatRoomCounterRepository.CounterDelta> deltas = new ArrayList<>();
+            counters.forEach((roomId, room) -> {
+                ChatRoomCounterRepository.CounterDelta delta = room.takeDelta(roomId);
+                if (delta != null) {
+                    deltas.add(delta);
+                }
+            });
+
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            try {
+                chatRoomCounterRepository.applyDeltas(deltas);
+            } catch (RuntimeException e) {
+                // 반영하지 못한 변화량은 다음 주기에 다시 시도
+                for (ChatRoomCounterRepository.CounterDelta delta : deltas) {
+                    RoomCounters room = counters.get(delta.roomId());
+                    if (room != null) {
+                        room.restoreDelta(delta);
+                    }
+                }
+                log.error("Failed to flush chat room counters for {} rooms", deltas.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 채팅방 종료 시 카운터를 반영하고 제거
+     */
+    public void evict(Long roomId) {
+        flushLock.lock();
+        try {
+            flush();
+            counters.remove(roomId);
+            chatRoomCapacity.remove(roomId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private RoomCounters getCounters(Long roomId) {
+        RoomCounters room = counters.get(roomId);
+        if (room != null) {
+            return room;
+        }
+
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+            .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "채팅방을 찾을 수 없습니다."));
+        RoomCounters loaded = new RoomCounters(chatRoom.getCurrentParticipants(), chatRoom.getMaxParticipants());
+        RoomCounters existing = counters.putIfAbsent(roomId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static final class RoomCounters {
+
+        private final AtomicInteger participants;
+        private final int maxParticipants;
+        // 처음 로드할 때의 DB 참가자 수 (공유 카운터의 시작값)
+        private final int loadedParticipants;
+        private final LongAdder pendingMessages = new LongAdder();
+
+        // 마지막으로 DB에 반영한 참가자 수 (flushLock으로 보호)
+        private int flushedParticipants;
+
+        RoomCounters(int participants, int maxParticipants) {
+            this.participants = new AtomicInteger(participants);
+            this.maxParticipants = maxParticipants;
+            this.loadedParticipants = participants;
+            this.flushedParticipants = participants;
+        }
+
+        ChatRoomCounterRepository.CounterDelta takeDelta(Long roomId) {
+            int current = participants.get();
+            int participantDelta = current - flushedParticipants;
+            long messageDelta = pendingMessages.sumThenReset();
+
+            if (participantDelta == 0 && messageDelta == 0) {
+                return null;
+            }
+            flushedParticipants = current;
+            return new ChatRoomCounterRepository.CounterDelta(roomId, participantDelta, messageDelta);
+        }
+
+        void restoreDelta(ChatRoomCounterRepository.CounterDelta delta) {
+            flushedParticipants -= delta.participantDelta();
+            pendingMessages.add(delta.messageDelta());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.minibuskingbig.chat.service;
+
+/**
+ * 채팅방별 메시지 순번 발급
+ *
+ * 채팅방에 수락된 메시지마다 1부터 증가하는 순번을 발급한다.
+ * 클라이언트는 마지막으로 받은 순번을 resume-from 헤더로 보내 재연결 시 놓친 메시지만 받는다.
+ */
+public interface ChatRoomSequencer {
+
+    long next(long roomId);
+}
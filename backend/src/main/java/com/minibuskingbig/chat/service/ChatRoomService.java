@@ -1,17 +1,33 @@
 package com.minibuskingbig.chat.service;
 
+import com.minibuskingbig.chat.dto.ChatRateLimitSettings;
 import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.entity.ChatRoomHostingMode;
 import com.minibuskingbig.chat.entity.ChatRoomStatus;
+import com.minibuskingbig.chat.history.ChatRecentMessageBuffer;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator;
+import com.minibuskingbig.chat.presence.ChatHeartbeatTracker;
+import com.minibuskingbig.chat.presence.ChatPresenceRegistry;
+import com.minibuskingbig.chat.profile.ChatSenderProfileCache;
+import com.minibuskingbig.chat.profile.SenderProfile;
+import com.minibuskingbig.chat.ratelimit.ChatRateLimitChangedEvent;
+import com.minibuskingbig.chat.ratelimit.ChatRateLimiter;
+import com.minibuskingbig.chat.reaction.ChatReactionAggregator;
+import com.minibuskingbig.chat.repository.ChatParticipantRepository;
 import com.minibuskingbig.chat.repository.ChatRoomRepository;
 import com.minibuskingbig.common.exception.BusinessException;
 import com.minibuskingbig.common.exception.ErrorCode;
+import com.minibuskingbig.common.util.TransactionUtils;
 import com.minibuskingbig.event.entity.Event;
 import com.minibuskingbig.event.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -20,6 +36,16 @@ public class ChatRoomService {
 
     private final ChatRoomRepository chatRoomRepository;
     private final EventRepository eventRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatPresenceRegistry chatPresenceRegistry;
+    private final ChatHeartbeatTracker chatHeartbeatTracker;
+    private final ChatSenderProfileCache chatSenderProfileCache;
+    private final ChatRoomCounterService chatRoomCounterService;
+    private final ChatRecentMessageBuffer chatRecentMessageBuffer;
+    private final ChatRateLimiter chatRateLimiter;
+    private final ChatReactionAggregator chatReactionAggregator;
+    private final ChatClientMessageDeduplicator chatClientMessageDeduplicator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ChatRoom createChatRoom(Long eventId) {
@@ -59,36 +85,131 @@ public class ChatRoomService {
     public void activateChatRoom(Long roomId, String containerId, String containerArn, String websocketUrl) {
         ChatRoom chatRoom = getChatRoomById(roomId);
         chatRoom.activate(containerId, containerArn, websocketUrl);
+
+        // 접속자 목록을 chat_participants 기준으로 다시 구성
+        TransactionUtils.afterCommit(() -> chatPresenceRegistry.reload(roomId, () -> loadActiveParticipants(roomId)));
         log.info("Chat room activated: {} with container: {}", roomId, containerId);
     }
 
+    /**
+     * 컨테이너 없이 애플리케이션 안에서 호스팅하는 채팅방으로 활성화
+     */
+    @Transactional
+    public void activateInProcess(Long roomId, String websocketUrl) {
+        ChatRoom chatRoom = getChatRoomById(roomId);
+        chatRoom.hostInProcess(websocketUrl);
+
+        TransactionUtils.afterCommit(() -> chatPresenceRegistry.reload(roomId, () -> loadActiveParticipants(roomId)));
+        log.info("Chat room activated in process: {}", roomId);
+    }
+
     @Transactional
     public void closeChatRoom(Long roomId) {
         ChatRoom chatRoom = getChatRoomById(roomId);
         chatRoom.close();
+        TransactionUtils.afterCommit(() -> discardLocalState(roomId));
         log.info("Chat room closed: {}", roomId);
     }
 
+    /**
+     * 이 노드 메모리에 있는 채팅방 상태 정리 (접속자, heartbeat, 카운터, 최근 메시지, 전송률, 프로필, 리액션, 중복 확인)
+     */
+    public void discardLocalState(Long roomId) {
+        chatPresenceRegistry.remove(roomId);
+        chatHeartbeatTracker.discard(roomId);
+        chatRoomCounterService.evict(roomId);
+        chatRecentMessageBuffer.discard(roomId);
+        chatRateLimiter.discard(roomId);
+        chatSenderProfileCache.discard(roomId);
+        chatReactionAggregator.discard(roomId);
+        chatClientMessageDeduplicator.discard(roomId);
+    }
+
+    /**
+     * 채팅방 상태와 컨테이너 Task가 예상한 값일 때만 상태 변경
+     *
+     * @return 변경했으면 true (다른 노드가 먼저 처리했으면 false)
+     */
     @Transactional
-    public void incrementParticipants(Long roomId) {
+    public boolean compareAndSetStatus(Long roomId, String containerArn, ChatRoomStatus expected, ChatRoomStatus next) {
+        return chatRoomRepository.compareAndSetStatus(roomId, containerArn, expected, next) == 1;
+    }
+
+    /**
+     * 호스팅 방식과 채팅방 상태가 예상한 값일 때만 상태 변경 (컨테이너 Task가 없는 채팅방)
+     *
+     * @return 변경했으면 true (다른 노드가 먼저 처리했으면 false)
+     */
+    @Transactional
+    public boolean compareAndSetStatus(Long roomId, ChatRoomHostingMode hostingMode, ChatRoomStatus expected, ChatRoomStatus next) {
+        return chatRoomRepository.compareAndSetHostedStatus(roomId, hostingMode, expected, next) == 1;
+    }
+
+    /**
+     * 채팅방 전송률/슬로우 모드 변경 (공연 주최자만 가능)
+     */
+    public ChatRateLimitSettings updateRateLimit(Long userId, Long roomId, ChatRateLimitSettings request) {
+        getOrganizedChatRoom(userId, roomId, "공연 주최자만 변경할 수 있습니다.");
+
+        chatRateLimiter.configure(roomId, request.getBurst(), request.getSustainedPerMinute(), request.getSlowModeSeconds());
+        ChatRateLimitSettings settings = chatRateLimiter.getSettings(roomId);
+        eventPublisher.publishEvent(new ChatRateLimitChangedEvent(roomId, settings));
+        return settings;
+    }
+
+    /**
+     * 공연 주최자가 관리하는 채팅방 조회 (주최자가 아니면 FORBIDDEN)
+     */
+    public ChatRoom getOrganizedChatRoom(Long userId, Long roomId, String deniedMessage) {
         ChatRoom chatRoom = getChatRoomById(roomId);
+        Event event = chatRoom.getEvent();
+        if (event.getSinger() == null || !event.getSinger().getUser().getUserId().equals(userId)) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, deniedMessage);
+        }
+        return chatRoom;
+    }
+
+    /**
+     * 채팅방 접속자 목록을 메모리에 로드 (재시작 등으로 로드되지 않은 활성 채팅방)
+     */
+    public void loadPresence(Long roomId) {
+        chatPresenceRegistry.load(roomId, () -> loadActiveParticipants(roomId));
+    }
 
-        if (chatRoom.isFull()) {
+    /**
+     * 활성 참가자 조회 (참가자 프로필도 함께 읽어 프로필 캐시를 채운다)
+     */
+    private long[] loadActiveParticipants(Long roomId) {
+        long generation = chatSenderProfileCache.generation();
+        List<SenderProfile> participants = chatParticipantRepository.findActiveSenderProfilesByRoomId(roomId);
+        chatSenderProfileCache.putAll(roomId, participants, generation);
+        return participants.stream()
+            .mapToLong(SenderProfile::userId)
+            .toArray();
+    }
+
+    /**
+     * 참가자 수 증가 (정원 확인은 CAS로 원자적으로 처리, 롤백 시 되돌림)
+     */
+    public void incrementParticipants(Long roomId) {
+        if (!chatRoomCounterService.tryAdmit(roomId)) {
             throw new BusinessException(ErrorCode.CHAT_ROOM_FULL);
         }
-
-        chatRoom.incrementParticipants();
+        TransactionUtils.afterRollback(() -> chatRoomCounterService.release(roomId));
     }
 
-    @Transactional
+    /**
+     * 참가자 수 감소 (롤백 시 되돌림)
+     */
     public void decrementParticipants(Long roomId) {
-        ChatRoom chatRoom = getChatRoomById(roomId);
-        chatRoom.decrementParticipants();
+        chatRoomCounterService.release(roomId);
+        TransactionUtils.afterRollback(() -> chatRoomCounterService.tryAdmit(roomId));
     }
 
-    @Transactional
-    public void incrementMessageCount(Long roomId) {
-        ChatRoom chatRoom = getChatRoomById(roomId);
-        chatRoom.incrementMessageCount();
+    /**
+     * 여러 참가자가 한 번에 퇴장한 만큼 참가자 수 감소 (커밋 후 반영)
+     */
+    public void releaseParticipants(Long roomId, int count) {
+        TransactionUtils.afterCommit(() -> chatRoomCounterService.release(roomId, count));
     }
 }
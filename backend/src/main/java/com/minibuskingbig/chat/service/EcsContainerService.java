@@ -1,75 +1,58 @@
 package com.minibuskingbig.chat.service;
 
+import com.minibuskingbig.chat.container.ChatContainerPool;
+import com.minibuskingbig.chat.container.EcsTaskLauncher;
+import com.minibuskingbig.chat.container.PooledChatContainer;
 import com.minibuskingbig.chat.entity.ChatRoom;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.ecs.EcsClient;
-import software.amazon.awssdk.services.ecs.model.*;
+import software.amazon.awssdk.services.ecs.model.Task;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EcsContainerService {
 
-    private final EcsClient ecsClient;
-    private final ChatRoomService chatRoomService;
-
-    @Value("${aws.ecs.cluster-name:minibusking-chat-cluster}")
-    private String clusterName;
-
-    @Value("${aws.ecs.task-definition:minibusking-chat-task}")
-    private String taskDefinition;
-
-    @Value("${aws.ecs.subnet-id}")
-    private String subnetId;
+    private static final String STARTED_BY = "minibusking-chat-room";
 
-    @Value("${aws.ecs.security-group-id}")
-    private String securityGroupId;
+    private final EcsTaskLauncher ecsTaskLauncher;
+    private final ChatContainerPool chatContainerPool;
+    private final ChatRoomService chatRoomService;
 
     /**
      * 채팅 컨테이너 시작
+     * 미리 실행해 둔 컨테이너가 있으면 채팅방에 배정만 하고, 없으면 새로 실행한다.
      */
     public void startChatContainer(Long roomId) {
         try {
+            Optional<PooledChatContainer> pooled = chatContainerPool.acquire();
+            if (pooled.isPresent()) {
+                PooledChatContainer container = pooled.get();
+                log.info("Assigning pooled ECS container to room: {} - ARN: {}", roomId, container.taskArn());
+
+                // 컨테이너는 ROOM_ID 태그로 담당 채팅방을 안다
+                ecsTaskLauncher.assignRoom(container.taskArn(), roomId);
+                chatRoomService.activateChatRoom(roomId, container.containerId(), container.taskArn(),
+                    EcsTaskLauncher.websocketUrl(container.containerId()));
+                return;
+            }
+
             log.info("Starting ECS container for room: {}", roomId);
 
-            // 컨테이너 환경 변수 설정
-            Map<String, String> environment = new HashMap<>();
-            environment.put("ROOM_ID", String.valueOf(roomId));
-            environment.put("REDIS_HOST", "redis-host"); // Redis 호스트 설정 필요
-
-            // Task 실행
-            RunTaskRequest runTaskRequest = RunTaskRequest.builder()
-                .cluster(clusterName)
-                .taskDefinition(taskDefinition)
-                .launchType(LaunchType.FARGATE)
-                .networkConfiguration(NetworkConfiguration.builder()
-                    .awsvpcConfiguration(AwsVpcConfiguration.builder()
-                        .subnets(subnetId)
-                        .securityGroups(securityGroupId)
-                        .assignPublicIp(AssignPublicIp.ENABLED)
-                        .build())
-                    .build())
-                .count(1)
-                .build();
-
-            RunTaskResponse response = ecsClient.runTask(runTaskRequest);
-
-            if (response.hasTasks() && !response.tasks().isEmpty()) {
-                Task task = response.tasks().get(0);
-                String taskArn = task.taskArn();
-                String containerId = extractContainerIdFromArn(taskArn);
+            // Task 실행 (풀이 비었거나 꺼져 있으면 Fargate 시작을 기다린다)
+            List<Task> tasks = ecsTaskLauncher.runTasks(1, STARTED_BY, roomId);
 
-                // WebSocket URL 생성 (실제로는 로드 밸런서 또는 공개 IP 사용)
-                String websocketUrl = String.format("ws://container-%s.minibusking.com/ws", containerId);
+            if (!tasks.isEmpty()) {
+                Task task = tasks.get(0);
+                String taskArn = task.taskArn();
+                String containerId = EcsTaskLauncher.containerId(taskArn);
 
                 // ChatRoom 활성화
-                chatRoomService.activateChatRoom(roomId, containerId, taskArn, websocketUrl);
+                chatRoomService.activateChatRoom(roomId, containerId, taskArn, EcsTaskLauncher.websocketUrl(containerId));
 
                 log.info("ECS container started successfully for room: {} - ARN: {}", roomId, taskArn);
             } else {
@@ -96,13 +79,7 @@ public class EcsContainerService {
 
             log.info("Stopping ECS container for room: {} - ARN: {}", roomId, chatRoom.getContainerArn());
 
-            StopTaskRequest stopTaskRequest = StopTaskRequest.builder()
-                .cluster(clusterName)
-                .task(chatRoom.getContainerArn())
-                .reason("Chat room closed")
-                .build();
-
-            ecsClient.stopTask(stopTaskRequest);
+            ecsTaskLauncher.stopTask(chatRoom.getContainerArn(), "Chat room closed");
 
             // ChatRoom 종료
             chatRoomService.closeChatRoom(roomId);
@@ -120,15 +97,10 @@ public class EcsContainerService {
      */
     public String getContainerStatus(String taskArn) {
         try {
-            DescribeTasksRequest request = DescribeTasksRequest.builder()
-                .cluster(clusterName)
-                .tasks(taskArn)
-                .build();
-
-            DescribeTasksResponse response = ecsClient.describeTasks(request);
+            List<Task> tasks = ecsTaskLauncher.describeTasks(List.of(taskArn));
 
-            if (response.hasTasks() && !response.tasks().isEmpty()) {
-                return response.tasks().get(0).lastStatus();
+            if (!tasks.isEmpty()) {
+                return tasks.get(0).lastStatus();
             }
 
             return "UNKNOWN";
@@ -139,15 +111,6 @@ public class EcsContainerService {
         }
     }
 
-    /**
-     * Task ARN에서 Container ID 추출
-     */
-    private String extractContainerIdFromArn(String taskArn) {
-        // arn:aws:ecs:region:account-id:task/cluster-name/task-id
-        String[] parts = taskArn.split("/");
-        return parts[parts.length - 1];
-    }
-
     /**
      * 컨테이너 비용 계산 (시간당)
      */
@@ -0,0 +1,27 @@
+package com.minibuskingbig.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 노드 ID (chat.node-id, 지정하지 않으면 0)
+ */
+@Component
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalChatNodeIdAllocator implements ChatNodeIdAllocator {
+
+    private final long nodeId;
+
+    public LocalChatNodeIdAllocator(@Value("${chat.node-id:-1}") long nodeId) {
+        if (nodeId > ChatMessageIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException("chat.node-id must be between 0 and " + ChatMessageIdGenerator.MAX_NODE_ID);
+        }
+        this.nodeId = Math.max(0, nodeId);
+    }
+
+    @Override
+    public long currentNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.minibuskingbig.chat.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 정원 확인 (ChatRoomCounterService의 메모리 카운터가 정원을 보장하므로 따로 예약하지 않음)
+ */
+@Component
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalChatRoomCapacity implements ChatRoomCapacity {
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public boolean tryAcquire(long roomId, int loadedParticipants, int maxParticipants) {
+        return true;
+    }
+
+    @Override
+    public void release(long roomId, int count) {
+    }
+
+    @Override
+    public void remove(long roomId) {
+    }
+}
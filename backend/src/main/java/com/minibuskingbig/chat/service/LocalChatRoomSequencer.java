@@ -0,0 +1,33 @@
+package com.minibuskingbig.chat.service;
+
+import com.minibuskingbig.chat.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단일 노드용 메모리 순번 발급기 (채팅방을 처음 사용할 때 DB의 마지막 순번에서 시작)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.relay.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalChatRoomSequencer implements ChatRoomSequencer {
+
+    private final ChatMessageRepository chatMessageRepository;
+
+    private final Map<Long, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    @Override
+    public long next(long roomId) {
+        AtomicLong sequence = sequences.get(roomId);
+        if (sequence == null) {
+            sequence = sequences.computeIfAbsent(roomId,
+                id -> new AtomicLong(chatMessageRepository.findMaxSequenceByRoomId(id)));
+        }
+        return sequence.incrementAndGet();
+    }
+}
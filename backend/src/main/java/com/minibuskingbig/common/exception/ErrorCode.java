@@ -47,6 +47,10 @@ public enum ErrorCode {
     CHAT_NOT_ENABLED(HttpStatus.BAD_REQUEST, "CH001", "채팅이 활성화되지 않았습니다."),
     CHAT_NOT_PAID(HttpStatus.PAYMENT_REQUIRED, "CH002", "채팅 요금이 결제되지 않았습니다."),
     CHAT_ROOM_FULL(HttpStatus.BAD_REQUEST, "CH003", "채팅방이 가득 찼습니다."),
+    CHAT_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "CH004", "채팅 메시지가 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "CH005", "메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_ARCHIVE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "CH006", "보관된 채팅 기록을 불러올 수 없습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_MESSAGE_BLOCKED(HttpStatus.BAD_REQUEST, "CH007", "허용되지 않는 내용이 포함되어 메시지를 보낼 수 없습니다."),
 
     // Payment
     PAYMENT_FAILED(HttpStatus.BAD_REQUEST, "P001", "결제에 실패했습니다."),
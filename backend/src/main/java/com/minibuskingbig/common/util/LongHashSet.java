@@ -0,0 +1,172 @@
+package com.minibuskingbig.common.util;
+
+import java.util.Arrays;
+
+/**
+ * 박싱 없이 long 값을 저장하는 open addressing 해시 셋
+ *
+ * 동기화하지 않으므로 호출하는 쪽에서 락으로 보호해야 한다.
+ * 0은 빈 슬롯 표시로 사용하므로 별도 플래그로 관리한다.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] slots;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        this.slots = new long[tableSizeFor(expectedSize)];
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+
+        long[] table = slots;
+        int mask = table.length - 1;
+        for (int index = indexOf(value, mask); ; index = (index + 1) & mask) {
+            long slot = table[index];
+            if (slot == EMPTY) {
+                return false;
+            }
+            if (slot == value) {
+                return true;
+            }
+        }
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+        int index = indexOf(value, mask);
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        slots[index] = value;
+        size++;
+        if (size > slots.length * LOAD_FACTOR) {
+            resize(slots.length << 1);
+        }
+        return true;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+
+        int mask = slots.length - 1;
+        int index = indexOf(value, mask);
+        while (slots[index] != value) {
+            if (slots[index] == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        slots[index] = EMPTY;
+        size--;
+        shiftBack(index, mask);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+
+    public long[] toArray() {
+        long[] values = new long[size];
+        int position = 0;
+        if (containsZero) {
+            values[position++] = EMPTY;
+        }
+        for (long slot : slots) {
+            if (slot != EMPTY) {
+                values[position++] = slot;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 삭제된 슬롯 뒤의 항목을 당겨 탐색 체인이 끊기지 않도록 한다 (backward shift deletion)
+     */
+    private void shiftBack(int deleted, int mask) {
+        int index = (deleted + 1) & mask;
+        while (slots[index] != EMPTY) {
+            int home = indexOf(slots[index], mask);
+            // home이 (deleted, index] 구간 밖이면 deleted 자리로 옮길 수 있다
+            if (((index - home) & mask) >= ((index - deleted) & mask)) {
+                slots[deleted] = slots[index];
+                slots[index] = EMPTY;
+                deleted = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = indexOf(value, mask);
+                while (slots[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = value;
+            }
+        }
+    }
+
+    // 테스트에서 충돌하는 값을 고를 수 있도록 package-private
+    static int indexOf(long value, int mask) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,13 @@
+package com.minibuskingbig.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링 설정 클래스.
+ * 채팅방 카운터 반영 등 주기 작업에 사용한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,127 @@
+package com.minibuskingbig.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 실행 설정 클래스.
+ * virtual-threads.enabled=true일 때 Tomcat 요청 처리, MVC 비동기 처리(SSE 포함),
+ * STOMP clientInbound/clientOutbound 채널을 가상 스레드에서 실행한다.
+ *
+ * DataSource는 {@link ConcurrencyLimitedDataSource}로 감싸 커넥션 대기 시간을 제한한다.
+ * JDBC 드라이버의 synchronized 구간에서 carrier 스레드가 모두 고정될 수 있으면
+ * virtual-threads.jdbc-limit-to-carriers=true로 한도를 carrier 수 - 1 이하로 낮춘다.
+ * 고정 지점 확인: -Djdk.tracePinnedThreads=short
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer, WebSocketMessageBrokerConfigurer {
+
+    private static final String PARALLELISM_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+
+    private final int channelConcurrency;
+
+    public VirtualThreadConfig(@Value("${virtual-threads.channel-concurrency:256}") int channelConcurrency) {
+        this.channelConcurrency = channelConcurrency;
+    }
+
+    /**
+     * Tomcat 요청 처리 스레드를 요청마다 새 가상 스레드로 교체
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tomcat-handler-", 0).factory()));
+    }
+
+    /**
+     * DataSource를 동시 사용 수 제한 DataSource로 감싸기
+     * 0이면 커넥션 풀 크기(HikariCP maximumPoolSize)를 사용하고, 풀 크기를 알 수 없으면 감싸지 않는다.
+     * jdbc-limit-to-carriers=true면 carrier 스레드 수 - 1 (최소 1)을 넘지 않게 낮춘다.
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            @Value("${virtual-threads.jdbc-max-concurrency:0}") int jdbcMaxConcurrency,
+            @Value("${virtual-threads.jdbc-limit-to-carriers:false}") boolean jdbcLimitToCarriers,
+            @Value("${virtual-threads.jdbc-acquire-timeout-ms:30000}") long jdbcAcquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                int maxConcurrency = jdbcMaxConcurrency > 0 ? jdbcMaxConcurrency : ConcurrencyLimitedDataSource.poolSizeOf(dataSource);
+                if (jdbcLimitToCarriers) {
+                    int carrierLimit = Math.max(1, carrierParallelism() - 1);
+                    maxConcurrency = maxConcurrency > 0 ? Math.min(maxConcurrency, carrierLimit) : carrierLimit;
+                }
+                if (maxConcurrency <= 0) {
+                    log.info("JDBC concurrency of '{}' is not limited - pool size unknown", beanName);
+                    return bean;
+                }
+                log.info("Limiting JDBC concurrency of '{}' to {} for virtual threads", beanName, maxConcurrency);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, jdbcAcquireTimeoutMs);
+            }
+        };
+    }
+
+    /**
+     * MVC 비동기 처리(Callable, StreamingResponseBody 등)를 가상 스레드에서 실행
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mvc-async-", 0).factory())));
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("stomp-inbound-"));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("stomp-outbound-"));
+    }
+
+    /**
+     * 가상 스레드로 채운 채널 실행기
+     * ChannelRegistration은 ThreadPoolTaskExecutor만 받으므로 스레드 팩토리만 가상 스레드로 바꾸고,
+     * 풀 크기는 채널별 동시 처리 수 상한으로 사용한다.
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        executor.setCorePoolSize(channelConcurrency);
+        executor.setMaxPoolSize(channelConcurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static int carrierParallelism() {
+        String parallelism = System.getProperty(PARALLELISM_PROPERTY);
+        if (parallelism != null) {
+            try {
+                return Integer.parseInt(parallelism);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid {}: {}", PARALLELISM_PROPERTY, parallelism);
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -2,6 +2,7 @@ package com.minibuskingbig.event.service;
 
 import com.minibuskingbig.common.exception.BusinessException;
 import com.minibuskingbig.common.exception.ErrorCode;
+import com.minibuskingbig.common.util.TransactionUtils;
 import com.minibuskingbig.event.dto.EventCreateRequest;
 import com.minibuskingbig.event.dto.EventUpdateRequest;
 import com.minibuskingbig.event.entity.Event;
@@ -13,6 +14,7 @@ import com.minibuskingbig.team.entity.Team;
 import com.minibuskingbig.team.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ public class EventService {
     private final EventRepository eventRepository;
     private final SingerProfileRepository singerProfileRepository;
     private final TeamRepository teamRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Event createEvent(Long userId, EventCreateRequest request) {
@@ -126,6 +129,7 @@ public class EventService {
         }
 
         event.cancelEvent();
+        publishStatusChanged(event);
         log.info("Event cancelled: {}", eventId);
     }
 
@@ -138,6 +142,7 @@ public class EventService {
         }
 
         event.startEvent();
+        publishStatusChanged(event);
         log.info("Event started: {}", eventId);
     }
 
@@ -150,6 +155,7 @@ public class EventService {
         }
 
         event.endEvent();
+        publishStatusChanged(event);
         log.info("Event ended: {}", eventId);
     }
 
@@ -158,4 +164,12 @@ public class EventService {
         Event event = getEventById(eventId);
         event.incrementViewCount();
     }
+
+    /**
+     * 공연 상태 변경을 커밋 후 알림 (채팅방 호스팅 시작/해제)
+     */
+    private void publishStatusChanged(Event event) {
+        EventStatusChangedEvent changed = new EventStatusChangedEvent(event.getEventId(), event.getStatus());
+        TransactionUtils.afterCommit(() -> eventPublisher.publishEvent(changed));
+    }
 }
@@ -0,0 +1,9 @@
+package com.minibuskingbig.event.service;
+
+import com.minibuskingbig.event.entity.EventStatus;
+
+/**
+ * 공연 시작/종료/취소 이벤트 (커밋 후 발행)
+ */
+public record EventStatusChangedEvent(long eventId, EventStatus status) {
+}
@@ -104,6 +104,24 @@ public class User extends BaseTimeEntity {
         this.lastLoginAt = LocalDateTime.now();
     }
 
+    /**
+     * 닉네임/프로필 이미지 변경 (null은 기존 값 유지)
+     *
+     * @return 값이 바뀌었으면 true
+     */
+    public boolean updateProfile(String nickname, String profileImageUrl) {
+        boolean changed = false;
+        if (nickname != null && !nickname.equals(this.nickname)) {
+            this.nickname = nickname;
+            changed = true;
+        }
+        if (profileImageUrl != null && !profileImageUrl.equals(this.profileImageUrl)) {
+            this.profileImageUrl = profileImageUrl;
+            changed = true;
+        }
+        return changed;
+    }
+
     public void purchaseAdFree() {
         this.adFree = true;
         this.adFreePurchasedAt = LocalDateTime.now();
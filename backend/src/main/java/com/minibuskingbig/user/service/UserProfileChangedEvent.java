@@ -0,0 +1,7 @@
+package com.minibuskingbig.user.service;
+
+/**
+ * 사용자 닉네임/프로필 이미지 변경 이벤트 (커밋 후 발행)
+ */
+public record UserProfileChangedEvent(long userId) {
+}
@@ -2,11 +2,13 @@ package com.minibuskingbig.user.service;
 
 import com.minibuskingbig.common.exception.BusinessException;
 import com.minibuskingbig.common.exception.ErrorCode;
+import com.minibuskingbig.common.util.TransactionUtils;
 import com.minibuskingbig.user.entity.SocialProvider;
 import com.minibuskingbig.user.entity.User;
 import com.minibuskingbig.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,7 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User getUserById(Long userId) {
         return userRepository.findById(userId)
@@ -30,11 +33,20 @@ public class UserService {
             .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
     }
 
+    /**
+     * 소셜 로그인 사용자 생성 또는 갱신
+     *
+     * 기존 사용자는 소셜 계정의 닉네임/프로필 이미지가 바뀌었으면 반영하고, 커밋 후 프로필 변경 이벤트를 발행한다.
+     */
     @Transactional
     public User createOrUpdateUser(SocialProvider provider, String socialId, String email, String nickname, String profileImageUrl) {
         return userRepository.findBySocialProviderAndSocialId(provider, socialId)
             .map(existingUser -> {
                 existingUser.updateLastLogin();
+                if (existingUser.updateProfile(nickname, profileImageUrl)) {
+                    Long userId = existingUser.getUserId();
+                    TransactionUtils.afterCommit(() -> eventPublisher.publishEvent(new UserProfileChangedEvent(userId)));
+                }
                 return existingUser;
             })
             .orElseGet(() -> {
@@ -0,0 +1,6 @@
+-- 채팅 히스토리 keyset 조회용 인덱스
+-- room_id 동등 조건 + created_at 역순 스캔 중 is_deleted 필터를 인덱스 안에서 처리한다 (message_id는 PK로 포함)
+CREATE INDEX idx_room_history ON chat_messages (room_id, created_at, is_deleted);
+
+-- idx_room (room_id, created_at)은 위 인덱스의 prefix이므로 제거
+DROP INDEX idx_room ON chat_messages;
@@ -0,0 +1,4 @@
+-- 채팅방별 메시지 순번 (재연결 시 resume-from 이후 메시지 조회)
+ALTER TABLE chat_messages ADD COLUMN room_seq BIGINT NULL AFTER room_id;
+
+CREATE INDEX idx_room_seq ON chat_messages (room_id, room_seq);
@@ -0,0 +1,17 @@
+-- 종료된 채팅방 메시지 보관 세그먼트 (세그먼트 파일은 로컬 디스크 또는 S3에 저장)
+CREATE TABLE chat_archive_segments (
+    segment_id BIGINT NOT NULL AUTO_INCREMENT,
+    room_id BIGINT NOT NULL,
+    segment_no INT NOT NULL,
+    storage_key VARCHAR(255) NOT NULL,
+    message_count INT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    first_created_at DATETIME(6) NOT NULL,
+    first_message_id BIGINT NOT NULL,
+    last_created_at DATETIME(6) NOT NULL,
+    last_message_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (segment_id),
+    UNIQUE KEY uk_room_segment (room_id, segment_no)
+);
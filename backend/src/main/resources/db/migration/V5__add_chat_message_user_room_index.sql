@@ -0,0 +1,6 @@
+-- 채팅방 안의 특정 사용자 메시지 일괄 삭제(moderation)용 인덱스
+-- user_id, room_id 동등 조건 + created_at 범위를 인덱스 안에서 처리한다
+CREATE INDEX idx_user_room ON chat_messages (user_id, room_id, created_at);
+
+-- idx_user (user_id)는 위 인덱스의 prefix이므로 제거 (user_id 외래 키는 새 인덱스를 사용)
+DROP INDEX idx_user ON chat_messages;
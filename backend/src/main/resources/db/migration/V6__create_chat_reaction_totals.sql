@@ -0,0 +1,8 @@
+-- 채팅방 리액션 종류별 누적 수 (리액션은 행으로 저장하지 않고 노드별로 메모리에서 집계한 변화량을 주기적으로 더한다)
+CREATE TABLE chat_reaction_totals (
+    room_id BIGINT NOT NULL,
+    reaction_type VARCHAR(20) NOT NULL,
+    total BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (room_id, reaction_type)
+);
@@ -0,0 +1,4 @@
+-- 채팅방 호스팅 방식 (CONTAINER: 공연별 컨테이너, IN_PROCESS: 애플리케이션 안의 채팅방 액터)
+ALTER TABLE chat_rooms ADD COLUMN hosting_mode VARCHAR(20) NOT NULL DEFAULT 'CONTAINER' AFTER status;
+
+CREATE INDEX idx_status_hosting_mode ON chat_rooms (status, hosting_mode);
@@ -0,0 +1,15 @@
+-- write-behind 배치 저장과 한 건씩 재시도에 모두 실패한 채팅 메시지 (수동 확인 후 chat_messages로 옮긴다)
+CREATE TABLE chat_message_dead_letters (
+    message_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    room_seq BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    message_type VARCHAR(20) NOT NULL,
+    content TEXT,
+    is_deleted BOOLEAN NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    error_message VARCHAR(500),
+    failed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (message_id),
+    KEY idx_room_created (room_id, created_at)
+);
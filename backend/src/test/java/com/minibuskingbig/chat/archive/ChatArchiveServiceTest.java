@@ -0,0 +1,185 @@
+package com.minibuskingbig.chat.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.minibuskingbig.chat.dto.ChatHistoryCursor;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.ChatArchiveSegment;
+import com.minibuskingbig.chat.entity.MessageType;
+import com.minibuskingbig.chat.repository.ChatArchiveSegmentRepository;
+import com.minibuskingbig.chat.repository.ChatMessageArchiveRepository;
+import com.minibuskingbig.chat.repository.ChatMessageArchiveRepository.ArchiveRow;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 메시지 보관 서비스 테스트.
+ */
+class ChatArchiveServiceTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 19, 0);
+
+    private final ChatArchiveSegmentRepository segmentRepository = mock(ChatArchiveSegmentRepository.class);
+    private final ChatMessageArchiveRepository messageArchiveRepository = mock(ChatMessageArchiveRepository.class);
+    private final InMemoryStorage storage = new InMemoryStorage();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // 테이블에 남아 있는 메시지 (created_at, message_id 순)
+    private final List<ArchiveRow> table = new ArrayList<>();
+    private final List<ChatArchiveSegment> segments = new ArrayList<>();
+
+    // chunk 3개, 세그먼트당 최대 5개
+    private final ChatArchiveService archiveService = new ChatArchiveService(
+        mock(ChatRoomRepository.class), segmentRepository, messageArchiveRepository, storage, objectMapper,
+        true, 24, 3, 5);
+
+    @BeforeEach
+    void setUp() {
+        when(messageArchiveRepository.findAfter(eq(ROOM_ID), any(), anyInt())).thenAnswer(invocation -> {
+            ChatHistoryCursor after = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return table.stream()
+                .filter(row -> after == null || after.isBefore(row.cursor()))
+                .limit(limit)
+                .toList();
+        });
+        when(messageArchiveRepository.deleteUpTo(eq(ROOM_ID), any(), anyInt())).thenAnswer(invocation -> {
+            ChatHistoryCursor upTo = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            List<ArchiveRow> deleted = table.stream()
+                .filter(row -> !upTo.isBefore(row.cursor()))
+                .limit(limit)
+                .toList();
+            table.removeAll(deleted);
+            return deleted.size();
+        });
+        when(segmentRepository.save(any(ChatArchiveSegment.class))).thenAnswer(invocation -> {
+            segments.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(segmentRepository.findTopByRoomIdOrderBySegmentNoDesc(anyLong())).thenAnswer(invocation ->
+            segments.stream().max(Comparator.comparing(ChatArchiveSegment::getSegmentNo)));
+        when(segmentRepository.findByRoomIdOrderBySegmentNoDesc(anyLong())).thenAnswer(invocation ->
+            segments.stream().sorted(Comparator.comparing(ChatArchiveSegment::getSegmentNo).reversed()).toList());
+    }
+
+    /**
+     * 세그먼트 보관 테스트.
+     */
+    @Test
+    @DisplayName("메시지를 세그먼트로 나눠 보관하고 삭제된 메시지는 빼고 테이블에서 모두 지워야 함")
+    void should_write_segments_and_empty_table_when_room_archived() throws Exception {
+        givenMessages(12);
+        table.set(3, new ArchiveRow(table.get(3).message(), true));
+
+        int archived = archiveService.archiveRoom(ROOM_ID);
+
+        assertThat(archived).isEqualTo(11);
+        assertThat(table).isEmpty();
+        assertThat(segments).extracting(ChatArchiveSegment::getSegmentNo).containsExactly(1, 2);
+        assertThat(segments).extracting(ChatArchiveSegment::getMessageCount).containsExactly(5, 6);
+        assertThat(segments.get(0).getLastMessageId()).isEqualTo(6L);
+    }
+
+    /**
+     * 보관 메시지 조회 테스트.
+     */
+    @Test
+    @DisplayName("보관된 메시지를 세그먼트를 넘나들며 커서 이전부터 최신순으로 조회해야 함")
+    void should_read_archived_messages_newest_first_across_segments_when_cursor_given() throws Exception {
+        givenMessages(12);
+        archiveService.archiveRoom(ROOM_ID);
+
+        List<ChatMessageDto> latest = archiveService.findBefore(ROOM_ID, null, 3);
+        assertThat(latest).extracting(ChatMessageDto::getMessageId).containsExactly(12L, 11L, 10L);
+
+        ChatHistoryCursor cursor = ChatHistoryCursor.from(latest.get(latest.size() - 1));
+        List<ChatMessageDto> next = archiveService.findBefore(ROOM_ID, cursor, 5);
+        assertThat(next).extracting(ChatMessageDto::getMessageId).containsExactly(9L, 8L, 7L, 6L, 5L);
+        assertThat(next.get(0).getContent()).isEqualTo("앵콜 9");
+    }
+
+    /**
+     * 중단 후 재보관 테스트.
+     */
+    @Test
+    @DisplayName("세그먼트 저장 후 삭제 전에 중단되어도 다시 실행하면 중복 없이 이어서 보관해야 함")
+    void should_resume_without_duplicates_when_previous_run_stopped_before_delete() throws Exception {
+        givenMessages(4);
+        archiveService.archiveRoom(ROOM_ID);
+        // 이전 실행에서 지우지 못한 메시지와 그 이후 새 메시지
+        givenMessages(6);
+
+        int archived = archiveService.archiveRoom(ROOM_ID);
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(table).isEmpty();
+        assertThat(archiveService.findBefore(ROOM_ID, null, 100))
+            .extracting(ChatMessageDto::getMessageId)
+            .containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    private void givenMessages(int count) {
+        table.clear();
+        for (long id = 1; id <= count; id++) {
+            table.add(new ArchiveRow(ChatMessageDto.builder()
+                .messageId(id)
+                .roomId(ROOM_ID)
+                .sequence(id)
+                .userId(42L)
+                .userNickname("버스킹팬")
+                .messageType(MessageType.CHAT)
+                .content("앵콜 " + id)
+                .createdAt(BASE_TIME.plusSeconds(id / 2))
+                .build(), false));
+        }
+    }
+
+    private static class InMemoryStorage implements ChatArchiveStorage {
+
+        private final Map<String, byte[]> objects = new HashMap<>();
+
+        @Override
+        public OutputStream create(String key) {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    objects.put(key, toByteArray());
+                }
+            };
+        }
+
+        @Override
+        public InputStream open(String key) throws FileNotFoundException {
+            byte[] object = Optional.ofNullable(objects.get(key)).orElseThrow(() -> new FileNotFoundException(key));
+            return new ByteArrayInputStream(object);
+        }
+    }
+}
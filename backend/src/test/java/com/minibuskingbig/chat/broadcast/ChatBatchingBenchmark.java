@@ -0,0 +1,161 @@
+package com.minibuskingbig.chat.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.TextMessage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 묶음 전송 벤치마크
+ *
+ * 한 묶음 간격(window) 동안 들어온 메시지를 구독자 전원에게 보내는 비용을 메시지마다 프레임을 보내는 경우와
+ * 배열 프레임 하나로 묶어 보내는 경우로 비교한다. 1 op = 한 window 분량의 전송이다.
+ * 소켓 쓰기는 프레임을 버퍼에 복사하는 것으로 대신하므로, 실제 환경에서는 프레임마다 드는 시스템 콜 비용이 더해진다.
+ * 보조 카운터로 초당 전송 프레임 수(frames)와 iteration별 스레드 CPU 시간 합계(cpuNanos / operations = op당 CPU)를 함께 출력한다.
+ *
+ * 실행: mvn -Pbenchmark -DskipTests verify -Dbenchmark.includes=ChatBatchingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatBatchingBenchmark {
+
+    private static final long ROOM_ID = 1L;
+    private static final String DESTINATION = ChatBroadcastEngine.ROOM_DESTINATION_PREFIX + ROOM_ID;
+
+    @Param({"100", "1000"})
+    private int subscribers;
+
+    // 100ms window 기준 초당 200개, 1000개
+    @Param({"20", "100"})
+    private int messagesPerWindow;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final ByteBuffer socketBuffer = ByteBuffer.allocate(1 << 20);
+    private List<byte[]> bodies;
+    private long messageSequence;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class FrameCounters {
+
+        public long frames;
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            frames = 0;
+            bytes = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuCounters {
+
+        public long cpuNanos;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cpuNanos = 0;
+            operations = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        bodies = new ArrayList<>(messagesPerWindow);
+        for (int i = 0; i < messagesPerWindow; i++) {
+            ChatMessageDto message = ChatMessageDto.builder()
+                .messageId(123456789L + i)
+                .roomId(ROOM_ID)
+                .sequence((long) i + 1)
+                .userId(42L + i)
+                .userDisplayId("busker_fan_" + i)
+                .userNickname("버스킹팬" + i)
+                .messageType(MessageType.CHAT)
+                .content("앵콜! 앵콜! " + i)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 19, 30))
+                .build();
+            bodies.add(objectMapper.writeValueAsBytes(message));
+        }
+    }
+
+    /**
+     * 메시지마다 구독자 전원에게 프레임 전송
+     */
+    @Benchmark
+    public void singleFrames(FrameCounters counters, CpuCounters cpu) {
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (byte[] body : bodies) {
+            ChatBroadcastFrame frame = encode(body);
+            for (int i = 0; i < subscribers; i++) {
+                write(frame.forSubscription("sub-0"), counters);
+            }
+        }
+        cpu.cpuNanos += threadMXBean.getCurrentThreadCpuTime() - start;
+        cpu.operations++;
+    }
+
+    /**
+     * window 동안의 메시지를 배열 프레임 하나로 묶어 구독자 전원에게 전송
+     */
+    @Benchmark
+    public void batchedFrames(FrameCounters counters, CpuCounters cpu) {
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        List<ChatBroadcastFrame> frames = new ArrayList<>(bodies.size());
+        for (byte[] body : bodies) {
+            frames.add(encode(body));
+        }
+        ChatBroadcastFrame batch = ChatBroadcastFrame.encodeBatch(DESTINATION, String.valueOf(++messageSequence), frames);
+        for (int i = 0; i < subscribers; i++) {
+            write(batch.forSubscription("sub-0"), counters);
+        }
+        cpu.cpuNanos += threadMXBean.getCurrentThreadCpuTime() - start;
+        cpu.operations++;
+    }
+
+    private ChatBroadcastFrame encode(byte[] body) {
+        messageSequence++;
+        return ChatBroadcastFrame.encode(DESTINATION, String.valueOf(messageSequence), messageSequence, body);
+    }
+
+    private void write(TextMessage frame, FrameCounters counters) {
+        byte[] payload = frame.asBytes();
+        socketBuffer.clear();
+        socketBuffer.put(payload, 0, Math.min(payload.length, socketBuffer.capacity()));
+        counters.frames++;
+        counters.bytes += payload.length;
+    }
+}
@@ -0,0 +1,157 @@
+package com.minibuskingbig.chat.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 브로드캐스트 인코딩 벤치마크
+ *
+ * 기존 경로(SimpMessagingTemplate.convertAndSend → 심플 브로커 → 세션마다 STOMP 인코딩)와
+ * 메시지당 한 번만 인코딩하는 ChatBroadcastFrame 경로의 메시지당 비용을 구독자 수별로 비교한다.
+ * 실제 소켓 전송은 제외하고 구독자에게 보낼 TextMessage를 만드는 데까지만 측정한다.
+ *
+ * 실행: mvn -Pbenchmark -DskipTests verify -Dbenchmark.includes=ChatBroadcastBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatBroadcastBenchmark {
+
+    private static final long ROOM_ID = 1L;
+    private static final String DESTINATION = ChatBroadcastEngine.ROOM_DESTINATION_PREFIX + ROOM_ID;
+
+    @Param({"10", "100", "1000"})
+    private int subscribers;
+
+    private ObjectMapper objectMapper;
+    private ChatMessageDto message;
+    private String[] subscriptionIds;
+
+    private SimpleBrokerMessageHandler brokerHandler;
+    private SimpMessagingTemplate messagingTemplate;
+    private Blackhole outboundBlackhole;
+    private long messageSequence;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        message = ChatMessageDto.builder()
+            .messageId(123456789L)
+            .roomId(ROOM_ID)
+            .userId(42L)
+            .userDisplayId("busker_fan")
+            .userNickname("버스킹팬")
+            .userProfileImageUrl("https://cdn.minibuskingbig.com/profile/42.png")
+            .messageType(MessageType.CHAT)
+            .content("오늘 공연 너무 좋아요! 앵콜 부탁드려요")
+            .createdAt(LocalDateTime.of(2024, 5, 1, 19, 30))
+            .build();
+
+        // stomp.js 클라이언트는 보통 첫 구독에 sub-0을 사용한다
+        subscriptionIds = new String[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            subscriptionIds[i] = "sub-0";
+        }
+
+        outboundBlackhole = blackhole;
+        setUpSimpleBroker();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        brokerHandler.stop();
+    }
+
+    /**
+     * 기존 경로: convertAndSend 후 심플 브로커가 구독마다 메시지를 복사하고 StompSubProtocolHandler처럼 세션마다 인코딩
+     */
+    @Benchmark
+    public void convertAndSend() {
+        messagingTemplate.convertAndSend(DESTINATION, message);
+    }
+
+    /**
+     * 새 경로: JSON 직렬화와 프레임 인코딩을 한 번만 하고 구독마다 같은 프레임을 재사용
+     */
+    @Benchmark
+    public void serializeOnce(Blackhole blackhole) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(message);
+        ChatBroadcastFrame frame = ChatBroadcastFrame.encode(DESTINATION, String.valueOf(++messageSequence), messageSequence, body);
+        for (String subscriptionId : subscriptionIds) {
+            blackhole.consume(frame.forSubscription(subscriptionId));
+        }
+    }
+
+    private void setUpSimpleBroker() {
+        StompEncoder stompEncoder = new StompEncoder();
+        ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+
+        // StompSubProtocolHandler.handleMessageToClient와 같은 세션별 인코딩
+        MessageChannel clientOutboundChannel = (outbound, timeout) -> {
+            SimpMessageHeaderAccessor simpAccessor = SimpMessageHeaderAccessor.wrap(outbound);
+            StompHeaderAccessor stompAccessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            stompAccessor.setDestination(simpAccessor.getDestination());
+            stompAccessor.setSubscriptionId(simpAccessor.getSubscriptionId());
+            stompAccessor.setMessageId(String.valueOf(++messageSequence));
+            stompAccessor.setContentType(simpAccessor.getContentType());
+            byte[] payload = (byte[]) outbound.getPayload();
+            outboundBlackhole.consume(new TextMessage(stompEncoder.encode(stompAccessor.getMessageHeaders(), payload)));
+            return true;
+        };
+
+        brokerHandler = new SimpleBrokerMessageHandler(clientInboundChannel, clientOutboundChannel, brokerChannel, List.of("/topic"));
+        brokerHandler.start();
+
+        for (int i = 0; i < subscribers; i++) {
+            SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            subscribe.setSessionId("session-" + i);
+            subscribe.setSubscriptionId(subscriptionIds[i]);
+            subscribe.setDestination(DESTINATION);
+            brokerHandler.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+        }
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(converter);
+    }
+}
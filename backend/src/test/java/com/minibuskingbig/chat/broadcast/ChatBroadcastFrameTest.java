@@ -0,0 +1,93 @@
+package com.minibuskingbig.chat.broadcast;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사전 인코딩 STOMP 프레임 테스트.
+ */
+class ChatBroadcastFrameTest {
+
+    private static final byte[] BODY = "{\"content\":\"안녕하세요\"}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 프레임 형식 테스트.
+     */
+    @Test
+    @DisplayName("스프링 STOMP 디코더로 읽을 수 있는 MESSAGE 프레임을 만들어야 함")
+    void should_produce_decodable_message_frame_when_subscription_patched() {
+        ChatBroadcastFrame frame = ChatBroadcastFrame.encode("/topic/chat/7", "42", 0L, BODY);
+
+        Message<byte[]> decoded = decode(frame.forSubscription("sub:1"));
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(decoded);
+
+        assertThat(accessor.getCommand()).isEqualTo(StompCommand.MESSAGE);
+        assertThat(accessor.getDestination()).isEqualTo("/topic/chat/7");
+        assertThat(accessor.getSubscriptionId()).isEqualTo("sub:1");
+        assertThat(accessor.getMessageId()).isEqualTo("42");
+        assertThat(accessor.getContentLength()).isEqualTo(BODY.length);
+        assertThat(decoded.getPayload()).isEqualTo(BODY);
+    }
+
+    /**
+     * 순번 헤더 테스트.
+     */
+    @Test
+    @DisplayName("채팅방 순번이 있으면 sequence 헤더를 포함해야 함")
+    void should_include_sequence_header_when_sequence_assigned() {
+        ChatBroadcastFrame frame = ChatBroadcastFrame.encode("/topic/chat/7", "42", 15L, BODY);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(decode(frame.forSubscription("sub-0")));
+
+        assertThat(accessor.getFirstNativeHeader(ChatBroadcastFrame.SEQUENCE_HEADER)).isEqualTo("15");
+        assertThat(frame.getSequence()).isEqualTo(15L);
+    }
+
+    /**
+     * 묶음 프레임 테스트.
+     */
+    @Test
+    @DisplayName("여러 메시지 본문을 JSON 배열 하나로 묶고 batch-size 헤더를 포함해야 함")
+    void should_join_bodies_into_json_array_when_batch_encoded() {
+        ChatBroadcastFrame first = ChatBroadcastFrame.encode("/topic/chat/7", "1", 1L, "{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        ChatBroadcastFrame second = ChatBroadcastFrame.encode("/topic/chat/7", "2", 2L, "{\"b\":2}".getBytes(StandardCharsets.UTF_8));
+
+        ChatBroadcastFrame batch = ChatBroadcastFrame.encodeBatch("/topic/chat/7", "3", List.of(first, second));
+        Message<byte[]> decoded = decode(batch.forSubscription("sub-0"));
+
+        assertThat(new String(decoded.getPayload(), StandardCharsets.UTF_8)).isEqualTo("[{\"a\":1},{\"b\":2}]");
+        assertThat(StompHeaderAccessor.wrap(decoded).getFirstNativeHeader(ChatBroadcastFrame.BATCH_SIZE_HEADER)).isEqualTo("2");
+        assertThat(batch.getSequence()).isZero();
+    }
+
+    /**
+     * 프레임 재사용 테스트.
+     */
+    @Test
+    @DisplayName("같은 subscription id에는 같은 프레임 인스턴스를 재사용해야 함")
+    void should_reuse_frame_when_subscription_id_repeats() {
+        ChatBroadcastFrame frame = ChatBroadcastFrame.encode("/topic/chat/7", "42", 0L, BODY);
+
+        TextMessage first = frame.forSubscription("sub-0");
+
+        assertThat(frame.forSubscription("sub-0")).isSameAs(first);
+        assertThat(frame.forSubscription("sub-1")).isNotSameAs(first);
+    }
+
+    private Message<byte[]> decode(TextMessage frame) {
+        List<Message<byte[]>> messages = new StompDecoder().decode(ByteBuffer.wrap(frame.asBytes()));
+        assertThat(messages).hasSize(1);
+        return messages.get(0);
+    }
+}
@@ -0,0 +1,184 @@
+package com.minibuskingbig.chat.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.dto.ChatTombstoneDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * compact 전송 형식 인코더 테스트.
+ */
+class ChatCompactEncoderTest {
+
+    private static final long ROOM_ID = 7L;
+    private static final String DESTINATION = ChatBroadcastEngine.ROOM_DESTINATION_PREFIX + ROOM_ID;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ChatCompactEncoder encoder = new ChatCompactEncoder(objectMapper, 2);
+
+    /**
+     * 프로필 사전 테스트.
+     */
+    @Test
+    @DisplayName("처음 보는 사용자는 PROFILE 항목을 보내고 다시 보내면 ref만 보내야 함")
+    void should_reference_profile_when_sender_repeats() throws Exception {
+        List<Object> first = decode(encoder.encode(ROOM_ID, List.of(frame(message(1L, 42L, "앵콜!")))));
+        List<Object> second = decode(encoder.encode(ROOM_ID, List.of(frame(message(2L, 42L, "한 곡 더!")))));
+
+        assertThat(first).containsExactly(
+            List.of(1L, 1L, 42L, "fan_42", "팬42", "https://img/42"),
+            List.of(0L, 1L, "1", 1L, 0L, "앵콜!", 1714591800000L));
+        assertThat(second).containsExactly(
+            List.of(0L, 2L, "2", 1L, 0L, "한 곡 더!", 1714591800000L));
+        assertThat(encoder.getDictionarySize(ROOM_ID)).isEqualTo(1);
+    }
+
+    /**
+     * 사전 스냅샷 테스트.
+     */
+    @Test
+    @DisplayName("스냅샷에는 지금까지 정의한 프로필이 ref 순서대로 들어 있어야 함")
+    void should_contain_defined_profiles_when_snapshot_taken() throws Exception {
+        encoder.encode(ROOM_ID, List.of(frame(message(1L, 42L, "a")), frame(message(2L, 43L, "b"))));
+
+        assertThat(decode(encoder.snapshot(ROOM_ID))).containsExactly(
+            List.of(1L, 1L, 42L, "fan_42", "팬42", "https://img/42"),
+            List.of(1L, 2L, 43L, "fan_43", "팬43", "https://img/43"));
+        assertThat(decode(encoder.snapshot(99L))).isEmpty();
+    }
+
+    /**
+     * 사전 크기 제한 테스트.
+     */
+    @Test
+    @DisplayName("사전이 가득 차면 새 사용자는 임시 ref로 매번 프로필을 보내야 함")
+    void should_use_temporary_ref_when_dictionary_full() throws Exception {
+        encoder.encode(ROOM_ID, List.of(frame(message(1L, 42L, "a")), frame(message(2L, 43L, "b"))));
+
+        List<Object> entries = decode(encoder.encode(ROOM_ID, List.of(frame(message(3L, 44L, "c")))));
+
+        assertThat(entries).containsExactly(
+            List.of(1L, 0L, 44L, "fan_44", "팬44", "https://img/44"),
+            List.of(0L, 3L, "3", 0L, 0L, "c", 1714591800000L));
+        assertThat(encoder.getDictionarySize(ROOM_ID)).isEqualTo(2);
+    }
+
+    /**
+     * 개별 전송 테스트.
+     */
+    @Test
+    @DisplayName("구독 하나에만 보내는 본문은 사전을 바꾸지 않아야 함")
+    void should_not_mutate_dictionary_when_encoding_private() throws Exception {
+        List<Object> entries = decode(encoder.encodePrivate(ROOM_ID, List.of(frame(message(1L, 42L, "a")))));
+
+        assertThat(entries).containsExactly(
+            List.of(1L, 0L, 42L, "fan_42", "팬42", "https://img/42"),
+            List.of(0L, 1L, "1", 0L, 0L, "a", 1714591800000L));
+        assertThat(encoder.getDictionarySize(ROOM_ID)).isZero();
+    }
+
+    /**
+     * 삭제 알림 테스트.
+     */
+    @Test
+    @DisplayName("릴레이된 JSON 삭제 알림도 TOMBSTONE 항목으로 보내야 함")
+    void should_encode_tombstone_when_relayed_as_json() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(ChatTombstoneDto.of(ROOM_ID, List.of(5L, 300L)));
+        ChatBroadcastFrame relayed = ChatBroadcastFrame.encode(DESTINATION, "t-1", 0L, body);
+
+        assertThat(decode(encoder.encode(ROOM_ID, List.of(relayed)))).containsExactly(
+            List.of(2L, List.of("5", "300")));
+    }
+
+    private ChatBroadcastFrame frame(ChatMessageDto message) throws Exception {
+        return ChatBroadcastFrame.encode(DESTINATION, String.valueOf(message.getMessageId()), message.getSequence(),
+            objectMapper.writeValueAsBytes(message), message);
+    }
+
+    private static ChatMessageDto message(long sequence, long userId, String content) {
+        return ChatMessageDto.builder()
+            .messageId(sequence)
+            .roomId(ROOM_ID)
+            .sequence(sequence)
+            .userId(userId)
+            .userDisplayId("fan_" + userId)
+            .userNickname("팬" + userId)
+            .userProfileImageUrl("https://img/" + userId)
+            .messageType(MessageType.CHAT)
+            .content(content)
+            .createdAt(LocalDateTime.of(2024, 5, 1, 19, 30))
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        Object root = read(buffer);
+        assertThat(buffer.hasRemaining()).isFalse();
+        return (List<Object>) root;
+    }
+
+    /**
+     * 테스트용 MessagePack 디코더 (인코더가 쓰는 형식만 지원, 정수는 Long으로 읽는다)
+     */
+    private static Object read(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if (type <= 0x7f) {
+            return (long) type;
+        }
+        if (type >= 0xe0) {
+            return (long) (byte) type;
+        }
+        if ((type & 0xf0) == 0x90) {
+            return readArray(buffer, type & 0x0f);
+        }
+        if ((type & 0xe0) == 0xa0) {
+            return readString(buffer, type & 0x1f);
+        }
+        return switch (type) {
+            case 0xc0 -> null;
+            case 0xcc -> (long) (buffer.get() & 0xff);
+            case 0xcd -> (long) (buffer.getShort() & 0xffff);
+            case 0xce -> buffer.getInt() & 0xffffffffL;
+            case 0xcf -> buffer.getLong();
+            case 0xd0 -> (long) buffer.get();
+            case 0xd1 -> (long) buffer.getShort();
+            case 0xd2 -> (long) buffer.getInt();
+            case 0xd3 -> buffer.getLong();
+            case 0xd9 -> readString(buffer, buffer.get() & 0xff);
+            case 0xda -> readString(buffer, buffer.getShort() & 0xffff);
+            case 0xdb -> readString(buffer, buffer.getInt());
+            case 0xdc -> readArray(buffer, buffer.getShort() & 0xffff);
+            case 0xdd -> readArray(buffer, buffer.getInt());
+            default -> throw new IllegalStateException("Unsupported MessagePack type: " + Integer.toHexString(type));
+        };
+    }
+
+    private static List<Object> readArray(ByteBuffer buffer, int size) {
+        List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(read(buffer));
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package com.minibuskingbig.chat.broadcast;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 묶음 전송 테스트.
+ */
+class ChatRoomBatcherTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // 초당 5개 이상이면 묶고 2개 미만이면 해제, 최대 4개씩
+    private final ChatBroadcastBatching batching = new ChatBroadcastBatching(true, 5, 2, 100, 4);
+    private final List<List<Long>> sentBatches = new ArrayList<>();
+    private final ChatRoomBatcher batcher = new ChatRoomBatcher(batching, (roomId, frames) ->
+        sentBatches.add(frames.stream().map(ChatBroadcastFrame::getSequence).toList()));
+
+    /**
+     * 묶음 모드 진입 테스트.
+     */
+    @Test
+    @DisplayName("전송률이 기준을 넘으면 이후 메시지를 모아 flush 때 순서대로 보내야 함")
+    void should_coalesce_messages_when_rate_crosses_threshold() {
+        List<Long> direct = new ArrayList<>();
+        for (long sequence = 1; sequence <= 6; sequence++) {
+            if (!batcher.offer(ROOM_ID, frame(sequence), sequence * MILLIS)) {
+                direct.add(sequence);
+            }
+        }
+
+        assertThat(direct).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(batcher.isBatching(ROOM_ID)).isTrue();
+        assertThat(sentBatches).isEmpty();
+
+        batcher.flush(100 * MILLIS);
+
+        assertThat(sentBatches).containsExactly(List.of(5L, 6L));
+    }
+
+    /**
+     * 최대 묶음 크기 테스트.
+     */
+    @Test
+    @DisplayName("묶음이 최대 크기에 닿으면 flush를 기다리지 않고 보내야 함")
+    void should_send_immediately_when_batch_is_full() {
+        for (long sequence = 1; sequence <= 12; sequence++) {
+            batcher.offer(ROOM_ID, frame(sequence), sequence * MILLIS);
+        }
+
+        assertThat(sentBatches).containsExactly(List.of(5L, 6L, 7L, 8L), List.of(9L, 10L, 11L, 12L));
+    }
+
+    /**
+     * 묶음 모드 해제 테스트.
+     */
+    @Test
+    @DisplayName("전송률이 해제 기준 아래로 내려가면 남은 묶음을 보낸 뒤 다시 메시지마다 보내야 함")
+    void should_resume_single_frames_when_rate_drops() {
+        for (long sequence = 1; sequence <= 6; sequence++) {
+            batcher.offer(ROOM_ID, frame(sequence), sequence * MILLIS);
+        }
+
+        // 첫 창(초당 약 6개)이 끝날 때까지는 묶음 모드 유지
+        batcher.flush(500 * MILLIS);
+        batcher.offer(ROOM_ID, frame(7), 1_500 * MILLIS);
+        assertThat(batcher.isBatching(ROOM_ID)).isTrue();
+
+        // 다음 창(1.5초~2.6초)에는 메시지가 1개뿐
+        batcher.flush(2_600 * MILLIS);
+
+        assertThat(batcher.isBatching(ROOM_ID)).isFalse();
+        assertThat(sentBatches).containsExactly(List.of(5L, 6L), List.of(7L));
+        assertThat(batcher.offer(ROOM_ID, frame(8), 2_700 * MILLIS)).isFalse();
+    }
+
+    private ChatBroadcastFrame frame(long sequence) {
+        byte[] body = ("{\"sequence\":" + sequence + "}").getBytes(StandardCharsets.UTF_8);
+        return ChatBroadcastFrame.encode("/topic/chat/" + ROOM_ID, String.valueOf(sequence), sequence, body);
+    }
+}
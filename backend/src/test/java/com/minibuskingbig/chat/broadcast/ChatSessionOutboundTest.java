@@ -0,0 +1,86 @@
+package com.minibuskingbig.chat.broadcast;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 세션별 채팅 전송 큐 테스트.
+ */
+class ChatSessionOutboundTest {
+
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+    private final ChatBroadcastMetrics metrics = new ChatBroadcastMetrics(new SimpleMeterRegistry());
+    // writer 스레드 대신 수동으로 실행하여 느린 클라이언트를 흉내낸다
+    private final Queue<Runnable> writerTasks = new ArrayDeque<>();
+    private final Executor writerExecutor = writerTasks::add;
+
+    /**
+     * DROP_OLDEST 정책 테스트.
+     */
+    @Test
+    @DisplayName("큐가 가득 차면 가장 오래된 프레임을 버리고 최신 프레임을 순서대로 전송해야 함")
+    void should_drop_oldest_frames_when_queue_overflows() throws Exception {
+        when(delegate.getId()).thenReturn("session-1");
+        ChatSessionOutbound outbound = new ChatSessionOutbound(delegate, 3, OverflowPolicy.DROP_OLDEST, writerExecutor, metrics);
+
+        for (int i = 1; i <= 5; i++) {
+            outbound.enqueue(new TextMessage("frame-" + i));
+        }
+        assertThat(outbound.getQueueDepth()).isEqualTo(3);
+        assertThat(outbound.getDroppedFrames()).isEqualTo(2);
+
+        runWriterTasks();
+
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(delegate, times(3)).sendMessage(captor.capture());
+        assertThat(captor.getAllValues()).extracting(WebSocketMessage::getPayload)
+            .containsExactly("frame-3", "frame-4", "frame-5");
+        assertThat(outbound.getQueueDepth()).isZero();
+    }
+
+    /**
+     * DISCONNECT 정책 테스트.
+     */
+    @Test
+    @DisplayName("DISCONNECT 정책에서는 큐가 가득 찬 느린 세션을 종료해야 함")
+    void should_disconnect_slow_consumer_when_policy_is_disconnect() throws Exception {
+        when(delegate.getId()).thenReturn("session-2");
+        ChatSessionOutbound outbound = new ChatSessionOutbound(delegate, 2, OverflowPolicy.DISCONNECT, writerExecutor, metrics);
+
+        for (int i = 1; i <= 3; i++) {
+            outbound.enqueue(new TextMessage("frame-" + i));
+        }
+        outbound.enqueue(new TextMessage("frame-4"));
+
+        runWriterTasks();
+
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(delegate, never()).sendMessage(any());
+        assertThat(outbound.getQueueDepth()).isZero();
+    }
+
+    private void runWriterTasks() {
+        Runnable task;
+        while ((task = writerTasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.minibuskingbig.chat.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 전송 형식 벤치마크
+ *
+ * 같은 메시지 흐름을 JSON 프레임과 compact(MessagePack) 프레임으로 만들어 구독자 한 명이 받는 WebSocket 페이로드 크기를 비교한다.
+ * 1 op = 한 window 분량의 메시지를 프레임으로 만드는 것이다 (messagesPerWindow가 1이면 메시지마다 프레임, 2 이상이면 묶음 프레임).
+ * 보낸 사람은 senders명 중에서 차례대로 돌아가며, 프로필 사전은 trial 동안 유지되므로 측정 구간은 사전이 채워진 상태다.
+ * 보조 카운터 bytes / messages가 메시지당 전송 바이트 수다 (STOMP 헤더 포함).
+ *
+ * 실행: mvn -Pbenchmark -DskipTests verify -Dbenchmark.includes=ChatWireFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatWireFormatBenchmark {
+
+    private static final long ROOM_ID = 1L;
+    private static final String DESTINATION = ChatBroadcastEngine.ROOM_DESTINATION_PREFIX + ROOM_ID;
+    private static final String SUBSCRIPTION_ID = "sub-0";
+
+    @Param({"10", "1000"})
+    private int senders;
+
+    @Param({"1", "20"})
+    private int messagesPerWindow;
+
+    private ObjectMapper objectMapper;
+    private ChatCompactEncoder encoder;
+    private long messageSequence;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SizeCounters {
+
+        public long bytes;
+        public long messages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            messages = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        encoder = new ChatCompactEncoder(objectMapper, 1024);
+        messageSequence = 0;
+    }
+
+    /**
+     * JSON 프레임 (묶음이면 JSON 배열 프레임)
+     */
+    @Benchmark
+    public void json(SizeCounters counters) throws Exception {
+        List<ChatBroadcastFrame> frames = nextWindow();
+        if (frames.size() == 1) {
+            counters.bytes += frames.get(0).forSubscription(SUBSCRIPTION_ID).getPayloadLength();
+        } else {
+            ChatBroadcastFrame batch = ChatBroadcastFrame.encodeBatch(DESTINATION, "b-" + messageSequence, frames);
+            counters.bytes += batch.forSubscription(SUBSCRIPTION_ID).getPayloadLength();
+        }
+        counters.messages += frames.size();
+    }
+
+    /**
+     * compact 프레임 (새 보낸 사람의 PROFILE 항목 포함)
+     */
+    @Benchmark
+    public void compact(SizeCounters counters) throws Exception {
+        List<ChatBroadcastFrame> frames = nextWindow();
+        long sequence = frames.size() == 1 ? frames.get(0).getSequence() : 0L;
+        ChatBroadcastFrame frame = ChatBroadcastFrame.encodeCompact(DESTINATION, "b-" + messageSequence, sequence,
+            frames.size(), encoder.encode(ROOM_ID, frames));
+        counters.bytes += frame.forBinarySubscription(SUBSCRIPTION_ID).getPayloadLength();
+        counters.messages += frames.size();
+    }
+
+    private List<ChatBroadcastFrame> nextWindow() throws Exception {
+        List<ChatBroadcastFrame> frames = new ArrayList<>(messagesPerWindow);
+        for (int i = 0; i < messagesPerWindow; i++) {
+            long sequence = ++messageSequence;
+            long userId = 1000L + sequence % senders;
+            ChatMessageDto message = ChatMessageDto.builder()
+                .messageId(123456789L + sequence)
+                .roomId(ROOM_ID)
+                .sequence(sequence)
+                .userId(userId)
+                .userDisplayId("busker_fan_" + userId)
+                .userNickname("버스킹팬" + userId)
+                .userProfileImageUrl("https://cdn.minibuskingbig.com/profiles/" + userId + ".jpg")
+                .messageType(MessageType.CHAT)
+                .content("앵콜! 앵콜! " + sequence % 100)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 19, 30))
+                .build();
+            frames.add(ChatBroadcastFrame.encode(DESTINATION, String.valueOf(message.getMessageId()), sequence,
+                objectMapper.writeValueAsBytes(message), message));
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,144 @@
+package com.minibuskingbig.chat.container;
+
+import com.minibuskingbig.event.entity.Event;
+import com.minibuskingbig.event.entity.EventStatus;
+import com.minibuskingbig.event.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ecs.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 미리 실행해 둔 채팅 컨테이너 풀 테스트.
+ */
+class ChatContainerPoolTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 18, 0);
+
+    private final FakeEcsClient ecsClient = new FakeEcsClient();
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EcsTaskLauncher launcher = new EcsTaskLauncher(ecsClient, "chat-cluster", "chat-task", "subnet-1", "sg-1");
+    private final ChatContainerPool pool = new ChatContainerPool(
+        launcher, eventRepository, new SimpleMeterRegistry(), true, 1, 5, 1, 60, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 공연 일정 기반 목표 개수 테스트.
+     */
+    @Test
+    @DisplayName("곧 시작하는 채팅 공연 수만큼 컨테이너를 더 띄우고 RUNNING이 되면 대기 상태로 옮겨야 함")
+    void should_scale_pool_when_chat_events_upcoming() {
+        upcomingEvents(event(true), event(true), event(false));
+
+        assertThat(pool.refreshTarget(NOW)).isEqualTo(3);
+        pool.maintain();
+
+        assertThat(pool.getWarmingCount()).isEqualTo(3);
+        assertThat(ecsClient.tasksWithStatus("PROVISIONING"))
+            .extracting(Task::startedBy)
+            .containsOnly(ChatContainerPool.STARTED_BY);
+
+        ecsClient.startPending();
+        pool.maintain();
+
+        assertThat(pool.getIdleCount()).isEqualTo(3);
+        assertThat(pool.getWarmingCount()).isZero();
+
+        // 목표 개수는 max-idle을 넘지 않는다
+        upcomingEvents(event(true), event(true), event(true), event(true), event(true), event(true));
+        assertThat(pool.refreshTarget(NOW)).isEqualTo(5);
+    }
+
+    /**
+     * 즉시 배정 및 비동기 채우기 테스트.
+     */
+    @Test
+    @DisplayName("대기 컨테이너를 바로 내주고 빈자리는 새 Task로 다시 채워야 함")
+    void should_refill_pool_when_container_acquired() {
+        upcomingEvents();
+        pool.refreshTarget(NOW);
+        pool.maintain();
+        ecsClient.startPending();
+        pool.maintain();
+
+        Optional<PooledChatContainer> acquired = pool.acquire();
+        pool.maintain();
+
+        assertThat(acquired).isPresent();
+        assertThat(ecsClient.task(acquired.get().taskArn()).lastStatus()).isEqualTo("RUNNING");
+        assertThat(acquired.get().containerId()).isEqualTo("task-1");
+        assertThat(pool.getIdleCount()).isZero();
+        assertThat(pool.getWarmingCount()).isEqualTo(1);
+        assertThat(ecsClient.tasksWithStatus("PROVISIONING")).hasSize(1);
+    }
+
+    /**
+     * 풀 축소 테스트.
+     */
+    @Test
+    @DisplayName("공연이 끝나 목표 개수가 줄면 남는 대기 컨테이너를 중지해야 함")
+    void should_stop_excess_containers_when_target_shrinks() {
+        upcomingEvents(event(true), event(true));
+        pool.refreshTarget(NOW);
+        pool.maintain();
+        ecsClient.startPending();
+        pool.maintain();
+
+        upcomingEvents();
+        pool.refreshTarget(NOW);
+        pool.maintain();
+
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+        assertThat(ecsClient.tasksWithStatus("STOPPED")).hasSize(2);
+        // 가장 오래된 Task를 남긴다
+        assertThat(pool.acquire()).map(PooledChatContainer::containerId).contains("task-1");
+    }
+
+    /**
+     * 시작 실패 Task 교체 테스트.
+     */
+    @Test
+    @DisplayName("RUNNING이 되기 전에 종료된 Task는 버리고 새로 실행해야 함")
+    void should_replace_task_when_stopped_while_warming() {
+        upcomingEvents();
+        pool.refreshTarget(NOW);
+        pool.maintain();
+        String crashed = ecsClient.tasksWithStatus("PROVISIONING").get(0).taskArn();
+
+        ecsClient.crash(crashed);
+        pool.maintain();
+
+        assertThat(pool.getWarmingCount()).isEqualTo(1);
+        assertThat(ecsClient.tasksWithStatus("PROVISIONING"))
+            .extracting(Task::taskArn)
+            .doesNotContain(crashed)
+            .hasSize(1);
+    }
+
+    private void upcomingEvents(Event... events) {
+        when(eventRepository.findUpcomingEvents(eq(EventStatus.SCHEDULED), any(), any())).thenReturn(List.of(events));
+    }
+
+    private static Event event(boolean chatEnabled) {
+        return Event.builder()
+            .title("버스킹")
+            .startTime(NOW.plusMinutes(30))
+            .chatEnabled(chatEnabled)
+            .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.minibuskingbig.chat.container;
+
+import com.minibuskingbig.chat.entity.ChatRoomStatus;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import com.minibuskingbig.chat.repository.ChatRoomRepository.ContainerView;
+import com.minibuskingbig.chat.service.ChatRoomService;
+import com.minibuskingbig.chat.service.EcsContainerService;
+import com.minibuskingbig.event.entity.EventStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ecs.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 활성 채팅방 컨테이너 상태 점검 테스트.
+ */
+class ChatContainerReconcilerTest {
+
+    private final FakeEcsClient ecsClient = new FakeEcsClient();
+    private final EcsTaskLauncher launcher = new EcsTaskLauncher(ecsClient, "chat-cluster", "chat-task", "subnet-1", "sg-1");
+    private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+    private final ChatRoomService chatRoomService = mock(ChatRoomService.class);
+    private final EcsContainerService ecsContainerService = mock(EcsContainerService.class);
+    private final ChatContainerReconciler reconciler = new ChatContainerReconciler(
+        chatRoomRepository, chatRoomService, ecsContainerService, launcher, new SimpleMeterRegistry(),
+        false, 30_000, 5_000, 2);
+
+    /**
+     * 묶음 조회 테스트.
+     */
+    @Test
+    @DisplayName("활성 채팅방 Task를 DescribeTasks 한 번에 100개씩 조회해야 함")
+    void should_describe_tasks_in_batches_when_many_rooms_active() {
+        List<ContainerView> rooms = new ArrayList<>();
+        for (long roomId = 1; roomId <= 250; roomId++) {
+            rooms.add(room(roomId, runningTask(roomId), EventStatus.LIVE));
+        }
+        when(chatRoomRepository.findContainersByStatus(ChatRoomStatus.ACTIVE)).thenReturn(rooms);
+
+        assertThat(reconciler.reconcile()).isZero();
+
+        assertThat(ecsClient.getDescribeCalls()).isEqualTo(3);
+        verify(chatRoomService, never()).compareAndSetStatus(anyLong(), anyString(), any(), any());
+    }
+
+    /**
+     * 공연 중 재시작 테스트.
+     */
+    @Test
+    @DisplayName("공연 중인 채팅방의 Task가 죽으면 컨테이너를 다시 시작해야 함")
+    void should_restart_container_when_task_stopped_during_live_event() {
+        String taskArn = runningTask(1L);
+        ecsClient.crash(taskArn);
+        when(chatRoomRepository.findContainersByStatus(ChatRoomStatus.ACTIVE))
+            .thenReturn(List.of(room(1L, taskArn, EventStatus.LIVE)));
+        when(chatRoomService.compareAndSetStatus(1L, taskArn, ChatRoomStatus.ACTIVE, ChatRoomStatus.CREATING))
+            .thenReturn(true);
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+
+        verify(ecsContainerService).startChatContainer(1L);
+        verify(chatRoomService, never()).closeChatRoom(any());
+    }
+
+    /**
+     * 다른 노드 선점 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드가 먼저 상태를 바꾼 채팅방은 건너뛰어야 함")
+    void should_skip_room_when_other_node_claimed_it() {
+        String taskArn = runningTask(1L);
+        ecsClient.crash(taskArn);
+        when(chatRoomRepository.findContainersByStatus(ChatRoomStatus.ACTIVE))
+            .thenReturn(List.of(room(1L, taskArn, EventStatus.LIVE)));
+        when(chatRoomService.compareAndSetStatus(1L, taskArn, ChatRoomStatus.ACTIVE, ChatRoomStatus.CREATING))
+            .thenReturn(false);
+
+        assertThat(reconciler.reconcile()).isZero();
+
+        verify(ecsContainerService, never()).startChatContainer(any());
+    }
+
+    /**
+     * 공연 종료 후 정리 테스트.
+     */
+    @Test
+    @DisplayName("공연이 끝난 채팅방의 Task가 없으면 채팅방을 닫아야 함")
+    void should_close_room_when_task_missing_after_event_ended() {
+        String unknownArn = "arn:aws:ecs:ap-northeast-2:000000000000:task/chat-cluster/gone";
+        when(chatRoomRepository.findContainersByStatus(ChatRoomStatus.ACTIVE))
+            .thenReturn(List.of(room(1L, unknownArn, EventStatus.ENDED)));
+        when(chatRoomService.compareAndSetStatus(1L, unknownArn, ChatRoomStatus.ACTIVE, ChatRoomStatus.CLOSING))
+            .thenReturn(true);
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+
+        verify(chatRoomService).closeChatRoom(1L);
+        verify(ecsContainerService, never()).startChatContainer(any());
+    }
+
+    /**
+     * 재시작 실패 테스트.
+     */
+    @Test
+    @DisplayName("재시작에 실패하면 ACTIVE로 되돌리고 최대 횟수를 넘으면 채팅방을 닫아야 함")
+    void should_close_room_when_restart_attempts_exhausted() {
+        String taskArn = runningTask(1L);
+        ecsClient.crash(taskArn);
+        when(chatRoomRepository.findContainersByStatus(ChatRoomStatus.ACTIVE))
+            .thenReturn(List.of(room(1L, taskArn, EventStatus.LIVE)));
+        when(chatRoomService.compareAndSetStatus(any(), any(), any(), any())).thenReturn(true);
+        doThrow(new RuntimeException("컨테이너 시작 실패")).when(ecsContainerService).startChatContainer(1L);
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+        verify(chatRoomService, never()).closeChatRoom(any());
+        verify(chatRoomService, times(2))
+            .compareAndSetStatus(1L, taskArn, ChatRoomStatus.CREATING, ChatRoomStatus.ACTIVE);
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        verify(chatRoomService).closeChatRoom(1L);
+    }
+
+    private String runningTask(long roomId) {
+        Task task = launcher.runTasks(1, "test", roomId).get(0);
+        ecsClient.startPending();
+        return task.taskArn();
+    }
+
+    private static ContainerView room(long roomId, String taskArn, EventStatus eventStatus) {
+        return new ContainerView() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public String getContainerArn() {
+                return taskArn;
+            }
+
+            @Override
+            public EventStatus getEventStatus() {
+                return eventStatus;
+            }
+
+            @Override
+            public LocalDateTime getEventEndTime() {
+                return LocalDateTime.now().plusHours(1);
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.minibuskingbig.chat.container;
+
+import software.amazon.awssdk.services.ecs.EcsClient;
+import software.amazon.awssdk.services.ecs.model.DescribeTasksRequest;
+import software.amazon.awssdk.services.ecs.model.DescribeTasksResponse;
+import software.amazon.awssdk.services.ecs.model.Failure;
+import software.amazon.awssdk.services.ecs.model.RunTaskRequest;
+import software.amazon.awssdk.services.ecs.model.RunTaskResponse;
+import software.amazon.awssdk.services.ecs.model.StopTaskRequest;
+import software.amazon.awssdk.services.ecs.model.StopTaskResponse;
+import software.amazon.awssdk.services.ecs.model.Tag;
+import software.amazon.awssdk.services.ecs.model.TagResourceRequest;
+import software.amazon.awssdk.services.ecs.model.TagResourceResponse;
+import software.amazon.awssdk.services.ecs.model.Task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 메모리에서 Task 상태만 흉내 내는 ECS 클라이언트 (RunTask, StopTask, DescribeTasks, TagResource만 지원)
+ *
+ * 실행한 Task는 PROVISIONING으로 시작하고 {@link #startPending()}을 호출해야 RUNNING이 된다.
+ */
+class FakeEcsClient implements EcsClient {
+
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private final AtomicInteger taskSequence = new AtomicInteger();
+    private final AtomicInteger describeCalls = new AtomicInteger();
+    // RunTask 한 번에 실제로 실행할 최대 Task 수 (용량 부족 흉내)
+    private volatile int capacity = Integer.MAX_VALUE;
+
+    @Override
+    public synchronized RunTaskResponse runTask(RunTaskRequest request) {
+        List<Task> launched = new ArrayList<>();
+        List<Failure> failures = new ArrayList<>();
+        for (int i = 0; i < request.count(); i++) {
+            if (i >= capacity) {
+                failures.add(Failure.builder().reason("RESOURCE:ENI").build());
+                continue;
+            }
+            String taskArn = "arn:aws:ecs:ap-northeast-2:000000000000:task/" + request.cluster() + "/task-"
+                + taskSequence.incrementAndGet();
+            Task task = Task.builder()
+                .taskArn(taskArn)
+                .lastStatus("PROVISIONING")
+                .desiredStatus("RUNNING")
+                .startedBy(request.startedBy())
+                .tags(request.hasTags() ? request.tags() : List.of())
+                .build();
+            tasks.put(taskArn, task);
+            launched.add(task);
+        }
+        return RunTaskResponse.builder().tasks(launched).failures(failures).build();
+    }
+
+    @Override
+    public synchronized StopTaskResponse stopTask(StopTaskRequest request) {
+        Task stopped = update(request.task(), task -> task.lastStatus("STOPPED").desiredStatus("STOPPED")
+            .stoppedReason(request.reason()));
+        return StopTaskResponse.builder().task(stopped).build();
+    }
+
+    @Override
+    public synchronized DescribeTasksResponse describeTasks(DescribeTasksRequest request) {
+        describeCalls.incrementAndGet();
+        List<Task> found = new ArrayList<>();
+        List<Failure> failures = new ArrayList<>();
+        for (String taskArn : request.tasks()) {
+            Task task = tasks.get(taskArn);
+            if (task == null) {
+                failures.add(Failure.builder().arn(taskArn).reason("MISSING").build());
+            } else {
+                found.add(task);
+            }
+        }
+        return DescribeTasksResponse.builder().tasks(found).failures(failures).build();
+    }
+
+    @Override
+    public synchronized TagResourceResponse tagResource(TagResourceRequest request) {
+        update(request.resourceArn(), task -> {
+            List<Tag> tags = new ArrayList<>(task.build().tags());
+            tags.addAll(request.tags());
+            task.tags(tags);
+        });
+        return TagResourceResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * PROVISIONING Task를 모두 RUNNING으로 변경
+     */
+    synchronized void startPending() {
+        for (String taskArn : List.copyOf(tasks.keySet())) {
+            if ("PROVISIONING".equals(tasks.get(taskArn).lastStatus())) {
+                update(taskArn, task -> task.lastStatus("RUNNING"));
+            }
+        }
+    }
+
+    /**
+     * 컨테이너가 스스로 종료된 상황 흉내
+     */
+    synchronized void crash(String taskArn) {
+        update(taskArn, task -> task.lastStatus("STOPPED").desiredStatus("STOPPED").stoppedReason("Essential container exited"));
+    }
+
+    synchronized List<Task> tasksWithStatus(String lastStatus) {
+        return tasks.values().stream().filter(task -> lastStatus.equals(task.lastStatus())).toList();
+    }
+
+    synchronized Task task(String taskArn) {
+        return tasks.get(taskArn);
+    }
+
+    int getDescribeCalls() {
+        return describeCalls.get();
+    }
+
+    void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    private Task update(String taskArn, Consumer<Task.Builder> change) {
+        Task task = tasks.get(taskArn);
+        if (task == null) {
+            return null;
+        }
+        Task.Builder builder = task.toBuilder();
+        change.accept(builder);
+        Task updated = builder.build();
+        tasks.put(taskArn, updated);
+        return updated;
+    }
+}
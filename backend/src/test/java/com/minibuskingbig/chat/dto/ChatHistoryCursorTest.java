@@ -0,0 +1,62 @@
+package com.minibuskingbig.chat.dto;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채팅 히스토리 커서 테스트.
+ */
+class ChatHistoryCursorTest {
+
+    /**
+     * 커서 인코딩 테스트.
+     */
+    @Test
+    @DisplayName("인코딩한 커서를 디코딩하면 같은 위치를 가리켜야 함")
+    void should_restore_position_when_cursor_round_trips() {
+        ChatHistoryCursor cursor = new ChatHistoryCursor(LocalDateTime.of(2024, 5, 1, 19, 30, 15, 123_000_000), 987654321L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("|", "=", "+", "/");
+        assertThat(ChatHistoryCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    /**
+     * 잘못된 커서 테스트.
+     */
+    @Test
+    @DisplayName("잘못된 커서는 입력값 오류로 거부해야 함")
+    void should_reject_cursor_when_malformed() {
+        assertThatThrownBy(() -> ChatHistoryCursor.decode("not-a-cursor"))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    /**
+     * 다음 페이지 커서 테스트.
+     */
+    @Test
+    @DisplayName("limit보다 많이 조회되면 마지막 메시지 기준의 다음 커서를 반환해야 함")
+    void should_return_next_cursor_when_more_messages_exist() {
+        List<ChatMessageDto> fetched = LongStream.rangeClosed(1, 4)
+            .mapToObj(i -> ChatMessageDto.builder()
+                .messageId(100 - i)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 19, 30).minusSeconds(i))
+                .build())
+            .toList();
+
+        ChatHistoryResponse response = ChatHistoryResponse.of(fetched, 3);
+
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(response.getMessages()).hasSize(3);
+        assertThat(ChatHistoryCursor.decode(response.getNextCursor()).messageId()).isEqualTo(97L);
+    }
+}
@@ -0,0 +1,149 @@
+package com.minibuskingbig.chat.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.minibuskingbig.chat.archive.ChatArchiveService;
+import com.minibuskingbig.chat.dto.ChatHistoryCursor;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import com.minibuskingbig.chat.repository.ChatMessageExportRepository;
+import com.minibuskingbig.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 기록 내보내기 테스트.
+ */
+class ChatTranscriptExportServiceTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 19, 0);
+
+    private final ChatArchiveService chatArchiveService = mock(ChatArchiveService.class);
+    private final ChatMessageExportRepository exportRepository = mock(ChatMessageExportRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatTranscriptExportService exportService =
+        new ChatTranscriptExportService(chatArchiveService, exportRepository, objectMapper, meterRegistry, 1, 60_000L);
+
+    /**
+     * 보관 메시지와 테이블 메시지 이어 쓰기 테스트.
+     */
+    @Test
+    @DisplayName("보관된 메시지를 먼저 쓰고 마지막 보관 메시지 이후의 테이블 메시지를 이어서 한 줄씩 써야 함")
+    void should_write_archived_then_table_messages_as_ndjson() throws Exception {
+        ChatHistoryCursor archivedUpTo = new ChatHistoryCursor(BASE_TIME.plusSeconds(2), 2L);
+        when(chatArchiveService.readArchived(eq(ROOM_ID), any())).thenAnswer(invocation -> {
+            Consumer<ChatMessageDto> consumer = invocation.getArgument(1);
+            consumer.accept(message(1L, "첫 곡 시작"));
+            consumer.accept(message(2L, "좋아요"));
+            return archivedUpTo;
+        });
+        when(exportRepository.streamAfter(eq(ROOM_ID), eq(archivedUpTo), any())).thenAnswer(invocation -> {
+            Consumer<ChatMessageDto> consumer = invocation.getArgument(2);
+            consumer.accept(message(3L, "앵콜"));
+            return 1L;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.write(ROOM_ID, ChatTranscriptFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[2], ChatMessageDto.class).getContent()).isEqualTo("앵콜");
+        assertThat(meterRegistry.counter("chat.export.messages").count()).isEqualTo(3);
+    }
+
+    /**
+     * CSV 이스케이프 테스트.
+     */
+    @Test
+    @DisplayName("CSV는 쉼표/따옴표/줄바꿈을 따옴표로 감싸고 수식으로 시작하는 값은 문자열로 써야 함")
+    void should_escape_csv_fields_and_guard_formulas() throws Exception {
+        when(exportRepository.streamAfter(eq(ROOM_ID), isNull(), any())).thenAnswer(invocation -> {
+            Consumer<ChatMessageDto> consumer = invocation.getArgument(2);
+            consumer.accept(message(1L, "안녕, \"버스킹\"\n최고"));
+            consumer.accept(message(2L, "=HYPERLINK(\"http://x\")"));
+            return 2L;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.write(ROOM_ID, ChatTranscriptFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("\uFEFFmessage_id,sequence,created_at,");
+        assertThat(csv).contains("1,1,2024-05-01T19:00:01,42,fan42,버스킹팬,CHAT,\"안녕, \"\"버스킹\"\"\n최고\"\r\n");
+        assertThat(csv).contains(",CHAT,\"'=HYPERLINK(\"\"http://x\"\")\"\r\n");
+    }
+
+    /**
+     * 동시 내보내기 제한 테스트.
+     */
+    @Test
+    @DisplayName("동시에 내보내는 수가 max-concurrent를 넘으면 거부하고, 내보내기가 끝나면 다시 받아야 함")
+    void should_reject_when_max_concurrent_exports_running() throws Exception {
+        var body = exportService.export(ROOM_ID, ChatTranscriptFormat.NDJSON);
+
+        assertThatThrownBy(() -> exportService.export(ROOM_ID, ChatTranscriptFormat.CSV))
+            .isInstanceOf(BusinessException.class);
+
+        // 클라이언트가 연결을 끊어도 허용 수는 반환
+        when(exportRepository.streamAfter(eq(ROOM_ID), isNull(), any())).thenAnswer(invocation -> {
+            Consumer<ChatMessageDto> consumer = invocation.getArgument(2);
+            consumer.accept(message(1L, "안녕"));
+            return 1L;
+        });
+        assertThatThrownBy(() -> body.writeTo(new BrokenOutputStream())).isInstanceOf(IOException.class);
+        assertThat(exportService.export(ROOM_ID, ChatTranscriptFormat.CSV)).isNotNull();
+    }
+
+    private static ChatMessageDto message(long id, String content) {
+        return ChatMessageDto.builder()
+            .messageId(id)
+            .roomId(ROOM_ID)
+            .sequence(id)
+            .userId(42L)
+            .userDisplayId("fan42")
+            .userNickname("버스킹팬")
+            .messageType(MessageType.CHAT)
+            .content(content)
+            .createdAt(BASE_TIME.plusSeconds(id))
+            .build();
+    }
+
+    /**
+     * 쓰기마다 실패하는 응답 스트림 (내려받는 중 연결이 끊긴 경우)
+     */
+    private static class BrokenOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+}
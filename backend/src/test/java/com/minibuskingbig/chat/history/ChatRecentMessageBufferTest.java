@@ -0,0 +1,123 @@
+package com.minibuskingbig.chat.history;
+
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 최근 메시지 링 버퍼 테스트.
+ */
+class ChatRecentMessageBufferTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 19, 0);
+
+    private final ChatRecentMessageBuffer buffer = new ChatRecentMessageBuffer(new SimpleMeterRegistry(), 5);
+
+    /**
+     * seed와 전송 메시지 병합 테스트.
+     */
+    @Test
+    @DisplayName("DB seed와 이후 전송된 메시지를 합쳐 최신순으로 반환하고 삭제된 메시지는 제외해야 함")
+    void should_merge_seed_and_appended_messages_when_latest_requested() {
+        buffer.load(ROOM_ID, size -> List.of(message(2), message(1)));
+        buffer.append(message(3));
+        buffer.append(message(4));
+
+        buffer.markDeleted(3L);
+        buffer.markDeleted(1L);
+
+        assertThat(buffer.latest(ROOM_ID, 5)).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageDto::getMessageId).containsExactly(4L, 2L));
+    }
+
+    /**
+     * DB 조회 전환 테스트.
+     */
+    @Test
+    @DisplayName("버퍼가 한 바퀴 돌아 요청한 개수를 채울 수 없으면 empty를 반환해야 함")
+    void should_return_empty_when_buffer_cannot_fill_page() {
+        buffer.load(ROOM_ID, size -> List.of());
+        LongStream.rangeClosed(1, 7).forEach(i -> buffer.append(message(i)));
+
+        assertThat(buffer.latest(ROOM_ID, 3)).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageDto::getMessageId).containsExactly(7L, 6L, 5L));
+
+        buffer.markDeleted(7L);
+        buffer.markDeleted(6L);
+
+        assertThat(buffer.latest(ROOM_ID, 4)).isEmpty();
+    }
+
+    /**
+     * 재연결 메시지 조회 테스트.
+     */
+    @Test
+    @DisplayName("놓친 메시지를 순번 순으로 반환하고 버퍼에서 밀려난 순번을 요청하면 empty를 반환해야 함")
+    void should_return_missed_messages_in_sequence_order_when_resuming() {
+        buffer.load(ROOM_ID, size -> List.of());
+        buffer.append(message(2));
+        buffer.append(message(1));
+        buffer.append(message(3));
+        buffer.markDeleted(2L);
+
+        assertThat(buffer.after(ROOM_ID, 0L, 10)).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageDto::getSequence).containsExactly(1L, 3L));
+        assertThat(buffer.after(ROOM_ID, 3L, 10)).hasValueSatisfying(messages -> assertThat(messages).isEmpty());
+
+        LongStream.rangeClosed(4, 8).forEach(i -> buffer.append(message(i)));
+
+        assertThat(buffer.after(ROOM_ID, 5L, 2)).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageDto::getSequence).containsExactly(6L, 7L));
+        assertThat(buffer.after(ROOM_ID, 1L, 10)).isEmpty();
+    }
+
+    /**
+     * 일괄 삭제 테스트.
+     */
+    @Test
+    @DisplayName("여러 메시지를 한 번에 삭제하면 seed와 버퍼 양쪽에서 모두 제외해야 함")
+    void should_exclude_all_purged_messages_when_marked_deleted_in_bulk() {
+        buffer.load(ROOM_ID, size -> List.of(message(2), message(1)));
+        buffer.append(message(3));
+        buffer.append(message(4));
+
+        buffer.markDeleted(ROOM_ID, List.of(1L, 3L, 4L));
+
+        assertThat(buffer.latest(ROOM_ID, 5)).hasValueSatisfying(messages ->
+            assertThat(messages).extracting(ChatMessageDto::getMessageId).containsExactly(2L));
+    }
+
+    /**
+     * 채팅방 종료 테스트.
+     */
+    @Test
+    @DisplayName("버퍼를 제거하면 더 이상 메시지를 보관하지 않아야 함")
+    void should_drop_messages_when_room_discarded() {
+        buffer.load(ROOM_ID, size -> List.of());
+        buffer.append(message(1));
+
+        buffer.discard(ROOM_ID);
+        buffer.append(message(2));
+
+        assertThat(buffer.isTracked(ROOM_ID)).isFalse();
+        assertThat(buffer.latest(ROOM_ID, 1)).isEmpty();
+    }
+
+    private ChatMessageDto message(long messageId) {
+        return ChatMessageDto.builder()
+            .messageId(messageId)
+            .roomId(ROOM_ID)
+            .sequence(messageId)
+            .content("message-" + messageId)
+            .createdAt(BASE_TIME.plusSeconds(messageId))
+            .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.minibuskingbig.chat.hosting;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채팅방 액터 테스트.
+ */
+class ChatRoomActorSystemTest {
+
+    private final ManualExecutor executor = new ManualExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatRoomActorSystem actorSystem = new ChatRoomActorSystem(meterRegistry, executor, 100, 4);
+    private final List<String> processed = new ArrayList<>();
+
+    /**
+     * 순서 테스트.
+     */
+    @Test
+    @DisplayName("같은 채팅방의 작업은 들어온 순서대로 처리하고, 호스팅하지 않는 채팅방은 전달하지 않아야 함")
+    void should_process_messages_in_order_when_room_hosted() {
+        actorSystem.spawn(1L, () -> processed.add("stop"));
+
+        for (int i = 0; i < 10; i++) {
+            String message = "m" + i;
+            assertThat(actorSystem.tell(1L, () -> processed.add(message))).isTrue();
+        }
+        // 실패한 작업이 다음 작업을 막지 않는다
+        actorSystem.tell(1L, () -> {
+            throw new IllegalStateException("전송 실패");
+        });
+        actorSystem.tell(1L, () -> processed.add("after"));
+        executor.runAll();
+
+        assertThat(processed).containsExactly("m0", "m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9", "after");
+        assertThat(actorSystem.tell(2L, () -> processed.add("other"))).isFalse();
+    }
+
+    /**
+     * 공정성 테스트.
+     */
+    @Test
+    @DisplayName("한 번 예약될 때 throughput개까지만 처리하여 다른 채팅방이 기다리지 않아야 함")
+    void should_yield_to_other_rooms_when_throughput_reached() {
+        actorSystem.spawn(1L, () -> { });
+        actorSystem.spawn(2L, () -> { });
+        for (int i = 0; i < 10; i++) {
+            String message = "a" + i;
+            actorSystem.tell(1L, () -> processed.add(message));
+        }
+        actorSystem.tell(2L, () -> processed.add("b0"));
+
+        executor.runNext();
+        executor.runNext();
+
+        assertThat(processed).containsExactly("a0", "a1", "a2", "a3", "b0");
+        executor.runAll();
+        assertThat(processed).hasSize(11).endsWith("a9");
+    }
+
+    /**
+     * 메일박스 가득 참 테스트.
+     */
+    @Test
+    @DisplayName("메일박스가 가득 차면 CHAT_BUSY로 거부해야 함")
+    void should_reject_when_mailbox_full() {
+        ChatRoomActorSystem small = new ChatRoomActorSystem(meterRegistry, executor, 2, 4);
+        small.spawn(1L, () -> { });
+        small.tell(1L, () -> processed.add("m0"));
+        small.tell(1L, () -> processed.add("m1"));
+
+        assertThatThrownBy(() -> small.tell(1L, () -> processed.add("m2")))
+            .isInstanceOf(BusinessException.class);
+        assertThat(meterRegistry.counter("chat.hosting.mailbox.rejected").count()).isEqualTo(1);
+
+        executor.runAll();
+        assertThat(small.tell(1L, () -> processed.add("m3"))).isTrue();
+        executor.runAll();
+        assertThat(processed).containsExactly("m0", "m1", "m3");
+    }
+
+    /**
+     * 종료 테스트.
+     */
+    @Test
+    @DisplayName("종료하면 이미 받은 작업을 처리한 뒤 onStop을 한 번 실행하고 더 받지 않아야 함")
+    void should_run_on_stop_after_pending_messages_when_stopped() {
+        actorSystem.spawn(1L, () -> processed.add("stop"));
+        actorSystem.tell(1L, () -> processed.add("m0"));
+
+        assertThat(actorSystem.stop(1L)).isTrue();
+        assertThat(actorSystem.stop(1L)).isFalse();
+        assertThat(actorSystem.tell(1L, () -> processed.add("m1"))).isFalse();
+        executor.runAll();
+
+        assertThat(processed).containsExactly("m0", "stop");
+        assertThat(actorSystem.size()).isZero();
+    }
+
+    /**
+     * 작업을 한 번에 하나씩 실행하는 실행기 (테스트에서 예약 순서를 확인)
+     */
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runNext() {
+            Runnable task = tasks.poll();
+            if (task != null) {
+                task.run();
+            }
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+}
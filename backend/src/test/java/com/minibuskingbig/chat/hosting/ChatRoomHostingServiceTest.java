@@ -0,0 +1,165 @@
+package com.minibuskingbig.chat.hosting;
+
+import com.minibuskingbig.chat.entity.ChatRoomHostingMode;
+import com.minibuskingbig.chat.entity.ChatRoomStatus;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import com.minibuskingbig.chat.repository.ChatRoomRepository.HostingView;
+import com.minibuskingbig.chat.service.ChatRoomService;
+import com.minibuskingbig.chat.service.EcsContainerService;
+import com.minibuskingbig.event.entity.EventStatus;
+import com.minibuskingbig.event.service.EventStatusChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방 호스팅 방식 결정 테스트.
+ */
+class ChatRoomHostingServiceTest {
+
+    private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+    private final ChatRoomService chatRoomService = mock(ChatRoomService.class);
+    private final EcsContainerService ecsContainerService = mock(EcsContainerService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 테스트에서는 액터 작업을 전달한 스레드에서 바로 실행
+    private final ChatRoomActorSystem actorSystem = new ChatRoomActorSystem(meterRegistry, Runnable::run, 100, 32);
+
+    /**
+     * 정원별 호스팅 방식 테스트.
+     */
+    @Test
+    @DisplayName("채팅 정원이 작으면 애플리케이션 안에서, 크면 컨테이너로 호스팅해야 함")
+    void should_host_small_rooms_in_process_and_large_rooms_in_container() {
+        ChatRoomHostingService hostingService = hostingService(true);
+        when(chatRoomRepository.findHostingView(1L))
+            .thenReturn(Optional.of(room(1L, ChatRoomStatus.CREATING, ChatRoomHostingMode.CONTAINER, 50, EventStatus.LIVE)));
+        when(chatRoomRepository.findHostingView(2L))
+            .thenReturn(Optional.of(room(2L, ChatRoomStatus.CREATING, ChatRoomHostingMode.CONTAINER, 500, EventStatus.LIVE)));
+
+        assertThat(hostingService.host(1L)).isEqualTo(ChatRoomHostingMode.IN_PROCESS);
+        assertThat(hostingService.host(2L)).isEqualTo(ChatRoomHostingMode.CONTAINER);
+
+        verify(chatRoomService).activateInProcess(1L, "/ws");
+        verify(ecsContainerService, never()).startChatContainer(1L);
+        verify(ecsContainerService).startChatContainer(2L);
+        assertThat(actorSystem.getRoomIds()).containsExactly(1L);
+        assertThat(meterRegistry.counter("chat.hosting.hosted", "mode", "in_process").count()).isEqualTo(1);
+    }
+
+    /**
+     * 컨테이너 미사용 테스트.
+     */
+    @Test
+    @DisplayName("컨테이너를 쓰지 않으면 정원과 관계없이 애플리케이션 안에서 호스팅해야 함")
+    void should_host_every_room_in_process_when_container_disabled() {
+        ChatRoomHostingService hostingService = hostingService(false);
+        when(chatRoomRepository.findRoomIdByEventId(10L)).thenReturn(Optional.of(2L));
+        when(chatRoomRepository.findHostingView(2L))
+            .thenReturn(Optional.of(room(2L, ChatRoomStatus.CREATING, ChatRoomHostingMode.CONTAINER, 5000, EventStatus.LIVE)));
+
+        hostingService.onEventStatusChanged(new EventStatusChangedEvent(10L, EventStatus.LIVE));
+
+        verify(chatRoomService).activateInProcess(2L, "/ws");
+        verify(ecsContainerService, never()).startChatContainer(anyLong());
+        assertThat(actorSystem.isHosted(2L)).isTrue();
+    }
+
+    /**
+     * 공연 종료 테스트.
+     */
+    @Test
+    @DisplayName("공연이 끝나면 애플리케이션 안의 채팅방은 CLOSING으로 바꾼 뒤 닫고 액터를 종료해야 함")
+    void should_close_in_process_room_and_stop_actor_when_event_ended() {
+        ChatRoomHostingService hostingService = hostingService(true);
+        actorSystem.spawn(1L, () -> chatRoomService.discardLocalState(1L));
+        when(chatRoomRepository.findRoomIdByEventId(10L)).thenReturn(Optional.of(1L));
+        when(chatRoomRepository.findHostingView(1L))
+            .thenReturn(Optional.of(room(1L, ChatRoomStatus.ACTIVE, ChatRoomHostingMode.IN_PROCESS, 50, EventStatus.ENDED)));
+        when(chatRoomService.compareAndSetStatus(1L, ChatRoomHostingMode.IN_PROCESS, ChatRoomStatus.ACTIVE, ChatRoomStatus.CLOSING))
+            .thenReturn(true);
+
+        hostingService.onEventStatusChanged(new EventStatusChangedEvent(10L, EventStatus.ENDED));
+
+        var order = inOrder(chatRoomService);
+        order.verify(chatRoomService).closeChatRoom(1L);
+        order.verify(chatRoomService).discardLocalState(1L);
+        verify(ecsContainerService, never()).stopChatContainer(anyLong());
+        assertThat(actorSystem.size()).isZero();
+    }
+
+    /**
+     * 노드별 액터 점검 테스트.
+     */
+    @Test
+    @DisplayName("점검 시 다른 노드가 시작한 채팅방은 액터를 만들고, 닫힌 채팅방 액터는 종료하고, 끝난 공연은 닫아야 함")
+    void should_sync_actors_with_active_rooms_when_swept() {
+        ChatRoomHostingService hostingService = hostingService(true);
+        actorSystem.spawn(3L, () -> chatRoomService.discardLocalState(3L));
+        when(chatRoomRepository.findHostingViews(ChatRoomStatus.ACTIVE, ChatRoomHostingMode.IN_PROCESS)).thenReturn(List.of(
+            room(1L, ChatRoomStatus.ACTIVE, ChatRoomHostingMode.IN_PROCESS, 50, EventStatus.LIVE),
+            room(2L, ChatRoomStatus.ACTIVE, ChatRoomHostingMode.IN_PROCESS, 50, EventStatus.CANCELLED)));
+        // 다른 노드가 먼저 CLOSING으로 바꿨다
+        when(chatRoomService.compareAndSetStatus(2L, ChatRoomHostingMode.IN_PROCESS, ChatRoomStatus.ACTIVE, ChatRoomStatus.CLOSING))
+            .thenReturn(false);
+
+        hostingService.sweep();
+
+        assertThat(actorSystem.getRoomIds()).containsExactly(1L);
+        verify(chatRoomService, never()).closeChatRoom(anyLong());
+        verify(chatRoomService).discardLocalState(3L);
+        verify(chatRoomService, never()).activateInProcess(anyLong(), anyString());
+    }
+
+    private ChatRoomHostingService hostingService(boolean containerEnabled) {
+        return new ChatRoomHostingService(chatRoomRepository, chatRoomService, ecsContainerService, actorSystem,
+            meterRegistry, containerEnabled, 100, 5000, "/ws");
+    }
+
+    private static HostingView room(long roomId, ChatRoomStatus status, ChatRoomHostingMode hostingMode,
+                                    int chatMaxParticipants, EventStatus eventStatus) {
+        return new HostingView() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public ChatRoomStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public ChatRoomHostingMode getHostingMode() {
+                return hostingMode;
+            }
+
+            @Override
+            public Integer getChatMaxParticipants() {
+                return chatMaxParticipants;
+            }
+
+            @Override
+            public EventStatus getEventStatus() {
+                return eventStatus;
+            }
+
+            @Override
+            public LocalDateTime getEventEndTime() {
+                return LocalDateTime.now().plusHours(1);
+            }
+        };
+    }
+}
@@ -0,0 +1,186 @@
+package com.minibuskingbig.chat.idempotency;
+
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.Claim;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.State;
+import com.minibuskingbig.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 클라이언트 메시지 ID 중복 확인 테스트.
+ */
+class ChatClientMessageDeduplicatorTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long USER_ID = 7L;
+    private static final long WINDOW_MS = 60_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatClientMessageDeduplicator deduplicator =
+        new ChatClientMessageDeduplicator(meterRegistry, new LocalChatClientMessageClaimStore(), true, WINDOW_MS, 4, 0.01,
+            clock::get);
+
+    /**
+     * 재전송 확인 테스트.
+     */
+    @Test
+    @DisplayName("이미 받은 클라이언트 메시지 ID는 처음 발급한 messageId와 순번으로 중복 확인해야 함")
+    void should_return_original_ids_when_client_message_id_resent() {
+        Claim claim = deduplicator.claim(ROOM_ID, USER_ID, "client-1");
+        assertThat(claim.state()).isEqualTo(State.NEW);
+        deduplicator.accept(claim, 100L, 5L);
+
+        Claim resent = deduplicator.lookup(ROOM_ID, USER_ID, "client-1");
+
+        assertThat(resent.state()).isEqualTo(State.DUPLICATE);
+        assertThat(resent.messageId()).isEqualTo(100L);
+        assertThat(resent.sequence()).isEqualTo(5L);
+        assertThat(deduplicator.claim(ROOM_ID, USER_ID, "client-1").isDuplicate()).isTrue();
+        // 다른 사용자나 다른 채팅방의 같은 ID는 새 메시지다
+        assertThat(deduplicator.lookup(ROOM_ID, 8L, "client-1").isDuplicate()).isFalse();
+        assertThat(deduplicator.lookup(2L, USER_ID, "client-1").isDuplicate()).isFalse();
+        assertThat(meterRegistry.counter("chat.idempotency.duplicates", "state", "accepted").count()).isEqualTo(2);
+    }
+
+    /**
+     * 처리 중 재전송 테스트.
+     */
+    @Test
+    @DisplayName("순번을 받기 전에 같은 ID가 다시 들어오면 IN_FLIGHT, 예약을 취소하면 새 메시지로 받아야 함")
+    void should_report_in_flight_until_accepted_or_released() {
+        Claim claim = deduplicator.claim(ROOM_ID, USER_ID, "client-1");
+
+        assertThat(deduplicator.claim(ROOM_ID, USER_ID, "client-1").state()).isEqualTo(State.IN_FLIGHT);
+
+        deduplicator.release(claim);
+        assertThat(deduplicator.lookup(ROOM_ID, USER_ID, "client-1").isDuplicate()).isFalse();
+        assertThat(deduplicator.claim(ROOM_ID, USER_ID, "client-1").state()).isEqualTo(State.NEW);
+    }
+
+    /**
+     * window 만료 테스트.
+     */
+    @Test
+    @DisplayName("window-ms가 지나거나 capacity를 넘어 밀려난 ID는 새 메시지로 받아야 함")
+    void should_forget_client_message_ids_when_window_elapsed_or_capacity_exceeded() {
+        deduplicator.accept(deduplicator.claim(ROOM_ID, USER_ID, "old"), 1L, 1L);
+        clock.addAndGet(WINDOW_MS);
+        assertThat(deduplicator.lookup(ROOM_ID, USER_ID, "old").isDuplicate()).isFalse();
+
+        for (int i = 0; i < 5; i++) {
+            deduplicator.accept(deduplicator.claim(ROOM_ID, USER_ID, "client-" + i), 10L + i, 10L + i);
+        }
+        assertThat(deduplicator.lookup(ROOM_ID, USER_ID, "client-0").isDuplicate()).isFalse();
+        assertThat(deduplicator.lookup(ROOM_ID, USER_ID, "client-4").messageId()).isEqualTo(14L);
+
+        // 메시지가 없는 채팅방 기록은 제거
+        clock.addAndGet(WINDOW_MS);
+        deduplicator.evictIdleRooms();
+        assertThat(deduplicator.size()).isZero();
+    }
+
+    /**
+     * Bloom filter 세대 교체 테스트.
+     */
+    @Test
+    @DisplayName("Bloom filter 세대가 바뀌어도 링 버퍼에 남은 ID는 놓치지 않아야 함")
+    void should_not_miss_retained_ids_when_bloom_generation_rotated() {
+        for (int i = 0; i < 100; i++) {
+            deduplicator.accept(deduplicator.claim(ROOM_ID, USER_ID, "client-" + i), i + 1, i + 1);
+            for (int retained = Math.max(0, i - 3); retained <= i; retained++) {
+                assertThat(deduplicator.lookup(ROOM_ID, USER_ID, "client-" + retained).messageId())
+                    .isEqualTo(retained + 1);
+            }
+        }
+    }
+
+    /**
+     * 노드 간 재전송 테스트.
+     */
+    @Test
+    @DisplayName("공유 저장소를 쓰면 다른 노드로 다시 보낸 메시지도 처리 중이거나 이미 받은 메시지로 확인해야 함")
+    void should_detect_resend_on_other_node_when_claim_store_shared() {
+        SharedClaimStore store = new SharedClaimStore();
+        ChatClientMessageDeduplicator nodeA =
+            new ChatClientMessageDeduplicator(meterRegistry, store, true, WINDOW_MS, 4, 0.01, clock::get);
+        ChatClientMessageDeduplicator nodeB =
+            new ChatClientMessageDeduplicator(meterRegistry, store, true, WINDOW_MS, 4, 0.01, clock::get);
+
+        Claim claim = nodeA.claim(ROOM_ID, USER_ID, "client-1");
+        assertThat(claim.state()).isEqualTo(State.NEW);
+        assertThat(nodeB.claim(ROOM_ID, USER_ID, "client-1").state()).isEqualTo(State.IN_FLIGHT);
+
+        nodeA.accept(claim, 100L, 5L);
+        Claim resent = nodeB.claim(ROOM_ID, USER_ID, "client-1");
+        assertThat(resent.state()).isEqualTo(State.DUPLICATE);
+        assertThat(resent.messageId()).isEqualTo(100L);
+        assertThat(resent.sequence()).isEqualTo(5L);
+        // 다른 노드에서 받은 기록은 이 노드의 메모리에도 남긴다
+        assertThat(nodeB.lookup(ROOM_ID, USER_ID, "client-1").messageId()).isEqualTo(100L);
+
+        // 예약을 취소하면 어느 노드에서든 새 메시지로 받는다
+        Claim released = nodeA.claim(ROOM_ID, USER_ID, "client-2");
+        nodeA.release(released);
+        assertThat(nodeB.claim(ROOM_ID, USER_ID, "client-2").state()).isEqualTo(State.NEW);
+    }
+
+    /**
+     * ID 없는 메시지 테스트.
+     */
+    @Test
+    @DisplayName("클라이언트 메시지 ID가 없으면 확인하지 않고, 너무 길면 거부해야 함")
+    void should_skip_missing_ids_and_reject_too_long_ids() {
+        Claim claim = deduplicator.claim(ROOM_ID, USER_ID, null);
+        deduplicator.accept(claim, 1L, 1L);
+
+        assertThat(claim).isEqualTo(Claim.NONE);
+        assertThat(deduplicator.size()).isZero();
+        assertThatThrownBy(() -> deduplicator.claim(ROOM_ID, USER_ID, "x".repeat(65)))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    /**
+     * 여러 노드가 공유하는 메모리 예약 저장소 (Redis 대신)
+     */
+    private static final class SharedClaimStore implements ChatClientMessageClaimStore {
+
+        private final Map<String, Claim> claims = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean isShared() {
+            return true;
+        }
+
+        @Override
+        public Claim claim(Claim claim) {
+            Claim current = claims.putIfAbsent(key(claim.roomId(), claim.fingerprint()),
+                new Claim(claim.roomId(), claim.fingerprint(), State.IN_FLIGHT, 0L, 0L));
+            return current == null ? claim : current;
+        }
+
+        @Override
+        public void accept(Claim claim, long messageId, long sequence, long windowMillis) {
+            claims.put(key(claim.roomId(), claim.fingerprint()),
+                new Claim(claim.roomId(), claim.fingerprint(), State.DUPLICATE, messageId, sequence));
+        }
+
+        @Override
+        public void release(Claim claim) {
+            claims.computeIfPresent(key(claim.roomId(), claim.fingerprint()),
+                (key, current) -> current.state() == State.IN_FLIGHT ? null : current);
+        }
+
+        private static String key(long roomId, long fingerprint) {
+            return roomId + ":" + fingerprint;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.minibuskingbig.chat.moderation;
+
+import com.minibuskingbig.chat.moderation.ChatBannedWordAutomaton.BannedWord;
+import com.minibuskingbig.chat.moderation.ChatBannedWordAutomaton.ScanResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 금칙어 검사 벤치마크
+ *
+ * 임의로 만든 한글/영문 금칙어 목록으로 채팅 메시지 하나를 검사하는 시간을 측정한다.
+ * automaton은 Aho-Corasick 오토마톤으로 한 번 훑는 경우, naiveContains는 금칙어마다 String.contains를 호출하는 비교 기준이다.
+ * 오토마톤은 금칙어 수와 관계없이 메시지 길이에 비례하고, contains 방식은 금칙어 수에 비례해 느려진다.
+ * compile은 금칙어 파일을 다시 읽을 때 새 오토마톤을 만드는 비용이다 (메시지 전송 경로 밖에서 한 번만 실행).
+ *
+ * 실행: mvn -Pbenchmark -DskipTests verify -Dbenchmark.includes=ChatModerationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatModerationBenchmark {
+
+    private static final String[] MESSAGES = {
+        "오늘 공연 진짜 최고예요!! 다음 곡도 기대할게요",
+        "와 기타 소리 미쳤다 ㅋㅋㅋㅋ",
+        "Amazing performance, greetings from Busan :)",
+        "앵콜 앵콜 앵콜!!!",
+        "이 노래 제목이 뭐예요? what's the song title?",
+        "비 오는데도 다들 대단하다 우산 챙기세요",
+        "첫 곡부터 소름 돋았어요 👏👏",
+        "I came all the way from Seoul just for this show"
+    };
+
+    @Param({"100", "10000"})
+    private int terms;
+
+    private List<BannedWord> words;
+    private String[] lowerCaseTerms;
+    private ChatBannedWordAutomaton automaton;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = new ArrayList<>(terms);
+        lowerCaseTerms = new String[terms];
+        for (int i = 0; i < terms; i++) {
+            String term = i % 2 == 0 ? randomHangul(random) : randomLatin(random);
+            words.add(new BannedWord(term, i % 10 == 0));
+            lowerCaseTerms[i] = term;
+        }
+        automaton = ChatBannedWordAutomaton.compile(words);
+    }
+
+    @Benchmark
+    public ScanResult automaton() {
+        return automaton.scan(nextMessage());
+    }
+
+    @Benchmark
+    public boolean naiveContains() {
+        String message = nextMessage().toLowerCase();
+        for (String term : lowerCaseTerms) {
+            if (message.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public ChatBannedWordAutomaton compile() {
+        return ChatBannedWordAutomaton.compile(words);
+    }
+
+    private String nextMessage() {
+        return MESSAGES[next++ & (MESSAGES.length - 1)];
+    }
+
+    private static String randomHangul(Random random) {
+        StringBuilder term = new StringBuilder();
+        int length = 2 + random.nextInt(3);
+        for (int i = 0; i < length; i++) {
+            term.append((char) ('가' + random.nextInt('힣' - '가' + 1)));
+        }
+        return term.toString();
+    }
+
+    private static String randomLatin(Random random) {
+        StringBuilder term = new StringBuilder();
+        int length = 4 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            term.append((char) ('a' + random.nextInt(26)));
+        }
+        return term.toString();
+    }
+}
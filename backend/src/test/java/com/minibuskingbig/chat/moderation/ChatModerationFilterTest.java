@@ -0,0 +1,117 @@
+package com.minibuskingbig.chat.moderation;
+
+import com.minibuskingbig.chat.moderation.ChatBannedWordAutomaton.BannedWord;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채팅 메시지 금칙어 필터 테스트.
+ */
+class ChatModerationFilterTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 금칙어 가림 테스트.
+     */
+    @Test
+    @DisplayName("금칙어 부분만 *로 가리고 나머지 내용은 유지해야 함")
+    void should_mask_banned_words_when_message_contains_them() throws IOException {
+        ChatModerationFilter filter = filterOf("씨발", "fuck", "ass");
+
+        assertThat(filter.filter("씨발 뭐야")).isEqualTo("** 뭐야");
+        assertThat(filter.filter("kiss my ass")).isEqualTo("kiss my ***");
+        assertThat(filter.filter("오늘 공연 최고")).isEqualTo("오늘 공연 최고");
+        // 영문 금칙어는 단어 일부로 들어간 경우 가리지 않는다
+        assertThat(filter.filter("class pass")).isEqualTo("class pass");
+    }
+
+    /**
+     * 변형 표기 테스트.
+     */
+    @Test
+    @DisplayName("공백, 문장 부호, 숫자, leet, 전각, 반복 문자로 바꾼 금칙어도 가려야 함")
+    void should_mask_obfuscated_words_when_normalized() throws IOException {
+        ChatModerationFilter filter = filterOf("씨발", "fuck", "shit");
+
+        assertThat(filter.filter("씨 1 발")).isEqualTo("*****");
+        assertThat(filter.filter("씨.발")).isEqualTo("***");
+        assertThat(filter.filter("F.U.C.K you")).isEqualTo("******* you");
+        assertThat(filter.filter("fuuuuck")).isEqualTo("*******");
+        assertThat(filter.filter("ｆｕｃｋ")).isEqualTo("****");
+        assertThat(filter.filter("sh1t")).isEqualTo("****");
+        assertThat(filter.filter("f\u200Bu\u200Bck")).isEqualTo("******");
+    }
+
+    /**
+     * 스팸 차단 테스트.
+     */
+    @Test
+    @DisplayName("차단 금칙어가 있으면 CHAT_MESSAGE_BLOCKED로 거부해야 함")
+    void should_reject_message_when_block_term_matched() throws IOException {
+        ChatModerationFilter filter = filterOf("!카지노", "!open.kakao.com", "씨발");
+
+        assertThatThrownBy(() -> filter.filter("카-지-노 가입하면 보너스"))
+            .isInstanceOf(BusinessException.class)
+            .extracting("errorCode")
+            .isEqualTo(ErrorCode.CHAT_MESSAGE_BLOCKED);
+        assertThatThrownBy(() -> filter.filter("문의는 open . kakao . com/o/abc"))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    /**
+     * 겹치는 금칙어 테스트.
+     */
+    @Test
+    @DisplayName("겹치거나 다른 금칙어에 포함된 금칙어도 모두 가려야 함")
+    void should_mask_all_overlapping_words() {
+        ChatBannedWordAutomaton automaton = ChatBannedWordAutomaton.compile(List.of(
+            new BannedWord("개새끼", false), new BannedWord("새끼", false), new BannedWord("끼야", false)));
+
+        assertThat(automaton.scan("이 새끼야 개새끼").content()).isEqualTo("이 *** ***");
+    }
+
+    /**
+     * 금칙어 파일 교체 테스트.
+     */
+    @Test
+    @DisplayName("금칙어 파일이 바뀌면 다시 읽어 새 목록으로 검사해야 함")
+    void should_use_new_terms_when_file_modified() throws IOException {
+        Path terms = directory.resolve("banned-words.txt");
+        Files.writeString(terms, "# 주석\n바보\n", StandardCharsets.UTF_8);
+        ChatModerationFilter filter = new ChatModerationFilter(
+            new DefaultResourceLoader(), new SimpleMeterRegistry(), true, "file:" + terms);
+        assertThat(filter.filter("바보 멍청이")).isEqualTo("** 멍청이");
+
+        // 바뀌지 않았으면 다시 읽지 않는다
+        filter.reloadIfModified();
+
+        Files.writeString(terms, "멍청이\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(terms, FileTime.fromMillis(Files.getLastModifiedTime(terms).toMillis() + 1000));
+        filter.reloadIfModified();
+
+        assertThat(filter.filter("바보 멍청이")).isEqualTo("바보 ***");
+    }
+
+    private ChatModerationFilter filterOf(String... terms) throws IOException {
+        Path file = directory.resolve("banned-words.txt");
+        Files.writeString(file, String.join("\n", terms), StandardCharsets.UTF_8);
+        return new ChatModerationFilter(new DefaultResourceLoader(), new SimpleMeterRegistry(), true, "file:" + file);
+    }
+}
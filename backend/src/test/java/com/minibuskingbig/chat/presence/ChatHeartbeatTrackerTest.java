@@ -0,0 +1,135 @@
+package com.minibuskingbig.chat.presence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 참가자 heartbeat 추적 테스트.
+ */
+class ChatHeartbeatTrackerTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long IDLE_TIMEOUT_MS = 10_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<ChatParticipantsIdleEvent> events = new ArrayList<>();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final ChatHeartbeatTracker tracker = new ChatHeartbeatTracker(event -> {
+        if (failing.get()) {
+            throw new IllegalStateException("DB 연결 실패");
+        }
+        events.add((ChatParticipantsIdleEvent) event);
+    }, new SimpleMeterRegistry(), IDLE_TIMEOUT_MS, 1000, 2, clock::get);
+
+    /**
+     * 유휴 참가자 퇴장 테스트.
+     */
+    @Test
+    @DisplayName("idle-timeout 동안 heartbeat가 없으면 퇴장시키고 heartbeat를 보낸 참가자는 유지해야 함")
+    void should_evict_only_idle_participants_when_timeout_elapsed() {
+        tracker.touch(ROOM_ID, 1L);
+        tracker.touch(ROOM_ID, 2L);
+
+        for (int second = 0; second < 15; second++) {
+            elapse(1000);
+            tracker.touch(ROOM_ID, 2L);
+            if (second < 9) {
+                assertThat(events).isEmpty();
+            }
+        }
+
+        assertThat(events).containsExactly(new ChatParticipantsIdleEvent(ROOM_ID, List.of(1L)));
+        assertThat(tracker.size()).isEqualTo(1);
+    }
+
+    /**
+     * 직접 퇴장 테스트.
+     */
+    @Test
+    @DisplayName("직접 퇴장했거나 채팅방이 종료된 참가자는 만료시키지 않아야 함")
+    void should_not_evict_when_participant_removed() {
+        tracker.touch(ROOM_ID, 1L);
+        tracker.touch(2L, 1L);
+
+        tracker.remove(ROOM_ID, 1L);
+        tracker.discard(2L);
+        elapse(IDLE_TIMEOUT_MS * 2);
+
+        assertThat(events).isEmpty();
+        assertThat(tracker.getTrackedRoomIds()).isEmpty();
+    }
+
+    /**
+     * 배치 퇴장 테스트.
+     */
+    @Test
+    @DisplayName("같은 tick에 만료된 참가자는 채팅방별로 batch-size씩 묶어 퇴장시켜야 함")
+    void should_batch_evictions_per_room_when_expired_together() {
+        for (long userId = 1; userId <= 5; userId++) {
+            tracker.touch(ROOM_ID, userId);
+        }
+        tracker.touch(2L, 100L);
+
+        elapse(IDLE_TIMEOUT_MS);
+
+        assertThat(events).hasSize(4);
+        assertThat(events).filteredOn(event -> event.roomId() == ROOM_ID)
+            .flatExtracting(ChatParticipantsIdleEvent::userIds)
+            .containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(events).filteredOn(event -> event.roomId() == 2L)
+            .containsExactly(new ChatParticipantsIdleEvent(2L, List.of(100L)));
+    }
+
+    /**
+     * 퇴장 실패 재시도 테스트.
+     */
+    @Test
+    @DisplayName("퇴장 처리에 실패하면 idle-timeout의 절반 뒤에 다시 퇴장시켜야 함")
+    void should_retry_eviction_when_listener_failed() {
+        tracker.touch(ROOM_ID, 1L);
+        failing.set(true);
+        elapse(IDLE_TIMEOUT_MS);
+        assertThat(tracker.size()).isEqualTo(1);
+
+        failing.set(false);
+        elapse(IDLE_TIMEOUT_MS / 2);
+
+        assertThat(events).containsExactly(new ChatParticipantsIdleEvent(ROOM_ID, List.of(1L)));
+    }
+
+    /**
+     * 다른 노드 heartbeat 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드에서 받은 heartbeat는 추적 중인 참가자만 갱신해야 함")
+    void should_touch_only_tracked_participants_when_remote_heartbeats_received() {
+        tracker.touch(ROOM_ID, 1L);
+        List<List<Long>> relayed = new ArrayList<>();
+        tracker.addHeartbeatListener((roomId, userIds) -> relayed.add(userIds));
+
+        for (int second = 0; second < 15; second++) {
+            elapse(1000);
+            tracker.touchRemote(ROOM_ID, List.of(1L, 2L));
+        }
+
+        assertThat(events).isEmpty();
+        assertThat(tracker.size()).isEqualTo(1);
+        // 다른 노드에서 받은 heartbeat는 다시 릴레이하지 않는다
+        assertThat(relayed).containsExactly(List.of(1L));
+    }
+
+    private void elapse(long millis) {
+        for (long elapsed = 0; elapsed < millis; elapsed += 1000) {
+            clock.addAndGet(1000);
+            tracker.advance();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.minibuskingbig.chat.presence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 접속자 레지스트리 테스트.
+ */
+class ChatPresenceRegistryTest {
+
+    private static final long CHURN_ROOM_ID = 1L;
+    private static final long RELOAD_ROOM_ID = 2L;
+    private static final long[] STABLE_USER_IDS = LongStream.rangeClosed(1, 100).toArray();
+    // 입장한 적 없는 사용자 (낙관적 읽기가 잘못된 결과를 돌려주면 참가자로 보일 수 있음)
+    private static final long STRANGER_USER_ID = -1L;
+    private static final int READERS = 4;
+
+    private final ChatPresenceRegistry registry = new ChatPresenceRegistry(new SimpleMeterRegistry());
+
+    /**
+     * 입장/퇴장 중 낙관적 읽기 테스트.
+     */
+    @Test
+    @DisplayName("입장/퇴장으로 테이블이 확장·정리되는 동안에도 기존 참가자와 외부 사용자를 정확히 구분해야 함")
+    void should_read_consistently_when_joins_and_leaves_race_optimistic_reads() throws Exception {
+        registry.load(CHURN_ROOM_ID, () -> STABLE_USER_IDS);
+        AtomicInteger wrongReads = new AtomicInteger();
+
+        runWhileReading(
+            () -> {
+                // 한 번에 많이 입장시켜 테이블을 확장시킨 뒤 모두 퇴장시켜 삭제 체인을 만든다
+                for (long userId = 1_000; userId < 5_000; userId++) {
+                    registry.join(CHURN_ROOM_ID, userId);
+                }
+                for (long userId = 1_000; userId < 5_000; userId++) {
+                    registry.leave(CHURN_ROOM_ID, userId);
+                }
+            },
+            () -> {
+                for (long userId : STABLE_USER_IDS) {
+                    if (!registry.isParticipant(CHURN_ROOM_ID, userId)) {
+                        wrongReads.incrementAndGet();
+                    }
+                }
+                if (registry.isParticipant(CHURN_ROOM_ID, STRANGER_USER_ID)) {
+                    wrongReads.incrementAndGet();
+                }
+            });
+
+        assertThat(wrongReads.get()).isZero();
+        assertThat(registry.size(CHURN_ROOM_ID)).isEqualTo(STABLE_USER_IDS.length);
+    }
+
+    /**
+     * 다시 로드/제거 중 조회 테스트.
+     */
+    @Test
+    @DisplayName("채팅방을 다시 로드하거나 제거하는 동안 조회해도 외부 사용자를 참가자로 보지 않아야 함")
+    void should_never_admit_stranger_when_reload_and_remove_race_reads() throws Exception {
+        registry.load(RELOAD_ROOM_ID, () -> STABLE_USER_IDS);
+        AtomicInteger wrongReads = new AtomicInteger();
+
+        runWhileReading(
+            () -> {
+                registry.reload(RELOAD_ROOM_ID, () -> STABLE_USER_IDS);
+                registry.remove(RELOAD_ROOM_ID);
+                registry.load(RELOAD_ROOM_ID, () -> STABLE_USER_IDS);
+            },
+            () -> {
+                if (registry.isParticipant(RELOAD_ROOM_ID, STRANGER_USER_ID)) {
+                    wrongReads.incrementAndGet();
+                }
+                // 로드된 동안에는 참가자 수가 로드한 수와 같거나, 제거된 동안 0이어야 한다
+                int size = registry.size(RELOAD_ROOM_ID);
+                if (size != 0 && size != STABLE_USER_IDS.length) {
+                    wrongReads.incrementAndGet();
+                }
+            });
+
+        assertThat(wrongReads.get()).isZero();
+        assertThat(registry.isTracked(RELOAD_ROOM_ID)).isTrue();
+        assertThat(registry.getParticipants(RELOAD_ROOM_ID)).containsExactlyInAnyOrder(STABLE_USER_IDS);
+    }
+
+    /**
+     * writer를 정해진 횟수만큼 실행하는 동안 reader를 계속 실행한다.
+     */
+    private void runWhileReading(Runnable writer, Runnable reader) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        reader.run();
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writes = executor.submit(() -> {
+                start.await();
+                try {
+                    for (int round = 0; round < 50; round++) {
+                        writer.run();
+                    }
+                } finally {
+                    writing.set(false);
+                }
+                return null;
+            });
+
+            start.countDown();
+            // reader/writer에서 발생한 예외는 get()으로 다시 던져진다
+            writes.get(30, TimeUnit.SECONDS);
+            for (Future<?> future : readers) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
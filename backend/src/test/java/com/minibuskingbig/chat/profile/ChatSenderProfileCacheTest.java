@@ -0,0 +1,70 @@
+package com.minibuskingbig.chat.profile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보낸 사람 프로필 캐시 테스트.
+ */
+class ChatSenderProfileCacheTest {
+
+    private static final SenderProfile BUSKER = new SenderProfile(1L, "@busker", "버스커", "https://cdn/busker.png");
+    private static final SenderProfile FAN = new SenderProfile(2L, "@fan", "팬", null);
+
+    private final ChatSenderProfileCache cache = new ChatSenderProfileCache(new SimpleMeterRegistry());
+
+    /**
+     * 채팅방 범위 유지 테스트.
+     */
+    @Test
+    @DisplayName("참가 중인 채팅방이 모두 없어질 때까지 프로필을 유지해야 함")
+    void should_keep_profile_until_last_room_left() {
+        cache.putAll(10L, List.of(BUSKER, FAN), cache.generation());
+        cache.put(20L, BUSKER, cache.generation());
+
+        cache.leave(10L, BUSKER.userId());
+        assertThat(cache.get(BUSKER.userId())).contains(BUSKER);
+
+        cache.discard(20L);
+        assertThat(cache.get(BUSKER.userId())).isEmpty();
+        assertThat(cache.get(FAN.userId())).contains(FAN);
+
+        cache.discard(10L);
+        assertThat(cache.size()).isZero();
+    }
+
+    /**
+     * 프로필 변경 반영 테스트.
+     */
+    @Test
+    @DisplayName("프로필이 바뀌면 항목을 제거하고 다시 저장한 스냅샷을 반환해야 함")
+    void should_return_new_snapshot_when_profile_changed() {
+        cache.put(10L, BUSKER, cache.generation());
+
+        cache.invalidate(BUSKER.userId());
+        assertThat(cache.get(BUSKER.userId())).isEmpty();
+
+        SenderProfile renamed = new SenderProfile(1L, "@busker", "새 닉네임", null);
+        cache.put(10L, renamed, cache.generation());
+        assertThat(cache.get(BUSKER.userId())).contains(renamed);
+    }
+
+    /**
+     * 오래된 스냅샷 저장 방지 테스트.
+     */
+    @Test
+    @DisplayName("DB에서 읽는 사이 프로필이 바뀌었으면 읽은 스냅샷을 저장하지 않아야 함")
+    void should_skip_stale_snapshot_when_invalidated_while_loading() {
+        long generation = cache.generation();
+        cache.invalidate(BUSKER.userId());
+
+        cache.put(10L, BUSKER, generation);
+
+        assertThat(cache.get(BUSKER.userId())).isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package com.minibuskingbig.chat.ratelimit;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채팅 전송률 제한 테스트.
+ */
+class ChatRateLimiterTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long USER_ID = 10L;
+
+    private final AtomicLong now = new AtomicLong(1_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // burst 3, 분당 60개 (1초마다 1개 충전)
+    private final ChatRateLimiter limiter = new ChatRateLimiter(meterRegistry, 3, 60, 4, now::get);
+
+    /**
+     * burst와 충전 테스트.
+     */
+    @Test
+    @DisplayName("burst만큼 연속 전송을 허용하고 이후에는 충전된 만큼만 허용해야 함")
+    void should_allow_burst_then_sustained_rate_when_user_sends_rapidly() {
+        assertThat(sendTimes(5)).isEqualTo(3);
+
+        now.addAndGet(999);
+        assertThat(sendTimes(1)).isZero();
+
+        now.addAndGet(1);
+        assertThat(sendTimes(2)).isEqualTo(1);
+
+        now.addAndGet(60_000);
+        assertThat(sendTimes(5)).isEqualTo(3);
+        assertThat(meterRegistry.counter("chat.rate_limit.rejected", "reason", "rate").count()).isEqualTo(6);
+    }
+
+    /**
+     * 슬로우 모드 테스트.
+     */
+    @Test
+    @DisplayName("슬로우 모드에서는 사용자별로 간격마다 한 번만 허용하고 다른 사용자는 영향받지 않아야 함")
+    void should_allow_one_message_per_interval_when_slow_mode_enabled() {
+        limiter.configure(ROOM_ID, null, null, 10);
+
+        assertThat(sendTimes(3)).isEqualTo(1);
+        limiter.acquire(ROOM_ID, USER_ID + 1);
+
+        now.addAndGet(9_999);
+        assertThatThrownBy(() -> limiter.acquire(ROOM_ID, USER_ID))
+            .isInstanceOf(BusinessException.class)
+            .extracting(e -> ((BusinessException) e).getErrorCode())
+            .isEqualTo(ErrorCode.CHAT_RATE_LIMITED);
+
+        now.addAndGet(1);
+        assertThat(sendTimes(1)).isEqualTo(1);
+
+        limiter.configure(ROOM_ID, null, null, 0);
+        now.addAndGet(10_000);
+        assertThat(sendTimes(5)).isEqualTo(3);
+        assertThat(limiter.getSettings(ROOM_ID).getSlowModeSeconds()).isZero();
+    }
+
+    /**
+     * 동시 전송 테스트.
+     */
+    @Test
+    @DisplayName("테이블 확장 중에도 동시 전송에서 사용자별 burst만큼만 허용해야 함")
+    void should_allow_exactly_burst_per_user_when_many_users_send_concurrently() throws InterruptedException {
+        int users = 500;
+        int attemptsPerUser = 10;
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(users * attemptsPerUser);
+
+        for (int attempt = 0; attempt < attemptsPerUser; attempt++) {
+            for (long userId = 1; userId <= users; userId++) {
+                long sender = userId;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        limiter.acquire(ROOM_ID, sender);
+                        allowed.incrementAndGet();
+                    } catch (BusinessException e) {
+                        // 전송률 초과
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+        }
+
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(allowed.get()).isEqualTo(users * 3);
+    }
+
+    private int sendTimes(int times) {
+        int allowed = 0;
+        for (int i = 0; i < times; i++) {
+            try {
+                limiter.acquire(ROOM_ID, USER_ID);
+                allowed++;
+            } catch (BusinessException e) {
+                // 전송률 초과
+            }
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,133 @@
+package com.minibuskingbig.chat.reaction;
+
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.dto.ChatReactionTickDto;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository.ReactionDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방 리액션 집계 테스트.
+ */
+class ChatReactionAggregatorTest {
+
+    private static final long ROOM_ID = 1L;
+
+    private final ChatBroadcastEngine engine = mock(ChatBroadcastEngine.class);
+    private final ChatReactionTotalRepository repository = mock(ChatReactionTotalRepository.class);
+    private final ChatReactionAggregator aggregator = new ChatReactionAggregator(
+        engine, repository, new SimpleMeterRegistry(), 100, 20);
+
+    /**
+     * tick 집계 테스트.
+     */
+    @Test
+    @DisplayName("tick 동안 들어온 리액션을 종류별로 합쳐 프레임 하나로 보내야 함")
+    void should_broadcast_single_frame_per_tick_when_reactions_recorded() {
+        when(engine.getSubscriberCount(ROOM_ID)).thenReturn(1);
+        List<long[]> relayed = new ArrayList<>();
+        aggregator.addTickListener((roomId, counts) -> relayed.add(counts));
+
+        for (int i = 0; i < 100; i++) {
+            aggregator.record(ROOM_ID, ReactionType.HEART, 1);
+        }
+        aggregator.record(ROOM_ID, ReactionType.CLAP, 5);
+        aggregator.applyRemote(ROOM_ID, new long[]{0, 2, 0, 0});
+        aggregator.tick();
+
+        ArgumentCaptor<ChatReactionTickDto> frame = ArgumentCaptor.forClass(ChatReactionTickDto.class);
+        verify(engine).broadcastLocal(eq(ROOM_ID), eq(0L), frame.capture());
+        assertThat(frame.getValue().getType()).isEqualTo(ChatReactionTickDto.TYPE);
+        assertThat(frame.getValue().getCounts()).isEqualTo(Map.of(ReactionType.HEART, 100L, ReactionType.CLAP, 7L));
+        // 다른 노드에는 이 노드에서 받은 수만 전달
+        assertThat(relayed).singleElement().isEqualTo(new long[]{100, 5, 0, 0});
+
+        // 새 리액션이 없으면 보내지 않는다
+        reset(engine);
+        aggregator.tick();
+        verify(engine, never()).broadcastLocal(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * 동시 추가 테스트.
+     */
+    @Test
+    @DisplayName("tick과 동시에 들어온 리액션도 빠짐없이 다음 tick에 포함해야 함")
+    void should_not_lose_reactions_when_recorded_during_tick() throws InterruptedException {
+        long[] ticked = new long[1];
+        aggregator.addTickListener((roomId, counts) -> ticked[0] += counts[ReactionType.HEART.ordinal()]);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    aggregator.record(ROOM_ID, ReactionType.HEART, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            aggregator.tick();
+        }
+        aggregator.tick();
+
+        assertThat(ticked[0]).isEqualTo(40_000L);
+    }
+
+    /**
+     * 누적 수 저장 테스트.
+     */
+    @Test
+    @DisplayName("저장 주기마다 늘어난 수만 더하고 실패하면 다음 주기에 다시 더해야 함")
+    void should_persist_only_new_totals_when_flushed() {
+        aggregator.record(ROOM_ID, ReactionType.HEART, 50);
+        doThrow(new RuntimeException("DB 연결 실패")).when(repository).addDeltas(anyList());
+        aggregator.flush();
+
+        reset(repository);
+        aggregator.record(ROOM_ID, ReactionType.HEART, 1);
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(repository, times(1)).addDeltas(List.of(new ReactionDelta(ROOM_ID, ReactionType.HEART, 51)));
+    }
+
+    /**
+     * 요청당 최대 수 테스트.
+     */
+    @Test
+    @DisplayName("한 번에 보낸 리액션 수는 1 이상 max-per-request 이하로 보정해야 함")
+    void should_clamp_count_when_request_exceeds_limit() {
+        List<long[]> relayed = new ArrayList<>();
+        aggregator.addTickListener((roomId, counts) -> relayed.add(counts));
+
+        aggregator.record(ROOM_ID, ReactionType.FIRE, 1_000);
+        aggregator.record(ROOM_ID, ReactionType.FIRE, -5);
+        aggregator.tick();
+
+        assertThat(relayed).singleElement().isEqualTo(new long[]{0, 0, 21, 0});
+    }
+}
@@ -0,0 +1,68 @@
+package com.minibuskingbig.chat.reaction;
+
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 채팅방 리액션 집계 벤치마크
+ *
+ * 8개 스레드가 동시에 리액션을 추가하는 동안 tick 스레드가 100ms마다 집계하는 상황에서 초당 처리 리액션 수를 측정한다.
+ * rooms가 1이면 모든 스레드가 한 채팅방의 같은 카운터에 몰리는 경우다 (LongAdder가 스레드별 cell로 나눠 경합을 줄인다).
+ * 브로드캐스트와 저장은 mock으로 대신하므로 리액션을 받는 경로의 비용만 포함한다.
+ *
+ * 실행: mvn -Pbenchmark -DskipTests verify -Dbenchmark.includes=ChatReactionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ChatReactionBenchmark {
+
+    private static final ReactionType[] TYPES = ReactionType.values();
+
+    @Param({"1", "100"})
+    private int rooms;
+
+    private ChatReactionAggregator aggregator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        aggregator = new ChatReactionAggregator(
+            mock(ChatBroadcastEngine.class), mock(ChatReactionTotalRepository.class), new SimpleMeterRegistry(), 100, 20);
+        aggregator.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        aggregator.stop();
+    }
+
+    @Benchmark
+    public void record() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        aggregator.record(random.nextInt(rooms), TYPES[random.nextInt(TYPES.length)], 1);
+    }
+}
@@ -0,0 +1,307 @@
+package com.minibuskingbig.chat.relay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.minibuskingbig.chat.broadcast.ChatBroadcastBatching;
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.broadcast.ChatBroadcastMetrics;
+import com.minibuskingbig.chat.broadcast.OverflowPolicy;
+import com.minibuskingbig.chat.dto.ChatMessageDto;
+import com.minibuskingbig.chat.entity.MessageType;
+import com.minibuskingbig.chat.history.ChatRecentMessageBuffer;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator;
+import com.minibuskingbig.chat.idempotency.LocalChatClientMessageClaimStore;
+import com.minibuskingbig.chat.moderation.ChatMessageDeletedEvent;
+import com.minibuskingbig.chat.moderation.ChatMessagesPurgedEvent;
+import com.minibuskingbig.chat.presence.ChatHeartbeatTracker;
+import com.minibuskingbig.chat.presence.ChatParticipantsIdleEvent;
+import com.minibuskingbig.chat.presence.ChatPresenceChangedEvent;
+import com.minibuskingbig.chat.presence.ChatPresenceRegistry;
+import com.minibuskingbig.chat.profile.ChatSenderProfileCache;
+import com.minibuskingbig.chat.profile.ChatSenderProfileChangedEvent;
+import com.minibuskingbig.chat.profile.SenderProfile;
+import com.minibuskingbig.chat.ratelimit.ChatRateLimiter;
+import com.minibuskingbig.chat.reaction.ChatReactionAggregator;
+import com.minibuskingbig.chat.reaction.ReactionType;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository;
+import com.minibuskingbig.chat.service.ChatMessageWriteBehindService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 노드 간 채팅 릴레이 통합 테스트 (한 JVM 안의 두 노드, 메모리 Redis Streams 사용).
+ */
+class ChatStreamRelayTest {
+
+    private static final long ROOM_ID = 1L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final InMemoryChatRelayStreams redis = new InMemoryChatRelayStreams();
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node("node-a");
+        nodeB = new Node("node-b");
+        nodeA.awaitRelaying();
+        nodeB.awaitRelaying();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    /**
+     * 노드 간 메시지 전달 테스트.
+     */
+    @Test
+    @DisplayName("한 노드에서 보낸 메시지를 다른 노드의 구독자도 정확히 한 번 받아야 함")
+    void should_deliver_message_once_to_each_node_when_broadcast_on_one_node() {
+        nodeA.engine.broadcast(ROOM_ID, 1L, message(1L, "안녕하세요"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> nodeA.received.size() == 1 && nodeB.received.size() == 1);
+        assertThat(nodeB.received.get(0)).contains("안녕하세요");
+
+        // 자기 노드가 추가한 항목은 다시 전송하지 않는다
+        await().during(300, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> nodeA.received.size() == 1);
+    }
+
+    /**
+     * 다른 노드 클라이언트 메시지 ID 기록 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드에서 받은 메시지의 클라이언트 메시지 ID는 이 노드로 다시 보내도 중복으로 확인해야 함")
+    void should_record_client_message_id_when_message_relayed() {
+        ChatMessageDto message = ChatMessageDto.builder()
+            .messageId(11L)
+            .roomId(ROOM_ID)
+            .sequence(3L)
+            .userId(7L)
+            .messageType(MessageType.CHAT)
+            .content("재전송")
+            .createdAt(LocalDateTime.of(2024, 5, 1, 19, 0))
+            .clientMessageId("client-1")
+            .build();
+        nodeA.engine.broadcast(ROOM_ID, 3L, message);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> nodeB.received.size() == 1);
+        ChatClientMessageDeduplicator.Claim claim = nodeB.deduplicator.lookup(ROOM_ID, 7L, "client-1");
+        assertThat(claim.isDuplicate()).isTrue();
+        assertThat(claim.messageId()).isEqualTo(11L);
+        assertThat(claim.sequence()).isEqualTo(3L);
+        // 다른 사용자가 같은 ID를 보낸 것은 중복이 아니다
+        assertThat(nodeB.deduplicator.lookup(ROOM_ID, 8L, "client-1").isDuplicate()).isFalse();
+    }
+
+    /**
+     * 연결 끊김 후 이어 읽기 테스트.
+     */
+    @Test
+    @DisplayName("Redis 연결이 잠시 끊겨도 다시 연결되면 놓친 메시지를 순서대로 받아야 함")
+    void should_catch_up_missed_messages_when_reconnected() {
+        nodeB.connection.disconnect();
+        // 끊기기 전에 시작된 XREAD가 끝날 때까지 대기
+        await().pollDelay(200, TimeUnit.MILLISECONDS).until(() -> true);
+
+        for (long i = 1; i <= 3; i++) {
+            nodeA.engine.broadcast(ROOM_ID, i, message(i, "message-" + i));
+        }
+        await().pollDelay(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> nodeB.received.isEmpty());
+
+        nodeB.connection.reconnect();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> nodeB.received.size() == 3);
+        assertThat(nodeB.received.get(0)).contains("message-1");
+        assertThat(nodeB.received.get(2)).contains("message-3");
+    }
+
+    /**
+     * 입장 전달 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드에서 입장한 사용자를 접속자 레지스트리에 반영해야 함")
+    void should_apply_remote_join_when_presence_event_relayed() {
+        nodeB.presence.load(ROOM_ID, () -> new long[0]);
+
+        nodeA.relay.onPresenceChanged(new ChatPresenceChangedEvent(ROOM_ID, 42L, true));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> nodeB.presence.isParticipant(ROOM_ID, 42L));
+    }
+
+    /**
+     * 프로필 변경 전달 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드에서 바뀐 프로필을 프로필 캐시에서 제거해야 함")
+    void should_invalidate_remote_profile_when_sender_profile_changed() {
+        nodeB.profiles.put(ROOM_ID, new SenderProfile(42L, "@busker", "버스커", null), nodeB.profiles.generation());
+
+        nodeA.relay.onSenderProfileChanged(new ChatSenderProfileChangedEvent(42L, List.of(ROOM_ID)));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> nodeB.profiles.get(42L).isEmpty());
+    }
+
+    /**
+     * 리액션 전달 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드에서 받은 리액션을 이 노드의 다음 tick 프레임에 더해 보내야 함")
+    void should_include_remote_reactions_in_tick_when_reactions_relayed() {
+        nodeA.reactions.record(ROOM_ID, ReactionType.HEART, 3);
+        nodeA.reactions.tick();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            nodeB.reactions.tick();
+            return nodeB.received.stream().anyMatch(frame -> frame.contains("REACTION_TICK"));
+        });
+        assertThat(nodeB.received).filteredOn(frame -> frame.contains("REACTION_TICK"))
+            .singleElement().asString().contains("\"HEART\":3");
+    }
+
+    /**
+     * heartbeat 전달 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드에서 heartbeat를 받는 참가자는 유휴 상태로 퇴장시키지 않아야 함")
+    void should_keep_participant_when_heartbeats_relayed_from_other_node() {
+        nodeA.heartbeats.start();
+        nodeB.heartbeats.start();
+        // 입장은 노드 B에서 처리했지만 WebSocket은 노드 A에 연결된 경우
+        nodeB.heartbeats.touch(ROOM_ID, 42L);
+
+        await().during(1500, TimeUnit.MILLISECONDS).atMost(3, TimeUnit.SECONDS).until(() -> {
+            nodeA.heartbeats.touch(ROOM_ID, 42L);
+            return nodeB.idleEvents.isEmpty();
+        });
+
+        // heartbeat가 끊기면 idle-timeout 뒤 퇴장
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !nodeB.idleEvents.isEmpty());
+        assertThat(nodeB.idleEvents.get(0)).isEqualTo(new ChatParticipantsIdleEvent(ROOM_ID, List.of(42L)));
+    }
+
+    /**
+     * 일괄 삭제 전달 테스트.
+     */
+    @Test
+    @DisplayName("일괄 삭제를 다른 노드에 전달하고 그 노드에서 저장 대기 중인 메시지도 삭제 알림에 포함해야 함")
+    void should_relay_tombstone_including_remote_unflushed_messages_when_messages_purged() {
+        LocalDateTime from = LocalDateTime.of(2024, 5, 1, 18, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 5, 1, 20, 0);
+        when(nodeB.writeBehind.deleteUnflushedByUser(ROOM_ID, 7L, from, to)).thenReturn(List.of(9L));
+
+        nodeA.relay.onMessagesPurged(new ChatMessagesPurgedEvent(ROOM_ID, 7L, from, to, List.of(3L, 4L)));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> nodeB.received.size() == 1 && nodeA.received.size() == 1);
+        assertThat(nodeB.received.get(0)).contains("TOMBSTONE").contains("[3,4,9]");
+        // 다른 노드에서 찾은 저장 대기 메시지는 ID만 다시 전달된다
+        assertThat(nodeA.received.get(0)).contains("TOMBSTONE").contains("[9]");
+        verify(nodeA.writeBehind, never()).deleteUnflushedByUser(anyLong(), anyLong(), any(), any());
+    }
+
+    /**
+     * 메시지 한 건 삭제 전달 테스트.
+     */
+    @Test
+    @DisplayName("메시지 한 건 삭제를 다른 노드의 구독자에게만 삭제 알림으로 전달해야 함")
+    void should_relay_tombstone_to_other_node_when_single_message_deleted() {
+        nodeA.relay.onMessageDeleted(new ChatMessageDeletedEvent(ROOM_ID, 3L));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> nodeB.received.size() == 1);
+        assertThat(nodeB.received.get(0)).contains("TOMBSTONE").contains("[3]");
+        // 삭제한 노드의 구독자에게는 컨트롤러가 직접 보낸다
+        await().during(300, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> nodeA.received.isEmpty());
+        verify(nodeB.writeBehind, never()).deleteUnflushedByUser(anyLong(), anyLong(), any(), any());
+    }
+
+    private ChatMessageDto message(long messageId, String content) {
+        return ChatMessageDto.builder()
+            .messageId(messageId)
+            .roomId(ROOM_ID)
+            .userId(7L)
+            .messageType(MessageType.CHAT)
+            .content(content)
+            .createdAt(LocalDateTime.of(2024, 5, 1, 19, 0))
+            .build();
+    }
+
+    private final class Node {
+
+        private final InMemoryChatRelayStreams.Connection connection = redis.connect();
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final ChatBroadcastEngine engine = new ChatBroadcastEngine(
+            objectMapper, new ChatBroadcastMetrics(meterRegistry), ChatBroadcastBatching.disabled(), meterRegistry,
+            1, 100, 1, 100, OverflowPolicy.DROP_OLDEST, 1024);
+        private final ChatPresenceRegistry presence = new ChatPresenceRegistry(meterRegistry);
+        private final ChatSenderProfileCache profiles = new ChatSenderProfileCache(meterRegistry);
+        private final ChatMessageWriteBehindService writeBehind = mock(ChatMessageWriteBehindService.class);
+        private final ChatReactionAggregator reactions = new ChatReactionAggregator(
+            engine, mock(ChatReactionTotalRepository.class), meterRegistry, 100, 20);
+        private final List<Object> idleEvents = new CopyOnWriteArrayList<>();
+        private final ChatHeartbeatTracker heartbeats = new ChatHeartbeatTracker(
+            idleEvents::add, meterRegistry, 600, 100, 500);
+        private final ChatClientMessageDeduplicator deduplicator = new ChatClientMessageDeduplicator(
+            meterRegistry, new LocalChatClientMessageClaimStore(), true, 60_000, 64, 0.01);
+        private final ChatStreamRelay relay = new ChatStreamRelay(connection, engine,
+            new ChatRecentMessageBuffer(meterRegistry, 50), presence, heartbeats, profiles,
+            new ChatRateLimiter(meterRegistry, 5, 60, 16),
+            reactions, deduplicator, writeBehind, objectMapper, meterRegistry, 1000, 100, 50, 100);
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        Node(String sessionId) {
+            WebSocketSession session = mock(WebSocketSession.class);
+            when(session.getId()).thenReturn(sessionId);
+            try {
+                doAnswer(invocation -> {
+                    WebSocketMessage<?> frame = invocation.getArgument(0);
+                    received.add(((TextMessage) frame).getPayload());
+                    return null;
+                }).when(session).sendMessage(any());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+
+            engine.register(session);
+            engine.subscribe(sessionId, "sub-0", ROOM_ID);
+            relay.start();
+        }
+
+        void awaitRelaying() {
+            await().atMost(5, TimeUnit.SECONDS).until(() -> relay.getRelayedRoomIds().contains(ROOM_ID));
+        }
+
+        void stop() {
+            heartbeats.stop();
+            relay.stop();
+            engine.shutdown();
+        }
+    }
+}
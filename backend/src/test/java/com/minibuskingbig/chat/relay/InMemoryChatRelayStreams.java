@@ -0,0 +1,112 @@
+package com.minibuskingbig.chat.relay;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테스트용 메모리 Redis Streams
+ *
+ * 여러 노드가 같은 저장소를 공유하고, 노드별 연결(connect)을 끊었다 다시 연결할 수 있다.
+ * 항목 ID는 저장소 전체에서 증가하는 "{순번}-0" 형식이다.
+ */
+class InMemoryChatRelayStreams {
+
+    private final Map<String, List<ChatRelayStreams.StreamEntry>> streams = new HashMap<>();
+    private long sequence;
+
+    Connection connect() {
+        return new Connection();
+    }
+
+    private synchronized String append(String streamKey, Map<String, String> fields, long maxLength) {
+        String id = (++sequence) + "-0";
+        List<ChatRelayStreams.StreamEntry> stream = streams.computeIfAbsent(streamKey, key -> new ArrayList<>());
+        stream.add(new ChatRelayStreams.StreamEntry(streamKey, id, Map.copyOf(fields)));
+        while (stream.size() > maxLength) {
+            stream.remove(0);
+        }
+        notifyAll();
+        return id;
+    }
+
+    private synchronized String lastId(String streamKey) {
+        List<ChatRelayStreams.StreamEntry> stream = streams.get(streamKey);
+        return stream == null || stream.isEmpty() ? "0-0" : stream.get(stream.size() - 1).id();
+    }
+
+    private synchronized List<ChatRelayStreams.StreamEntry> read(Map<String, String> offsets, int count, Duration block)
+        throws InterruptedException {
+        long deadline = System.nanoTime() + block.toNanos();
+        while (true) {
+            List<ChatRelayStreams.StreamEntry> result = new ArrayList<>();
+            offsets.forEach((streamKey, offset) -> {
+                for (ChatRelayStreams.StreamEntry entry : streams.getOrDefault(streamKey, List.of())) {
+                    if (result.size() < count && sequenceOf(entry.id()) > sequenceOf(offset)) {
+                        result.add(entry);
+                    }
+                }
+            });
+
+            long remaining = deadline - System.nanoTime();
+            if (!result.isEmpty() || remaining <= 0) {
+                return result;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+    }
+
+    private static long sequenceOf(String id) {
+        return Long.parseLong(id.substring(0, id.indexOf('-')));
+    }
+
+    /**
+     * 노드 하나의 Redis 연결
+     */
+    class Connection implements ChatRelayStreams {
+
+        private volatile boolean connected = true;
+
+        void disconnect() {
+            connected = false;
+        }
+
+        void reconnect() {
+            connected = true;
+        }
+
+        @Override
+        public String append(String streamKey, Map<String, String> fields, long maxLength) {
+            checkConnected();
+            return InMemoryChatRelayStreams.this.append(streamKey, fields, maxLength);
+        }
+
+        @Override
+        public String lastId(String streamKey) {
+            checkConnected();
+            return InMemoryChatRelayStreams.this.lastId(streamKey);
+        }
+
+        @Override
+        public List<StreamEntry> read(Map<String, String> offsets, int count, Duration block) {
+            checkConnected();
+            try {
+                return InMemoryChatRelayStreams.this.read(offsets, count, block);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            }
+        }
+
+        private void checkConnected() {
+            if (!connected) {
+                throw new RedisConnectionFailureException("Disconnected");
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.minibuskingbig.chat.relay;
+
+import com.minibuskingbig.common.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 노드 ID 발급기 테스트.
+ */
+class RedisChatNodeIdAllocatorTest {
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    RedisChatNodeIdAllocatorTest() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    /**
+     * 점유된 ID 건너뛰기 테스트.
+     */
+    @Test
+    @DisplayName("다른 노드가 점유한 ID는 건너뛰고 비어 있는 ID를 받아야 함")
+    void should_skip_leased_id_when_acquiring() {
+        when(valueOperations.increment("chat:node-id:counter")).thenReturn(1024L, 1025L);
+        when(valueOperations.setIfAbsent(eq("chat:node-id:lease:0"), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq("chat:node-id:lease:1"), anyString(), any(Duration.class))).thenReturn(true);
+        RedisChatNodeIdAllocator allocator = new RedisChatNodeIdAllocator(redisTemplate, -1, 30_000);
+
+        allocator.acquire();
+
+        assertThat(allocator.currentNodeId()).isEqualTo(1L);
+    }
+
+    /**
+     * 지정 ID 중복 테스트.
+     */
+    @Test
+    @DisplayName("지정한 chat.node-id를 다른 노드가 쓰고 있으면 시작에 실패해야 함")
+    void should_fail_startup_when_configured_id_is_leased() {
+        when(valueOperations.setIfAbsent(eq("chat:node-id:lease:7"), anyString(), any(Duration.class))).thenReturn(false);
+        RedisChatNodeIdAllocator allocator = new RedisChatNodeIdAllocator(redisTemplate, 7, 30_000);
+
+        assertThatThrownBy(allocator::acquire).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * lease 상실 테스트.
+     */
+    @Test
+    @DisplayName("연장 중 lease를 잃으면 새 ID를 받아야 함")
+    @SuppressWarnings("unchecked")
+    void should_acquire_new_id_when_lease_is_lost() {
+        when(valueOperations.increment("chat:node-id:counter")).thenReturn(3L, 4L);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(0L);
+        RedisChatNodeIdAllocator allocator = new RedisChatNodeIdAllocator(redisTemplate, -1, 30_000);
+        allocator.acquire();
+
+        allocator.renew();
+
+        assertThat(allocator.currentNodeId()).isEqualTo(4L);
+    }
+
+    /**
+     * lease 만료 테스트.
+     */
+    @Test
+    @DisplayName("lease 시간 동안 연장하지 못하면 노드 ID를 발급하지 않아야 함")
+    void should_reject_when_lease_is_not_renewed_in_time() throws InterruptedException {
+        when(valueOperations.increment("chat:node-id:counter")).thenReturn(1L);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        RedisChatNodeIdAllocator allocator = new RedisChatNodeIdAllocator(redisTemplate, -1, 20);
+        allocator.acquire();
+
+        Thread.sleep(50);
+
+        assertThatThrownBy(allocator::currentNodeId).isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,310 @@
+package com.minibuskingbig.chat.service;
+
+import com.minibuskingbig.chat.archive.ChatArchiveService;
+import com.minibuskingbig.chat.dto.ChatSendResult;
+import com.minibuskingbig.chat.dto.ChatTombstoneDto;
+import com.minibuskingbig.chat.dto.PendingChatMessage;
+import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.entity.MessageType;
+import com.minibuskingbig.chat.history.ChatRecentMessageBuffer;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.Claim;
+import com.minibuskingbig.chat.idempotency.ChatClientMessageDeduplicator.State;
+import com.minibuskingbig.chat.moderation.ChatMessageDeletedEvent;
+import com.minibuskingbig.chat.moderation.ChatMessagesPurgedEvent;
+import com.minibuskingbig.chat.moderation.ChatModerationFilter;
+import com.minibuskingbig.chat.presence.ChatHeartbeatTracker;
+import com.minibuskingbig.chat.presence.ChatParticipantsIdleEvent;
+import com.minibuskingbig.chat.presence.ChatPresenceChangedEvent;
+import com.minibuskingbig.chat.presence.ChatPresenceRegistry;
+import com.minibuskingbig.chat.profile.ChatSenderProfileCache;
+import com.minibuskingbig.chat.profile.SenderProfile;
+import com.minibuskingbig.chat.ratelimit.ChatRateLimiter;
+import com.minibuskingbig.chat.reaction.ChatReactionAggregator;
+import com.minibuskingbig.chat.repository.ChatMessageRepository;
+import com.minibuskingbig.chat.repository.ChatParticipantRepository;
+import com.minibuskingbig.chat.repository.ChatReactionTotalRepository;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import com.minibuskingbig.user.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 메시지 서비스 테스트.
+ */
+class ChatMessageServiceTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long MODERATOR_ID = 2L;
+    private static final long TARGET_USER_ID = 7L;
+
+    private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+    private final ChatParticipantRepository chatParticipantRepository = mock(ChatParticipantRepository.class);
+    private final ChatRoomService chatRoomService = mock(ChatRoomService.class);
+    private final ChatMessageIdGenerator chatMessageIdGenerator = mock(ChatMessageIdGenerator.class);
+    private final ChatRoomSequencer chatRoomSequencer = mock(ChatRoomSequencer.class);
+    private final ChatRateLimiter chatRateLimiter = mock(ChatRateLimiter.class);
+    private final ChatMessageWriteBehindService writeBehindService = mock(ChatMessageWriteBehindService.class);
+    private final ChatRecentMessageBuffer recentMessageBuffer = mock(ChatRecentMessageBuffer.class);
+    private final ChatPresenceRegistry presenceRegistry = mock(ChatPresenceRegistry.class);
+    private final ChatSenderProfileCache senderProfileCache = mock(ChatSenderProfileCache.class);
+    private final ChatClientMessageDeduplicator deduplicator = mock(ChatClientMessageDeduplicator.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final ChatMessageService chatMessageService = new ChatMessageService(
+        chatMessageRepository,
+        chatParticipantRepository,
+        chatRoomService,
+        mock(UserService.class),
+        chatMessageIdGenerator,
+        chatRoomSequencer,
+        writeBehindService,
+        presenceRegistry,
+        mock(ChatHeartbeatTracker.class),
+        senderProfileCache,
+        recentMessageBuffer,
+        mock(ChatArchiveService.class),
+        chatRateLimiter,
+        mock(ChatModerationFilter.class),
+        deduplicator,
+        mock(ChatReactionAggregator.class),
+        mock(ChatReactionTotalRepository.class),
+        eventPublisher
+    );
+
+    /**
+     * 예약 후 메시지 수락 테스트.
+     */
+    @Test
+    @DisplayName("처음 받은 클라이언트 메시지 ID는 확인, 예약 후 큐에 넣고 발급한 messageId와 순번으로 기록해야 함")
+    void should_claim_then_accept_when_new_client_message_id_sent() {
+        Claim claim = new Claim(ROOM_ID, 11L, State.NEW, 0L, 0L);
+        givenParticipant();
+        when(deduplicator.lookup(ROOM_ID, TARGET_USER_ID, "client-1")).thenReturn(Claim.NONE);
+        when(deduplicator.claim(ROOM_ID, TARGET_USER_ID, "client-1")).thenReturn(claim);
+        when(chatMessageIdGenerator.nextId()).thenReturn(100L);
+        when(chatRoomSequencer.next(ROOM_ID)).thenReturn(5L);
+
+        ChatSendResult result = chatMessageService.sendMessage(TARGET_USER_ID, ROOM_ID, MessageType.CHAT, "안녕하세요", "client-1");
+
+        assertThat(result.isDuplicate()).isFalse();
+        assertThat(result.message().getMessageId()).isEqualTo(100L);
+        InOrder order = inOrder(deduplicator, writeBehindService);
+        order.verify(deduplicator).lookup(ROOM_ID, TARGET_USER_ID, "client-1");
+        order.verify(deduplicator).claim(ROOM_ID, TARGET_USER_ID, "client-1");
+        order.verify(writeBehindService).enqueue(any(PendingChatMessage.class));
+        order.verify(deduplicator).accept(claim, 100L, 5L);
+        verify(deduplicator, never()).release(any());
+    }
+
+    /**
+     * 큐 적재 실패 시 예약 취소 테스트.
+     */
+    @Test
+    @DisplayName("메시지를 큐에 넣지 못하면 예약을 취소해 같은 ID로 다시 보낼 수 있어야 함")
+    void should_release_claim_when_enqueue_fails() {
+        Claim claim = new Claim(ROOM_ID, 11L, State.NEW, 0L, 0L);
+        givenParticipant();
+        when(deduplicator.lookup(ROOM_ID, TARGET_USER_ID, "client-1")).thenReturn(Claim.NONE);
+        when(deduplicator.claim(ROOM_ID, TARGET_USER_ID, "client-1")).thenReturn(claim);
+        doThrow(new BusinessException(ErrorCode.CHAT_BUSY, "잠시 후 다시 시도해주세요."))
+            .when(writeBehindService).enqueue(any(PendingChatMessage.class));
+
+        assertThatThrownBy(() -> chatMessageService.sendMessage(TARGET_USER_ID, ROOM_ID, MessageType.CHAT, "안녕하세요", "client-1"))
+            .isInstanceOf(BusinessException.class);
+
+        verify(deduplicator).release(claim);
+        verify(deduplicator, never()).accept(any(), anyLong(), anyLong());
+        verify(recentMessageBuffer, never()).append(any());
+    }
+
+    /**
+     * 처리 중 재전송 테스트.
+     */
+    @Test
+    @DisplayName("같은 메시지를 아직 처리 중이면 새 메시지를 만들지 않고 확인 응답도 보내지 않아야 함")
+    void should_return_duplicate_without_ack_when_same_message_in_flight() {
+        givenParticipant();
+        when(deduplicator.lookup(ROOM_ID, TARGET_USER_ID, "client-1")).thenReturn(Claim.NONE);
+        when(deduplicator.claim(ROOM_ID, TARGET_USER_ID, "client-1"))
+            .thenReturn(new Claim(ROOM_ID, 11L, State.IN_FLIGHT, 0L, 0L));
+
+        ChatSendResult result = chatMessageService.sendMessage(TARGET_USER_ID, ROOM_ID, MessageType.CHAT, "안녕하세요", "client-1");
+
+        assertThat(result.isDuplicate()).isTrue();
+        assertThat(result.ack()).isNull();
+        verify(writeBehindService, never()).enqueue(any());
+        verify(deduplicator, never()).release(any());
+    }
+
+    /**
+     * 이미 받은 메시지 재전송 테스트.
+     */
+    @Test
+    @DisplayName("이미 받은 메시지를 다시 보내면 전송률에 세지 않고 처음 발급한 ID로 확인 응답해야 함")
+    void should_ack_with_original_ids_without_rate_limit_when_message_already_accepted() {
+        when(deduplicator.lookup(ROOM_ID, TARGET_USER_ID, "client-1"))
+            .thenReturn(new Claim(ROOM_ID, 11L, State.DUPLICATE, 100L, 5L));
+
+        ChatSendResult result = chatMessageService.sendMessage(TARGET_USER_ID, ROOM_ID, MessageType.CHAT, "안녕하세요", "client-1");
+
+        assertThat(result.ack().getSequence()).isEqualTo(5L);
+        verify(chatRateLimiter, never()).acquire(anyLong(), anyLong());
+        verify(deduplicator, never()).claim(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * 저장 전/저장된 메시지 일괄 삭제 테스트.
+     */
+    @Test
+    @DisplayName("일괄 삭제는 저장 대기 중인 메시지와 저장된 메시지를 모두 정해진 크기로 나눠 삭제해야 함")
+    void should_purge_unflushed_and_persisted_messages_in_chunks() {
+        ChatRoom chatRoom = mock(ChatRoom.class);
+        when(chatRoom.getCreatedAt()).thenReturn(LocalDateTime.now().minusHours(1));
+        when(chatRoomService.getOrganizedChatRoom(eq(MODERATOR_ID), eq(ROOM_ID), anyString())).thenReturn(chatRoom);
+        when(writeBehindService.deleteUnflushedByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any()))
+            .thenReturn(List.of(5_001L, 5_002L));
+
+        // 저장된 메시지는 한 묶음을 꽉 채운 뒤 나머지 두 건
+        int chunkSize = ChatMessageService.PURGE_CHUNK_SIZE;
+        List<Long> firstChunk = LongStream.rangeClosed(1, chunkSize).boxed().toList();
+        List<Long> secondChunk = List.of(chunkSize + 1L, chunkSize + 2L);
+        when(chatMessageRepository.findUndeletedIdsByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any(), eq(0L), any(Pageable.class)))
+            .thenReturn(firstChunk);
+        when(chatMessageRepository.findUndeletedIdsByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any(), eq((long) chunkSize), any(Pageable.class)))
+            .thenReturn(secondChunk);
+
+        ChatTombstoneDto tombstone = chatMessageService.purgeUserMessages(MODERATOR_ID, ROOM_ID, TARGET_USER_ID, null, null);
+
+        // 저장 대기 중인 메시지를 먼저 표시한 뒤 저장된 메시지를 조회해야 사이에 저장된 메시지가 빠지지 않는다
+        InOrder order = inOrder(writeBehindService, chatMessageRepository);
+        order.verify(writeBehindService).deleteUnflushedByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any());
+        order.verify(chatMessageRepository).findUndeletedIdsByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any(), eq(0L), any(Pageable.class));
+        order.verify(chatMessageRepository).softDeleteAllByIds(firstChunk);
+        order.verify(chatMessageRepository).findUndeletedIdsByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any(), eq((long) chunkSize), any(Pageable.class));
+        order.verify(chatMessageRepository).softDeleteAllByIds(secondChunk);
+        order.verifyNoMoreInteractions();
+
+        assertThat(tombstone.getMessageIds())
+            .hasSize(chunkSize + 4)
+            .contains(5_001L, 5_002L, 1L, (long) chunkSize, chunkSize + 2L);
+
+        ArgumentCaptor<ChatMessagesPurgedEvent> event = ArgumentCaptor.forClass(ChatMessagesPurgedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().messageIds()).containsExactlyInAnyOrderElementsOf(tombstone.getMessageIds());
+        verify(recentMessageBuffer).markDeleted(ROOM_ID, tombstone.getMessageIds());
+    }
+
+    /**
+     * 삭제할 메시지가 없는 경우 테스트.
+     */
+    @Test
+    @DisplayName("삭제할 저장된 메시지가 없으면 UPDATE를 실행하지 않아야 함")
+    void should_not_update_when_no_persisted_messages_match() {
+        ChatRoom chatRoom = mock(ChatRoom.class);
+        when(chatRoom.getCreatedAt()).thenReturn(LocalDateTime.now().minusHours(1));
+        when(chatRoomService.getOrganizedChatRoom(eq(MODERATOR_ID), eq(ROOM_ID), anyString())).thenReturn(chatRoom);
+        when(writeBehindService.deleteUnflushedByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any())).thenReturn(List.of(9L));
+        when(chatMessageRepository.findUndeletedIdsByUser(eq(ROOM_ID), eq(TARGET_USER_ID), any(), any(), anyLong(), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        ChatTombstoneDto tombstone = chatMessageService.purgeUserMessages(MODERATOR_ID, ROOM_ID, TARGET_USER_ID, null, null);
+
+        assertThat(tombstone.getMessageIds()).containsExactly(9L);
+        verify(chatMessageRepository, never()).softDeleteAllByIds(any());
+    }
+
+    /**
+     * 저장 전 메시지 한 건 삭제 테스트.
+     */
+    @Test
+    @DisplayName("저장 대기 중인 메시지를 삭제하면 그 채팅방의 삭제 알림을 만들고 다른 노드에 전달해야 함")
+    void should_return_tombstone_and_publish_event_when_unflushed_message_deleted() {
+        when(chatMessageRepository.findById(5_001L)).thenReturn(Optional.empty());
+        when(writeBehindService.deleteUnflushed(5_001L, TARGET_USER_ID)).thenReturn(OptionalLong.of(ROOM_ID));
+
+        ChatTombstoneDto tombstone = chatMessageService.deleteMessage(TARGET_USER_ID, 5_001L);
+
+        assertThat(tombstone.getRoomId()).isEqualTo(ROOM_ID);
+        assertThat(tombstone.getMessageIds()).containsExactly(5_001L);
+        verify(recentMessageBuffer).markDeleted(ROOM_ID, List.of(5_001L));
+        verify(eventPublisher).publishEvent(new ChatMessageDeletedEvent(ROOM_ID, 5_001L));
+    }
+
+    /**
+     * 퇴장 테스트.
+     */
+    @Test
+    @DisplayName("참가 중인 사용자가 퇴장하면 정원을 한 번 반환해야 함")
+    void should_release_seat_once_when_active_participant_leaves() {
+        when(chatParticipantRepository.deactivateAll(eq(ROOM_ID), eq(List.of(TARGET_USER_ID)), any())).thenReturn(1);
+
+        chatMessageService.leaveChatRoom(TARGET_USER_ID, ROOM_ID);
+
+        verify(chatRoomService).decrementParticipants(ROOM_ID);
+        verify(eventPublisher).publishEvent(new ChatPresenceChangedEvent(ROOM_ID, TARGET_USER_ID, false));
+    }
+
+    /**
+     * 유휴 퇴장 후 퇴장 테스트.
+     */
+    @Test
+    @DisplayName("heartbeat가 끊겨 이미 퇴장 처리된 뒤 퇴장을 요청하면 정원을 다시 반환하지 않아야 함")
+    void should_not_release_seat_again_when_leaving_after_idle_eviction() {
+        // heartbeat가 끊겨 먼저 퇴장 처리되면 정원은 그때 반환된다
+        when(chatParticipantRepository.deactivateAll(eq(ROOM_ID), eq(List.of(TARGET_USER_ID)), any())).thenReturn(1, 0);
+        chatMessageService.onParticipantsIdle(new ChatParticipantsIdleEvent(ROOM_ID, List.of(TARGET_USER_ID)));
+        when(chatParticipantRepository.existsByRoomIdAndUserId(ROOM_ID, TARGET_USER_ID)).thenReturn(true);
+
+        chatMessageService.leaveChatRoom(TARGET_USER_ID, ROOM_ID);
+
+        verify(chatRoomService).releaseParticipants(ROOM_ID, 1);
+        verify(chatRoomService, never()).decrementParticipants(anyLong());
+    }
+
+    /**
+     * 참가하지 않은 사용자 퇴장 테스트.
+     */
+    @Test
+    @DisplayName("참가한 적 없는 사용자가 퇴장을 요청하면 NOT_FOUND 예외가 발생해야 함")
+    void should_throw_not_found_when_non_participant_leaves() {
+        when(chatParticipantRepository.deactivateAll(eq(ROOM_ID), eq(List.of(TARGET_USER_ID)), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> chatMessageService.leaveChatRoom(TARGET_USER_ID, ROOM_ID))
+            .isInstanceOf(BusinessException.class)
+            .extracting(e -> ((BusinessException) e).getErrorCode())
+            .isEqualTo(ErrorCode.NOT_FOUND);
+        verify(chatRoomService, never()).decrementParticipants(anyLong());
+    }
+
+    private void givenParticipant() {
+        when(presenceRegistry.isTracked(ROOM_ID)).thenReturn(true);
+        when(presenceRegistry.isParticipant(ROOM_ID, TARGET_USER_ID)).thenReturn(true);
+        when(senderProfileCache.get(TARGET_USER_ID))
+            .thenReturn(Optional.of(new SenderProfile(TARGET_USER_ID, "user7", "사용자", null)));
+    }
+}
@@ -0,0 +1,249 @@
+package com.minibuskingbig.chat.service;
+
+import com.minibuskingbig.chat.dto.PendingChatMessage;
+import com.minibuskingbig.chat.entity.MessageType;
+import com.minibuskingbig.chat.repository.ChatMessageBatchRepository;
+import com.minibuskingbig.common.exception.BusinessException;
+import com.minibuskingbig.common.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 메시지 write-behind 저장 서비스 테스트.
+ */
+class ChatMessageWriteBehindServiceTest {
+
+    private final ChatMessageBatchRepository batchRepository = mock(ChatMessageBatchRepository.class);
+    private final ChatRoomCounterService counterService = mock(ChatRoomCounterService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private ChatMessageWriteBehindService writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    /**
+     * 정상 종료 시 큐 비우기 테스트.
+     */
+    @Test
+    @DisplayName("정상 종료 시 큐에 남은 메시지를 모두 저장해야 함")
+    void should_persist_all_queued_messages_when_stopped() {
+        AtomicInteger persisted = new AtomicInteger();
+        doAnswer(invocation -> {
+            persisted.addAndGet(invocation.<List<?>>getArgument(0).size());
+            return null;
+        }).when(batchRepository).insertAll(anyList(), any());
+
+        writer = createWriter(10_000, 100);
+        writer.start();
+        for (long i = 1; i <= 5_000; i++) {
+            writer.enqueue(message(i, 1L));
+        }
+        writer.stop();
+
+        assertThat(persisted.get()).isEqualTo(5_000);
+        assertThat(writer.getQueueSize()).isZero();
+    }
+
+    /**
+     * 백프레셔 테스트.
+     */
+    @Test
+    @DisplayName("큐가 가득 차면 CHAT_BUSY 예외로 전송을 거부해야 함")
+    void should_reject_message_when_queue_is_full() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(batchRepository).insertAll(anyList(), any());
+
+        writer = createWriter(2, 1);
+        writer.start();
+        writer.enqueue(message(1L, 1L));
+        writing.await();
+        writer.enqueue(message(2L, 1L));
+        writer.enqueue(message(3L, 1L));
+
+        assertThatThrownBy(() -> writer.enqueue(message(4L, 1L)))
+            .isInstanceOf(BusinessException.class)
+            .extracting(e -> ((BusinessException) e).getErrorCode())
+            .isEqualTo(ErrorCode.CHAT_BUSY);
+
+        release.countDown();
+    }
+
+    /**
+     * 저장 전 삭제 테스트.
+     */
+    @Test
+    @DisplayName("저장 전에 삭제된 메시지는 삭제 상태로 저장되어야 함")
+    void should_persist_as_deleted_when_deleted_before_flush() {
+        AtomicInteger deletedOnInsert = new AtomicInteger();
+        doAnswer(invocation -> {
+            Set<Long> deleted = invocation.getArgument(1);
+            List<PendingChatMessage> batch = invocation.getArgument(0);
+            batch.stream().filter(m -> deleted.contains(m.messageId())).forEach(m -> deletedOnInsert.incrementAndGet());
+            return null;
+        }).when(batchRepository).insertAll(anyList(), any());
+
+        // 배치를 모으는 동안(최대 1초) 삭제 요청
+        writer = createWriter(100, 100, 1_000L);
+        writer.start();
+        writer.enqueue(message(1L, 7L));
+        writer.enqueue(message(2L, 7L));
+
+        assertThat(writer.deleteUnflushed(2L, 7L)).hasValue(1L);
+        assertThatThrownBy(() -> writer.deleteUnflushed(1L, 8L)).isInstanceOf(BusinessException.class);
+
+        writer.stop();
+
+        assertThat(deletedOnInsert.get()).isEqualTo(1);
+        assertThat(writer.deleteUnflushed(2L, 7L)).isEmpty();
+    }
+
+    /**
+     * 배치 저장 실패 시 한 건씩 저장 테스트.
+     */
+    @Test
+    @DisplayName("배치 저장이 계속 실패하면 한 건씩 저장하고 실패한 메시지만 dead-letter로 옮겨야 함")
+    void should_persist_one_by_one_and_dead_letter_failed_row_when_batch_keeps_failing() {
+        List<Long> persisted = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<PendingChatMessage> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(m -> m.messageId() == 2L)) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            batch.forEach(m -> persisted.add(m.messageId()));
+            return null;
+        }).when(batchRepository).insertAll(anyList(), any());
+
+        // 세 메시지가 한 배치로 모이도록 flush-interval을 길게 둔다
+        writer = createWriter(100, 3, 1_000L);
+        writer.start();
+        writer.enqueue(message(1L, 7L));
+        writer.enqueue(message(2L, 7L));
+        writer.enqueue(message(3L, 7L));
+        writer.stop();
+
+        assertThat(persisted).containsExactly(1L, 3L);
+        verify(batchRepository).insertDeadLetter(argThat(m -> m.messageId() == 2L), eq(false), eq("bad row"));
+        verify(counterService).addMessages(1L, 2);
+    }
+
+    /**
+     * 트랜잭션 시작 실패 시 재시도 테스트.
+     */
+    @Test
+    @DisplayName("DB 연결 실패로 트랜잭션을 시작하지 못해도 배치를 버리지 않고 재시도해 저장해야 함")
+    void should_keep_and_retry_batch_when_transaction_cannot_be_created() {
+        AtomicInteger persisted = new AtomicInteger();
+        doAnswer(invocation -> {
+            persisted.addAndGet(invocation.<List<?>>getArgument(0).size());
+            return null;
+        }).when(batchRepository).insertAll(anyList(), any());
+        // 재시도 횟수(3회)보다 많이 실패시킨다
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("connection refused"))
+            .thenThrow(new CannotCreateTransactionException("connection refused"))
+            .thenThrow(new CannotCreateTransactionException("connection refused"))
+            .thenThrow(new CannotCreateTransactionException("connection refused"))
+            .thenReturn(mock(TransactionStatus.class));
+
+        writer = createWriter(100, 3, 1_000L);
+        writer.start();
+        writer.enqueue(message(1L, 7L));
+        writer.enqueue(message(2L, 7L));
+        writer.enqueue(message(3L, 7L));
+        // 실행 중에는 재시도 횟수와 관계없이 계속 재시도하므로 저장될 때까지 기다린 뒤 종료
+        awaitUntil(() -> persisted.get() == 3);
+        writer.stop();
+
+        assertThat(persisted.get()).isEqualTo(3);
+        verify(batchRepository, never()).insertDeadLetter(any(), anyBoolean(), any());
+        // 저장된 메시지는 대기 목록에서 빠져야 한다
+        assertThat(writer.deleteUnflushed(1L, 7L)).isEmpty();
+    }
+
+    /**
+     * 종료 중 DB 연결 실패 테스트.
+     */
+    @Test
+    @DisplayName("종료 중에도 DB에 연결할 수 없으면 재시도 후 포기하고 대기 목록을 비워야 함")
+    void should_give_up_and_forget_batch_when_database_stays_down_during_shutdown() {
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        writer = createWriter(100, 3, 1_000L);
+        writer.start();
+        writer.enqueue(message(1L, 7L));
+        writer.enqueue(message(2L, 7L));
+        writer.stop();
+
+        assertThat(writer.isRunning()).isFalse();
+        assertThat(writer.deleteUnflushed(1L, 7L)).isEmpty();
+        assertThat(writer.deleteUnflushed(2L, 7L)).isEmpty();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private ChatMessageWriteBehindService createWriter(int queueCapacity, int flushSize) {
+        return createWriter(queueCapacity, flushSize, 20L);
+    }
+
+    private ChatMessageWriteBehindService createWriter(int queueCapacity, int flushSize, long flushIntervalMillis) {
+        return new ChatMessageWriteBehindService(
+            batchRepository,
+            counterService,
+            transactionManager,
+            new SimpleMeterRegistry(),
+            queueCapacity,
+            flushSize,
+            flushIntervalMillis,
+            10L,
+            10_000L
+        );
+    }
+
+    private PendingChatMessage message(long messageId, long userId) {
+        return PendingChatMessage.of(messageId, 1L, messageId, userId, MessageType.CHAT, "hello");
+    }
+}
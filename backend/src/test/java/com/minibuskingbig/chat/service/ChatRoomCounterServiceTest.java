@@ -0,0 +1,201 @@
+package com.minibuskingbig.chat.service;
+
+import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.repository.ChatRoomCounterRepository;
+import com.minibuskingbig.chat.repository.ChatRoomRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방 카운터 서비스 테스트.
+ */
+class ChatRoomCounterServiceTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final int MAX_PARTICIPANTS = 100;
+    private static final int THREADS = 64;
+
+    private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+    private final ChatRoomCounterRepository chatRoomCounterRepository = mock(ChatRoomCounterRepository.class);
+    private final ChatRoomCounterService counterService =
+        new ChatRoomCounterService(chatRoomRepository, chatRoomCounterRepository, new LocalChatRoomCapacity());
+
+    /**
+     * 동시 입장 정원 테스트.
+     */
+    @Test
+    @DisplayName("수천 건의 동시 입장에도 정원만큼만 입장을 허용해야 함")
+    void should_admit_exactly_max_participants_when_thousands_join_concurrently() throws InterruptedException {
+        givenRoom(0);
+        AtomicInteger admitted = new AtomicInteger();
+
+        runConcurrently(5_000, () -> {
+            if (counterService.tryAdmit(ROOM_ID)) {
+                admitted.incrementAndGet();
+            }
+        });
+
+        assertThat(admitted.get()).isEqualTo(MAX_PARTICIPANTS);
+        assertThat(counterService.getCurrentParticipants(ROOM_ID)).isEqualTo(MAX_PARTICIPANTS);
+    }
+
+    /**
+     * 동시 입장/퇴장 테스트.
+     */
+    @Test
+    @DisplayName("입장과 퇴장이 섞여도 참가자 수가 정원과 0 사이를 벗어나지 않아야 함")
+    void should_keep_count_within_bounds_when_joins_and_leaves_interleave() throws InterruptedException {
+        givenRoom(50);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger outOfBounds = new AtomicInteger();
+
+        runConcurrently(20_000, () -> {
+            if (counterService.tryAdmit(ROOM_ID)) {
+                admitted.incrementAndGet();
+                counterService.release(ROOM_ID);
+            }
+            int current = counterService.getCurrentParticipants(ROOM_ID);
+            if (current < 0 || current > MAX_PARTICIPANTS) {
+                outOfBounds.incrementAndGet();
+            }
+        });
+
+        assertThat(outOfBounds.get()).isZero();
+        assertThat(admitted.get()).isPositive();
+        assertThat(counterService.getCurrentParticipants(ROOM_ID)).isEqualTo(50);
+    }
+
+    /**
+     * 배치 반영 테스트.
+     */
+    @Test
+    @DisplayName("flush 시 변화량만 한 번의 배치로 반영해야 함")
+    @SuppressWarnings("unchecked")
+    void should_flush_deltas_in_single_batch_when_counters_changed() {
+        givenRoom(10);
+        counterService.tryAdmit(ROOM_ID);
+        counterService.tryAdmit(ROOM_ID);
+        counterService.release(ROOM_ID);
+        counterService.addMessages(ROOM_ID, 7);
+
+        counterService.flush();
+        counterService.flush();
+
+        ArgumentCaptor<List<ChatRoomCounterRepository.CounterDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(chatRoomCounterRepository).applyDeltas(captor.capture());
+        assertThat(captor.getValue())
+            .containsExactly(new ChatRoomCounterRepository.CounterDelta(ROOM_ID, 1, 7L));
+    }
+
+    /**
+     * 여러 노드 동시 입장 정원 테스트.
+     */
+    @Test
+    @DisplayName("두 노드에 동시 입장이 몰려도 공유 카운터로 정원만큼만 입장을 허용해야 함")
+    void should_admit_exactly_max_participants_across_nodes_when_capacity_is_shared() throws InterruptedException {
+        givenRoom(0);
+        SharedCapacity sharedCapacity = new SharedCapacity();
+        ChatRoomCounterService nodeA = new ChatRoomCounterService(chatRoomRepository, chatRoomCounterRepository, sharedCapacity);
+        ChatRoomCounterService nodeB = new ChatRoomCounterService(chatRoomRepository, chatRoomCounterRepository, sharedCapacity);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger turn = new AtomicInteger();
+
+        runConcurrently(5_000, () -> {
+            ChatRoomCounterService node = turn.getAndIncrement() % 2 == 0 ? nodeA : nodeB;
+            if (node.tryAdmit(ROOM_ID)) {
+                admitted.incrementAndGet();
+            }
+        });
+
+        assertThat(admitted.get()).isEqualTo(MAX_PARTICIPANTS);
+        assertThat(nodeA.getCurrentParticipants(ROOM_ID) + nodeB.getCurrentParticipants(ROOM_ID)).isEqualTo(MAX_PARTICIPANTS);
+
+        // 다른 노드에서 입장한 참가자가 퇴장해도 자리가 반환되어야 함
+        nodeB.release(ROOM_ID, 1);
+        assertThat(sharedCapacity.participants.get()).isEqualTo(MAX_PARTICIPANTS - 1);
+        assertThat(nodeA.tryAdmit(ROOM_ID)).isTrue();
+        assertThat(nodeA.tryAdmit(ROOM_ID)).isFalse();
+    }
+
+    private void givenRoom(int currentParticipants) {
+        ChatRoom chatRoom = ChatRoom.builder()
+            .roomId(ROOM_ID)
+            .currentParticipants(currentParticipants)
+            .maxParticipants(MAX_PARTICIPANTS)
+            .build();
+        when(chatRoomRepository.findById(ROOM_ID)).thenReturn(Optional.of(chatRoom));
+    }
+
+    private void runConcurrently(int tasks, Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+
+    /**
+     * 노드들이 함께 쓰는 정원 카운터 (Redis 대신 메모리 사용)
+     */
+    private static final class SharedCapacity implements ChatRoomCapacity {
+
+        private final AtomicInteger participants = new AtomicInteger();
+
+        @Override
+        public boolean isShared() {
+            return true;
+        }
+
+        @Override
+        public boolean tryAcquire(long roomId, int loadedParticipants, int maxParticipants) {
+            while (true) {
+                int current = participants.get();
+                if (current >= maxParticipants) {
+                    return false;
+                }
+                if (participants.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public void release(long roomId, int count) {
+            participants.updateAndGet(current -> Math.max(0, current - count));
+        }
+
+        @Override
+        public void remove(long roomId) {
+            participants.set(0);
+        }
+    }
+}
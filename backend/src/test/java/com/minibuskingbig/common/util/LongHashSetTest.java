@@ -0,0 +1,125 @@
+package com.minibuskingbig.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * long 해시 셋 테스트.
+ */
+class LongHashSetTest {
+
+    // new LongHashSet(4)는 크기 8 테이블 (4개까지 확장하지 않음)
+    private static final int SMALL_EXPECTED_SIZE = 4;
+    private static final int SMALL_MASK = 7;
+
+    /**
+     * 확장 테스트.
+     */
+    @Test
+    @DisplayName("테이블이 여러 번 확장되어도 추가/삭제/조회 결과가 유지되어야 함")
+    void should_keep_values_when_table_resizes() {
+        LongHashSet set = new LongHashSet();
+
+        for (long value = 0; value <= 10_000; value++) {
+            assertThat(set.add(value)).isTrue();
+        }
+        assertThat(set.add(5_000L)).isFalse();
+        assertThat(set.size()).isEqualTo(10_001);
+
+        for (long value = 0; value <= 10_000; value += 2) {
+            assertThat(set.remove(value)).isTrue();
+        }
+        assertThat(set.remove(0L)).isFalse();
+
+        for (long value = 0; value <= 10_000; value++) {
+            assertThat(set.contains(value)).isEqualTo(value % 2 == 1);
+        }
+        assertThat(set.size()).isEqualTo(5_000);
+        assertThat(set.toArray()).hasSize(5_000).doesNotContain(0L);
+    }
+
+    /**
+     * 충돌 체인 중간 삭제 테스트.
+     */
+    @Test
+    @DisplayName("같은 슬롯에 몰린 값 중 가운데 값을 지워도 뒤의 값을 찾을 수 있어야 함")
+    void should_find_following_values_when_deleting_inside_collision_chain() {
+        List<Long> chain = valuesWithHome(3, 3);
+        LongHashSet set = new LongHashSet(SMALL_EXPECTED_SIZE);
+        chain.forEach(set::add);
+
+        assertThat(set.remove(chain.get(1))).isTrue();
+        assertThat(set.contains(chain.get(0))).isTrue();
+        assertThat(set.contains(chain.get(1))).isFalse();
+        assertThat(set.contains(chain.get(2))).isTrue();
+
+        assertThat(set.remove(chain.get(0))).isTrue();
+        assertThat(set.contains(chain.get(2))).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    /**
+     * 테이블 끝 wraparound 테스트.
+     */
+    @Test
+    @DisplayName("테이블 끝에서 앞으로 넘어간 체인도 삭제 후 찾을 수 있어야 함")
+    void should_find_wrapped_values_when_deleting_at_table_end() {
+        // 마지막 슬롯에 두 값을 넣어 하나는 0번 슬롯으로 넘기고, 0번이 home인 값은 1번 슬롯으로 밀려나게 한다
+        List<Long> atEnd = valuesWithHome(SMALL_MASK, 2);
+        long atStart = valuesWithHome(0, 1).get(0);
+        LongHashSet set = new LongHashSet(SMALL_EXPECTED_SIZE);
+        set.add(atEnd.get(0));
+        set.add(atEnd.get(1));
+        set.add(atStart);
+
+        assertThat(set.remove(atEnd.get(0))).isTrue();
+        assertThat(set.contains(atEnd.get(1))).isTrue();
+        assertThat(set.contains(atStart)).isTrue();
+
+        assertThat(set.remove(atEnd.get(1))).isTrue();
+        assertThat(set.contains(atStart)).isTrue();
+        assertThat(set.remove(atStart)).isTrue();
+        assertThat(set.isEmpty()).isTrue();
+    }
+
+    /**
+     * 무작위 추가/삭제 테스트.
+     */
+    @Test
+    @DisplayName("무작위 추가/삭제 결과가 HashSet과 같아야 함")
+    void should_match_hash_set_when_adding_and_removing_randomly() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            } else {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(set.toArray()).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private static List<Long> valuesWithHome(int home, int count) {
+        List<Long> values = new ArrayList<>(count);
+        for (long value = 1; values.size() < count; value++) {
+            if (LongHashSet.indexOf(value, SMALL_MASK) == home) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
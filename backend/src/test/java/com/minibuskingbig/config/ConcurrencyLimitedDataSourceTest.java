@@ -0,0 +1,112 @@
+package com.minibuskingbig.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 동시 사용 수 제한 DataSource 테스트.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+
+    /**
+     * 커넥션 대기 테스트.
+     */
+    @Test
+    @DisplayName("한도만큼 빌린 뒤에는 반납될 때까지 대기해야 함")
+    void should_wait_for_release_when_limit_reached() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 5_000);
+
+        Connection first = dataSource.getConnection();
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+
+        first.close();
+        assertThat(second.get(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+    }
+
+    /**
+     * 대기 시간 초과 테스트.
+     */
+    @Test
+    @DisplayName("대기 시간 안에 반납되지 않으면 일시적 커넥션 예외가 발생해야 함")
+    void should_throw_transient_exception_when_wait_times_out() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 50);
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    /**
+     * 중복 반납 테스트.
+     */
+    @Test
+    @DisplayName("같은 커넥션을 여러 번 close해도 permit은 한 번만 반납되어야 함")
+    void should_release_permit_once_when_connection_closed_twice() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 2, 50);
+
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        verify(connection, times(2)).close();
+    }
+
+    /**
+     * 획득 실패 반납 테스트.
+     */
+    @Test
+    @DisplayName("대상 DataSource에서 커넥션을 얻지 못하면 permit을 돌려줘야 함")
+    void should_release_permit_when_target_fails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 50);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    /**
+     * 기본 한도 테스트.
+     */
+    @Test
+    @DisplayName("기본 한도는 HikariCP 최대 풀 크기이고, 풀 크기를 알 수 없으면 0이어야 함")
+    void should_use_hikari_maximum_pool_size_as_default_limit() {
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMaximumPoolSize(7);
+
+            assertThat(ConcurrencyLimitedDataSource.poolSizeOf(hikari)).isEqualTo(7);
+        }
+        assertThat(ConcurrencyLimitedDataSource.poolSizeOf(target)).isZero();
+    }
+}
@@ -0,0 +1,183 @@
+package com.minibuskingbig.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.chat.broadcast.ChatBroadcastEngine;
+import com.minibuskingbig.chat.entity.MessageType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 부하 테스트 STOMP 클라이언트 (사용자 한 명)
+ *
+ * 메시지 내용에 "클라이언트 번호:보낸 시각(nanoTime)"을 담아 보내고,
+ * 받은 메시지(배열 프레임이면 각 원소)의 보낸 시각으로 전송부터 수신까지의 지연 시간을 계산한다.
+ * 같은 JVM 안에서 보내고 받으므로 System.nanoTime을 그대로 비교할 수 있다.
+ */
+class ChatLoadClient {
+
+    static final String SEND_DESTINATION = "/app/chat.send";
+
+    private final int index;
+    private final long roomId;
+    private final String accessToken;
+    private final ObjectMapper objectMapper;
+    private final ChatLoadMetrics metrics;
+
+    private volatile StompSession session;
+
+    ChatLoadClient(int index, long roomId, String accessToken, ObjectMapper objectMapper, ChatLoadMetrics metrics) {
+        this.index = index;
+        this.roomId = roomId;
+        this.accessToken = accessToken;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
+
+    long getRoomId() {
+        return roomId;
+    }
+
+    String getAccessToken() {
+        return accessToken;
+    }
+
+    boolean isConnected() {
+        StompSession current = session;
+        return current != null && current.isConnected();
+    }
+
+    /**
+     * 연결 후 채팅방 구독 (핸드셰이크 요청에 JWT를 담아 인증)
+     */
+    CompletableFuture<StompSession> connect(WebSocketStompClient stompClient, String url) {
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.add(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+
+        return stompClient.connectAsync(url, handshakeHeaders, new StompHeaders(), new SessionHandler())
+            .thenApply(connected -> {
+                connected.subscribe(ChatBroadcastEngine.ROOM_DESTINATION_PREFIX + roomId, new RoomFrameHandler());
+                session = connected;
+                return connected;
+            });
+    }
+
+    /**
+     * 메시지 전송 (보낸 시각을 내용에 기록)
+     */
+    void send(int subscribers) {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            metrics.sendFailures.increment();
+            return;
+        }
+
+        long sentAt = System.nanoTime();
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(SEND_DESTINATION);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        try {
+            current.send(headers, objectMapper.writeValueAsBytes(Map.of(
+                "roomId", roomId,
+                "messageType", MessageType.CHAT,
+                "content", index + ":" + sentAt
+            )));
+        } catch (IOException | RuntimeException e) {
+            metrics.sendFailures.increment();
+            return;
+        }
+
+        metrics.sent.increment();
+        if (metrics.isMeasured(sentAt)) {
+            metrics.expectedDeliveries.add(subscribers);
+        }
+    }
+
+    void disconnect() {
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    private void onRoomFrame(byte[] payload) {
+        long receivedAt = System.nanoTime();
+        metrics.frames.increment();
+        try {
+            JsonNode root = objectMapper.readTree(payload);
+            if (root.isArray()) {
+                metrics.batchFrames.increment();
+                for (JsonNode message : root) {
+                    onMessage(message, receivedAt);
+                }
+            } else {
+                onMessage(root, receivedAt);
+            }
+        } catch (IOException e) {
+            metrics.errorFrames.increment();
+        }
+    }
+
+    private void onMessage(JsonNode message, long receivedAt) {
+        String content = message.path("content").asText("");
+        int separator = content.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        try {
+            metrics.delivered(Long.parseLong(content.substring(separator + 1)), receivedAt);
+        } catch (NumberFormatException e) {
+            // 부하 테스트 메시지가 아님
+        }
+    }
+
+    private class RoomFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            onRoomFrame((byte[]) payload);
+        }
+    }
+
+    private class SessionHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            // 세션 수준 프레임은 ERROR뿐
+            metrics.errorFrames.increment();
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            metrics.errorFrames.increment();
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            metrics.transportErrors.increment();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.minibuskingbig.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 측정값
+ *
+ * 측정 구간(워밍업 이후) 동안 보낸 메시지만 지연 시간과 누락 계산에 포함한다.
+ * 보낼 때 같은 채팅방의 구독자 수만큼 기대 수신 수를 더하고, 구독자가 받을 때마다 수신 수를 더한다.
+ */
+class ChatLoadMetrics {
+
+    final LatencyHistogram latencyMicros = new LatencyHistogram();
+    final LongAdder sent = new LongAdder();
+    final LongAdder sendFailures = new LongAdder();
+    final LongAdder expectedDeliveries = new LongAdder();
+    final LongAdder delivered = new LongAdder();
+    final LongAdder frames = new LongAdder();
+    final LongAdder batchFrames = new LongAdder();
+    final LongAdder errorFrames = new LongAdder();
+    final LongAdder transportErrors = new LongAdder();
+
+    private volatile long measureStartNanos = Long.MAX_VALUE;
+    private volatile long measureEndNanos = Long.MAX_VALUE;
+
+    void startMeasuring(long nowNanos) {
+        measureStartNanos = nowNanos;
+    }
+
+    void stopMeasuring(long nowNanos) {
+        measureEndNanos = nowNanos;
+    }
+
+    boolean isMeasured(long sentAtNanos) {
+        return sentAtNanos >= measureStartNanos && sentAtNanos < measureEndNanos;
+    }
+
+    /**
+     * 측정 구간에 보낸 메시지를 받았을 때 기록
+     */
+    void delivered(long sentAtNanos, long receivedAtNanos) {
+        if (isMeasured(sentAtNanos)) {
+            delivered.increment();
+            latencyMicros.record((receivedAtNanos - sentAtNanos) / 1_000);
+        }
+    }
+
+    long getDropped() {
+        return Math.max(0, expectedDeliveries.sum() - delivered.sum());
+    }
+}
@@ -0,0 +1,348 @@
+package com.minibuskingbig.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibuskingbig.MiniBuskingBigApplication;
+import com.minibuskingbig.auth.util.JwtTokenProvider;
+import com.minibuskingbig.chat.entity.ChatRoom;
+import com.minibuskingbig.chat.service.ChatRoomService;
+import com.minibuskingbig.event.entity.Event;
+import com.minibuskingbig.event.repository.EventRepository;
+import com.minibuskingbig.user.entity.SocialProvider;
+import com.minibuskingbig.user.entity.User;
+import com.minibuskingbig.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 채팅 부하 테스트
+ *
+ * 애플리케이션을 H2(dev 프로필)로 같은 JVM에서 띄우고, 사용자/공연/채팅방을 만든 뒤
+ * 사용자마다 REST로 채팅방에 입장하고 /ws에 STOMP over WebSocket으로 연결해 채팅방을 구독한다.
+ * 정해진 전송률로 /app/chat.send에 메시지를 보내며 전송부터 수신까지의 지연 시간, 처리량, 누락 프레임을 측정한다.
+ * 외부 서비스 없이 한 대의 Linux 장비에서 실행된다 (Redis 릴레이는 끈 상태).
+ *
+ * 실행: mvn -Ploadtest -DskipTests verify -Dloadtest.clients=2000 -Dloadtest.rate=500
+ * (ulimit -n이 세션 수의 두 배보다 커야 한다)
+ * 설정 (시스템 프로퍼티):
+ * - loadtest.clients: STOMP 세션 수 (기본 2000)
+ * - loadtest.rooms: 채팅방 수, 세션은 채팅방에 고르게 배정 (기본 4)
+ * - loadtest.rate: 전체 초당 전송 메시지 수 (기본 200)
+ * - loadtest.warmup-seconds / loadtest.duration-seconds / loadtest.drain-seconds: 워밍업, 측정, 전송 종료 후 수신 대기 시간
+ * - loadtest.connect-concurrency: 동시에 진행하는 입장/연결 수 (기본 200)
+ * 애플리케이션 설정은 -D로 함께 넘긴다 (maven에서는 -Dloadtest.jvmArgs="-Xmx2g -Dchat.rate-limit.sustained-per-minute=600").
+ */
+public class ChatLoadRunner {
+
+    private static final long TICK_MS = 10;
+    private static final int USER_BATCH_SIZE = 500;
+    private static final int MAX_FRAME_BYTES = 1024 * 1024;
+
+    private final Settings settings;
+    private final ChatLoadMetrics metrics = new ChatLoadMetrics();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private ChatLoadRunner(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        int exitCode;
+        try (ConfigurableApplicationContext context = startApplication(args)) {
+            exitCode = new ChatLoadRunner(settings).run(context);
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext startApplication(String[] args) {
+        List<String> arguments = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.minibuskingbig=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--chat.relay.enabled=false"
+        ));
+        arguments.addAll(List.of(args));
+
+        return new SpringApplicationBuilder(MiniBuskingBigApplication.class)
+            .profiles("dev")
+            // 실행에 필요하지만 부하 테스트에서는 쓰지 않는 외부 연동 값
+            .properties(
+                "GOOGLE_CLIENT_ID=loadtest", "GOOGLE_CLIENT_SECRET=loadtest",
+                "KAKAO_CLIENT_ID=loadtest", "KAKAO_CLIENT_SECRET=loadtest",
+                "NAVER_CLIENT_ID=loadtest", "NAVER_CLIENT_SECRET=loadtest",
+                "KAKAO_ADMIN_KEY=loadtest", "NAVER_PAY_CLIENT_ID=loadtest", "NAVER_PAY_CLIENT_SECRET=loadtest",
+                "aws.ecs.subnet-id=loadtest", "aws.ecs.security-group-id=loadtest")
+            .run(arguments.toArray(String[]::new));
+    }
+
+    private int run(ConfigurableApplicationContext context) throws Exception {
+        String port = context.getEnvironment().getRequiredProperty("local.server.port");
+        String httpBaseUrl = "http://localhost:" + port;
+        String wsUrl = "ws://localhost:" + port + "/ws/websocket";
+        warnIfRateLimited(context);
+
+        List<ChatLoadClient> clients = createClients(context);
+        log("Created %d users in %d rooms", clients.size(), settings.rooms());
+
+        int joined = forEachConcurrently(clients, client -> join(httpBaseUrl, client));
+        log("Joined %d / %d clients through POST /api/v1/chat/rooms/{roomId}/join", joined, clients.size());
+
+        WebSocketStompClient stompClient = createStompClient();
+        int connected = forEachConcurrently(clients, client -> client.connect(stompClient, wsUrl)
+            .orTimeout(30, TimeUnit.SECONDS)
+            .handle((session, e) -> e == null));
+        log("Connected %d / %d STOMP sessions to %s", connected, clients.size(), wsUrl);
+        // 마지막 SUBSCRIBE가 서버에서 처리될 시간
+        Thread.sleep(1_000);
+
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        double serverDroppedBefore = counter(meterRegistry, "chat.broadcast.frames.dropped");
+        double rateLimitedBefore = counter(meterRegistry, "chat.rate_limit.rejected");
+
+        int[] subscribersByRoom = countSubscribers(clients);
+        ScheduledExecutorService driver = Executors.newSingleThreadScheduledExecutor();
+        SendDriver sendDriver = new SendDriver(clients, subscribersByRoom);
+        long driveStart = System.nanoTime();
+        driver.scheduleAtFixedRate(() -> sendDriver.tick(driveStart), 0, TICK_MS, TimeUnit.MILLISECONDS);
+
+        log("Warming up for %ds at %d msg/s", settings.warmupSeconds(), settings.rate());
+        Thread.sleep(TimeUnit.SECONDS.toMillis(settings.warmupSeconds()));
+        long sentBeforeMeasure = metrics.sent.sum();
+        long measureStart = System.nanoTime();
+        metrics.startMeasuring(measureStart);
+
+        log("Measuring for %ds", settings.durationSeconds());
+        Thread.sleep(TimeUnit.SECONDS.toMillis(settings.durationSeconds()));
+        long measureEnd = System.nanoTime();
+        metrics.stopMeasuring(measureEnd);
+        long sentMeasured = metrics.sent.sum() - sentBeforeMeasure;
+
+        driver.shutdownNow();
+        driver.awaitTermination(5, TimeUnit.SECONDS);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(settings.drainSeconds()));
+
+        report(measureEnd - measureStart, sentMeasured, connected,
+            counter(meterRegistry, "chat.broadcast.frames.dropped") - serverDroppedBefore,
+            counter(meterRegistry, "chat.rate_limit.rejected") - rateLimitedBefore);
+
+        clients.forEach(ChatLoadClient::disconnect);
+        stompClient.stop();
+        return connected == clients.size() ? 0 : 1;
+    }
+
+    /**
+     * 사용자, 공연, 채팅방 생성 후 사용자를 채팅방에 고르게 배정
+     */
+    private List<ChatLoadClient> createClients(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        ChatRoomService chatRoomService = context.getBean(ChatRoomService.class);
+        JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+
+        int clientsPerRoom = (settings.clients() + settings.rooms() - 1) / settings.rooms();
+        long[] roomIds = new long[settings.rooms()];
+        for (int i = 0; i < settings.rooms(); i++) {
+            Event event = eventRepository.save(Event.builder()
+                .title("부하 테스트 공연 " + i)
+                .startTime(LocalDateTime.now())
+                .endTime(LocalDateTime.now().plusHours(3))
+                .chatEnabled(true)
+                .chatMaxParticipants(clientsPerRoom)
+                .build());
+            ChatRoom chatRoom = chatRoomService.createChatRoom(event.getEventId());
+            chatRoomService.activateChatRoom(chatRoom.getRoomId(), "loadtest-" + i, null, null);
+            roomIds[i] = chatRoom.getRoomId();
+        }
+
+        List<ChatLoadClient> clients = new ArrayList<>(settings.clients());
+        List<User> batch = new ArrayList<>(USER_BATCH_SIZE);
+        for (int i = 0; i < settings.clients(); i++) {
+            batch.add(User.builder()
+                .socialProvider(SocialProvider.GOOGLE)
+                .socialId("loadtest-" + i)
+                .email("loadtest" + i + "@minibuskingbig.com")
+                .displayId("loadtest_" + i)
+                .nickname("부하테스트" + i)
+                .roles(List.of("AUDIENCE"))
+                .build());
+            if (batch.size() == USER_BATCH_SIZE || i == settings.clients() - 1) {
+                for (User user : userRepository.saveAll(batch)) {
+                    int index = clients.size();
+                    String accessToken = jwtTokenProvider.createAccessToken(user.getUserId(), user.getEmail(), user.getRoles());
+                    clients.add(new ChatLoadClient(index, roomIds[index % roomIds.length], accessToken, objectMapper, metrics));
+                }
+                batch.clear();
+            }
+        }
+        return clients;
+    }
+
+    private CompletableFuture<Boolean> join(String httpBaseUrl, ChatLoadClient client) {
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(httpBaseUrl + "/api/v1/chat/rooms/" + client.getRoomId() + "/join"))
+            .header("Authorization", "Bearer " + client.getAccessToken())
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, e) -> e == null && response.statusCode() == 200);
+    }
+
+    private WebSocketStompClient createStompClient() {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_FRAME_BYTES);
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient(container));
+        stompClient.setMessageConverter(new SimpleMessageConverter());
+        stompClient.setInboundMessageSizeLimit(MAX_FRAME_BYTES);
+        return stompClient;
+    }
+
+    /**
+     * 동시 진행 수를 제한하며 모든 클라이언트에 작업을 실행하고 성공 수를 반환
+     */
+    private int forEachConcurrently(List<ChatLoadClient> clients,
+                                    Function<ChatLoadClient, CompletableFuture<Boolean>> task) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(settings.connectConcurrency());
+        AtomicInteger succeeded = new AtomicInteger();
+        List<CompletableFuture<?>> futures = new ArrayList<>(clients.size());
+        for (ChatLoadClient client : clients) {
+            inFlight.acquire();
+            futures.add(task.apply(client).whenComplete((ok, e) -> {
+                if (Boolean.TRUE.equals(ok)) {
+                    succeeded.incrementAndGet();
+                }
+                inFlight.release();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        return succeeded.get();
+    }
+
+    /**
+     * 클라이언트별로 같은 채팅방에 연결된 구독자 수 (기대 수신 수 계산용)
+     */
+    private int[] countSubscribers(List<ChatLoadClient> clients) {
+        Map<Long, Integer> connectedByRoom = new HashMap<>();
+        for (ChatLoadClient client : clients) {
+            if (client.isConnected()) {
+                connectedByRoom.merge(client.getRoomId(), 1, Integer::sum);
+            }
+        }
+
+        int[] subscribers = new int[clients.size()];
+        for (int i = 0; i < clients.size(); i++) {
+            subscribers[i] = connectedByRoom.getOrDefault(clients.get(i).getRoomId(), 0);
+        }
+        return subscribers;
+    }
+
+    private void warnIfRateLimited(ConfigurableApplicationContext context) {
+        int sustainedPerMinute = context.getEnvironment().getProperty("chat.rate-limit.sustained-per-minute", Integer.class, 60);
+        double perUserPerMinute = settings.rate() * 60.0 / settings.clients();
+        if (perUserPerMinute > sustainedPerMinute) {
+            log("WARNING: %.1f msg/min per user exceeds chat.rate-limit.sustained-per-minute=%d, excess sends are rejected",
+                perUserPerMinute, sustainedPerMinute);
+        }
+    }
+
+    private void report(long measuredNanos, long sentMeasured, int connected, double serverDropped, double rateLimited) {
+        double seconds = measuredNanos / 1e9;
+        LatencyHistogram latency = metrics.latencyMicros;
+        long expected = metrics.expectedDeliveries.sum();
+
+        StringBuilder report = new StringBuilder()
+            .append("\n=== Chat load test ===\n")
+            .append(String.format("sessions            : %d connected / %d, rooms %d%n", connected, settings.clients(), settings.rooms()))
+            .append(String.format("target send rate    : %d msg/s%n", settings.rate()))
+            .append(String.format("measured            : %.1fs%n", seconds))
+            .append(String.format("sent                : %d (%.1f msg/s), send failures %d%n",
+                sentMeasured, sentMeasured / seconds, metrics.sendFailures.sum()))
+            .append(String.format("delivered           : %d / %d expected (%.1f msg/s)%n",
+                metrics.delivered.sum(), expected, metrics.delivered.sum() / seconds))
+            .append(String.format("dropped             : %d (%.3f%%), server queue drops %.0f, rate limited %.0f%n",
+                metrics.getDropped(), expected == 0 ? 0 : metrics.getDropped() * 100.0 / expected, serverDropped, rateLimited))
+            .append(String.format("frames              : %d received, %d batched, %d errors, %d transport errors%n",
+                metrics.frames.sum(), metrics.batchFrames.sum(), metrics.errorFrames.sum(), metrics.transportErrors.sum()))
+            .append(String.format("latency (ms)        : p50 %.2f  p99 %.2f  p999 %.2f  max %.2f  mean %.2f%n",
+                latency.percentile(50) / 1000.0, latency.percentile(99) / 1000.0, latency.percentile(99.9) / 1000.0,
+                latency.getMax() / 1000.0, latency.getMean() / 1000.0));
+        System.out.println(report);
+    }
+
+    private static double counter(MeterRegistry meterRegistry, String name) {
+        return Search.in(meterRegistry).name(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+
+    /**
+     * 목표 전송률에 맞춰 tick마다 밀린 만큼 클라이언트를 돌아가며 전송
+     */
+    private class SendDriver {
+
+        private final List<ChatLoadClient> clients;
+        private final int[] subscribersByClient;
+        private long sentTotal;
+        private int next;
+
+        SendDriver(List<ChatLoadClient> clients, int[] subscribersByClient) {
+            this.clients = clients;
+            this.subscribersByClient = subscribersByClient;
+        }
+
+        void tick(long startNanos) {
+            long due = (System.nanoTime() - startNanos) * settings.rate() / 1_000_000_000L;
+            while (sentTotal < due) {
+                int index = next;
+                next = (next + 1) % clients.size();
+                clients.get(index).send(subscribersByClient[index]);
+                sentTotal++;
+            }
+        }
+    }
+
+    private record Settings(int clients, int rooms, int rate, int warmupSeconds, int durationSeconds,
+                            int drainSeconds, int connectConcurrency) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                Integer.getInteger("loadtest.clients", 2000),
+                Integer.getInteger("loadtest.rooms", 4),
+                Integer.getInteger("loadtest.rate", 200),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                Integer.getInteger("loadtest.drain-seconds", 5),
+                Integer.getInteger("loadtest.connect-concurrency", 200));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.minibuskingbig.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 지연 시간 히스토그램 테스트.
+ */
+class LatencyHistogramTest {
+
+    /**
+     * 백분위 정확도 테스트.
+     */
+    @Test
+    @DisplayName("백분위 값은 실제 값보다 작지 않고 상대 오차 1/64 이내여야 함")
+    void should_report_percentiles_within_relative_error_when_values_recorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(100_000);
+        assertThat(histogram.percentile(50)).isBetween(50_000L, 50_000L + 50_000L / 64);
+        assertThat(histogram.percentile(99)).isBetween(99_000L, 99_000L + 99_000L / 64);
+        assertThat(histogram.percentile(99.9)).isBetween(99_900L, 100_000L);
+        assertThat(histogram.percentile(100)).isEqualTo(100_000);
+    }
+
+    /**
+     * 구간 경계 테스트.
+     */
+    @Test
+    @DisplayName("모든 구간에서 값이 자신이 속한 칸의 최댓값 이하여야 함")
+    void should_map_values_into_buckets_whose_upper_bound_covers_them() {
+        for (int shift = 0; shift < 62; shift++) {
+            long base = 1L << shift;
+            for (long value : new long[]{base - 1, base, base + 1, base + base / 3}) {
+                int index = LatencyHistogram.bucketIndex(value);
+                assertThat(LatencyHistogram.bucketMaxValue(index)).isGreaterThanOrEqualTo(value);
+                if (index > 0) {
+                    assertThat(LatencyHistogram.bucketMaxValue(index - 1)).isLessThan(value);
+                }
+            }
+        }
+        assertThat(LatencyHistogram.bucketMaxValue(LatencyHistogram.bucketIndex(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+}
@@ -50,8 +50,8 @@ export default function ChatPage() {
       await chatApi.joinChatRoom(response.data.roomId);
 
       // 기존 메시지 로드
-      const messagesResponse = await chatApi.getMessages(response.data.roomId, 0, 50);
-      setMessages(messagesResponse.data.content.reverse());
+      const messagesResponse = await chatApi.getMessageHistory(response.data.roomId);
+      setMessages(messagesResponse.data.messages.reverse());
     } catch (error) {
       console.error('Failed to load chat room:', error);
       alert('채팅방을 불러오는데 실패했습니다.');
@@ -64,9 +64,23 @@ export default function ChatPage() {
     setMessages((prev) => [...prev, message]);
   };
 
+  // 주최자가 일괄 삭제한 메시지 숨기기
+  const handleTombstone = (messageIds: string[]) => {
+    const purged = new Set(messageIds);
+    setMessages((prev) => prev.filter((message) => !purged.has(message.messageId)));
+  };
+
+  // 서버가 받지 못한 메시지 (전송률 초과, 금칙어 등)
+  const handleSendFailed = (_code: string, message: string) => {
+    alert(message);
+  };
+
   const { connected, sendMessage } = useWebSocket(
     chatRoom?.roomId || 0,
-    handleNewMessage
+    handleNewMessage,
+    handleTombstone,
+    undefined,
+    handleSendFailed
   );
 
   const handleSendMessage = (e: React.FormEvent) => {
@@ -6,6 +6,7 @@ export interface ChatRoom {
   eventTitle: string;
   websocketUrl: string;
   status: 'CREATING' | 'ACTIVE' | 'CLOSING' | 'CLOSED';
+  hostingMode: 'CONTAINER' | 'IN_PROCESS';
   currentParticipants: number;
   maxParticipants: number;
   totalMessages: number;
@@ -15,8 +16,10 @@ export interface ChatRoom {
 }
 
 export interface ChatMessage {
-  messageId: number;
+  // 53비트를 넘는 ID라 서버가 문자열로 보낸다 (number로 바꾸면 반올림됨)
+  messageId: string;
   roomId: number;
+  sequence?: number;
   userId: number;
   userDisplayId: string;
   userNickname: string;
@@ -24,12 +27,14 @@ export interface ChatMessage {
   messageType: 'CHAT' | 'JOIN' | 'LEAVE' | 'SYSTEM';
   content: string;
   createdAt: string;
+  clientMessageId?: string;
 }
 
 export interface ChatMessageRequest {
   roomId: number;
   messageType: 'CHAT' | 'JOIN' | 'LEAVE' | 'SYSTEM';
   content: string;
+  clientMessageId?: string;
 }
 
 export const chatApi = {
@@ -62,7 +67,25 @@ export const chatApi = {
     return apiClient.get(`/api/v1/chat/rooms/${roomId}/messages?page=${page}&size=${size}`);
   },
 
-  async deleteMessage(messageId: number): Promise<ApiResponse<void>> {
+  async getMessageHistory(roomId: number, before?: string, limit: number = 50): Promise<ApiResponse<{
+    messages: ChatMessage[];
+    nextCursor?: string;
+    hasMore: boolean;
+  }>> {
+    const cursor = before ? `&before=${encodeURIComponent(before)}` : '';
+    return apiClient.get(`/api/v1/chat/rooms/${roomId}/messages/history?limit=${limit}${cursor}`);
+  },
+
+  async deleteMessage(messageId: string): Promise<ApiResponse<void>> {
     return apiClient.delete<void>(`/api/v1/chat/messages/${messageId}`);
   },
+
+  // 주최자 전용: 채팅방에서 사용자가 보낸 메시지 일괄 삭제 (from, to가 없으면 전체 기간)
+  async purgeMessages(roomId: number, userId: number, from?: string, to?: string): Promise<ApiResponse<{
+    type: 'TOMBSTONE';
+    roomId: number;
+    messageIds: string[];
+  }>> {
+    return apiClient.post(`/api/v1/chat/rooms/${roomId}/messages/purge`, { userId, from, to });
+  },
 };
@@ -0,0 +1,38 @@
+import { test } from 'node:test';
+import assert from 'node:assert/strict';
+import { SequenceTracker } from './sequenceTracker';
+
+test('순번이 뒤바뀌어 도착하면 빠진 순번을 받을 때까지 resume-from을 올리지 않아야 함', () => {
+  const tracker = new SequenceTracker();
+  tracker.accept(4, 0);
+  tracker.accept(6, 0);
+
+  // 5를 받기 전에 재연결하면 5부터 다시 받아야 한다
+  assert.equal(tracker.resumeFrom(), 4);
+
+  assert.equal(tracker.accept(5, 0), true);
+  assert.equal(tracker.resumeFrom(), 6);
+});
+
+test('이미 받은 순번은 중복으로 걸러야 함', () => {
+  const tracker = new SequenceTracker();
+  tracker.accept(1, 0);
+  tracker.accept(3, 0);
+
+  assert.equal(tracker.accept(3, 0), false);
+  assert.equal(tracker.accept(1, 0), false);
+  assert.equal(tracker.accept(2, 0), true);
+  assert.equal(tracker.accept(2, 0), false);
+});
+
+test('오래 채워지지 않은 빈 순번은 건너뛰어야 함', () => {
+  const tracker = new SequenceTracker();
+  tracker.accept(1, 0);
+  tracker.accept(3, 0);
+  tracker.accept(4, 5000);
+  assert.equal(tracker.resumeFrom(), 1);
+
+  // 전송이 거부되어 2번이 영영 오지 않는 경우
+  tracker.accept(5, 10000);
+  assert.equal(tracker.resumeFrom(), 5);
+});
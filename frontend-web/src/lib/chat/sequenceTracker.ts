@@ -0,0 +1,65 @@
+// 채팅방 순번 추적 (재연결 시 resume-from으로 보낼 연속 수신 순번 계산)
+//
+// 서버는 순번 순서대로 보내지 않는다 (같은 채팅방 메시지도 브로드캐스트가 따로 제출되고, 다른 노드에서 릴레이된 메시지는 늦게 도착할 수 있음).
+// 가장 큰 순번을 resume-from으로 보내면 그보다 먼저 발급됐지만 아직 받지 못한 메시지를 영영 놓치므로,
+// 빠짐없이 받은 마지막 순번(contiguous)까지만 확정하고 그 뒤에 먼저 도착한 순번은 따로 보관한다.
+
+// 메시지 전송이 거부되면 발급된 순번이 비어 있을 수 있으므로, 이 시간 동안 채워지지 않은 빈 순번은 건너뛴다
+const GAP_TIMEOUT_MS = 10000;
+// 먼저 도착해 보관하는 순번 최대 수 (넘치면 가장 오래된 빈 순번부터 건너뜀)
+const MAX_PENDING_SEQUENCES = 1000;
+
+export class SequenceTracker {
+  // 빠짐없이 받은 마지막 순번 (아직 받은 메시지가 없으면 null)
+  private contiguous: number | null = null;
+  // contiguous 다음 순번보다 먼저 도착한 순번
+  private readonly pending = new Set<number>();
+  // 빈 순번이 처음 생긴 시각
+  private gapSince: number | null = null;
+
+  /**
+   * 받은 순번 기록
+   *
+   * @returns 처음 받은 순번이면 true (재전송과 실시간 메시지가 겹친 중복이면 false)
+   */
+  accept(sequence: number, now: number = Date.now()): boolean {
+    if (this.contiguous === null) {
+      // 구독 직후 처음 받은 메시지 이전은 히스토리 API로 읽는다
+      this.contiguous = sequence - 1;
+    }
+    if (sequence <= this.contiguous || this.pending.has(sequence)) {
+      return false;
+    }
+
+    this.pending.add(sequence);
+    this.advance();
+    if (this.pending.size === 0) {
+      this.gapSince = null;
+    } else if (this.gapSince === null) {
+      this.gapSince = now;
+    } else if (now - this.gapSince >= GAP_TIMEOUT_MS || this.pending.size > MAX_PENDING_SEQUENCES) {
+      this.skipGap();
+      this.gapSince = this.pending.size === 0 ? null : now;
+    }
+    return true;
+  }
+
+  /**
+   * 재연결 시 resume-from 헤더로 보낼 순번 (이 순번 다음부터 다시 받는다)
+   */
+  resumeFrom(): number | null {
+    return this.contiguous;
+  }
+
+  private advance() {
+    while (this.contiguous !== null && this.pending.delete(this.contiguous + 1)) {
+      this.contiguous += 1;
+    }
+  }
+
+  // 가장 앞의 빈 순번을 건너뛰고 그 뒤로 이어진 순번까지 확정
+  private skipGap() {
+    this.contiguous = Math.min(...this.pending) - 1;
+    this.advance();
+  }
+}
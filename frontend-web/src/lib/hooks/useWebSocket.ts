@@ -1,10 +1,13 @@
 import { useEffect, useRef, useState } from 'react';
 import { Client } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
+import { SequenceTracker } from '@/lib/chat/sequenceTracker';
 
 interface WebSocketMessage {
-  messageId: number;
+  // 53비트를 넘는 ID라 서버가 문자열로 보낸다 (number로 바꾸면 반올림됨)
+  messageId: string;
   roomId: number;
+  sequence?: number;
   userId: number;
   userDisplayId: string;
   userNickname: string;
@@ -12,13 +15,94 @@ interface WebSocketMessage {
   messageType: 'CHAT' | 'JOIN' | 'LEAVE' | 'SYSTEM';
   content: string;
   createdAt: string;
+  // 이 클라이언트가 보낸 메시지면 보낼 때 만든 ID (전송 확인용)
+  clientMessageId?: string;
 }
 
-export function useWebSocket(roomId: number, onMessage: (message: WebSocketMessage) => void) {
+// 메시지 삭제 알림 (messageIds의 메시지를 화면에서 숨김)
+interface TombstoneMessage {
+  type: 'TOMBSTONE';
+  roomId: number;
+  messageIds: string[];
+}
+
+type ReactionType = 'HEART' | 'CLAP' | 'FIRE' | 'WOW';
+
+// 리액션 집계 알림 (지난 tick 이후 들어온 종류별 리액션 수)
+interface ReactionTickMessage {
+  type: 'REACTION_TICK';
+  roomId: number;
+  counts: Partial<Record<ReactionType, number>>;
+}
+
+// 다시 보낸 메시지의 전송 확인 (서버가 이미 받은 메시지라 다시 브로드캐스트하지 않음)
+interface AckMessage {
+  type: 'ACK';
+  roomId: number;
+  clientMessageId: string;
+  messageId: string;
+  sequence: number;
+}
+
+// 서버가 받지 못한 메시지의 거부 알림 (전송률 초과, 금칙어 등, 다시 보내지 않음)
+interface NackMessage {
+  type: 'NACK';
+  roomId: number;
+  clientMessageId?: string;
+  code: string;
+  message: string;
+}
+
+type RoomFrame = WebSocketMessage | TombstoneMessage | ReactionTickMessage | AckMessage | NackMessage;
+
+interface PendingMessage {
+  roomId: number;
+  messageType: 'CHAT' | 'JOIN' | 'LEAVE' | 'SYSTEM';
+  content: string;
+  clientMessageId: string;
+}
+
+// 리액션을 모아 보내는 간격과 한 번에 보낼 최대 수 (서버 chat.reaction.max-per-request)
+const REACTION_FLUSH_INTERVAL_MS = 100;
+const MAX_REACTIONS_PER_REQUEST = 20;
+// 참가자 heartbeat 간격 (서버 chat.presence.idle-timeout-ms 동안 없으면 채팅방에서 퇴장 처리됨)
+const PRESENCE_HEARTBEAT_INTERVAL_MS = 30000;
+
+export function useWebSocket(
+  roomId: number,
+  onMessage: (message: WebSocketMessage) => void,
+  onTombstone?: (messageIds: string[]) => void,
+  onReactions?: (counts: Partial<Record<ReactionType, number>>) => void,
+  onSendFailed?: (code: string, message: string) => void
+) {
   const [connected, setConnected] = useState(false);
   const clientRef = useRef<Client | null>(null);
+  // 콜백은 ref로 들고 있어 렌더링마다 새 함수가 넘어와도 다시 연결하지 않는다
+  const onMessageRef = useRef(onMessage);
+  const onTombstoneRef = useRef(onTombstone);
+  const onReactionsRef = useRef(onReactions);
+  const onSendFailedRef = useRef(onSendFailed);
+  onMessageRef.current = onMessage;
+  onTombstoneRef.current = onTombstone;
+  onReactionsRef.current = onReactions;
+  onSendFailedRef.current = onSendFailed;
+  // 이어받기 상태와 확인 대기 메시지가 속한 채팅방 (채팅방이 바뀔 때만 초기화)
+  const stateRoomIdRef = useRef<number | null>(null);
+  // 빠짐없이 받은 채팅방 순번 (재연결 시 resume-from 헤더로 보내 놓친 메시지를 받고, 재전송과 겹친 메시지를 걸러냄)
+  const sequenceTrackerRef = useRef(new SequenceTracker());
+  // 아직 보내지 않은 리액션 수 (연타한 리액션은 모아서 한 번에 보냄)
+  const pendingReactionsRef = useRef<Partial<Record<ReactionType, number>>>({});
+  // 전송 확인을 받지 못한 메시지 (재연결하면 같은 clientMessageId로 다시 보내고 서버가 중복을 걸러냄)
+  const unackedMessagesRef = useRef<Map<string, PendingMessage>>(new Map());
 
   useEffect(() => {
+    if (stateRoomIdRef.current !== roomId) {
+      stateRoomIdRef.current = roomId;
+      sequenceTrackerRef.current = new SequenceTracker();
+      // 다른 채팅방으로 보낸 메시지는 다시 보내지 않는다 (같은 채팅방이면 다시 연결한 뒤 재전송)
+      unackedMessagesRef.current = new Map();
+    }
+
     const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080';
 
     const client = new Client({
@@ -31,14 +115,58 @@ export function useWebSocket(roomId: number, onMessage: (message: WebSocketMessa
       heartbeatOutgoing: 4000,
     });
 
+    const sendHeartbeat = () => {
+      if (client.connected) {
+        client.publish({ destination: '/app/chat.heartbeat', body: JSON.stringify({ roomId }) });
+      }
+    };
+
     client.onConnect = () => {
       console.log('WebSocket Connected');
       setConnected(true);
+      sendHeartbeat();
 
-      // 채팅방 구독
+      // 채팅방 구독 (재연결이면 빠짐없이 받은 마지막 순번 이후부터 이어받음)
+      const resumeFrom = sequenceTrackerRef.current.resumeFrom();
+      const headers: Record<string, string> = resumeFrom !== null ? { 'resume-from': String(resumeFrom) } : {};
       client.subscribe(`/topic/chat/${roomId}`, (message) => {
-        const data = JSON.parse(message.body) as WebSocketMessage;
-        onMessage(data);
+        // 메시지가 몰리는 채팅방은 여러 메시지가 배열 하나로 묶여 온다
+        const parsed = JSON.parse(message.body) as RoomFrame | RoomFrame[];
+        const messages = Array.isArray(parsed) ? parsed : [parsed];
+        for (const item of messages) {
+          if ('type' in item && item.type === 'TOMBSTONE') {
+            onTombstoneRef.current?.(item.messageIds);
+            continue;
+          }
+          if ('type' in item && item.type === 'REACTION_TICK') {
+            onReactionsRef.current?.(item.counts);
+            continue;
+          }
+          if ('type' in item && item.type === 'ACK') {
+            unackedMessagesRef.current.delete(item.clientMessageId);
+            continue;
+          }
+          if ('type' in item && item.type === 'NACK') {
+            if (item.clientMessageId) {
+              unackedMessagesRef.current.delete(item.clientMessageId);
+            }
+            onSendFailedRef.current?.(item.code, item.message);
+            continue;
+          }
+          const data = item as WebSocketMessage;
+          if (data.clientMessageId) {
+            unackedMessagesRef.current.delete(data.clientMessageId);
+          }
+          if (data.sequence !== undefined && data.sequence !== null && !sequenceTrackerRef.current.accept(data.sequence)) {
+            continue;
+          }
+          onMessageRef.current(data);
+        }
+      }, headers);
+
+      // 확인을 받지 못한 메시지 재전송 (구독 뒤에 보내야 확인 응답을 받을 수 있다)
+      unackedMessagesRef.current.forEach((pending) => {
+        client.publish({ destination: '/app/chat.send', body: JSON.stringify(pending) });
       });
     };
 
@@ -55,25 +183,45 @@ export function useWebSocket(roomId: number, onMessage: (message: WebSocketMessa
     client.activate();
     clientRef.current = client;
 
+    const reactionTimer = setInterval(() => {
+      const pending = pendingReactionsRef.current;
+      pendingReactionsRef.current = {};
+      for (const [reactionType, count] of Object.entries(pending)) {
+        if (client.connected && count) {
+          client.publish({
+            destination: '/app/chat.react',
+            body: JSON.stringify({ roomId, reactionType, count: Math.min(count, MAX_REACTIONS_PER_REQUEST) }),
+          });
+        }
+      }
+    }, REACTION_FLUSH_INTERVAL_MS);
+    const heartbeatTimer = setInterval(sendHeartbeat, PRESENCE_HEARTBEAT_INTERVAL_MS);
+
     return () => {
+      clearInterval(reactionTimer);
+      clearInterval(heartbeatTimer);
       if (clientRef.current) {
         clientRef.current.deactivate();
       }
     };
-  }, [roomId, onMessage]);
+  }, [roomId]);
 
   const sendMessage = (messageType: 'CHAT' | 'JOIN' | 'LEAVE' | 'SYSTEM', content: string) => {
+    const pending: PendingMessage = { roomId, messageType, content, clientMessageId: crypto.randomUUID() };
+    // 연결이 끊겨 있으면 다시 연결될 때 보낸다
+    unackedMessagesRef.current.set(pending.clientMessageId, pending);
     if (clientRef.current && connected) {
       clientRef.current.publish({
         destination: '/app/chat.send',
-        body: JSON.stringify({
-          roomId,
-          messageType,
-          content,
-        }),
+        body: JSON.stringify(pending),
       });
     }
   };
 
-  return { connected, sendMessage };
+  const sendReaction = (reactionType: ReactionType) => {
+    const pending = pendingReactionsRef.current;
+    pending[reactionType] = (pending[reactionType] ?? 0) + 1;
+  };
+
+  return { connected, sendMessage, sendReaction };
 }